@@ -0,0 +1,238 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.applib.query;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@link Query} built from criteria on the properties of the result type, which the object store translates into
+ * a query executed by the database (rather than filtering instances client-side, as for a
+ * {@link com.google.common.base.Predicate}).
+ *
+ * <p>
+ * For example:
+ * </p>
+ * <pre>
+ * repositoryService.allMatches(
+ *     QueryFindByCriteria.create(Customer.class)
+ *         .whereEqual("lastName", "Smith")
+ *         .whereBetween("age", 18, 65)
+ *         .orderBy("firstName"));
+ * </pre>
+ *
+ * <p>
+ * Each criterion and ordering identifies a (persisted, scalar) property by its id; the criteria are combined
+ * using logical <i>and</i>.  A criterion with a <tt>null</tt> value matches (for {@link Operator#EQUAL}) or
+ * excludes (for {@link Operator#NOT_EQUAL}) a missing value; the other operators require a value.
+ * </p>
+ */
+public class QueryFindByCriteria<T> extends QueryBuiltInAbstract<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Operator {
+        EQUAL,
+        NOT_EQUAL,
+        LESS_THAN,
+        LESS_THAN_OR_EQUAL,
+        GREATER_THAN,
+        GREATER_THAN_OR_EQUAL;
+
+        public boolean isEquality() {
+            return this == EQUAL || this == NOT_EQUAL;
+        }
+    }
+
+    public static class Criterion implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String propertyId;
+        private final Operator operator;
+        private final Object value;
+
+        Criterion(final String propertyId, final Operator operator, final Object value) {
+            this.propertyId = propertyId;
+            this.operator = operator;
+            this.value = value;
+        }
+
+        public String getPropertyId() {
+            return propertyId;
+        }
+
+        public Operator getOperator() {
+            return operator;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return propertyId + " " + operator + " " + value;
+        }
+    }
+
+    public static class Ordering implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String propertyId;
+        private final boolean ascending;
+
+        Ordering(final String propertyId, final boolean ascending) {
+            this.propertyId = propertyId;
+            this.ascending = ascending;
+        }
+
+        public String getPropertyId() {
+            return propertyId;
+        }
+
+        public boolean isAscending() {
+            return ascending;
+        }
+
+        @Override
+        public String toString() {
+            return propertyId + (ascending ? " ascending" : " descending");
+        }
+    }
+
+    /**
+     * Convenience factory method, preferable to the {@link #QueryFindByCriteria(Class, long...) constructor}
+     * because will automatically genericize.
+     */
+    public static <Q> QueryFindByCriteria<Q> create(final Class<Q> resultType) {
+        return new QueryFindByCriteria<Q>(resultType);
+    }
+
+    private final List<Criterion> criteria = new ArrayList<Criterion>();
+    private final List<Ordering> orderings = new ArrayList<Ordering>();
+
+    public QueryFindByCriteria(final Class<T> resultType, final long... range) {
+        super(resultType, range);
+    }
+
+    //region > where...
+
+    public QueryFindByCriteria<T> whereEqual(final String propertyId, final Object value) {
+        return where(propertyId, Operator.EQUAL, value);
+    }
+
+    public QueryFindByCriteria<T> whereNotEqual(final String propertyId, final Object value) {
+        return where(propertyId, Operator.NOT_EQUAL, value);
+    }
+
+    public QueryFindByCriteria<T> whereLessThan(final String propertyId, final Object value) {
+        return where(propertyId, Operator.LESS_THAN, value);
+    }
+
+    public QueryFindByCriteria<T> whereLessThanOrEqual(final String propertyId, final Object value) {
+        return where(propertyId, Operator.LESS_THAN_OR_EQUAL, value);
+    }
+
+    public QueryFindByCriteria<T> whereGreaterThan(final String propertyId, final Object value) {
+        return where(propertyId, Operator.GREATER_THAN, value);
+    }
+
+    public QueryFindByCriteria<T> whereGreaterThanOrEqual(final String propertyId, final Object value) {
+        return where(propertyId, Operator.GREATER_THAN_OR_EQUAL, value);
+    }
+
+    /**
+     * Inclusive of both <tt>from</tt> and <tt>to</tt>.
+     */
+    public QueryFindByCriteria<T> whereBetween(final String propertyId, final Object from, final Object to) {
+        return whereGreaterThanOrEqual(propertyId, from).whereLessThanOrEqual(propertyId, to);
+    }
+
+    public QueryFindByCriteria<T> where(final String propertyId, final Operator operator, final Object value) {
+        if(propertyId == null || operator == null) {
+            throw new IllegalArgumentException("propertyId and operator are required");
+        }
+        if(value == null && !operator.isEquality()) {
+            throw new IllegalArgumentException("a value is required for " + operator + " (property '" + propertyId + "')");
+        }
+        criteria.add(new Criterion(propertyId, operator, value));
+        return this;
+    }
+
+    public List<Criterion> getCriteria() {
+        return Collections.unmodifiableList(criteria);
+    }
+
+    //endregion
+
+    //region > orderBy...
+
+    public QueryFindByCriteria<T> orderBy(final String propertyId) {
+        return orderBy(propertyId, true);
+    }
+
+    public QueryFindByCriteria<T> orderByDescending(final String propertyId) {
+        return orderBy(propertyId, false);
+    }
+
+    private QueryFindByCriteria<T> orderBy(final String propertyId, final boolean ascending) {
+        if(propertyId == null) {
+            throw new IllegalArgumentException("propertyId is required");
+        }
+        orderings.add(new Ordering(propertyId, ascending));
+        return this;
+    }
+
+    public List<Ordering> getOrderings() {
+        return Collections.unmodifiableList(orderings);
+    }
+
+    //endregion
+
+    //region > withStart, withCount
+
+    public QueryFindByCriteria<T> withStart(final long start) {
+        if(start<0) {
+            throw new IllegalArgumentException("require start>=0");
+        }
+        this.start = start;
+        return this;
+    }
+
+    public QueryFindByCriteria<T> withCount(final long count) {
+        if(count<=0) {
+            throw new IllegalArgumentException("require count>0");
+        }
+        this.count = count;
+        return this;
+    }
+
+    //endregion
+
+    @Override
+    public String getDescription() {
+        return getResultTypeName() + " where " + criteria + (orderings.isEmpty() ? "" : " order by " + orderings);
+    }
+
+}
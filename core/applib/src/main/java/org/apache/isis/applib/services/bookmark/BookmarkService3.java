@@ -0,0 +1,50 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.bookmark;
+
+import java.util.List;
+
+import org.apache.isis.applib.annotation.Programmatic;
+
+/**
+ * Extends {@link BookmarkService2} with the ability to look up many bookmarks at once.
+ *
+ * <p>
+ * The implementation of this service provided by the framework (<tt>BookmarkServiceInternalDefault</tt>) implements
+ * this interface; it is a separate interface so that existing implementations of {@link BookmarkService2} are not
+ * broken.
+ * </p>
+ */
+public interface BookmarkService3 extends BookmarkService2 {
+
+    /**
+     * As {@link #lookup(Bookmark, FieldResetPolicy)}, but for many bookmarks at once.
+     *
+     * <p>
+     *     Any entities not already loaded are fetched in bulk (one round trip per entity type) rather than one at a
+     *     time.
+     * </p>
+     *
+     * @return the domain objects, in the same order as the bookmarks, with <tt>null</tt> for any that could not
+     * be found.
+     */
+    @Programmatic
+    List<Object> lookup(List<Bookmark> bookmarks, FieldResetPolicy fieldResetPolicy);
+
+}
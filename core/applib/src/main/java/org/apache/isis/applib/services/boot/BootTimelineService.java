@@ -0,0 +1,46 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.boot;
+
+import org.apache.isis.applib.annotation.Programmatic;
+
+/**
+ * Reports how long each of the phases of bootstrapping the framework took (classpath scanning, building and
+ * validating the metamodel, creating the persistence manager factory, initializing services, installing fixtures and
+ * so on), so that changes in boot time can be tracked between releases.
+ *
+ * <p>
+ *     For each phase the wall-clock time, CPU time and bytes allocated (by the thread that ran it) are recorded.
+ * </p>
+ */
+public interface BootTimelineService {
+
+    /**
+     * The phases, in the order that they were started, as a JSON array.
+     */
+    @Programmatic
+    String timelineAsJson();
+
+    /**
+     * The phases, in the order that they were started, as a human-readable table (nested phases indented).
+     */
+    @Programmatic
+    String timelineSummary();
+
+}
@@ -0,0 +1,97 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.queryresultscache;
+
+import java.util.concurrent.Callable;
+
+import org.apache.isis.applib.annotation.Programmatic;
+
+/**
+ * An application-scoped (and so shared by all requests) and size-bounded cache of the results of idempotent queries,
+ * intended for frequently-read reference data (tax codes, currencies and the like).
+ *
+ * <p>
+ *     Unlike the (request-scoped) {@link QueryResultsCache}, a cached result lives until it is evicted (because the
+ *     cache is full, or because its time-to-live has expired), or until it is invalidated because an instance of one
+ *     of the entity types that it depends upon has been created, updated or deleted by a committed transaction.
+ * </p>
+ *
+ * <p>
+ *     Only results that are <tt>null</tt>, a persistent entity, a value, or a collection of these can be cached;
+ *     entities are held as bookmarks, and are looked up again (in the calling request's session) on a cache hit.
+ *     Any other result is simply returned, without being cached.
+ * </p>
+ *
+ * <p>
+ *     The implementation is <tt>SharedQueryResultsCacheDefault</tt> (in <tt>isis-core-runtime</tt>).
+ * </p>
+ */
+public interface SharedQueryResultsCache {
+
+    /**
+     * Returns the cached result for the key, else calls the {@link Callable} and caches its result.
+     *
+     * @param dependsOnTypes - the entity types that the result depends upon, in addition to those of the entities
+     *                       returned (as is necessary for a result that is a count, say, or that is empty).
+     */
+    @Programmatic
+    <T> T execute(Callable<T> callable, QueryResultsCache.Key cacheKey, Class<?>... dependsOnTypes);
+
+    /**
+     * Discards any cached results that depend upon the specified entity type (or any of its supertypes).
+     *
+     * <p>
+     *     Not normally called by domain code: the framework invalidates automatically whenever a transaction commits.
+     * </p>
+     */
+    @Programmatic
+    void invalidate(Class<?> entityType);
+
+    @Programmatic
+    void invalidateAll();
+
+    //region > metrics
+
+    /**
+     * The number of results currently cached.
+     */
+    @Programmatic
+    long size();
+
+    @Programmatic
+    long hitCount();
+
+    @Programmatic
+    long missCount();
+
+    /**
+     * The number of results evicted because the cache was full or because their time-to-live had expired.
+     */
+    @Programmatic
+    long evictionCount();
+
+    /**
+     * The number of results discarded because an entity type that they depend upon was changed.
+     */
+    @Programmatic
+    long invalidationCount();
+
+    //endregion
+
+}
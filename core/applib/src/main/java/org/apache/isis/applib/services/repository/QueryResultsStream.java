@@ -0,0 +1,75 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.repository;
+
+import java.util.Iterator;
+
+/**
+ * The results of a {@link RepositoryService#stream(org.apache.isis.applib.query.Query) streamed} query, loaded lazily
+ * (a chunk at a time) as they are iterated over.
+ *
+ * <p>
+ *     May only be iterated over once, and must be {@link #close() closed} (typically using try-with-resources) so
+ *     that the underlying query is released:
+ * </p>
+ * <pre>
+ * try (final QueryResultsStream&lt;Customer&gt; customers = repositoryService.stream(query)) {
+ *     for (final Customer customer : customers) {
+ *         ...
+ *     }
+ * }
+ * </pre>
+ *
+ * <p>
+ *     Iteration must complete within the transaction in which the query was submitted.
+ * </p>
+ */
+public interface QueryResultsStream<T> extends Iterable<T>, AutoCloseable {
+
+    enum EvictionPolicy {
+        /**
+         * Each object is evicted (from both the framework's and the object store's caches) once the next object is
+         * iterated over, so that memory use remains bounded however many objects are returned.
+         *
+         * <p>
+         *     Objects that have been modified are never evicted, so that their changes are not lost.  Note also that
+         *     any reference to an object retained once it has been evicted will see its state reloaded, if
+         *     subsequently accessed.
+         * </p>
+         */
+        EVICT,
+        /**
+         * Objects are retained once iterated over, as for {@link RepositoryService#allMatches(org.apache.isis.applib.query.Query)}.
+         */
+        RETAIN
+    }
+
+    /**
+     * @throws IllegalStateException if called more than once.
+     */
+    @Override
+    Iterator<T> iterator();
+
+    /**
+     * Releases the underlying query (evicting the last object iterated over, if {@link EvictionPolicy#EVICT
+     * requested}); idempotent.
+     */
+    @Override
+    void close();
+}
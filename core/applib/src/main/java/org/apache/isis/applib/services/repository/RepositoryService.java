@@ -98,6 +98,34 @@ public interface RepositoryService {
     @Programmatic
     void removeAndFlush(Object domainObject);
 
+    /**
+     * Persist each of the specified objects (ignoring any that are already persistent).
+     *
+     * <p>
+     * The objects are inserted into the database in bulk (grouped by type, and in JDBC batches) when the
+     * transaction is next flushed or committed.  Intended for importing large numbers of objects; for best results
+     * persist and {@link org.apache.isis.applib.services.xactn.TransactionService#flushTransaction() flush} a chunk
+     * (of a few thousand, say) at a time.
+     * </p>
+     *
+     * @see #persist(Object)
+     */
+    @Programmatic
+    void persistAll(Iterable<?> domainObjects);
+
+    /**
+     * Deletes each of the specified objects (ignoring any that are not persistent).
+     *
+     * <p>
+     * As for {@link #persistAll(Iterable)}, the objects are deleted from the database in bulk when the transaction
+     * is next flushed or committed.
+     * </p>
+     *
+     * @see #remove(Object)
+     */
+    @Programmatic
+    void removeAll(Iterable<?> domainObjects);
+
     /**
      * Returns all the instances of the specified type (including subtypes).
      * If the optional range parameters are used, the dataset returned starts
@@ -124,7 +152,7 @@ public interface RepositoryService {
     /**
      * Returns all the instances of the specified type (including subtypes) that
      * the predicate object accepts. If the optional range parameters are used, the
-     * dataset returned starts from (0 based) index, and consists of only up to
+     * dataset returned starts from the (0 based) index of the matching instances, and consists of only up to
      * count items.
      *
      * <p>
@@ -137,7 +165,9 @@ public interface RepositoryService {
      * <p>
      * This method is useful during exploration/prototyping, but - because the filtering is performed client-side -
      * this method is only really suitable for initial development/prototyping, or for classes with very few
-     * instances.  Use {@link #allMatches(Query)} for production code.
+     * instances.  Use {@link #allMatches(Query)} for production code; a
+     * {@link org.apache.isis.applib.query.QueryFindByCriteria} expresses the most common predicates (on property
+     * values) as a query performed by the database.
      * </p>
      *
      * @see #allMatches(Class, Predicate, long...)
@@ -164,6 +194,38 @@ public interface RepositoryService {
     @Programmatic
     <T> List<T> allMatches(Query<T> query);
 
+    /**
+     * The default number of objects fetched from the database at a time by {@link #stream(Query)}.
+     */
+    int STREAM_FETCH_SIZE_DEFAULT = 100;
+
+    /**
+     * As per {@link #allMatches(Query)}, but with the results fetched lazily as they are iterated over (rather than
+     * all up front), and with each object {@link QueryResultsStream.EvictionPolicy#EVICT evicted} once iterated
+     * over.
+     *
+     * <p>
+     *     This method is intended for processing (eg exporting or recalculating) very large numbers of objects;
+     *     memory use remains bounded whatever the size of the result set.  To stream all instances of a type, use
+     *     a {@link org.apache.isis.applib.query.QueryFindAllInstances}.
+     * </p>
+     *
+     * <p>
+     *     The returned {@link QueryResultsStream} must be {@link QueryResultsStream#close() closed}.
+     * </p>
+     *
+     * @see #stream(Query, int, QueryResultsStream.EvictionPolicy)
+     */
+    @Programmatic
+    <T> QueryResultsStream<T> stream(Query<T> query);
+
+    /**
+     * As per {@link #stream(Query)}, but specifying the number of objects to fetch from the database at a time, and
+     * whether objects should be evicted once iterated over.
+     */
+    @Programmatic
+    <T> QueryResultsStream<T> stream(Query<T> query, int fetchSize, QueryResultsStream.EvictionPolicy evictionPolicy);
+
     /**
      * Returns the first instance of the specified type (including subtypes)
      * that matches the supplied {@link Predicate}, or <tt>null</tt> if none.
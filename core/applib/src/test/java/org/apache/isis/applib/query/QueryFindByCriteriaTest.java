@@ -0,0 +1,106 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.query;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class QueryFindByCriteriaTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    static class Customer {}
+
+    private QueryFindByCriteria<Customer> query;
+
+    @Before
+    public void setUp() throws Exception {
+        query = QueryFindByCriteria.create(Customer.class);
+    }
+
+    @Test
+    public void criteriaAreAccumulatedInOrder() throws Exception {
+        query.whereEqual("lastName", "Smith").whereBetween("age", 18, 65);
+
+        final List<QueryFindByCriteria.Criterion> criteria = query.getCriteria();
+        assertThat(criteria.size(), is(3));
+
+        assertThat(criteria.get(0).getPropertyId(), is("lastName"));
+        assertThat(criteria.get(0).getOperator(), is(QueryFindByCriteria.Operator.EQUAL));
+        assertThat(criteria.get(0).getValue(), is((Object) "Smith"));
+
+        assertThat(criteria.get(1).getPropertyId(), is("age"));
+        assertThat(criteria.get(1).getOperator(), is(QueryFindByCriteria.Operator.GREATER_THAN_OR_EQUAL));
+        assertThat(criteria.get(1).getValue(), is((Object) 18));
+
+        assertThat(criteria.get(2).getPropertyId(), is("age"));
+        assertThat(criteria.get(2).getOperator(), is(QueryFindByCriteria.Operator.LESS_THAN_OR_EQUAL));
+        assertThat(criteria.get(2).getValue(), is((Object) 65));
+    }
+
+    @Test
+    public void orderings() throws Exception {
+        query.orderBy("lastName").orderByDescending("age");
+
+        final List<QueryFindByCriteria.Ordering> orderings = query.getOrderings();
+        assertThat(orderings.size(), is(2));
+        assertThat(orderings.get(0).getPropertyId(), is("lastName"));
+        assertThat(orderings.get(0).isAscending(), is(true));
+        assertThat(orderings.get(1).getPropertyId(), is("age"));
+        assertThat(orderings.get(1).isAscending(), is(false));
+    }
+
+    @Test
+    public void equalityWithNull() throws Exception {
+        query.whereEqual("middleName", null);
+
+        assertThat(query.getCriteria().get(0).getValue(), is(nullValue()));
+    }
+
+    @Test
+    public void comparisonWithNull() throws Exception {
+        thrown.expect(IllegalArgumentException.class);
+        query.whereLessThan("age", null);
+    }
+
+    @Test
+    public void range() throws Exception {
+        final QueryFindByCriteria<Customer> q = query.withStart(10L).withCount(5L);
+
+        assertThat(q, is(query));
+        assertThat(q.getStart(), is(10L));
+        assertThat(q.getCount(), is(5L));
+    }
+
+    @Test
+    public void countZero() throws Exception {
+        thrown.expect(IllegalArgumentException.class);
+        query.withCount(0);
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.tool.mavenplugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+import com.google.common.io.Files;
+
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Component;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+import org.apache.isis.applib.AppManifest;
+import org.apache.isis.core.runtime.systemusinginstallers.ClassIndex;
+
+/**
+ * Writes an index of the domain services, entities, mixins and fixture scripts of an {@link AppManifest} into the
+ * project's output directory (and so into its jar), so that at runtime these need not be found by scanning the
+ * classpath.
+ *
+ * <p>
+ *     Unlike the other goals, this does not bootstrap the framework; it only scans the project's compile classpath.
+ *     The index is only used at runtime if enabled (using
+ *     {@link org.apache.isis.core.runtime.system.SystemConstants#CLASS_INDEX_KEY}), and even then is ignored if it
+ *     was written for a different set of packages, or if any of its classes can no longer be loaded.
+ * </p>
+ */
+@Mojo(
+        name = "index",
+        defaultPhase = LifecyclePhase.PROCESS_CLASSES,
+        requiresProject = true,
+        requiresDependencyResolution = ResolutionScope.COMPILE,
+        requiresDependencyCollection = ResolutionScope.COMPILE
+)
+public class IsisMojoIndex extends AbstractMojo {
+
+    @Component
+    private MavenProject mavenProject;
+
+    @Parameter(required = true, readonly = false, property = "appManifest")
+    private String appManifest;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+
+        final ClassLoader previousClassLoader = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader projectClassLoader = new URLClassLoader(compileClasspathUrls(), getClass().getClassLoader())) {
+            Thread.currentThread().setContextClassLoader(projectClassLoader);
+
+            final AppManifest manifest = instantiateAppManifest(projectClassLoader);
+            final List<String> packages = ClassIndex.packagesFor(manifest);
+            final ClassIndex classIndex = ClassIndex.scan(packages);
+
+            final File indexFile = new File(mavenProject.getBuild().getOutputDirectory(), ClassIndex.RESOURCE_NAME);
+            Files.createParentDirs(indexFile);
+            try (Writer writer = Files.newWriter(indexFile, Charsets.UTF_8)) {
+                classIndex.write(writer);
+            }
+
+            getLog().info(String.format(
+                    "Wrote class index to %s (%d domain services, %d entities, %d mixins, %d fixture scripts)",
+                    indexFile,
+                    classIndex.getDomainServiceTypes().size(),
+                    classIndex.getPersistenceCapableTypes().size(),
+                    classIndex.getMixinTypes().size(),
+                    classIndex.getFixtureScriptTypes().size()));
+
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Failed to write class index", e);
+        } finally {
+            Thread.currentThread().setContextClassLoader(previousClassLoader);
+        }
+    }
+
+    private URL[] compileClasspathUrls() throws MojoExecutionException {
+        final List<URL> urls = Lists.newArrayList();
+        try {
+            for (final String element : mavenProject.getCompileClasspathElements()) {
+                urls.add(new File(element).toURI().toURL());
+            }
+        } catch (final DependencyResolutionRequiredException | MalformedURLException e) {
+            throw new MojoExecutionException("Could not determine compile classpath", e);
+        }
+        return urls.toArray(new URL[urls.size()]);
+    }
+
+    private AppManifest instantiateAppManifest(final ClassLoader classLoader) throws MojoFailureException {
+        try {
+            final Class<?> manifestClass = Class.forName(appManifest, true, classLoader);
+            return (AppManifest) manifestClass.newInstance();
+        } catch (final ClassNotFoundException | InstantiationException | IllegalAccessException | ClassCastException e) {
+            throw new MojoFailureException("Could not instantiate AppManifest '" + appManifest + "'", e);
+        }
+    }
+
+}
@@ -42,46 +42,53 @@ public static boolean isStatic(final Method method) {
 
     // //////////////////////////////////////
 
+    private static final Object[] NO_ARGS = new Object[0];
+
     public static Object invoke(final Method method, final Object object) {
-        final Object[] parameters = MethodExtensions.getNullOrDefaultArgs(method);
-        return MethodExtensions.invoke(method, object, parameters);
+        final MethodInvoker invoker = MethodInvoker.of(method);
+        final Object[] parameters =
+                invoker.getArity() == 0 ? NO_ARGS : MethodExtensions.getNullOrDefaultArgs(method);
+        return invoke(invoker, object, parameters);
     }
 
     public static Object invoke(final Method method, final Object object, final Object[] arguments) {
+        return invoke(MethodInvoker.of(method), object, arguments);
+    }
+
+    private static Object invoke(final MethodInvoker invoker, final Object object, final Object[] arguments) {
         try {
-            Object[] defaultAnyPrimitive = defaultAnyPrimitive(method.getParameterTypes(), arguments);
-            return method.invoke(object, defaultAnyPrimitive);
+            Object[] defaultAnyPrimitive = defaultAnyPrimitive(invoker.getParameterTypes(), arguments);
+            return invoker.call(object, defaultAnyPrimitive);
         } catch (final IllegalArgumentException e) {
             throw e;
         } catch (final InvocationTargetException e) {
-            ThrowableExtensions.throwWithinIsisException(e, "Exception executing " + method);
+            ThrowableExtensions.throwWithinIsisException(e, "Exception executing " + invoker.getMethod());
             return null;
         } catch (final IllegalAccessException e) {
-            throw new MetaModelException("illegal access of " + method, e);
+            throw new MetaModelException("illegal access of " + invoker.getMethod(), e);
         }
     }
 
+    /**
+     * Returns the supplied arguments unless any <tt>null</tt> argument is for a primitive parameter, in which case
+     * returns a copy with those arguments defaulted.
+     */
     private static Object[] defaultAnyPrimitive(Class<?>[] parameterTypes, Object[] arguments) {
         if(parameterTypes == null || arguments == null || parameterTypes.length != arguments.length) {
             return arguments;
         }
-        final Object[] argumentsWithPrimitivesDefaulted = new Object[arguments.length];
-        for(int i=0; i<argumentsWithPrimitivesDefaulted.length; i++) {
-            argumentsWithPrimitivesDefaulted[i] = valueIfPrimitiveThenDefaulted(parameterTypes[i], arguments[i]);
+        Object[] argumentsWithPrimitivesDefaulted = arguments;
+        for(int i=0; i<arguments.length; i++) {
+            if(arguments[i] == null && parameterTypes[i].isPrimitive()) {
+                if(argumentsWithPrimitivesDefaulted == arguments) {
+                    argumentsWithPrimitivesDefaulted = arguments.clone();
+                }
+                argumentsWithPrimitivesDefaulted[i] = ClassUtil.defaultByPrimitiveClass.get(parameterTypes[i]);
+            }
         }
         return argumentsWithPrimitivesDefaulted;
     }
 
-    private static Object valueIfPrimitiveThenDefaulted(Class<?> cls, Object argument) {
-        if(argument != null) {
-            return argument;
-        }
-        if(!cls.isPrimitive()) {
-            return argument;
-        }
-        return ClassUtil.defaultByPrimitiveClass.get(cls);
-    }
-
     public static Object invokeStatic(final Method method, final Object[] parameters) {
         return invoke(method, null, parameters);
     }
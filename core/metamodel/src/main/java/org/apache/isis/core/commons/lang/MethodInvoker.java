@@ -0,0 +1,195 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.apache.isis.core.commons.lang;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.collect.Maps;
+import com.google.common.primitives.Primitives;
+
+/**
+ * Invokes a {@link Method} through a {@link MethodHandle} bound to it once (and cached), rather than through
+ * {@link Method#invoke(Object, Object...)}.
+ *
+ * <p>
+ *     Methods with up to {@link #MAX_EXACT_ARITY} parameters are invoked without the handle having to spread an
+ *     argument array.  If no handle can be created (for example, the method is not accessible) then the method is
+ *     invoked reflectively.
+ * </p>
+ *
+ * <p>
+ *     {@link #call(Object, Object[])} has the same contract as {@link Method#invoke(Object, Object...)}: unless the
+ *     target and arguments are exactly of the method's (boxed) parameter types the call is handed to reflection (to
+ *     widen them or report the mismatch), and exceptions thrown by the method itself are wrapped in an
+ *     {@link InvocationTargetException}.
+ * </p>
+ */
+public final class MethodInvoker {
+
+    private static final int MAX_EXACT_ARITY = 4;
+
+    /**
+     * The invokers are held against (rather than keyed by) the declaring class, so are discarded along with it: a
+     * class that is reloaded, or whose webapp is redeployed, does not leave its invokers (and itself) behind.
+     */
+    private static final ClassValue<ConcurrentMap<Method, MethodInvoker>> invokerByMethodByClass =
+            new ClassValue<ConcurrentMap<Method, MethodInvoker>>() {
+                @Override
+                protected ConcurrentMap<Method, MethodInvoker> computeValue(final Class<?> type) {
+                    return Maps.newConcurrentMap();
+                }
+            };
+
+    /**
+     * The (cached) invoker for this method; the {@link org.apache.isis.core.metamodel.specloader.specimpl.ObjectSpecificationAbstract spec}
+     * obtains invokers for all of its imperative facets' methods when it is frozen.
+     */
+    public static MethodInvoker of(final Method method) {
+        final ConcurrentMap<Method, MethodInvoker> invokerByMethod =
+                invokerByMethodByClass.get(method.getDeclaringClass());
+        MethodInvoker invoker = invokerByMethod.get(method);
+        if (invoker == null) {
+            invoker = new MethodInvoker(method);
+            final MethodInvoker existing = invokerByMethod.putIfAbsent(method, invoker);
+            if (existing != null) {
+                invoker = existing;
+            }
+        }
+        return invoker;
+    }
+
+    private final Method method;
+    private final Class<?>[] parameterTypes;
+    private final int arity;
+    private final boolean isStatic;
+
+    /**
+     * Of type <tt>(Object target, Object arg0, ... Object argN)Object</tt>, or for methods with more than
+     * {@link #MAX_EXACT_ARITY} parameters, <tt>(Object target, Object[] args)Object</tt>; the target is ignored
+     * for static methods.
+     *
+     * <p>
+     *     <tt>null</tt> if the method must be invoked reflectively.
+     * </p>
+     */
+    private final MethodHandle handle;
+
+    private MethodInvoker(final Method method) {
+        this.method = method;
+        this.parameterTypes = method.getParameterTypes();
+        this.arity = parameterTypes.length;
+        this.isStatic = MethodExtensions.isStatic(method);
+        this.handle = handleFor(method, arity, isStatic);
+    }
+
+    private static MethodHandle handleFor(final Method method, final int arity, final boolean isStatic) {
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().unreflect(method);
+        } catch (final IllegalAccessException e) {
+            return null;
+        }
+        if (isStatic) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        handle = handle.asType(MethodType.genericMethodType(arity + 1));
+        if (arity > MAX_EXACT_ARITY) {
+            handle = handle.asSpreader(Object[].class, arity);
+        }
+        return handle;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * Not cloned, so must not be modified.
+     */
+    Class<?>[] getParameterTypes() {
+        return parameterTypes;
+    }
+
+    public int getArity() {
+        return arity;
+    }
+
+    /**
+     * Invokes the method on the target (ignored if static) with the arguments, as per
+     * {@link Method#invoke(Object, Object...)}.
+     */
+    public Object call(final Object target, final Object[] args)
+            throws IllegalAccessException, InvocationTargetException {
+        final int numArgs = args != null ? args.length : 0;
+        if (handle == null || numArgs != arity || !isExactMatch(target, args)) {
+            // let reflection do the work (or report the problem); decided up-front, because once the handle has
+            // been invoked the method may have been entered, so must not be called again
+            return method.invoke(target, args);
+        }
+        try {
+            switch (arity) {
+            case 0:
+                return (Object) handle.invokeExact(target);
+            case 1:
+                return (Object) handle.invokeExact(target, args[0]);
+            case 2:
+                return (Object) handle.invokeExact(target, args[0], args[1]);
+            case 3:
+                return (Object) handle.invokeExact(target, args[0], args[1], args[2]);
+            case 4:
+                return (Object) handle.invokeExact(target, args[0], args[1], args[2], args[3]);
+            default:
+                return (Object) handle.invokeExact(target, args);
+            }
+        } catch (final Throwable ex) {
+            throw new InvocationTargetException(ex);
+        }
+    }
+
+    /**
+     * Whether the handle's conversions of the target and arguments cannot fail, and are exactly those that
+     * reflection would perform; otherwise (for example, an <tt>Integer</tt> passed for a <tt>long</tt>, which
+     * reflection widens) the call is left to reflection.
+     */
+    private boolean isExactMatch(final Object target, final Object[] args) {
+        if (!isStatic && !method.getDeclaringClass().isInstance(target)) {
+            return false;
+        }
+        for (int i = 0; i < arity; i++) {
+            final Class<?> parameterType = parameterTypes[i];
+            final Object arg = args[i];
+            if (arg == null) {
+                if (parameterType.isPrimitive()) {
+                    return false;
+                }
+            } else if (!Primitives.wrap(parameterType).isInstance(arg)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,329 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.commons.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Records the wall-clock time, CPU time and allocated bytes of each of the phases (and nested sub-phases) of
+ * bootstrapping, so that regressions in boot time can be tracked down.
+ *
+ * <p>
+ *     Usage:
+ * </p>
+ * <pre>
+ * try (final BootTimeline.Phase phase = BootTimeline.instance().start("specificationLoader.init")) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * <p>
+ *     The timeline is JVM-wide; each bootstrap calls {@link #startNewBootstrap()} first so that it does not also
+ *     report the phases of any previous bootstrap (for example, of an earlier integration test in the same JVM).
+ * </p>
+ *
+ * <p>
+ *     Phases are nested per thread.  CPU time and allocated bytes are those of the thread that ran the phase (so
+ *     exclude any work forked out to other threads), and are reported as <tt>-1</tt> if the JVM cannot measure them.
+ * </p>
+ */
+public final class BootTimeline {
+
+    private static final BootTimeline INSTANCE = new BootTimeline();
+
+    public static BootTimeline instance() {
+        return INSTANCE;
+    }
+
+    //region > constructor, fields
+
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final boolean cpuTimeSupported = isCpuTimeSupported(threadMXBean);
+    private final boolean allocatedBytesSupported = isAllocatedBytesSupported(threadMXBean);
+
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final List<Entry> entries = new CopyOnWriteArrayList<>();
+    private volatile long originNanos = -1;
+
+    private final ThreadLocal<Deque<Phase>> phasesInProgress = new ThreadLocal<Deque<Phase>>() {
+        @Override
+        protected Deque<Phase> initialValue() {
+            return new ArrayDeque<>();
+        }
+    };
+
+    private BootTimeline() {
+    }
+
+    private static boolean isCpuTimeSupported(final ThreadMXBean threadMXBean) {
+        try {
+            return threadMXBean.isCurrentThreadCpuTimeSupported() && threadMXBean.isThreadCpuTimeEnabled();
+        } catch (final UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    private static boolean isAllocatedBytesSupported(final ThreadMXBean threadMXBean) {
+        try {
+            return threadMXBean instanceof com.sun.management.ThreadMXBean
+                    && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemoryEnabled();
+        } catch (final LinkageError | UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    //endregion
+
+    //region > startNewBootstrap
+
+    /**
+     * Discards the phases recorded by any previous bootstrap, so that the timeline reports only the bootstrap now
+     * starting.
+     *
+     * <p>
+     *     Does nothing if a phase is already in progress in the calling thread: that phase is taken to be the start
+     *     of the current bootstrap (for example, the viewer's own initialization, within which the framework is
+     *     bootstrapped).
+     * </p>
+     */
+    public void startNewBootstrap() {
+        if(!phasesInProgress.get().isEmpty()) {
+            return;
+        }
+        entries.clear();
+        originNanos = -1;
+    }
+
+    //endregion
+
+    //region > start, Phase
+
+    /**
+     * Starts a phase (nested within any phase already in progress in the calling thread); the phase ends when it
+     * is {@link Phase#close() closed}.
+     */
+    public Phase start(final String name) {
+        final long nowNanos = System.nanoTime();
+        if(originNanos == -1) {
+            originNanos = nowNanos;
+        }
+        final Deque<Phase> phases = phasesInProgress.get();
+        final Phase parent = phases.peek();
+        final Phase phase = new Phase(
+                sequence.getAndIncrement(),
+                parent != null ? parent.path + "/" + name : name,
+                phases.size(),
+                nowNanos);
+        phases.push(phase);
+        return phase;
+    }
+
+    public final class Phase implements AutoCloseable {
+
+        private final int sequence;
+        private final String path;
+        private final int depth;
+        private final long startNanos;
+        private final long startCpuNanos;
+        private final long startAllocatedBytes;
+        private boolean closed;
+
+        private Phase(final int sequence, final String path, final int depth, final long startNanos) {
+            this.sequence = sequence;
+            this.path = path;
+            this.depth = depth;
+            this.startNanos = startNanos;
+            this.startCpuNanos = currentThreadCpuNanos();
+            this.startAllocatedBytes = currentThreadAllocatedBytes();
+        }
+
+        @Override
+        public void close() {
+            if(closed) {
+                return;
+            }
+            closed = true;
+
+            final long cpuNanos = currentThreadCpuNanos();
+            final long allocatedBytes = currentThreadAllocatedBytes();
+            final long endNanos = System.nanoTime();
+
+            phasesInProgress.get().remove(this);
+
+            entries.add(new Entry(
+                    sequence, path, depth, Thread.currentThread().getName(),
+                    nanosToMillis(startNanos - originNanos),
+                    nanosToMillis(endNanos - startNanos),
+                    startCpuNanos == -1 ? -1 : nanosToMillis(cpuNanos - startCpuNanos),
+                    startAllocatedBytes == -1 ? -1 : allocatedBytes - startAllocatedBytes));
+        }
+    }
+
+    private long currentThreadCpuNanos() {
+        return cpuTimeSupported ? threadMXBean.getCurrentThreadCpuTime() : -1;
+    }
+
+    private long currentThreadAllocatedBytes() {
+        if(!allocatedBytesSupported) {
+            return -1;
+        }
+        return ((com.sun.management.ThreadMXBean) threadMXBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static long nanosToMillis(final long nanos) {
+        return nanos / 1000000L;
+    }
+
+    //endregion
+
+    //region > Entry, getEntries
+
+    /**
+     * A completed phase.
+     */
+    public static final class Entry {
+
+        // not serialized to JSON
+        private final transient int sequence;
+
+        private final String phase;
+        private final int depth;
+        private final String thread;
+        private final long startMillis;
+        private final long wallMillis;
+        private final long cpuMillis;
+        private final long allocatedBytes;
+
+        Entry(
+                final int sequence,
+                final String phase,
+                final int depth,
+                final String thread,
+                final long startMillis,
+                final long wallMillis,
+                final long cpuMillis,
+                final long allocatedBytes) {
+            this.sequence = sequence;
+            this.phase = phase;
+            this.depth = depth;
+            this.thread = thread;
+            this.startMillis = startMillis;
+            this.wallMillis = wallMillis;
+            this.cpuMillis = cpuMillis;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        /**
+         * The names of this phase and of the phases that it is nested within, separated by '/'.
+         */
+        public String getPhase() {
+            return phase;
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+
+        public String getThread() {
+            return thread;
+        }
+
+        /**
+         * Relative to the start of the first phase recorded.
+         */
+        public long getStartMillis() {
+            return startMillis;
+        }
+
+        public long getWallMillis() {
+            return wallMillis;
+        }
+
+        /**
+         * <tt>-1</tt> if not supported by the JVM.
+         */
+        public long getCpuMillis() {
+            return cpuMillis;
+        }
+
+        /**
+         * <tt>-1</tt> if not supported by the JVM.
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+
+    private static final Comparator<Entry> BY_SEQUENCE = new Comparator<Entry>() {
+        @Override
+        public int compare(final Entry o1, final Entry o2) {
+            return Integer.compare(o1.sequence, o2.sequence);
+        }
+    };
+
+    /**
+     * The completed phases, in the order in which they were started.
+     */
+    public List<Entry> getEntries() {
+        final List<Entry> entries = Lists.newArrayList(this.entries);
+        Collections.sort(entries, BY_SEQUENCE);
+        return Collections.unmodifiableList(entries);
+    }
+
+    //endregion
+
+    //region > asJson, asSummary
+
+    public String asJson() {
+        return new GsonBuilder().setPrettyPrinting().create().toJson(getEntries());
+    }
+
+    /**
+     * A human-readable table of the phases, indented by nesting.
+     */
+    public String asSummary() {
+        final StringBuilder buf = new StringBuilder();
+        buf.append(String.format("%-60s %10s %10s %12s%n", "phase", "wall (ms)", "cpu (ms)", "alloc (KB)"));
+        for (final Entry entry : getEntries()) {
+            final String name = entry.phase.substring(entry.phase.lastIndexOf('/') + 1);
+            buf.append(String.format("%-60s %10d %10s %12s%n",
+                    Strings.repeat("  ", entry.depth) + name,
+                    entry.wallMillis,
+                    entry.cpuMillis == -1 ? "n/a" : Long.toString(entry.cpuMillis),
+                    entry.allocatedBytes == -1 ? "n/a" : Long.toString(entry.allocatedBytes / 1024)));
+        }
+        return buf.toString();
+    }
+
+    //endregion
+
+}
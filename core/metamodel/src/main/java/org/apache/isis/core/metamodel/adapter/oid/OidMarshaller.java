@@ -18,15 +18,8 @@
  */
 package org.apache.isis.core.metamodel.adapter.oid;
 
-import java.util.Iterator;
-import java.util.List;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import com.google.common.base.Splitter;
-import com.google.common.base.Strings;
-import com.google.common.collect.Lists;
-
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.services.bookmark.Bookmark;
 import org.apache.isis.core.metamodel.adapter.oid.Oid.State;
@@ -101,13 +94,23 @@ private OidMarshaller(){}
 	private static final String SEPARATOR_COLLECTION = "$";
 	private static final String SEPARATOR_VERSION = "^";
 
+	private static final char TRANSIENT_INDICATOR_CHAR = '!';
+	private static final char VIEWMODEL_INDICATOR_CHAR = '*';
+	private static final char SEPARATOR_CHAR = ':';
+	private static final char SEPARATOR_NESTING_CHAR = '~';
+	private static final char SEPARATOR_COLLECTION_CHAR = '$';
+	private static final char SEPARATOR_VERSION_CHAR = '^';
+
 	private static final String WORD = "[^" + SEPARATOR + SEPARATOR_NESTING + SEPARATOR_COLLECTION + "\\" + SEPARATOR_VERSION + "#" + "]+";
 	private static final String DIGITS = "\\d+";
 	
 	private static final String WORD_GROUP = "(" + WORD + ")";
 	private static final String DIGITS_GROUP = "(" + DIGITS + ")";
     
-	private static Pattern OIDSTR_PATTERN = 
+	/**
+	 * Not used for parsing (see {@link #unmarshal(String, Class)}), but defines the syntax of an oid str.
+	 */
+	private static final Pattern OIDSTR_PATTERN = 
             Pattern.compile(
             		"^(" +
             		   "(" +
@@ -144,84 +147,172 @@ public String splitInstanceId(String oidStr) {
 
     //region > unmarshal
 
+    /**
+     * Parses the oid str in a single pass (rather than by matching against {@link #OIDSTR_PATTERN} and splitting
+     * the groups), but accepts and rejects exactly the same strings as that pattern.
+     */
     @Programmatic
     @SuppressWarnings("unchecked")
-	public <T extends Oid> T unmarshal(String oidStr, Class<T> requestedType) {
-        
-        final Matcher matcher = OIDSTR_PATTERN.matcher(oidStr);
-        if (!matcher.matches()) {
-            throw new IllegalArgumentException("Could not parse OID '" + oidStr + "'; should match pattern: " + OIDSTR_PATTERN.pattern());
+	public <T extends Oid> T unmarshal(final String oidStr, final Class<T> requestedType) {
+
+        final int length = oidStr.length();
+        int pos = 0;
+
+        // the indicator is only treated as such if followed by an object type; otherwise it is the object type
+        State state = State.PERSISTENT;
+        if(length > 1 && isWordChar(oidStr.charAt(1))) {
+            final char indicator = oidStr.charAt(0);
+            if(indicator == TRANSIENT_INDICATOR_CHAR) {
+                state = State.TRANSIENT;
+                pos = 1;
+            } else if(indicator == VIEWMODEL_INDICATOR_CHAR) {
+                state = State.VIEWMODEL;
+                pos = 1;
+            }
         }
 
-        final String isTransientOrViewModelStr = getGroup(matcher, 3);
-        final State state;
-        if("!".equals(isTransientOrViewModelStr)) {
-            state = State.TRANSIENT;
-        } else if("*".equals(isTransientOrViewModelStr)) {
-            state = State.VIEWMODEL;
-        } else {
-            state = State.PERSISTENT;
+        final int rootObjectTypeStart = pos;
+        pos = endOfWord(oidStr, pos);
+        if(pos == rootObjectTypeStart || !isCharAt(oidStr, pos, SEPARATOR_CHAR)) {
+            throw couldNotParse(oidStr);
         }
-        
-        final String rootObjectType = getGroup(matcher, 4);
-        final String rootIdentifier = getGroup(matcher, 5);
-        
-        final String aggregateOidPart = getGroup(matcher, 6);
-        final List<AggregateOidPart> aggregateOidParts = Lists.newArrayList();
-        final Splitter nestingSplitter = Splitter.on(SEPARATOR_NESTING);
-        final Splitter partsSplitter = Splitter.on(SEPARATOR);
-        if(aggregateOidPart != null) {
-            final Iterable<String> tildaSplitIter = nestingSplitter.split(aggregateOidPart);
-            for(String str: tildaSplitIter) {
-                if(Strings.isNullOrEmpty(str)) {
-                    continue; // leading "~"
-                }
-                final Iterator<String> colonSplitIter = partsSplitter.split(str).iterator();
-                final String objectType = colonSplitIter.next();
-                final String localId = colonSplitIter.next();
-                aggregateOidParts.add(new AggregateOidPart(objectType, localId));
+        final int rootObjectTypeEnd = pos++;
+
+        final int rootIdentifierStart = pos;
+        pos = endOfWord(oidStr, pos);
+        if(pos == rootIdentifierStart) {
+            throw couldNotParse(oidStr);
+        }
+        final int rootIdentifierEnd = pos;
+
+        // nesting of aggregates
+        boolean aggregated = false;
+        while(isCharAt(oidStr, pos, SEPARATOR_NESTING_CHAR)) {
+            final int objectTypeStart = ++pos;
+            pos = endOfWord(oidStr, pos);
+            if(pos == objectTypeStart || !isCharAt(oidStr, pos, SEPARATOR_CHAR)) {
+                throw couldNotParse(oidStr);
+            }
+            final int localIdStart = ++pos;
+            pos = endOfWord(oidStr, pos);
+            if(pos == localIdStart) {
+                throw couldNotParse(oidStr);
             }
+            aggregated = true;
         }
-        final String collectionPart = getGroup(matcher, 8);
-        final String collectionName = collectionPart != null ? collectionPart.substring(1) : null;
-        
-        final String versionSequence = getGroup(matcher, 10);
-        final String versionUser = getGroup(matcher, 11); 
-        final String versionUtcTimestamp = getGroup(matcher, 12);
-        final Version version = Version.create(versionSequence, versionUser, versionUtcTimestamp);
 
-        if(collectionName == null) {
-            if(aggregateOidParts.isEmpty()) {
-                ensureCorrectType(oidStr, requestedType, RootOid.class);
-                return (T) new RootOid(ObjectSpecId.of(rootObjectType), rootIdentifier, state, version);
-            } else {
-                throw new RuntimeException("Aggregated Oids are no longer supported");
+        // optional collection name
+        String collectionName = null;
+        if(isCharAt(oidStr, pos, SEPARATOR_COLLECTION_CHAR)) {
+            final int collectionNameStart = ++pos;
+            pos = endOfWord(oidStr, pos);
+            if(pos == collectionNameStart) {
+                throw couldNotParse(oidStr);
             }
-        } else {
-            final String oidStrWithoutCollectionName = getGroup(matcher, 1);
-            
-            final String parentOidStr = oidStrWithoutCollectionName + marshal(version);
+            collectionName = oidStr.substring(collectionNameStart, pos);
+        }
 
-            RootOid parentOid = this.unmarshal(parentOidStr, RootOid.class);
+        // optional version (sequence, then optional user name and optional UTC time)
+        int sequenceStart = -1, sequenceEnd = -1, userStart = -1, userEnd = -1, utcTimestampStart = -1;
+        if(isCharAt(oidStr, pos, SEPARATOR_VERSION_CHAR)) {
+            sequenceStart = ++pos;
+            pos = endOfDigits(oidStr, pos);
+            if(pos == sequenceStart || !isCharAt(oidStr, pos, SEPARATOR_CHAR)) {
+                throw couldNotParse(oidStr);
+            }
+            sequenceEnd = pos++;
+
+            userStart = pos;
+            pos = endOfWord(oidStr, pos);
+            if(!isCharAt(oidStr, pos, SEPARATOR_CHAR)) {
+                throw couldNotParse(oidStr);
+            }
+            userEnd = pos++;
+
+            utcTimestampStart = pos;
+            pos = endOfDigits(oidStr, pos);
+        }
+
+        if(pos != length) {
+            throw couldNotParse(oidStr);
+        }
+
+        final Version version = sequenceStart == -1
+                ? null
+                : Version.create(
+                        parseLong(oidStr, sequenceStart, sequenceEnd),
+                        userEnd > userStart ? oidStr.substring(userStart, userEnd) : null,
+                        length > utcTimestampStart ? parseLong(oidStr, utcTimestampStart, length) : null);
+
+        if(aggregated) {
+            throw new RuntimeException("Aggregated Oids are no longer supported");
+        }
+
+        final RootOid rootOid = new RootOid(
+                ObjectSpecId.of(oidStr.substring(rootObjectTypeStart, rootObjectTypeEnd)),
+                oidStr.substring(rootIdentifierStart, rootIdentifierEnd),
+                state, version);
+        if(collectionName == null) {
+            ensureCorrectType(oidStr, requestedType, RootOid.class);
+            return (T) rootOid;
+        } else {
             ensureCorrectType(oidStr, requestedType, ParentedCollectionOid.class);
-            return (T)new ParentedCollectionOid(parentOid, collectionName);
+            return (T) new ParentedCollectionOid(rootOid, collectionName);
         }
     }
 
+    private static boolean isWordChar(final char c) {
+        return c != SEPARATOR_CHAR &&
+               c != SEPARATOR_NESTING_CHAR &&
+               c != SEPARATOR_COLLECTION_CHAR &&
+               c != SEPARATOR_VERSION_CHAR &&
+               c != '#';
+    }
 
+    private static int endOfWord(final String str, int pos) {
+        final int length = str.length();
+        while(pos < length && isWordChar(str.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
 
-    private static class AggregateOidPart {
-        AggregateOidPart(String objectType, String localId) {
-            this.objectType = objectType;
-            this.localId = localId;
+    private static int endOfDigits(final String str, int pos) {
+        final int length = str.length();
+        while(pos < length && isDigit(str.charAt(pos))) {
+            pos++;
         }
-        String objectType;
-        String localId;
-        public String toString() {
-            return SEPARATOR_NESTING + objectType + SEPARATOR + localId;
+        return pos;
+    }
+
+    private static boolean isDigit(final char c) {
+        // as per \d in a regex, ie ASCII only
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isCharAt(final String str, final int pos, final char c) {
+        return pos < str.length() && str.charAt(pos) == c;
+    }
+
+    /**
+     * As per {@link Long#parseLong(String)} of the substring (of digits), without creating that substring.
+     */
+    private static long parseLong(final String str, final int start, final int end) {
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            final int digit = str.charAt(i) - '0';
+            if(value > (Long.MAX_VALUE - digit) / 10) {
+                throw new NumberFormatException("For input string: \"" + str.substring(start, end) + "\"");
+            }
+            value = value * 10 + digit;
         }
+        return value;
+    }
+
+    private static IllegalArgumentException couldNotParse(final String oidStr) {
+        return new IllegalArgumentException(
+                "Could not parse OID '" + oidStr + "'; should match pattern: " + OIDSTR_PATTERN.pattern());
     }
-    
 
     private <T> void ensureCorrectType(String oidStr, Class<T> requestedType, final Class<? extends Oid> actualType) {
         if(!requestedType.isAssignableFrom(actualType)) {
@@ -230,39 +321,37 @@ private <T> void ensureCorrectType(String oidStr, Class<T> requestedType, final
         }
     }
 
-    private String getGroup(final Matcher matcher, final int group) {
-        final int groupCount = matcher.groupCount();
-        if(group > groupCount) {
-            return null;
-        }
-        final String val = matcher.group(group);
-        return Strings.emptyToNull(val);
-    }
-
-
     //endregion
 
     //region > marshal
     @Programmatic
     public final String marshal(RootOid rootOid) {
-        return marshalNoVersion(rootOid) + marshal(rootOid.getVersion());
+        final StringBuilder buf = new StringBuilder(64);
+        appendNoVersion(buf, rootOid);
+        appendVersion(buf, rootOid.getVersion());
+        return buf.toString();
     }
 
     @Programmatic
     public final String marshalNoVersion(RootOid rootOid) {
-        final String transientIndicator = rootOid.isTransient()? TRANSIENT_INDICATOR : "";
-        final String viewModelIndicator = rootOid.isViewModel()? VIEWMODEL_INDICATOR : "";
-        return transientIndicator + viewModelIndicator + rootOid.getObjectSpecId() + SEPARATOR + rootOid.getIdentifier();
+        final StringBuilder buf = new StringBuilder(48);
+        appendNoVersion(buf, rootOid);
+        return buf.toString();
     }
 
     @Programmatic
     public final String marshal(ParentedCollectionOid collectionOid) {
-        return marshalNoVersion(collectionOid) + marshal(collectionOid.getVersion());
+        final StringBuilder buf = new StringBuilder(64);
+        appendNoVersion(buf, collectionOid);
+        appendVersion(buf, collectionOid.getVersion());
+        return buf.toString();
     }
 
     @Programmatic
     public String marshalNoVersion(ParentedCollectionOid collectionOid) {
-        return collectionOid.getRootOid().enStringNoVersion() + SEPARATOR_COLLECTION + collectionOid.getName();
+        final StringBuilder buf = new StringBuilder(48);
+        appendNoVersion(buf, collectionOid);
+        return buf.toString();
     }
 
     @Programmatic
@@ -270,12 +359,38 @@ public final String marshal(Version version) {
         if(version == null) {
             return "";
         }
-        final String versionUser = version.getUser();
-        return SEPARATOR_VERSION + version.getSequence() + SEPARATOR + Strings.nullToEmpty(versionUser) + SEPARATOR + nullToEmpty(version.getUtcTimestamp());
+        final StringBuilder buf = new StringBuilder(32);
+        appendVersion(buf, version);
+        return buf.toString();
+    }
+
+    private static void appendNoVersion(final StringBuilder buf, final RootOid rootOid) {
+        if(rootOid.isTransient()) {
+            buf.append(TRANSIENT_INDICATOR_CHAR);
+        }
+        if(rootOid.isViewModel()) {
+            buf.append(VIEWMODEL_INDICATOR_CHAR);
+        }
+        buf.append(rootOid.getObjectSpecId().asString()).append(SEPARATOR_CHAR).append(rootOid.getIdentifier());
     }
 
-    private static String nullToEmpty(Object obj) {
-        return obj == null? "": "" + obj;
+    private static void appendNoVersion(final StringBuilder buf, final ParentedCollectionOid collectionOid) {
+        appendNoVersion(buf, collectionOid.getRootOid());
+        buf.append(SEPARATOR_COLLECTION_CHAR).append(collectionOid.getName());
+    }
+
+    private static void appendVersion(final StringBuilder buf, final Version version) {
+        if(version == null) {
+            return;
+        }
+        buf.append(SEPARATOR_VERSION_CHAR).append(version.getSequence()).append(SEPARATOR_CHAR);
+        if(version.getUser() != null) {
+            buf.append(version.getUser());
+        }
+        buf.append(SEPARATOR_CHAR);
+        if(version.getUtcTimestamp() != null) {
+            buf.append(version.getUtcTimestamp().longValue());
+        }
     }
     //endregion
 
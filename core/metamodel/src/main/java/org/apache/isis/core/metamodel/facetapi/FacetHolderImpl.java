@@ -19,18 +19,57 @@
 
 package org.apache.isis.core.metamodel.facetapi;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
+
+import com.google.common.collect.Lists;
 
 import org.apache.isis.applib.filter.Filter;
 
 /**
  * For base subclasses or, more likely, to help write tests.
+ *
+ * <p>
+ *     Facets are held in a pair of parallel arrays, sorted by the {@link FacetTypeIds global id} of their facet type
+ *     and looked up by binary search.  Most holders have only a handful of facets, and there are very many holders
+ *     (every spec, member and parameter), so this is considerably more compact than a <tt>HashMap</tt> per holder.
+ * </p>
+ *
+ * <p>
+ *     The arrays are never modified once published; adding or removing a facet copies them into a new
+ *     {@link FacetArrays} that replaces the previous one through a single volatile field.  Lookups are therefore
+ *     lock-free and always see a consistent pair of arrays, while (the rare) concurrent modifications are serialized.
+ * </p>
  */
 public class FacetHolderImpl implements FacetHolder {
 
-    private final Map<Class<? extends Facet>, Facet> facetsByClass = new HashMap<Class<? extends Facet>, Facet>();
+    /**
+     * Immutable (once constructed); the {@link #facetTypeIds} are sorted, the {@link #facets} parallel to them.
+     */
+    private static final class FacetArrays {
+
+        private static final FacetArrays EMPTY = new FacetArrays(new int[0], new Facet[0]);
+
+        private final int[] facetTypeIds;
+        private final Facet[] facets;
+
+        private FacetArrays(final int[] facetTypeIds, final Facet[] facets) {
+            this.facetTypeIds = facetTypeIds;
+            this.facets = facets;
+        }
+
+        int indexOf(final Class<? extends Facet> facetType) {
+            return facetTypeIds.length == 0
+                    ? -1
+                    : Arrays.binarySearch(facetTypeIds, FacetTypeIds.idOf(facetType));
+        }
+
+        int size() {
+            return facetTypeIds.length;
+        }
+    }
+
+    private volatile FacetArrays facetArrays = FacetArrays.EMPTY;
 
     @Override
     public boolean containsFacet(final Class<? extends Facet> facetType) {
@@ -56,10 +95,10 @@ public void addFacet(final MultiTypedFacet facet) {
         }
     }
 
-    private void addFacet(final Class<? extends Facet> facetType, final Facet facet) {
+    private synchronized void addFacet(final Class<? extends Facet> facetType, final Facet facet) {
         final Facet existingFacet = getFacet(facetType);
         if (existingFacet == null || existingFacet.isNoop()) {
-            facetsByClass.put(facetType, facet);
+            put(facetType, facet);
             return;
         }
         if (!facet.alwaysReplace()) {
@@ -69,33 +108,99 @@ private void addFacet(final Class<? extends Facet> facetType, final Facet facet)
             return;
         }
         facet.setUnderlyingFacet(existingFacet);
-        facetsByClass.put(facetType, facet);
+        put(facetType, facet);
     }
 
     @Override
     public void removeFacet(final Facet facet) {
-        FacetUtil.removeFacet(facetsByClass, facet);
+        removeFacet(facet.facetType());
     }
 
     @Override
     public void removeFacet(final Class<? extends Facet> facetType) {
-        FacetUtil.removeFacet(facetsByClass, facetType);
+        final Facet facet;
+        synchronized (this) {
+            final FacetArrays current = this.facetArrays;
+            final int index = current.indexOf(facetType);
+            if (index < 0) {
+                return;
+            }
+            facet = current.facets[index];
+
+            final int size = current.size() - 1;
+            if (size == 0) {
+                this.facetArrays = FacetArrays.EMPTY;
+            } else {
+                final int[] newFacetTypeIds = new int[size];
+                final Facet[] newFacets = new Facet[size];
+                System.arraycopy(current.facetTypeIds, 0, newFacetTypeIds, 0, index);
+                System.arraycopy(current.facets, 0, newFacets, 0, index);
+                System.arraycopy(current.facetTypeIds, index + 1, newFacetTypeIds, index, size - index);
+                System.arraycopy(current.facets, index + 1, newFacets, index, size - index);
+                this.facetArrays = new FacetArrays(newFacetTypeIds, newFacets);
+            }
+        }
+        facet.setFacetHolder(null);
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T extends Facet> T getFacet(final Class<T> facetType) {
-        return (T) facetsByClass.get(facetType);
+        final FacetArrays current = this.facetArrays;
+        final int index = current.indexOf(facetType);
+        return index >= 0 ? (T) current.facets[index] : null;
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public Class<? extends Facet>[] getFacetTypes() {
-        return FacetUtil.getFacetTypes(facetsByClass);
+        final int[] facetTypeIds = this.facetArrays.facetTypeIds;
+        final Class<? extends Facet>[] facetTypes = new Class[facetTypeIds.length];
+        for (int i = 0; i < facetTypeIds.length; i++) {
+            facetTypes[i] = FacetTypeIds.facetTypeOf(facetTypeIds[i]);
+        }
+        return facetTypes;
     }
 
     @Override
     public List<Facet> getFacets(final Filter<Facet> filter) {
-        return FacetUtil.getFacets(facetsByClass, filter);
+        final List<Facet> filteredFacets = Lists.newArrayList();
+        for (final Facet facet : this.facetArrays.facets) {
+            // facets that implement MultiTypedFacet will be held more than once.  The 'contains' check ensures they are only returned once, however.
+            if (filter.accept(facet) && !filteredFacets.contains(facet)) {
+                filteredFacets.add(facet);
+            }
+        }
+        return filteredFacets;
+    }
+
+    /**
+     * Caller must hold the lock on this holder.
+     */
+    private void put(final Class<? extends Facet> facetType, final Facet facet) {
+        final FacetArrays current = this.facetArrays;
+        final int facetTypeId = FacetTypeIds.idOf(facetType);
+        final int index = Arrays.binarySearch(current.facetTypeIds, facetTypeId);
+        final int size = current.size();
+        if (index >= 0) {
+            // replace, but copy rather than write into the published array
+            final Facet[] newFacets = current.facets.clone();
+            newFacets[index] = facet;
+            this.facetArrays = new FacetArrays(current.facetTypeIds, newFacets);
+            return;
+        }
+
+        // grow by exactly one; facets are only added while the metamodel is being built
+        final int insertAt = -(index + 1);
+        final int[] newFacetTypeIds = new int[size + 1];
+        final Facet[] newFacets = new Facet[size + 1];
+        System.arraycopy(current.facetTypeIds, 0, newFacetTypeIds, 0, insertAt);
+        System.arraycopy(current.facets, 0, newFacets, 0, insertAt);
+        newFacetTypeIds[insertAt] = facetTypeId;
+        newFacets[insertAt] = facet;
+        System.arraycopy(current.facetTypeIds, insertAt, newFacetTypeIds, insertAt + 1, size - insertAt);
+        System.arraycopy(current.facets, insertAt, newFacets, insertAt + 1, size - insertAt);
+        this.facetArrays = new FacetArrays(newFacetTypeIds, newFacets);
     }
 
 }
@@ -0,0 +1,60 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.apache.isis.core.metamodel.facetapi;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Assigns each facet type a small, global integer id (in order of first use), so that {@link FacetHolderImpl} can
+ * hold its facets in compact sorted arrays rather than in a map.
+ */
+final class FacetTypeIds {
+
+    private FacetTypeIds() {
+    }
+
+    /**
+     * Indexed by id.
+     */
+    private static final List<Class<? extends Facet>> facetTypeById = new CopyOnWriteArrayList<>();
+
+    private static final ClassValue<Integer> idByFacetType = new ClassValue<Integer>() {
+        @Override
+        @SuppressWarnings("unchecked")
+        protected Integer computeValue(final Class<?> facetType) {
+            // if two threads race for the same type then one id goes unused; harmless
+            synchronized (facetTypeById) {
+                facetTypeById.add((Class<? extends Facet>) facetType);
+                return facetTypeById.size() - 1;
+            }
+        }
+    };
+
+    static int idOf(final Class<? extends Facet> facetType) {
+        return idByFacetType.get(facetType);
+    }
+
+    static Class<? extends Facet> facetTypeOf(final int id) {
+        return facetTypeById.get(id);
+    }
+
+}
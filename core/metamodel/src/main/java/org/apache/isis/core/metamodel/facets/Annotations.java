@@ -26,8 +26,10 @@
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentMap;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 
 import org.apache.isis.applib.annotation.Collection;
 import org.apache.isis.applib.annotation.CollectionLayout;
@@ -43,6 +45,89 @@ public final class Annotations  {
     
     private Annotations() {}
 
+    //region > lookup cache
+
+    /**
+     * The {@link LookupCache} (if any) of the metamodel being built by the calling thread.
+     */
+    private static final ThreadLocal<LookupCache> currentLookupCache = new ThreadLocal<>();
+
+    /**
+     * Makes the cache available to the lookups performed by the calling thread (or, if <tt>null</tt>, performs them
+     * uncached), returning the cache previously in use so that it can be restored.
+     *
+     * <p>
+     *     Called by the {@link org.apache.isis.core.metamodel.specloader.SpecificationLoader} around each
+     *     introspection, so that a cache is only ever used by (and only ever holds the classes of) the metamodel
+     *     that created it.
+     * </p>
+     */
+    public static LookupCache useCache(final LookupCache lookupCache) {
+        final LookupCache previous = currentLookupCache.get();
+        if (lookupCache != null) {
+            currentLookupCache.set(lookupCache);
+        } else {
+            currentLookupCache.remove();
+        }
+        return previous;
+    }
+
+    /**
+     * Memoises the results of {@link #getAnnotation(Class, Class)}, {@link #getAnnotation(Method, Class)},
+     * {@link #isAnnotationPresent(Method, Class)} and {@link #getEvaluators(Class, Class)}, along with the lookups of
+     * the fields backing properties, while a metamodel is being built.
+     *
+     * <p>
+     *     Each of the facet factories asks about its own annotation(s) for the same classes and methods, and each
+     *     uncached lookup walks the class hierarchy again (looking up - and typically failing to find - the
+     *     overridden method and the backing field in every supertype).  With the cache the hierarchy is walked just
+     *     once per element and annotation type.
+     * </p>
+     */
+    public static final class LookupCache {
+
+        private static final Object NONE = new Object();
+
+        private final Results annotationByClass = new Results();
+        private final Results annotationByMethod = new Results();
+        private final Results presentByMethod = new Results();
+        private final Results evaluatorsByClass = new Results();
+        private final Results declaredFieldByClass = new Results();
+
+        private static final class Results {
+            private final ConcurrentMap<Object, ConcurrentMap<Object, Object>> resultsByElement =
+                    Maps.newConcurrentMap();
+
+            /**
+             * @return {@link LookupCache#NONE} if a <tt>null</tt> result was cached, <tt>null</tt> if no result
+             * has been cached.
+             */
+            Object get(final Object element, final Object key) {
+                final ConcurrentMap<Object, Object> results = resultsByElement.get(element);
+                return results != null ? results.get(key) : null;
+            }
+
+            void put(final Object element, final Object key, final Object result) {
+                ConcurrentMap<Object, Object> results = resultsByElement.get(element);
+                if (results == null) {
+                    final ConcurrentMap<Object, Object> newResults = Maps.newConcurrentMap();
+                    results = resultsByElement.putIfAbsent(element, newResults);
+                    if (results == null) {
+                        results = newResults;
+                    }
+                }
+                results.put(key, result != null ? result : NONE);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T unwrap(final Object result) {
+            return result == NONE ? null : (T) result;
+        }
+    }
+
+    //endregion
+
     /**
      * For convenience of the several annotations that apply only to
      * {@link String}s.
@@ -76,6 +161,20 @@ public static <T extends Annotation> T getAnnotation(final Class<?> cls, final C
         if (cls == null) {
             return null;
         }
+        final LookupCache lookupCache = currentLookupCache.get();
+        if (lookupCache == null) {
+            return doGetAnnotation(cls, annotationClass);
+        }
+        final Object cached = lookupCache.annotationByClass.get(cls, annotationClass);
+        if (cached != null) {
+            return LookupCache.unwrap(cached);
+        }
+        final T annotation = doGetAnnotation(cls, annotationClass);
+        lookupCache.annotationByClass.put(cls, annotationClass, annotation);
+        return annotation;
+    }
+
+    private static <T extends Annotation> T doGetAnnotation(final Class<?> cls, final Class<T> annotationClass) {
         final T annotation = cls.getAnnotation(annotationClass);
         if (annotation != null) {
             return annotation;
@@ -115,6 +214,22 @@ public static <T extends Annotation> T getAnnotation(
         if (method == null) {
             return null;
         }
+        final LookupCache lookupCache = currentLookupCache.get();
+        if (lookupCache == null) {
+            return doGetAnnotation(method, annotationClass);
+        }
+        final Object cached = lookupCache.annotationByMethod.get(method, annotationClass);
+        if (cached != null) {
+            return LookupCache.unwrap(cached);
+        }
+        final T annotation = doGetAnnotation(method, annotationClass);
+        lookupCache.annotationByMethod.put(method, annotationClass, annotation);
+        return annotation;
+    }
+
+    private static <T extends Annotation> T doGetAnnotation(
+            final Method method,
+            final Class<T> annotationClass) {
         final Class<?> methodDeclaringClass = method.getDeclaringClass();
         final String methodName = method.getName();
 
@@ -129,14 +244,13 @@ public static <T extends Annotation> T getAnnotation(
 
             List<String> fieldNameCandidates = fieldNameCandidatesFor(methodName);
             for (String fieldNameCandidate : fieldNameCandidates) {
-                try {
-                    final Field field = methodDeclaringClass.getDeclaredField(fieldNameCandidate);
-                    final T fieldAnnotation = field.getAnnotation(annotationClass);
-                    if(fieldAnnotation != null) {
-                        return fieldAnnotation;
-                    }
-                } catch (NoSuchFieldException e) {
-                    // fall through
+                final Field field = getDeclaredField(methodDeclaringClass, fieldNameCandidate);
+                if(field == null) {
+                    continue;
+                }
+                final T fieldAnnotation = field.getAnnotation(annotationClass);
+                if(fieldAnnotation != null) {
+                    return fieldAnnotation;
                 }
             }
         }
@@ -166,6 +280,31 @@ public static <T extends Annotation> T getAnnotation(
         return null;
     }
 
+    /**
+     * @return <tt>null</tt> if there is no such field.
+     */
+    private static Field getDeclaredField(final Class<?> cls, final String fieldName) {
+        final LookupCache lookupCache = currentLookupCache.get();
+        if (lookupCache == null) {
+            return doGetDeclaredField(cls, fieldName);
+        }
+        final Object cached = lookupCache.declaredFieldByClass.get(cls, fieldName);
+        if (cached != null) {
+            return LookupCache.unwrap(cached);
+        }
+        final Field field = doGetDeclaredField(cls, fieldName);
+        lookupCache.declaredFieldByClass.put(cls, fieldName, field);
+        return field;
+    }
+
+    private static Field doGetDeclaredField(final Class<?> cls, final String fieldName) {
+        try {
+            return cls.getDeclaredField(fieldName);
+        } catch (final NoSuchFieldException e) {
+            return null;
+        }
+    }
+
     /**
      * Searches for all no-arg methods or fields with a specified title, returning an
      * {@link Evaluator} object that wraps either.  Will search up hierarchy also.
@@ -173,6 +312,23 @@ public static <T extends Annotation> T getAnnotation(
     public static <T extends Annotation> List<Evaluator<T>> getEvaluators(
             final Class<?> cls,
             final Class<T> annotationClass) {
+        final LookupCache lookupCache = currentLookupCache.get();
+        if (lookupCache == null) {
+            return doGetEvaluators(cls, annotationClass);
+        }
+        final Object cached = lookupCache.evaluatorsByClass.get(cls, annotationClass);
+        if (cached != null) {
+            // defensive copy, since the caller may modify the list
+            return Lists.newArrayList(LookupCache.<List<Evaluator<T>>>unwrap(cached));
+        }
+        final List<Evaluator<T>> evaluators = doGetEvaluators(cls, annotationClass);
+        lookupCache.evaluatorsByClass.put(cls, annotationClass, Lists.newArrayList(evaluators));
+        return evaluators;
+    }
+
+    private static <T extends Annotation> List<Evaluator<T>> doGetEvaluators(
+            final Class<?> cls,
+            final Class<T> annotationClass) {
         List<Evaluator<T>> evaluators = Lists.newArrayList();
         appendEvaluators(cls, annotationClass, evaluators);
         return evaluators;
@@ -325,6 +481,20 @@ public static boolean isAnnotationPresent(final Method method, final Class<? ext
         if (method == null) {
             return false;
         }
+        final LookupCache lookupCache = currentLookupCache.get();
+        if (lookupCache == null) {
+            return doIsAnnotationPresent(method, annotationClass);
+        }
+        final Object cached = lookupCache.presentByMethod.get(method, annotationClass);
+        if (cached != null) {
+            return (Boolean) cached;
+        }
+        final boolean present = doIsAnnotationPresent(method, annotationClass);
+        lookupCache.presentByMethod.put(method, annotationClass, present);
+        return present;
+    }
+
+    private static boolean doIsAnnotationPresent(final Method method, final Class<? extends Annotation> annotationClass) {
         final boolean present = method.isAnnotationPresent(annotationClass);
         if (present) {
             return true;
@@ -42,6 +42,7 @@
 import org.apache.isis.core.commons.config.IsisConfiguration;
 import org.apache.isis.core.commons.exceptions.IsisException;
 import org.apache.isis.core.commons.lang.ArrayExtensions;
+import org.apache.isis.core.commons.lang.MethodInvoker;
 import org.apache.isis.core.commons.lang.ThrowableExtensions;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
@@ -400,12 +401,12 @@ protected Object invokeMethodElseFromCache(
             return queryResultsCache.execute(new Callable<Object>() {
                 @Override
                 public Object call() throws Exception {
-                    return method.invoke(targetPojo, executionParameters);
+                    return MethodInvoker.of(method).call(targetPojo, executionParameters);
                 }
             }, targetPojo.getClass(), method.getName(), targetPojoPlusExecutionParameters);
 
         } else {
-            return method.invoke(targetPojo, executionParameters);
+            return MethodInvoker.of(method).call(targetPojo, executionParameters);
         }
     }
 
@@ -26,20 +26,14 @@
 
 public class DescribedAsFacetTranslated extends FacetAbstract implements DescribedAsFacet{
 
-    private final String context;
-    private final String originalText;
-    private final TranslationService translationService;
-
-    private String value;
+    private final TranslatedText translatedText;
 
     public DescribedAsFacetTranslated(
             final String context, final String originalText,
             final TranslationService translationService,
             final IdentifiedHolder holder) {
         super(DescribedAsFacet.class, holder, Derivation.NOT_DERIVED);
-        this.context = context;
-        this.originalText = originalText;
-        this.translationService = translationService;
+        this.translatedText = new TranslatedText(context, originalText, translationService);
 
         if(translationService.getMode().isWrite()) {
             // force PoWriter to be called to capture this text that needs translating
@@ -53,6 +47,6 @@ public String value() {
     }
 
     private String translateText() {
-        return translationService.translate(context, originalText);
+        return translatedText.translate();
     }
 }
@@ -26,18 +26,14 @@
 
 public class NamedFacetTranslated extends FacetAbstract implements NamedFacet {
 
-    final TranslationService translationService;
-    String context;
-    String originalText;
+    final TranslatedText translatedText;
 
     public NamedFacetTranslated(
             final String context, final String originalText,
             final TranslationService translationService,
             final IdentifiedHolder facetHolder) {
         super(NamedFacet.class, facetHolder, Derivation.NOT_DERIVED);
-        this.context = context;
-        this.originalText = originalText;
-        this.translationService = translationService;
+        this.translatedText = new TranslatedText(context, originalText, translationService);
 
         if(translationService.getMode().isWrite()) {
             // force PoWriter to be called to capture this text that needs translating
@@ -51,7 +47,7 @@ public String value() {
     }
 
     private String translateText() {
-        return translationService.translate(context, originalText);
+        return translatedText.translate();
     }
 
     @Override
@@ -19,7 +19,6 @@
 
 package org.apache.isis.core.metamodel.facets.all.i18n;
 
-import org.apache.isis.applib.services.i18n.TranslationService;
 import org.apache.isis.core.commons.lang.StringExtensions;
 import org.apache.isis.core.metamodel.facetapi.FacetAbstract;
 import org.apache.isis.core.metamodel.facetapi.FacetHolder;
@@ -27,22 +26,23 @@
 
 public class PluralFacetTranslated extends FacetAbstract implements PluralFacet {
 
-    private final TranslationService translationService;
-    private String context;
-    private String originalText;
+    private final TranslatedText translatedText;
 
     public PluralFacetTranslated(final NamedFacetTranslated facet, final FacetHolder facetHolder) {
         super(PluralFacet.class, facetHolder, Derivation.DERIVED);
-        this.translationService = facet.translationService;
-        this.context = facet.context;
-        this.originalText = facet.originalText;
+        final TranslatedText singular = facet.translatedText;
+        this.translatedText = new TranslatedText(singular.context, singular.originalText, singular.translationService) {
+            @Override
+            String asValue(final String singularName) {
+                // TODO: sure this could be improved somehow using the other overload of translationService#translate(...)
+                return StringExtensions.asPluralName(singularName);
+            }
+        };
     }
 
     @Override
     public String value() {
-        final String singularName = translationService.translate(context, originalText);
-        // TODO: sure this could be improved somehow using the other overload of translationService#translate(...)
-        return StringExtensions.asPluralName(singularName);
+        return translatedText.translate();
     }
 
 }
@@ -0,0 +1,117 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.facets.all.i18n;
+
+import java.util.Arrays;
+
+import org.apache.isis.applib.services.i18n.TranslationService;
+import org.apache.isis.core.metamodel.services.i18n.TranslationServiceInternal;
+
+/**
+ * A piece of translatable metamodel text (the name, plural name or description of some feature), along with its translations
+ * tabulated by locale slot.
+ *
+ * <p>
+ *     If the {@link TranslationService} is a {@link TranslationServiceInternal}, then each locale's translation is
+ *     looked up only the first time it is requested (and again after the translations are reloaded); thereafter it
+ *     is read from an immutable table indexed by locale slot.  Otherwise every request is delegated to the
+ *     {@link TranslationService}.
+ * </p>
+ */
+class TranslatedText {
+
+    private static final class Table {
+
+        static final Table EMPTY = new Table(Integer.MIN_VALUE, new String[0]);
+
+        final int version;
+        final String[] translationBySlot;
+
+        Table(final int version, final String[] translationBySlot) {
+            this.version = version;
+            this.translationBySlot = translationBySlot;
+        }
+
+        String get(final int slot) {
+            return slot < translationBySlot.length ? translationBySlot[slot] : null;
+        }
+
+        Table with(final int slot, final String translation) {
+            final String[] copy = Arrays.copyOf(translationBySlot, Math.max(translationBySlot.length, slot + 1));
+            copy[slot] = translation;
+            return new Table(version, copy);
+        }
+    }
+
+    final String context;
+    final String originalText;
+    final TranslationService translationService;
+
+    private volatile Table table = Table.EMPTY;
+
+    TranslatedText(
+            final String context,
+            final String originalText,
+            final TranslationService translationService) {
+        this.context = context;
+        this.originalText = originalText;
+        this.translationService = translationService;
+    }
+
+    String translate() {
+        if(translationService instanceof TranslationServiceInternal) {
+            final TranslationServiceInternal translationServiceInternal =
+                    (TranslationServiceInternal) translationService;
+            final int slot = translationServiceInternal.currentLocaleSlot();
+            if(slot >= 0) {
+                return translate(translationServiceInternal, slot);
+            }
+        }
+        return asValue(translationService.translate(context, originalText));
+    }
+
+    private String translate(final TranslationServiceInternal translationServiceInternal, final int slot) {
+        // read the version first, so that a concurrent reload results in the table being discarded next time
+        final int version = translationServiceInternal.getTranslationsVersion();
+        Table table = this.table;
+        if(table.version == version) {
+            final String translation = table.get(slot);
+            if(translation != null) {
+                return translation;
+            }
+        } else {
+            table = new Table(version, new String[0]);
+        }
+        final String translation = asValue(translationServiceInternal.translate(slot, context, originalText));
+        if(translation != null) {
+            // a racing thread may also add an entry, in which case one of the two is simply recomputed later
+            this.table = table.with(slot, translation);
+        }
+        return translation;
+    }
+
+    /**
+     * Hook to derive the facet's value from the translation (and which is tabulated in its place).
+     */
+    String asValue(final String translation) {
+        return translation;
+    }
+
+}
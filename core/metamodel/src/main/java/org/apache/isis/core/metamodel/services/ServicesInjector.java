@@ -21,7 +21,6 @@
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -83,10 +82,25 @@ public class ServicesInjector implements ApplicationScopedComponent {
     /**
      * If no key, not yet searched for type; otherwise the corresponding value is a {@link List} of all
      * services that are assignable to the type.  It's possible that this is an empty list.
+     *
+     * <p>
+     *     Concurrent because lookups may be performed by several threads (eg when introspecting specs in parallel).
+     * </p>
      */
-    private final Map<Class<?>, List<Object>> servicesAssignableToType = Maps.newHashMap();
+    private final Map<Class<?>, List<Object>> servicesAssignableToType = Maps.newConcurrentMap();
 
-    private final Map<Class<?>, Object> serviceByConcreteType = Maps.newHashMap();
+    /**
+     * Lazily built (as a whole) by {@link #isRegisteredService(Class)}, reset to <tt>null</tt> if any service is
+     * {@link #replaceService(Object, Object) replaced}.
+     */
+    private volatile Map<Class<?>, Object> serviceByConcreteType;
+
+    /**
+     * The {@link InjectionPlan} for each class into which services have been injected, resolved against the
+     * {@link #services} at that time; replaced (as a whole) if any service is
+     * {@link #replaceService(Object, Object) replaced} or {@link #addFallbackIfRequired(Class, Object) added}.
+     */
+    private volatile Map<Class<?>, InjectionPlan> injectionPlanByClass = Maps.newConcurrentMap();
 
     private final InjectorMethodEvaluator injectorMethodEvaluator;
     private final boolean autowireSetters;
@@ -154,17 +168,21 @@ public <T> void replaceService(final T existingService, final T replacementServi
 
         // invalidate
         servicesAssignableToType.clear();
-        serviceByConcreteType.clear();
+        serviceByConcreteType = null;
+        injectionPlanByClass = Maps.newConcurrentMap();
         autowire();
     }
 
     public boolean isRegisteredService(final Class<?> cls) {
         // lazily construct cache
-        if(serviceByConcreteType.isEmpty()) {
+        Map<Class<?>, Object> serviceByConcreteType = this.serviceByConcreteType;
+        if(serviceByConcreteType == null) {
+            serviceByConcreteType = Maps.newHashMap();
             for (Object service : services) {
                 final Class<?> concreteType = service.getClass();
                 serviceByConcreteType.put(concreteType, service);
             }
+            this.serviceByConcreteType = serviceByConcreteType;
         }
         return serviceByConcreteType.containsKey(cls);
     }
@@ -176,6 +194,7 @@ public <T> void addFallbackIfRequired(final Class<T> serviceClass, final T servi
             // FixtureScriptsDefault so that appears it top of prototyping menu; not
             // more flexible than this currently just because of YAGNI).
             services.add(0, serviceInstance);
+            injectionPlanByClass = Maps.newConcurrentMap();
         }
     }
 
@@ -243,7 +262,7 @@ public List<Object> getRegisteredServices() {
      * Called in multiple places from metamodel and facets.
      */
     public void injectServicesInto(final Object object) {
-        injectServices(object, services);
+        injectServices(object);
     }
 
     /**
@@ -275,45 +294,57 @@ public void injectInto(final Object candidate) {
 
     //region > helpers
 
-    private void injectServices(final Object object, final List<Object> services) {
+    private void injectServices(final Object object) {
+        injectionPlanFor(object.getClass()).injectInto(object);
+    }
+
+    private InjectionPlan injectionPlanFor(final Class<?> cls) {
+        // capture the map first, so that a plan computed against a superseded list of services is discarded
+        final Map<Class<?>, InjectionPlan> injectionPlanByClass = this.injectionPlanByClass;
+        InjectionPlan injectionPlan = injectionPlanByClass.get(cls);
+        if(injectionPlan == null) {
+            injectionPlan = compileInjectionPlan(cls, Lists.newArrayList(services));
+            injectionPlanByClass.put(cls, injectionPlan);
+        }
+        return injectionPlan;
+    }
 
-        final Class<?> cls = object.getClass();
+    private InjectionPlan compileInjectionPlan(final Class<?> cls, final List<Object> services) {
+        final List<InjectionPoint> injectionPoints = Lists.newArrayList();
 
-        autowireViaFields(object, services, cls);
+        compileFieldInjections(cls, services, injectionPoints);
 
         if(autowireSetters) {
-            autowireViaPrefixedMethods(object, services, cls, "set");
+            compileMethodInjections(cls, services, "set", injectionPoints);
         }
         if(autowireInject) {
-            autowireViaPrefixedMethods(object, services, cls, "inject");
+            compileMethodInjections(cls, services, "inject", injectionPoints);
         }
+        return new InjectionPlan(injectionPoints);
     }
 
-    private void autowireViaFields(final Object object, final List<Object> services, final Class<?> cls) {
-        final List<Field> fields = Arrays.asList(cls.getDeclaredFields());
-        final Iterable<Field> injectFields = Iterables.filter(fields, new Predicate<Field>() {
-            @Override
-            public boolean apply(final Field input) {
-                final Inject annotation = input.getAnnotation(javax.inject.Inject.class);
-                return annotation != null;
-            }
-        });
+    private static void compileFieldInjections(
+            final Class<?> cls,
+            final List<Object> services,
+            final List<InjectionPoint> injectionPoints) {
 
-        for (final Field field : injectFields) {
-            autowire(object, field, services);
+        for (final Field field : cls.getDeclaredFields()) {
+            if(field.getAnnotation(javax.inject.Inject.class) != null) {
+                compileFieldInjection(field, services, injectionPoints);
+            }
         }
 
         // recurse up the object's class hierarchy
         final Class<?> superclass = cls.getSuperclass();
         if(superclass != null) {
-            autowireViaFields(object, services, superclass);
+            compileFieldInjections(superclass, services, injectionPoints);
         }
     }
 
-    private void autowire(
-            final Object object,
+    private static void compileFieldInjection(
             final Field field,
-            final List<Object> services) {
+            final List<Object> services,
+            final List<InjectionPoint> injectionPoints) {
 
         final Class<?> type = field.getType();
         // don't think that type can ever be null,
@@ -337,52 +368,113 @@ public boolean apply(final Object input) {
                                                 return input != null && listType.isAssignableFrom(input.getClass());
                                             }
                                         })));
-                invokeInjectorField(field, object, listOfServices);
+                injectionPoints.add(new FieldInjectionPoint(field, listOfServices));
             }
         }
 
         for (final Object service : services) {
             final Class<?> serviceClass = service.getClass();
             if(type.isAssignableFrom(serviceClass)) {
-                invokeInjectorField(field, object, service);
+                injectionPoints.add(new FieldInjectionPoint(field, service));
                 return;
             }
         }
     }
 
-    private void autowireViaPrefixedMethods(
-            final Object object,
-            final List<Object> services,
+    private void compileMethodInjections(
             final Class<?> cls,
-            final String prefix) {
-        final List<Method> methods = Arrays.asList(cls.getMethods());
-        final Iterable<Method> prefixedMethods = Iterables.filter(methods, new Predicate<Method>(){
-            public boolean apply(final Method method) {
-                final String methodName = method.getName();
-                return methodName.startsWith(prefix);
-            }
-        });
+            final List<Object> services,
+            final String prefix,
+            final List<InjectionPoint> injectionPoints) {
 
-        for (final Method prefixedMethod : prefixedMethods) {
-            autowire(object, prefixedMethod, services);
+        for (final Method method : cls.getMethods()) {
+            if(method.getName().startsWith(prefix)) {
+                compileMethodInjection(method, services, injectionPoints);
+            }
         }
     }
 
-    private void autowire(
-            final Object object,
+    private void compileMethodInjection(
             final Method prefixedMethod,
-            final List<Object> services) {
+            final List<Object> services,
+            final List<InjectionPoint> injectionPoints) {
         for (final Object service : services) {
             final Class<?> serviceClass = service.getClass();
             final boolean isInjectorMethod = injectorMethodEvaluator.isInjectorMethodFor(prefixedMethod, serviceClass);
             if(isInjectorMethod) {
-                prefixedMethod.setAccessible(true);
-                invokeInjectorMethod(prefixedMethod, object, service);
+                injectionPoints.add(new MethodInjectionPoint(prefixedMethod, service));
                 return;
             }
         }
     }
 
+    /**
+     * The (resolved) fields and methods of a class into which services are to be injected, along with the service
+     * (or {@link List} of services) to inject into each.
+     *
+     * <p>
+     *     Computed on first use for each class, because the reflective search (of every field and method up the
+     *     class hierarchy, against every service) is otherwise repeated for every object loaded.
+     * </p>
+     */
+    private static final class InjectionPlan {
+
+        private final InjectionPoint[] injectionPoints;
+
+        InjectionPlan(final List<InjectionPoint> injectionPoints) {
+            this.injectionPoints = injectionPoints.toArray(new InjectionPoint[injectionPoints.size()]);
+        }
+
+        void injectInto(final Object target) {
+            for (final InjectionPoint injectionPoint : injectionPoints) {
+                injectionPoint.injectInto(target);
+            }
+        }
+    }
+
+    private static abstract class InjectionPoint {
+
+        protected final Object value;
+
+        InjectionPoint(final Object value) {
+            this.value = value;
+        }
+
+        abstract void injectInto(final Object target);
+    }
+
+    private static final class FieldInjectionPoint extends InjectionPoint {
+
+        private final Field field;
+
+        FieldInjectionPoint(final Field field, final Object value) {
+            super(value);
+            this.field = field;
+            field.setAccessible(true);
+        }
+
+        @Override
+        void injectInto(final Object target) {
+            invokeInjectorField(field, target, value);
+        }
+    }
+
+    private static final class MethodInjectionPoint extends InjectionPoint {
+
+        private final Method method;
+
+        MethodInjectionPoint(final Method method, final Object value) {
+            super(value);
+            this.method = method;
+            method.setAccessible(true);
+        }
+
+        @Override
+        void injectInto(final Object target) {
+            invokeInjectorMethod(method, target, value);
+        }
+    }
+
     private static void invokeMethod(final Method method, final Object target, final Object[] parameters) {
         try {
             method.invoke(target, parameters);
@@ -402,7 +494,6 @@ private static void invokeMethod(final Method method, final Object target, final
 
     private static void invokeInjectorField(final Field field, final Object target, final Object parameter) {
         try {
-            field.setAccessible(true);
             field.set(target, parameter);
         } catch (final IllegalArgumentException e) {
             throw new MetaModelException(e);
@@ -23,6 +23,7 @@
 
 import javax.inject.Inject;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
 import org.apache.isis.applib.annotation.DomainService;
@@ -30,7 +31,7 @@
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.services.bookmark.Bookmark;
 import org.apache.isis.applib.services.bookmark.BookmarkHolder;
-import org.apache.isis.applib.services.bookmark.BookmarkService2;
+import org.apache.isis.applib.services.bookmark.BookmarkService3;
 import org.apache.isis.applib.services.registry.ServiceRegistry2;
 import org.apache.isis.applib.services.wrapper.WrapperFactory;
 import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternal;
@@ -47,7 +48,7 @@
 @DomainService(
         nature = NatureOfService.DOMAIN
 )
-public class BookmarkServiceInternalDefault implements BookmarkService2 {
+public class BookmarkServiceInternalDefault implements BookmarkService3 {
 
 
     @Programmatic
@@ -97,6 +98,41 @@ public Object lookup(
 
 
 
+    @Programmatic
+    @Override
+    public List<Object> lookup(
+            final List<Bookmark> bookmarks,
+            final FieldResetPolicy fieldResetPolicy) {
+
+        final Object[] objects = new Object[bookmarks.size()];
+
+        // services are resolved directly; everything else is looked up in bulk
+        final List<Integer> positions = Lists.newArrayList();
+        final List<Bookmark> bookmarksToLookup = Lists.newArrayList();
+        for (int i = 0; i < objects.length; i++) {
+            final Bookmark bookmark = bookmarks.get(i);
+            if(bookmark == null) {
+                continue;
+            }
+            final Object service = lookupService(bookmark.getObjectType());
+            if(service != null) {
+                objects[i] = service;
+                continue;
+            }
+            positions.add(i);
+            bookmarksToLookup.add(bookmark);
+        }
+
+        if(!bookmarksToLookup.isEmpty()) {
+            final List<Object> looked = persistenceSessionServiceInternal.lookup(bookmarksToLookup, fieldResetPolicy);
+            for (int j = 0; j < positions.size(); j++) {
+                objects[positions.get(j)] = looked.get(j);
+            }
+        }
+
+        return Lists.newArrayList(objects);
+    }
+
     @Programmatic
     @Override
     public Object lookup(final Bookmark bookmark) {
@@ -23,9 +23,43 @@ public enum QueryCardinality {
     /**
      * Query can return multiple instances.
      */
-    MULTIPLE,
+    MULTIPLE(-1),
     /**
      * Query should return only a single instance (or possible none).
+     *
+     * <p>
+     *     Only the first matching row is fetched from the database.
+     * </p>
      */
-    SINGLE
-}
\ No newline at end of file
+    SINGLE(1),
+    /**
+     * Query is expected to match at most one instance.
+     *
+     * <p>
+     *     Up to two matching rows are fetched from the database, so that the caller can detect (and report) that the
+     *     match is not unique.
+     * </p>
+     */
+    UNIQUE(2);
+
+    private final int maxResults;
+
+    QueryCardinality(final int maxResults) {
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Whether (as for {@link #SINGLE} and {@link #UNIQUE}) no more than a fixed number of rows need be fetched.
+     */
+    public boolean isLimited() {
+        return maxResults != -1;
+    }
+
+    /**
+     * The (exclusive) end of the range of rows to fetch, given the <tt>start</tt> and (exclusive) <tt>end</tt> of the
+     * range requested by the query itself.
+     */
+    public long rangeEnd(final long start, final long end) {
+        return isLimited() ? Math.min(end, start + maxResults) : end;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.services.i18n;
+
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.i18n.TranslationService;
+
+/**
+ * Optionally implemented by the {@link TranslationService}, allowing the translated metamodel text (names,
+ * descriptions, plural names) to be tabulated by the translated facets, one entry per locale, rather than being
+ * looked up afresh on every access.
+ *
+ * <p>
+ *     Each locale is assigned a small integer "slot" (the same locale always has the same slot, for as long as the
+ *     {@link #getTranslationsVersion() version} is unchanged); the version is incremented whenever the translations
+ *     are (re)loaded, at which point any tabulated text must be discarded.
+ * </p>
+ */
+public interface TranslationServiceInternal {
+
+    /**
+     * The slot of the locale of the current user, or <tt>-1</tt> if translations cannot be tabulated (for example
+     * if in {@link TranslationService.Mode#WRITE write} mode, or if the locale cannot be determined), in which
+     * case the caller should just call {@link TranslationService#translate(String, String)}.
+     */
+    @Programmatic
+    int currentLocaleSlot();
+
+    @Programmatic
+    int getTranslationsVersion();
+
+    /**
+     * As per {@link TranslationService#translate(String, String)}, but for the locale of the specified slot
+     * (as obtained from {@link #currentLocaleSlot()}).
+     */
+    @Programmatic
+    String translate(int localeSlot, String context, String text);
+
+}
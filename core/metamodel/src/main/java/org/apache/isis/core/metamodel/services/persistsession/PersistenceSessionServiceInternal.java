@@ -22,6 +22,7 @@
 import org.apache.isis.applib.query.Query;
 import org.apache.isis.applib.services.bookmark.Bookmark;
 import org.apache.isis.applib.services.bookmark.BookmarkService2;
+import org.apache.isis.applib.services.repository.QueryResultsStream;
 import org.apache.isis.applib.services.xactn.Transaction;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.adapter.mgr.AdapterManager;
@@ -79,6 +80,16 @@ public interface PersistenceSessionServiceInternal extends AdapterManager {
     @Programmatic
     Object lookup(Bookmark bookmark, final BookmarkService2.FieldResetPolicy fieldResetPolicy);
 
+    /**
+     * As per {@link #lookup(Bookmark, BookmarkService2.FieldResetPolicy)}, but loading many objects at once.
+     *
+     * <p>
+     * Called by <tt>BookmarkServicesDefault</tt>.
+     * @return the objects, in the same order as the bookmarks, with <tt>null</tt> for any not found.
+     */
+    @Programmatic
+    List<Object> lookup(List<Bookmark> bookmarks, final BookmarkService2.FieldResetPolicy fieldResetPolicy);
+
     @Programmatic
     Bookmark bookmarkFor(Object domainObject);
 
@@ -139,7 +150,7 @@ public interface PersistenceSessionServiceInternal extends AdapterManager {
 
     //endregion
 
-    //region > allMatchingQuery, firstMatchingQuery
+    //region > allMatchingQuery, firstMatchingQuery, uniqueMatchingQuery, streamMatchingQuery
     /**
      * Provided by <tt>PersistenceSession</tt> when used by framework.
      *
@@ -159,6 +170,28 @@ public interface PersistenceSessionServiceInternal extends AdapterManager {
     @Programmatic
     <T> ObjectAdapter firstMatchingQuery(Query<T> query);
 
+    /**
+     * Provided by <tt>PersistenceSession</tt> when used by framework.
+     *
+     * <p>
+     * Returns no more than two matching instances (fetching no more than two rows), sufficient for the caller to
+     * detect a non-unique match.  Called by <tt>RepositoryServiceInternalDefault</tt>.
+     */
+    @Programmatic
+    <T> List<ObjectAdapter> uniqueMatchingQuery(Query<T> query);
+
+    /**
+     * Provided by <tt>PersistenceSession</tt> when used by framework.
+     *
+     * <p>
+     * Called by <tt>RepositoryServiceInternalDefault</tt>.
+     */
+    @Programmatic
+    <T> QueryResultsStream<ObjectAdapter> streamMatchingQuery(
+            Query<T> query,
+            int fetchSize,
+            QueryResultsStream.EvictionPolicy evictionPolicy);
+
     void executeWithinTransaction(TransactionalClosure transactionalClosure);
 
 
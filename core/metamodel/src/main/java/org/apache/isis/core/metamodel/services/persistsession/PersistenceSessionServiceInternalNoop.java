@@ -25,6 +25,7 @@
 import org.apache.isis.applib.query.Query;
 import org.apache.isis.applib.services.bookmark.Bookmark;
 import org.apache.isis.applib.services.bookmark.BookmarkService2;
+import org.apache.isis.applib.services.repository.QueryResultsStream;
 import org.apache.isis.applib.services.xactn.Transaction;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.adapter.oid.Oid;
@@ -86,6 +87,13 @@ public Object lookup(
         throw new UnsupportedOperationException("Not supported by this implementation of PersistenceSessionServiceInternal");
     }
 
+    @Override
+    public List<Object> lookup(
+            final List<Bookmark> bookmarks,
+            final BookmarkService2.FieldResetPolicy fieldResetPolicy) {
+        throw new UnsupportedOperationException("Not supported by this implementation of PersistenceSessionServiceInternal");
+    }
+
     @Override
     public Bookmark bookmarkFor(Object domainObject) {
         throw new UnsupportedOperationException("Not supported by this implementation of PersistenceSessionServiceInternal");
@@ -146,9 +154,22 @@ public <T> ObjectAdapter firstMatchingQuery(final Query<T> query) {
         throw new UnsupportedOperationException("Not supported by this implementation of PersistenceSessionServiceInternal");
     }
 
+    @Override
+    public <T> List<ObjectAdapter> uniqueMatchingQuery(final Query<T> query) {
+        throw new UnsupportedOperationException("Not supported by this implementation of PersistenceSessionServiceInternal");
+    }
+
     @Override
     public <T> List<ObjectAdapter> allMatchingQuery(final Query<T> query) {
         throw new UnsupportedOperationException("Not supported by this implementation of PersistenceSessionServiceInternal");
     }
 
+    @Override
+    public <T> QueryResultsStream<ObjectAdapter> streamMatchingQuery(
+            final Query<T> query,
+            final int fetchSize,
+            final QueryResultsStream.EvictionPolicy evictionPolicy) {
+        throw new UnsupportedOperationException("Not supported by this implementation of PersistenceSessionServiceInternal");
+    }
+
 }
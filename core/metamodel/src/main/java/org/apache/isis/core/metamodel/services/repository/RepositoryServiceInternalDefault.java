@@ -20,12 +20,14 @@
 package org.apache.isis.core.metamodel.services.repository;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 import javax.annotation.PostConstruct;
 
 import com.google.common.base.Predicate;
+import com.google.common.collect.Iterators;
 
 import org.apache.isis.applib.PersistFailedException;
 import org.apache.isis.applib.RepositoryException;
@@ -34,12 +36,16 @@
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.query.Query;
 import org.apache.isis.applib.query.QueryFindAllInstances;
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.bookmark.BookmarkService2;
 import org.apache.isis.applib.services.factory.FactoryService;
+import org.apache.isis.applib.services.repository.QueryResultsStream;
 import org.apache.isis.applib.services.repository.RepositoryService;
 import org.apache.isis.applib.services.wrapper.WrapperFactory;
 import org.apache.isis.applib.services.xactn.TransactionService;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternal;
+import org.apache.isis.core.runtime.system.transaction.TransactionalClosure;
 
 @DomainService(
         nature = NatureOfService.DOMAIN
@@ -131,6 +137,26 @@ public void removeAndFlush(final Object domainObject) {
 	transactionService.flushTransaction();
     }
 
+    /**
+     * Each object is simply enlisted (as for {@link #persist(Object)}); it is the transaction that then persists
+     * them in bulk when flushed.
+     */
+    @Programmatic
+    @Override
+    public void persistAll(final Iterable<?> domainObjects) {
+        for (final Object domainObject : domainObjects) {
+            persist(domainObject);
+        }
+    }
+
+    @Programmatic
+    @Override
+    public void removeAll(final Iterable<?> domainObjects) {
+        for (final Object domainObject : domainObjects) {
+            removeIfNotAlready(domainObject);
+        }
+    }
+
 
     // //////////////////////////////////////
 
@@ -145,19 +171,92 @@ public <T> List<T> allInstances(final Class<T> type, long... range) {
 
     // //////////////////////////////////////
 
+    /**
+     * The range (if any) is applied to the matching instances (not to all instances).
+     *
+     * <p>
+     * The instances are fetched a chunk at a time, stopping as soon as enough matches have been found.
+     * </p>
+     */
     @Programmatic
     @Override
     public <T> List<T> allMatches(final Class<T> cls, final Predicate<? super T> predicate, long... range) {
-        final List<T> allInstances = allInstances(cls, range);
+        final long start = range.length > 0 ? range[0] : 0;
+        final long count = range.length > 1 ? range[1] : 0;
+        return filter(cls, predicate, start, count);
+    }
+
+    /**
+     * Filters all instances client-side, stopping once <tt>count</tt> (if non-zero) matches have been found after
+     * skipping the first <tt>start</tt> matches.
+     *
+     * <p>
+     *     Every instance is evicted once the predicate has been applied to it, and only the bookmarks of the matches
+     *     are retained; the matches are then looked up again (in bulk), so that memory use is proportional to the
+     *     number of matches rather than the number of instances.
+     * </p>
+     */
+    private <T> List<T> filter(
+            final Class<T> cls,
+            final Predicate<? super T> predicate,
+            final long start,
+            final long count) {
+        if(autoFlush) {
+            transactionService.flushTransaction();
+        }
         final List<T> filtered = new ArrayList<T>();
-        for (final T instance : allInstances) {
-            if (predicate.apply(instance)) {
-                filtered.add(instance);
+        // streaming requires a transaction (but allInstances(...) would start one if need be)
+        persistenceSessionServiceInternal.executeWithinTransaction(new TransactionalClosure() {
+            @Override
+            public void execute() {
+                final List<Bookmark> matches = streamMatches(cls, predicate, start, count);
+                for (final Object match : persistenceSessionServiceInternal.lookup(
+                        matches, BookmarkService2.FieldResetPolicy.DONT_RESET)) {
+                    if (match != null) {
+                        @SuppressWarnings("unchecked")
+                        final T instance = (T) match;
+                        filtered.add(instance);
+                    }
+                }
             }
-        }
+        });
         return filtered;
     }
 
+    private <T> List<Bookmark> streamMatches(
+            final Class<T> cls,
+            final Predicate<? super T> predicate,
+            final long start,
+            final long count) {
+        final List<Bookmark> matches = new ArrayList<Bookmark>();
+        final QueryResultsStream<ObjectAdapter> instances =
+                persistenceSessionServiceInternal.streamMatchingQuery(
+                        new QueryFindAllInstances<T>(cls), STREAM_FETCH_SIZE_DEFAULT,
+                        QueryResultsStream.EvictionPolicy.EVICT);
+        try {
+            long skipped = 0;
+            for (final ObjectAdapter adapter : instances) {
+                @SuppressWarnings("unchecked")
+                final T instance = (T) adapter.getObject();
+                if (!predicate.apply(instance)) {
+                    continue;
+                }
+                if (skipped < start) {
+                    skipped++;
+                    continue;
+                }
+                // before the instance is evicted
+                matches.add(persistenceSessionServiceInternal.bookmarkFor(instance));
+                if (count > 0 && matches.size() >= count) {
+                    break;
+                }
+            }
+        } finally {
+            instances.close();
+        }
+        return matches;
+    }
+
 
     @Programmatic
     @Override
@@ -174,13 +273,45 @@ <T> List<T> submitQuery(final Query<T> query) {
     }
 
 
+    @Programmatic
+    @Override
+    public <T> QueryResultsStream<T> stream(final Query<T> query) {
+        return stream(query, STREAM_FETCH_SIZE_DEFAULT, QueryResultsStream.EvictionPolicy.EVICT);
+    }
+
+    @Programmatic
+    @Override
+    public <T> QueryResultsStream<T> stream(
+            final Query<T> query,
+            final int fetchSize,
+            final QueryResultsStream.EvictionPolicy evictionPolicy) {
+        if(autoFlush) {
+            transactionService.flushTransaction();
+        }
+        final QueryResultsStream<ObjectAdapter> adapters =
+                persistenceSessionServiceInternal.streamMatchingQuery(query, fetchSize, evictionPolicy);
+        return new QueryResultsStream<T>() {
+            @SuppressWarnings("unchecked")
+            @Override
+            public Iterator<T> iterator() {
+                return (Iterator<T>) Iterators.transform(adapters.iterator(), ObjectAdapter.Functions.getObject());
+            }
+
+            @Override
+            public void close() {
+                adapters.close();
+            }
+        };
+    }
+
+
     // //////////////////////////////////////
 
 
     @Programmatic
     @Override
     public <T> T uniqueMatch(final Class<T> type, final Predicate<T> predicate) {
-        final List<T> instances = allMatches(type, predicate, 0, 2); // No need to fetch more than 2.
+        final List<T> instances = filter(type, predicate, 0, 2); // No need to match more than 2.
         if (instances.size() > 1) {
             throw new RepositoryException("Found more than one instance of " + type + " matching filter " + predicate);
         }
@@ -191,7 +322,11 @@ public <T> T uniqueMatch(final Class<T> type, final Predicate<T> predicate) {
     @Programmatic
     @Override
     public <T> T uniqueMatch(final Query<T> query) {
-        final List<T> instances = allMatches(query); // No need to fetch more than 2.
+        if(autoFlush) {
+            transactionService.flushTransaction();
+        }
+        final List<ObjectAdapter> adapters = persistenceSessionServiceInternal.uniqueMatchingQuery(query); // No need to fetch more than 2.
+        final List<T> instances = ObjectAdapter.Util.unwrapT(adapters);
         if (instances.size() > 1) {
             throw new RepositoryException("Found more that one instance for query:" + query.getDescription());
         }
@@ -205,13 +340,8 @@ public <T> T uniqueMatch(final Query<T> query) {
     @Programmatic
     @Override
     public <T> T firstMatch(final Class<T> cls, final Predicate<T> predicate) {
-        final List<T> allInstances = allInstances(cls); // Have to fetch all, as matching is done in next loop
-        for (final T instance : allInstances) {
-            if (predicate.apply(instance)) {
-                return instance;
-            }
-        }
-        return null;
+        final List<T> instances = filter(cls, predicate, 0, 1);
+        return firstInstanceElseNull(instances);
     }
 
 
@@ -20,6 +20,9 @@
 
 import java.io.Serializable;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
 import org.apache.isis.core.metamodel.facets.object.objectspecid.ObjectSpecIdFacet;
 
 /**
@@ -27,7 +30,9 @@
  * an {@link ObjectSpecIdFacet}.
  * 
  * <p>
- * Has value semantics.
+ * Has value semantics.  Instances obtained using {@link #of(String)} are interned, but only weakly: an id is
+ * shared for as long as something (typically its {@link ObjectSpecification}) still refers to it, so arbitrary
+ * spec ids, eg from URLs, are garbage collected rather than accumulating in (or crowding out) the intern table.
  */
 public final class ObjectSpecId implements Serializable {
 
@@ -35,8 +40,13 @@ public final class ObjectSpecId implements Serializable {
     
     private final String specId;
 
+    private static final Interner<ObjectSpecId> interner = Interners.newWeakInterner();
+
     public static ObjectSpecId of(String specId) {
-        return new ObjectSpecId(specId);
+        if(specId == null) {
+            return new ObjectSpecId(specId);
+        }
+        return interner.intern(new ObjectSpecId(specId));
     }
 
     public ObjectSpecId(String specId) {
@@ -77,6 +87,10 @@ public boolean equals(Object obj) {
     public String toString() {
         return asString();
     }
+
+    private Object readResolve() {
+        return of(specId);
+    }
     
     
 }
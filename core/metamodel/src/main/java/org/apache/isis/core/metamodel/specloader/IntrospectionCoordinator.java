@@ -0,0 +1,138 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.specloader;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import com.google.common.collect.Maps;
+
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.specloader.specimpl.ObjectSpecificationAbstract;
+
+/**
+ * Coordinates the introspection of {@link ObjectSpecification}s when specs are being loaded concurrently by
+ * several threads.
+ *
+ * <p>
+ *     Each spec is introspected by exactly one thread (its owner).  Any other thread that requires the spec waits
+ *     until the owner has finished, unless doing so would deadlock (two threads each introspecting a type that
+ *     references the other).  In that case - exactly as for a recursive load in a single thread - the partially
+ *     introspected spec is returned.
+ * </p>
+ */
+class IntrospectionCoordinator {
+
+    private final Map<ObjectSpecification, Thread> ownerBySpec = new IdentityHashMap<>();
+    private final Map<ObjectSpecification, CountDownLatch> latchBySpec = new IdentityHashMap<>();
+    private final Map<Thread, ObjectSpecification> awaitedSpecByThread = Maps.newHashMap();
+
+    /**
+     * Whether the calling thread should introspect the spec.
+     *
+     * <p>
+     *     If <tt>true</tt> is returned then the calling thread is the owner, and must call {@link #release(ObjectSpecification)}
+     *     once done.  Otherwise the spec has either been introspected (possibly after waiting for some other thread),
+     *     or is currently being introspected further up the call stack (or further up a cycle of waiting threads).
+     * </p>
+     */
+    boolean claim(final ObjectSpecification spec) {
+        if (isIntrospected(spec)) {
+            return false;
+        }
+
+        final Thread currentThread = Thread.currentThread();
+        final CountDownLatch latch;
+        synchronized (this) {
+            if (isIntrospected(spec)) {
+                return false;
+            }
+            final Thread owner = ownerBySpec.get(spec);
+            if (owner == null) {
+                ownerBySpec.put(spec, currentThread);
+                latchBySpec.put(spec, new CountDownLatch(1));
+                return true;
+            }
+            if (owner == currentThread || wouldDeadlock(owner)) {
+                return false;
+            }
+            awaitedSpecByThread.put(currentThread, spec);
+            latch = latchBySpec.get(spec);
+        }
+
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            synchronized (this) {
+                awaitedSpecByThread.remove(currentThread);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Called by the owning thread once it has finished introspecting the spec (whether successfully or not).
+     */
+    void release(final ObjectSpecification spec) {
+        final CountDownLatch latch;
+        synchronized (this) {
+            ownerBySpec.remove(spec);
+            latch = latchBySpec.remove(spec);
+        }
+        if (latch != null) {
+            latch.countDown();
+        }
+    }
+
+    /**
+     * Follows the chain of threads that the owner is (transitively) waiting upon; if it leads back to the
+     * current thread then waiting would deadlock.
+     */
+    private boolean wouldDeadlock(final Thread owner) {
+        final Thread currentThread = Thread.currentThread();
+        Thread thread = owner;
+        for (int i = 0; i <= awaitedSpecByThread.size(); i++) {
+            final ObjectSpecification awaitedSpec = awaitedSpecByThread.get(thread);
+            if (awaitedSpec == null) {
+                return false;
+            }
+            thread = ownerBySpec.get(awaitedSpec);
+            if (thread == null) {
+                return false;
+            }
+            if (thread == currentThread) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isIntrospected(final ObjectSpecification spec) {
+        if (!(spec instanceof ObjectSpecificationAbstract)) {
+            return true;
+        }
+        final ObjectSpecificationAbstract specSpi = (ObjectSpecificationAbstract) spec;
+        return specSpi.getIntrospectionState() == ObjectSpecificationAbstract.IntrospectionState.INTROSPECTED;
+    }
+
+}
@@ -47,6 +47,27 @@ public final class ReflectorConstants {
     public static final String META_MODEL_VALIDATOR_CLASS_NAME = ConfigurationConstants.ROOT + "reflector.validator";
     public static final String META_MODEL_VALIDATOR_CLASS_NAME_DEFAULT = MetaModelValidatorDefault.class.getName();
 
+    /**
+     * Key used to determine whether the {@link MetaModelValidator} visits specs in parallel.
+     *
+     * <p>
+     *     Defaults to <tt>false</tt> (validate one spec at a time, as before).
+     * </p>
+     *
+     * @see #VALIDATOR_PARALLELISM
+     */
+    public static final String VALIDATOR_PARALLEL = ConfigurationConstants.ROOT + "reflector.validator.parallel";
+    public static final boolean VALIDATOR_PARALLEL_DEFAULT = false;
+
+    /**
+     * Key used to specify the number of threads used if {@link #VALIDATOR_PARALLEL parallel validation} is enabled.
+     *
+     * <p>
+     *     Defaults to the number of available processors.
+     * </p>
+     */
+    public static final String VALIDATOR_PARALLELISM = ConfigurationConstants.ROOT + "reflector.validator.parallelism";
+
 
     /**
      * Key used to lookup comma-separated list of {@link FacetFactory}s to
@@ -76,6 +97,54 @@ public final class ReflectorConstants {
     public static final String LAYOUT_METADATA_READER_LIST_DEFAULT = LayoutMetadataReaderFromJson.class.getName();
 
 
+    /**
+     * Key used to determine whether the specifications of services and mixins are introspected in parallel when
+     * the {@link SpecificationLoader} is {@link SpecificationLoader#init() initialized}.
+     *
+     * <p>
+     *     Defaults to <tt>false</tt> (introspect one spec at a time, as before).
+     * </p>
+     *
+     * @see #INTROSPECTOR_PARALLELISM
+     */
+    public static final String INTROSPECTOR_PARALLEL = ConfigurationConstants.ROOT + "reflector.introspector.parallel";
+    public static final boolean INTROSPECTOR_PARALLEL_DEFAULT = false;
+
+    /**
+     * Key used to specify the number of threads used if {@link #INTROSPECTOR_PARALLEL parallel introspection} is
+     * enabled.
+     *
+     * <p>
+     *     Defaults to the number of available processors.
+     * </p>
+     */
+    public static final String INTROSPECTOR_PARALLELISM = ConfigurationConstants.ROOT + "reflector.introspector.parallelism";
+
+    /**
+     * Key used to determine whether only the specifications of services (and the types that they reference) are
+     * introspected when the {@link SpecificationLoader} is {@link SpecificationLoader#init() initialized}.  All other
+     * specifications are introspected on first use, or by a background thread that then also validates the metamodel.
+     *
+     * <p>
+     *     Defaults to <tt>false</tt> (introspect and validate the entire metamodel up-front, as before).
+     * </p>
+     */
+    public static final String INTROSPECTOR_LAZY = ConfigurationConstants.ROOT + "reflector.introspector.lazy";
+    public static final boolean INTROSPECTOR_LAZY_DEFAULT = false;
+
+    /**
+     * Key used to determine whether the contributee and mixed-in members of every spec are created (in parallel,
+     * as per {@link #INTROSPECTOR_PARALLELISM}) when the metamodel is
+     * {@link SpecificationLoader#validateAndAssert() validated}, rather than on the first request for them.
+     *
+     * <p>
+     *     Defaults to <tt>false</tt> (create lazily, as before).
+     * </p>
+     */
+    public static final String CONTRIBUTIONS_EAGER = ConfigurationConstants.ROOT + "reflector.contributions.eager";
+    public static final boolean CONTRIBUTIONS_EAGER_DEFAULT = false;
+
+
     private ReflectorConstants() {
     }
 
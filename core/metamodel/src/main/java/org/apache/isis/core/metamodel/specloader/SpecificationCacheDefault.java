@@ -33,8 +33,11 @@
 
 class SpecificationCacheDefault {
     
-    private final Map<String, ObjectSpecification> specByClassName = Maps.newHashMap();
-    private Map<ObjectSpecId, String> classNameBySpecId;
+    /**
+     * Concurrent because specs may be {@link ReflectorConstants#INTROSPECTOR_PARALLEL loaded in parallel}.
+     */
+    private final Map<String, ObjectSpecification> specByClassName = Maps.newConcurrentMap();
+    private volatile Map<ObjectSpecId, String> classNameBySpecId;
 
     public ObjectSpecification get(final String className) {
         return specByClassName.get(className);
@@ -67,14 +70,15 @@ public ObjectSpecification getByObjectType(ObjectSpecId objectSpecID) {
      * xxxallxxx most specs have been loaded.
      */
     void setCacheBySpecId(final Map<ObjectSpecId, ObjectSpecification> specById) {
-        this.classNameBySpecId = Maps.newHashMap();
+        final Map<ObjectSpecId, String> classNameBySpecId = Maps.newConcurrentMap();
 
         for (ObjectSpecId objectSpecId : specById.keySet()) {
             final ObjectSpecification objectSpec = specById.get(objectSpecId);
             final String className = objectSpec.getCorrespondingClass().getName();
-            this.classNameBySpecId.put(objectSpecId, className);
+            classNameBySpecId.put(objectSpecId, className);
             this.specByClassName.put(className, objectSpec);
         }
+        this.classNameBySpecId = classNameBySpecId;
     }
 
     public ObjectSpecification remove(String typeName) {
@@ -21,6 +21,12 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
 
 import com.google.common.base.Function;
 import com.google.common.collect.Lists;
@@ -34,10 +40,13 @@
 import org.apache.isis.applib.annotation.NatureOfService;
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.core.commons.components.ApplicationScopedComponent;
+import org.apache.isis.core.commons.config.IsisConfiguration;
 import org.apache.isis.core.commons.ensure.Assert;
 import org.apache.isis.core.commons.exceptions.IsisException;
 import org.apache.isis.core.commons.lang.ClassUtil;
+import org.apache.isis.core.commons.util.BootTimeline;
 import org.apache.isis.core.metamodel.facetapi.Facet;
+import org.apache.isis.core.metamodel.facets.Annotations;
 import org.apache.isis.core.metamodel.facets.FacetFactory;
 import org.apache.isis.core.metamodel.facets.object.autocomplete.AutoCompleteFacet;
 import org.apache.isis.core.metamodel.facets.object.objectspecid.ObjectSpecIdFacet;
@@ -53,7 +62,9 @@
 import org.apache.isis.core.metamodel.specloader.specimpl.ObjectSpecificationAbstract;
 import org.apache.isis.core.metamodel.specloader.specimpl.dflt.ObjectSpecificationDefault;
 import org.apache.isis.core.metamodel.specloader.specimpl.standalonelist.ObjectSpecificationOnStandaloneList;
+import org.apache.isis.core.metamodel.specloader.validator.MetaModelInvalidException;
 import org.apache.isis.core.metamodel.specloader.validator.MetaModelValidator;
+import org.apache.isis.core.metamodel.specloader.validator.MetaModelValidatorVisiting;
 import org.apache.isis.core.metamodel.specloader.validator.ValidationFailures;
 import org.apache.isis.progmodels.dflt.ProgrammingModelFacetsJava5;
 
@@ -95,6 +106,7 @@ public class SpecificationLoader implements ApplicationScopedComponent {
     private final MetaModelValidator metaModelValidator;
     private final SpecificationCacheDefault cache = new SpecificationCacheDefault();
     private final List<LayoutMetadataReader> layoutMetadataReaders;
+    private final IntrospectionCoordinator introspectionCoordinator = new IntrospectionCoordinator();
 
     public SpecificationLoader(
             final ProgrammingModel programmingModel,
@@ -124,6 +136,56 @@ protected void finalize() throws Throwable {
 
     private boolean initialized = false;
 
+    /**
+     * Whether specs are introspected in parallel, as per {@link ReflectorConstants#INTROSPECTOR_PARALLEL}.
+     *
+     * <p>
+     *     Once set, all subsequent loads (including those at runtime) coordinate through the
+     *     {@link IntrospectionCoordinator} rather than a single global lock.
+     * </p>
+     */
+    private boolean parallelIntrospection;
+    private int parallelism;
+
+    /**
+     * Whether the metamodel is validated in parallel, as per {@link ReflectorConstants#VALIDATOR_PARALLEL}.
+     */
+    private boolean parallelValidation;
+    private int validationParallelism;
+
+    /**
+     * As per {@link ReflectorConstants#CONTRIBUTIONS_EAGER}.
+     */
+    private boolean eagerContributions;
+
+    /**
+     * As per {@link ReflectorConstants#INTROSPECTOR_LAZY}.
+     */
+    private boolean lazyIntrospection;
+
+    /**
+     * If {@link #lazyIntrospection lazy}, counted down once the {@link #warmUp() warm-up} has completed (successfully
+     * or otherwise); <tt>null</tt> otherwise.
+     */
+    private volatile CountDownLatch warmedUp;
+
+    /**
+     * If {@link #lazyIntrospection lazy}, the thread performing the {@link #warmUp() warm-up}.
+     */
+    private volatile Thread warmUpThread;
+
+    /**
+     * If {@link #lazyIntrospection lazy}, populated if the {@link #warmUp() warm-up} found the metamodel to be
+     * invalid (or failed outright).
+     */
+    private volatile MetaModelInvalidException warmUpFailure;
+
+    /**
+     * Memoises the annotation lookups of the facet factories while this metamodel is being built (that is, until it
+     * is frozen); <tt>null</tt> thereafter, so that any specs loaded at runtime are introspected without it.
+     */
+    private volatile Annotations.LookupCache annotationLookupCache;
+
     /**
      * Initializes and wires up, and primes the cache based on any service
      * classes (provided by the {@link ServicesInjector}).
@@ -135,6 +197,20 @@ public void init() {
             LOG.debug("initialising {}", this);
         }
 
+        final IsisConfiguration configuration = servicesInjector.getConfigurationServiceInternal();
+        parallelism = configuration.getInteger(
+                ReflectorConstants.INTROSPECTOR_PARALLELISM, Runtime.getRuntime().availableProcessors());
+        parallelIntrospection = parallelism > 1 && configuration.getBoolean(
+                ReflectorConstants.INTROSPECTOR_PARALLEL, ReflectorConstants.INTROSPECTOR_PARALLEL_DEFAULT);
+        validationParallelism = configuration.getInteger(
+                ReflectorConstants.VALIDATOR_PARALLELISM, Runtime.getRuntime().availableProcessors());
+        parallelValidation = validationParallelism > 1 && configuration.getBoolean(
+                ReflectorConstants.VALIDATOR_PARALLEL, ReflectorConstants.VALIDATOR_PARALLEL_DEFAULT);
+        eagerContributions = configuration.getBoolean(
+                ReflectorConstants.CONTRIBUTIONS_EAGER, ReflectorConstants.CONTRIBUTIONS_EAGER_DEFAULT);
+        lazyIntrospection = configuration.getBoolean(
+                ReflectorConstants.INTROSPECTOR_LAZY, ReflectorConstants.INTROSPECTOR_LAZY_DEFAULT);
+
         // wire subcomponents into each other
         facetProcessor.setServicesInjector(servicesInjector);
         for (final LayoutMetadataReader layoutMetadataReader : layoutMetadataReaders) {
@@ -146,20 +222,60 @@ public void init() {
         facetProcessor.init();
         metaModelValidator.init(this);
 
-        loadSpecificationsForServices();
-        loadSpecificationsForMixins();
+        // memoise annotation lookups by the facet factories until the metamodel is frozen
+        annotationLookupCache = new Annotations.LookupCache();
+
+        long start = System.nanoTime();
+        try (BootTimeline.Phase phase = BootTimeline.instance().start("loadSpecificationsForServices")) {
+            loadSpecificationsForServices();
+        }
+        logTiming("loadSpecificationsForServices", start);
+
+        if(!lazyIntrospection) {
+            start = System.nanoTime();
+            try (BootTimeline.Phase phase = BootTimeline.instance().start("loadSpecificationsForMixins")) {
+                loadSpecificationsForMixins();
+            }
+            logTiming("loadSpecificationsForMixins", start);
+        }
+
+        start = System.nanoTime();
         cacheBySpecId();
+        logTiming("cacheBySpecId", start);
 
         initialized = true;
     }
 
     private void loadSpecificationsForServices() {
+        final List<Callable<ObjectSpecification>> loads = Lists.newArrayList();
         for (final Class<?> serviceClass : allServiceClasses()) {
             final DomainService domainService = serviceClass.getAnnotation(DomainService.class);
             final NatureOfService nature = domainService != null ? domainService.nature() : NatureOfService.DOMAIN;
             // will 'markAsService'
-            internalLoadSpecification(serviceClass, nature);
+            loads.add(loadSpecificationCallable(serviceClass, nature));
+        }
+        loadAll(loads);
+    }
+
+    /**
+     * If {@link #lazyIntrospection lazy}, loads the specs deferred by {@link #init()}, namely those of the mixins and
+     * of the entities (other than those already referenced by the services).
+     */
+    private void loadDeferredSpecifications() {
+        loadSpecificationsForMixins();
+        loadSpecificationsForEntities();
+    }
+
+    private void loadSpecificationsForEntities() {
+        final Set<Class<?>> persistenceCapableTypes = AppManifest.Registry.instance().getPersistenceCapableTypes();
+        if(persistenceCapableTypes == null) {
+            return;
         }
+        final List<Callable<ObjectSpecification>> loads = Lists.newArrayList();
+        for (final Class<?> persistenceCapableType : persistenceCapableTypes) {
+            loads.add(loadSpecificationCallable(persistenceCapableType, null));
+        }
+        loadAll(loads);
     }
 
     private void loadSpecificationsForMixins() {
@@ -167,8 +283,116 @@ private void loadSpecificationsForMixins() {
         if(mixinTypes == null) {
             return;
         }
+        final List<Callable<ObjectSpecification>> loads = Lists.newArrayList();
         for (final Class<?> mixinType : mixinTypes) {
-            internalLoadSpecification(mixinType);
+            final DomainService domainServiceIfAny = mixinType.getAnnotation(DomainService.class);
+            final NatureOfService natureOfServiceIfAny = domainServiceIfAny != null ? domainServiceIfAny.nature() : null;
+            loads.add(loadSpecificationCallable(mixinType, natureOfServiceIfAny));
+        }
+        loadAll(loads);
+    }
+
+    private Callable<ObjectSpecification> loadSpecificationCallable(
+            final Class<?> type,
+            final NatureOfService natureOfServiceIfAny) {
+        if(parallelIntrospection) {
+            // create (but do not yet introspect) up-front, in the calling thread, so that the nature of each spec
+            // (as a service or otherwise) does not depend upon which of the parallel introspections happens to
+            // reference it first.
+            final Class<?> substitutedType = classSubstitutor.getClass(type);
+            if(substitutedType != null) {
+                createAndCacheSpecificationIfRequired(substitutedType, natureOfServiceIfAny);
+            }
+        }
+        return new Callable<ObjectSpecification>() {
+            @Override
+            public ObjectSpecification call() throws Exception {
+                return internalLoadSpecification(type, natureOfServiceIfAny);
+            }
+        };
+    }
+
+    /**
+     * Either performs the loads one by one in the calling thread, or (if {@link #parallelIntrospection parallel})
+     * forks them out to a pool; either way returns only once all are complete.
+     */
+    private void loadAll(final List<Callable<ObjectSpecification>> loads) {
+        invokeAll(loads, parallelIntrospection);
+    }
+
+    private void invokeAll(final List<Callable<ObjectSpecification>> tasks, final boolean parallel) {
+        if(!parallel) {
+            for (final Callable<ObjectSpecification> task : tasks) {
+                call(task);
+            }
+            return;
+        }
+
+        final ForkJoinPool pool = newPool(parallelism);
+        try {
+            final List<Future<ObjectSpecification>> futures = pool.invokeAll(tasks);
+            for (final Future<ObjectSpecification> future : futures) {
+                join(future);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * The worker threads of the pools used to build the metamodel (introspection, validation and resolving
+     * contributions), which must never {@link #awaitWarmUp() wait} for the warm-up: the warm-up may itself be
+     * waiting for them.
+     */
+    private static final class MetaModelWorkerThread extends ForkJoinWorkerThread {
+        MetaModelWorkerThread(final ForkJoinPool pool) {
+            super(pool);
+        }
+    }
+
+    private static ForkJoinPool newPool(final int parallelism) {
+        return new ForkJoinPool(parallelism, new ForkJoinPool.ForkJoinWorkerThreadFactory() {
+            @Override
+            public ForkJoinWorkerThread newThread(final ForkJoinPool pool) {
+                return new MetaModelWorkerThread(pool);
+            }
+        }, null, false);
+    }
+
+    private static ObjectSpecification call(final Callable<ObjectSpecification> load) {
+        try {
+            return load.call();
+        } catch (final RuntimeException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new IsisException(e);
+        }
+    }
+
+    private static <T> T join(final Future<T> future) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IsisException(e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IsisException(cause);
+        }
+    }
+
+    private void logTiming(final String phase, final long startNanos) {
+        if (LOG.isInfoEnabled()) {
+            final long millis = (System.nanoTime() - startNanos) / 1000000L;
+            LOG.info("{}: {} specs loaded, took {}ms{}",
+                    phase, cache.allSpecifications().size(), millis,
+                    parallelIntrospection ? " (parallelism=" + parallelism + ")" : "");
         }
     }
 
@@ -233,6 +457,13 @@ public void invalidateCache(final Class<?> cls) {
             }
             spec = spec.superclass();
         }
+
+        // the flattened facet tables of any other spec may have been resolved from those just removed
+        for (final ObjectSpecification objSpec : allSpecifications()) {
+            if(objSpec instanceof ObjectSpecificationAbstract) {
+                ((ObjectSpecificationAbstract) objSpec).invalidateResolvedFacets();
+            }
+        }
     }
 
 
@@ -245,20 +476,215 @@ private void recache(final ObjectSpecification newSpec) {
     //region > validation
 
     private ValidationFailures validationFailures;
+    private final Object validationLock = new Object();
 
     @Programmatic
     public void validateAndAssert() {
-        ValidationFailures validationFailures = validate();
-        validationFailures.assertNone();
+        if(lazyIntrospection) {
+            // the specs are frozen only once the (entire) metamodel has been validated by the warm-up
+            cacheBySpecId();
+            startWarmUp();
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            final ValidationFailures validationFailures;
+            try (BootTimeline.Phase phase = BootTimeline.instance().start("validate")) {
+                validationFailures = validate();
+            }
+            logTiming("validate", start);
+            validationFailures.assertNone();
 
-        cacheBySpecId();
+            start = System.nanoTime();
+            cacheBySpecId();
+            logTiming("cacheBySpecId", start);
+
+            start = System.nanoTime();
+            try (BootTimeline.Phase phase = BootTimeline.instance().start("freeze")) {
+                freezeSpecifications();
+            }
+            logTiming("freeze", start);
+
+            if(eagerContributions) {
+                start = System.nanoTime();
+                resolveContributedMembers();
+                logTiming("resolveContributedMembers", start);
+            }
+        } finally {
+            annotationLookupCache = null;
+        }
     }
 
+    /**
+     * Now that the metamodel is known to be valid, have each spec build its immutable (allocation-free) views onto
+     * its members.
+     */
+    private void freezeSpecifications() {
+        for (final ObjectSpecification objSpec : allSpecifications()) {
+            if(objSpec instanceof ObjectSpecificationAbstract) {
+                ((ObjectSpecificationAbstract) objSpec).freeze();
+            }
+        }
+    }
+
+    /**
+     * If {@link #parallelValidation parallel}, runs the {@link MetaModelValidator} within a dedicated pool, so that
+     * each {@link MetaModelValidatorVisiting} can fork a task per spec.
+     */
+    private void validateUsingMetaModelValidator(final ValidationFailures validationFailures) {
+        if(!parallelValidation) {
+            metaModelValidator.validate(validationFailures);
+            return;
+        }
+        final ForkJoinPool pool = newPool(validationParallelism);
+        try {
+            join(pool.submit(new Runnable() {
+                @Override
+                public void run() {
+                    metaModelValidator.validate(validationFailures);
+                }
+            }));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * As per {@link ReflectorConstants#CONTRIBUTIONS_EAGER}, create the contributee and mixed-in members of every
+     * (frozen) spec now, using the same pool size as for {@link #parallelism introspection}.
+     */
+    private void resolveContributedMembers() {
+        final List<Callable<ObjectSpecification>> resolves = Lists.newArrayList();
+        for (final ObjectSpecification objSpec : Lists.newArrayList(allSpecifications())) {
+            if(objSpec instanceof ObjectSpecificationAbstract) {
+                final ObjectSpecificationAbstract specSpi = (ObjectSpecificationAbstract) objSpec;
+                resolves.add(new Callable<ObjectSpecification>() {
+                    @Override
+                    public ObjectSpecification call() throws Exception {
+                        specSpi.resolveContributedMembers();
+                        return specSpi;
+                    }
+                });
+            }
+        }
+        invokeAll(resolves, parallelism > 1);
+    }
+
+    /**
+     * If {@link #lazyIntrospection lazy}, loads (in a background thread) the specs not loaded by {@link #init()},
+     * then validates the metamodel, and finally freezes all specs.  Any validation failures (or any other failure)
+     * are logged and made available through {@link #getMetaModelInvalidExceptionIfAny()}.
+     */
+    private void startWarmUp() {
+        warmedUp = new CountDownLatch(1);
+        final Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    warmUp();
+                } finally {
+                    warmedUp.countDown();
+                }
+            }
+        }, "isis-metamodel-warmup");
+        thread.setDaemon(true);
+        warmUpThread = thread;
+        thread.start();
+    }
+
+    private void warmUp() {
+        try {
+            final long start = System.nanoTime();
+            final ValidationFailures validationFailures = validate();
+            if(validationFailures.occurred()) {
+                LOG.error("Metamodel is invalid ({} problems found):", validationFailures.getNumberOfMessages());
+                for (final String message : validationFailures) {
+                    LOG.error("  {}", message);
+                }
+                warmUpFailure = new MetaModelInvalidException(validationFailures.getMessages());
+                return;
+            }
+            cacheBySpecId();
+            freezeSpecifications();
+            if(eagerContributions) {
+                resolveContributedMembers();
+            }
+            logTiming("warmUp", start);
+        } catch (final RuntimeException ex) {
+            LOG.error("Failed to warm up metamodel", ex);
+            warmUpFailure = new MetaModelInvalidException(
+                    Collections.singleton("Failed to warm up metamodel: " + ex));
+        } finally {
+            annotationLookupCache = null;
+        }
+    }
+
+    /**
+     * If {@link #lazyIntrospection lazy} and still {@link #warmUp() warming up}, then waits for that to complete.
+     *
+     * <p>
+     *     Does not wait if called (indirectly) by the warm-up itself, ie from the warm-up thread, from any thread
+     *     validating the metamodel, or from the worker threads of any of the pools used to build the metamodel; the
+     *     warm-up may be waiting for any of these, so waiting would deadlock.
+     * </p>
+     */
+    @Programmatic
+    public void awaitWarmUp() {
+        final CountDownLatch warmedUp = this.warmedUp;
+        if(warmedUp == null || warmedUp.getCount() == 0 || isPartOfWarmUp()) {
+            return;
+        }
+        try {
+            warmedUp.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean isPartOfWarmUp() {
+        final Thread currentThread = Thread.currentThread();
+        return currentThread == warmUpThread
+                || currentThread instanceof MetaModelWorkerThread
+                || Thread.holdsLock(validationLock);
+    }
+
+    /**
+     * If {@link #lazyIntrospection lazy}, then (once the warm-up has completed) the validation failures found,
+     * if any; <tt>null</tt> otherwise.
+     *
+     * <p>
+     *     (If not lazy, then any validation failures are instead thrown by {@link #validateAndAssert()}).
+     * </p>
+     */
+    @Programmatic
+    public MetaModelInvalidException getMetaModelInvalidExceptionIfAny() {
+        return warmUpFailure;
+    }
+
+    /**
+     * Validates the metamodel (just the once).
+     *
+     * <p>
+     *     If {@link #lazyIntrospection lazy}, this first loads the remaining specs (so that, for example, the
+     *     <tt>validate</tt> goal of the <tt>isis-maven-plugin</tt> checks the entire metamodel).
+     * </p>
+     */
     @Programmatic
     public ValidationFailures validate() {
+        synchronized (validationLock) {
+            return validateIfRequired();
+        }
+    }
+
+    private ValidationFailures validateIfRequired() {
         if(validationFailures == null) {
+            if(lazyIntrospection) {
+                final long start = System.nanoTime();
+                loadDeferredSpecifications();
+                logTiming("loadDeferredSpecifications", start);
+            }
             validationFailures = new ValidationFailures();
-            metaModelValidator.validate(validationFailures);
+            validateUsingMetaModelValidator(validationFailures);
         }
         return validationFailures;
     }
@@ -332,6 +758,10 @@ private ObjectSpecification internalLoadSpecification(final Class<?> type, final
     private ObjectSpecification loadSpecificationForSubstitutedClass(final Class<?> type, final NatureOfService nature) {
         Assert.assertNotNull(type);
 
+        if(parallelIntrospection) {
+            return loadSpecificationForSubstitutedClassConcurrently(type, nature);
+        }
+
         final String typeName = type.getName();
         final ObjectSpecification spec = cache.get(typeName);
         if (spec != null) {
@@ -341,6 +771,48 @@ private ObjectSpecification loadSpecificationForSubstitutedClass(final Class<?>
         return loadSpecificationForSubstitutedClassSynchronized(type, nature);
     }
 
+    /**
+     * Only the creation of the spec is done under a (global) lock; the introspection itself is coordinated per spec
+     * by the {@link IntrospectionCoordinator}, so that different specs can be introspected by different threads.
+     */
+    private ObjectSpecification loadSpecificationForSubstitutedClassConcurrently(
+            final Class<?> type,
+            final NatureOfService natureOfService) {
+
+        final ObjectSpecification spec = createAndCacheSpecificationIfRequired(type, natureOfService);
+        if (introspectionCoordinator.claim(spec)) {
+            try {
+                introspectIfRequired(spec);
+            } finally {
+                introspectionCoordinator.release(spec);
+            }
+        }
+        return spec;
+    }
+
+    private ObjectSpecification createAndCacheSpecificationIfRequired(
+            final Class<?> type,
+            final NatureOfService natureOfService) {
+
+        final String typeName = type.getName();
+        final ObjectSpecification spec = cache.get(typeName);
+        if (spec != null) {
+            return spec;
+        }
+        synchronized (cache) {
+            final ObjectSpecification cachedSpec = cache.get(typeName);
+            if (cachedSpec != null) {
+                return cachedSpec;
+            }
+            final ObjectSpecification specification = createSpecification(type, natureOfService);
+            if (specification == null) {
+                throw new IsisException("Failed to create specification for class " + typeName);
+            }
+            cache.cache(typeName, specification);
+            return specification;
+        }
+    }
+
     private synchronized ObjectSpecification loadSpecificationForSubstitutedClassSynchronized(
             final Class<?> type,
             final NatureOfService natureOfService) {
@@ -447,10 +919,14 @@ private ObjectSpecification introspectIfRequired(final ObjectSpecification spec)
     }
 
     private void introspect(final ObjectSpecificationAbstract specSpi) {
-        specSpi.introspectTypeHierarchyAndMembers();
-        specSpi.updateFromFacetValues();
-        specSpi.setIntrospectionState(ObjectSpecificationAbstract.IntrospectionState.INTROSPECTED);
-
+        final Annotations.LookupCache previousLookupCache = Annotations.useCache(annotationLookupCache);
+        try {
+            specSpi.introspectTypeHierarchyAndMembers();
+            specSpi.updateFromFacetValues();
+            specSpi.setIntrospectionState(ObjectSpecificationAbstract.IntrospectionState.INTROSPECTED);
+        } finally {
+            Annotations.useCache(previousLookupCache);
+        }
     }
 
     //endregion
@@ -509,7 +985,12 @@ public boolean loaded(final String fullyQualifiedClassName) {
     //region > lookupBySpecId
     @Programmatic
     public ObjectSpecification lookupBySpecId(ObjectSpecId objectSpecId) {
-        final ObjectSpecification objectSpecification = cache.getByObjectType(objectSpecId);
+        ObjectSpecification objectSpecification = cache.getByObjectType(objectSpecId);
+        if(objectSpecification == null && warmedUp != null) {
+            // if lazy, then the spec may simply not have been loaded yet
+            awaitWarmUp();
+            objectSpecification = cache.getByObjectType(objectSpecId);
+        }
         if(objectSpecification == null) {
             // fallback
             return loadSpecification(objectSpecId.asString());
@@ -79,6 +79,14 @@ public class FacetProcessor implements ServicesInjectorAware {
      */
     private List<String> cachedMethodPrefixes;
 
+    /**
+     * Index of {@link #cachedMethodPrefixes}, used in {@link #recognizes(Method)}.
+     *
+     * <p>
+     * If <tt>null</tt>, indicates that the cache hasn't been built.
+     */
+    private MethodPrefixIndex cachedMethodPrefixIndex;
+
     /**
      * All registered {@link FacetFactory factories} that implement
      * {@link MethodFilteringFacetFactory}.
@@ -134,6 +142,13 @@ public void init() {
         for (final FacetFactory facetFactory : facetFactoryList) {
             registerFactory(facetFactory);
         }
+
+        // build eagerly, so that specs can subsequently be introspected concurrently
+        cacheByFeatureTypeIfRequired();
+        cacheMethodPrefixesIfRequired();
+        cacheMethodFilteringFacetFactoriesIfRequired();
+        cacheContributeeMemberFacetFactoriesIfRequired();
+        cachePropertyOrCollectionIdentifyingFacetFactoriesIfRequired();
     }
 
     public void shutdown() {
@@ -228,11 +243,8 @@ public void findAndRemoveCollectionAccessors(final MethodRemover methodRemover,
      */
     public boolean recognizes(final Method method) {
         cacheMethodPrefixesIfRequired();
-        final String methodName = method.getName();
-        for (final String prefix : cachedMethodPrefixes) {
-            if (methodName.startsWith(prefix)) {
-                return true;
-            }
+        if (cachedMethodPrefixIndex.matchesAnyPrefixOf(method.getName())) {
+            return true;
         }
 
         cacheMethodFilteringFacetFactoriesIfRequired();
@@ -376,6 +388,7 @@ private List<FacetFactory> getFactoryListByFeatureType(final FeatureType feature
     private void clearCaches() {
         factoryListByFeatureType = null;
         cachedMethodPrefixes = null;
+        cachedMethodPrefixIndex = null;
         cachedMethodFilteringFactories = null;
         cachedPropertyOrCollectionIdentifyingFactories = null;
     }
@@ -405,6 +418,7 @@ private synchronized void cacheMethodPrefixesIfRequired() {
                 ListExtensions.mergeWith(cachedMethodPrefixes, methodPrefixBasedFacetFactory.getPrefixes());
             }
         }
+        cachedMethodPrefixIndex = new MethodPrefixIndex(cachedMethodPrefixes);
     }
 
     private synchronized void cacheMethodFilteringFacetFactoriesIfRequired() {
@@ -0,0 +1,112 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.apache.isis.core.metamodel.specloader.facetprocessor;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * A trie of the method prefixes of all {@link org.apache.isis.core.metamodel.facets.MethodPrefixBasedFacetFactory}s,
+ * used by {@link FacetProcessor#recognizes(java.lang.reflect.Method)}.
+ *
+ * <p>
+ *     Checking a method name walks at most as many nodes as there are characters in the longest matching prefix,
+ *     rather than testing the name against each of the (several dozen) prefixes in turn.
+ * </p>
+ */
+final class MethodPrefixIndex {
+
+    private static final class Node {
+
+        private static final char[] NO_CHARS = new char[0];
+        private static final Node[] NO_NODES = new Node[0];
+
+        /**
+         * Sorted; parallel to {@link #children}.
+         */
+        private char[] chars = NO_CHARS;
+        private Node[] children = NO_NODES;
+
+        /**
+         * Whether the path to this node spells out a complete prefix.
+         */
+        private boolean terminal;
+
+        Node child(final char c) {
+            final int index = Arrays.binarySearch(chars, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node childCreatingIfRequired(final char c) {
+            final int index = Arrays.binarySearch(chars, c);
+            if (index >= 0) {
+                return children[index];
+            }
+            final int insertAt = -(index + 1);
+            final int size = chars.length;
+            final char[] newChars = new char[size + 1];
+            final Node[] newChildren = new Node[size + 1];
+            System.arraycopy(chars, 0, newChars, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            final Node child = new Node();
+            newChars[insertAt] = c;
+            newChildren[insertAt] = child;
+            System.arraycopy(chars, insertAt, newChars, insertAt + 1, size - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, size - insertAt);
+            chars = newChars;
+            children = newChildren;
+            return child;
+        }
+    }
+
+    private final Node root = new Node();
+
+    MethodPrefixIndex(final Collection<String> prefixes) {
+        for (final String prefix : prefixes) {
+            Node node = root;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.childCreatingIfRequired(prefix.charAt(i));
+            }
+            node.terminal = true;
+        }
+    }
+
+    /**
+     * Whether the method name starts with any of the indexed prefixes.
+     */
+    boolean matchesAnyPrefixOf(final String methodName) {
+        Node node = root;
+        if (node.terminal) {
+            return true;
+        }
+        for (int i = 0; i < methodName.length(); i++) {
+            node = node.child(methodName.charAt(i));
+            if (node == null) {
+                return false;
+            }
+            if (node.terminal) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
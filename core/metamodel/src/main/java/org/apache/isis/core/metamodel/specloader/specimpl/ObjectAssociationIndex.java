@@ -0,0 +1,114 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.specloader.specimpl;
+
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.FluentIterable;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
+
+import org.apache.isis.applib.filter.Filter;
+import org.apache.isis.applib.filter.Filters;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.metamodel.spec.feature.ObjectMember;
+
+/**
+ * Immutable views onto the (already sorted) associations of an {@link ObjectSpecificationAbstract}, for both
+ * the {@link Contributed#INCLUDED contributed} and {@link Contributed#EXCLUDED non-contributed} cases, along with
+ * an index of the associations by {@link ObjectAssociation#getId() id}.
+ *
+ * <p>
+ *     Built once (and then only rebuilt if the spec's associations are updated), so that the hot-path
+ *     <tt>getAssociations(...)</tt> and <tt>getAssociation(id)</tt> calls neither copy nor scan.
+ * </p>
+ */
+final class ObjectAssociationIndex {
+
+    private final ImmutableList<ObjectAssociation> included;
+    private final ImmutableList<ObjectAssociation> excluded;
+
+    private final ImmutableList<ObjectAssociation> includedProperties;
+    private final ImmutableList<ObjectAssociation> excludedProperties;
+    private final ImmutableList<ObjectAssociation> includedCollections;
+    private final ImmutableList<ObjectAssociation> excludedCollections;
+
+    private final ImmutableMap<String, ObjectAssociation> includedById;
+
+    ObjectAssociationIndex(final List<ObjectAssociation> associations) {
+        this.included = ImmutableList.copyOf(associations);
+        this.excluded = ImmutableList.copyOf(
+                Iterables.filter(associations, ContributeeMember.Predicates.<ObjectAssociation>regular()));
+
+        this.includedProperties = sortedByMemberOrder(included, ObjectAssociation.Filters.PROPERTIES);
+        this.excludedProperties = sortedByMemberOrder(excluded, ObjectAssociation.Filters.PROPERTIES);
+        this.includedCollections = sortedByMemberOrder(included, ObjectAssociation.Filters.COLLECTIONS);
+        this.excludedCollections = sortedByMemberOrder(excluded, ObjectAssociation.Filters.COLLECTIONS);
+
+        // as per the previous linear scan, the first association with any given id wins
+        final Map<String, ObjectAssociation> byId = Maps.newLinkedHashMap();
+        for (final ObjectAssociation association : included) {
+            if(!byId.containsKey(association.getId())) {
+                byId.put(association.getId(), association);
+            }
+        }
+        this.includedById = ImmutableMap.copyOf(byId);
+    }
+
+    private static ImmutableList<ObjectAssociation> sortedByMemberOrder(
+            final List<ObjectAssociation> associations,
+            final Filter<ObjectAssociation> filter) {
+        return FluentIterable.from(associations)
+                .filter(Filters.asPredicate(filter))
+                .toSortedList(ObjectMember.Comparators.byMemberOrderSequence());
+    }
+
+    List<ObjectAssociation> getAssociations(final Contributed contributed) {
+        return contributed.isIncluded() ? included : excluded;
+    }
+
+    /**
+     * The precomputed associations for the well-known {@link ObjectAssociation.Filters#PROPERTIES properties} and
+     * {@link ObjectAssociation.Filters#COLLECTIONS collections} filters, sorted by member order sequence;
+     * <tt>null</tt> for any other filter.
+     */
+    @SuppressWarnings("deprecation")
+    List<ObjectAssociation> getAssociations(final Contributed contributed, final Filter<ObjectAssociation> filter) {
+        if(filter == ObjectAssociation.Filters.PROPERTIES) {
+            return contributed.isIncluded() ? includedProperties : excludedProperties;
+        }
+        if(filter == ObjectAssociation.Filters.COLLECTIONS) {
+            return contributed.isIncluded() ? includedCollections : excludedCollections;
+        }
+        return null;
+    }
+
+    /**
+     * @return <tt>null</tt> if there is no (regular or contributed) association with this id.
+     */
+    ObjectAssociation getAssociation(final String id) {
+        return includedById.get(id);
+    }
+
+}
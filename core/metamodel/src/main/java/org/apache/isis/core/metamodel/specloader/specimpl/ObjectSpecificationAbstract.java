@@ -19,20 +19,25 @@
 
 package org.apache.isis.core.metamodel.specloader.specimpl;
 
+import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 import com.google.common.base.Function;
 import com.google.common.base.Predicate;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.FluentIterable;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,6 +52,7 @@
 import org.apache.isis.core.commons.authentication.AuthenticationSession;
 import org.apache.isis.core.commons.exceptions.UnknownTypeException;
 import org.apache.isis.core.commons.lang.ClassExtensions;
+import org.apache.isis.core.commons.lang.MethodInvoker;
 import org.apache.isis.core.commons.util.ToString;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.consent.Consent;
@@ -57,6 +63,8 @@
 import org.apache.isis.core.metamodel.facetapi.FacetHolder;
 import org.apache.isis.core.metamodel.facetapi.FacetHolderImpl;
 import org.apache.isis.core.metamodel.facetapi.FeatureType;
+import org.apache.isis.core.metamodel.facetapi.MultiTypedFacet;
+import org.apache.isis.core.metamodel.facets.ImperativeFacet;
 import org.apache.isis.core.metamodel.facets.actions.notcontributed.NotContributedFacet;
 import org.apache.isis.core.metamodel.facets.all.describedas.DescribedAsFacet;
 import org.apache.isis.core.metamodel.facets.all.help.HelpFacet;
@@ -102,22 +110,25 @@ public abstract class ObjectSpecificationAbstract extends FacetHolderImpl implem
 
     private final static Logger LOG = LoggerFactory.getLogger(ObjectSpecificationAbstract.class);
 
+    /**
+     * Synchronized because subclasses may be {@link org.apache.isis.core.metamodel.specloader.ReflectorConstants#INTROSPECTOR_PARALLEL introspected in parallel}.
+     */
     private static class SubclassList {
         private final List<ObjectSpecification> classes = Lists.newArrayList();
 
-        public void addSubclass(final ObjectSpecification subclass) {
+        public synchronized void addSubclass(final ObjectSpecification subclass) {
             if(classes.contains(subclass)) { 
                 return;
             }
             classes.add(subclass);
         }
 
-        public boolean hasSubclasses() {
+        public synchronized boolean hasSubclasses() {
             return !classes.isEmpty();
         }
 
-        public List<ObjectSpecification> toList() {
-            return Collections.unmodifiableList(classes);
+        public synchronized List<ObjectSpecification> toList() {
+            return Collections.unmodifiableList(Lists.newArrayList(classes));
         }
     }
 
@@ -137,19 +148,30 @@ public List<ObjectSpecification> toList() {
 
     private final List<ObjectAssociation> associations = Lists.newArrayList();
     private final List<ObjectAction> objectActions = Lists.newArrayList();
-    // partitions and caches objectActions by type; updated in sortCacheAndUpdateActions()
-    private final Map<ActionType, List<ObjectAction>> objectActionsByType = createObjectActionsByType();
+    /**
+     * Partitions and caches objectActions by type; replaced (as a whole, by an immutable map of immutable lists) in
+     * sortCacheAndUpdateActions(), so that it can be read without taking any lock.
+     */
+    private volatile Map<ActionType, List<ObjectAction>> objectActionsByType =
+            createObjectActionsByType(Collections.<ObjectAction>emptyList());
 
-    private static Map<ActionType, List<ObjectAction>> createObjectActionsByType() {
-        final Map<ActionType, List<ObjectAction>> map = Maps.newHashMap();
+    private static Map<ActionType, List<ObjectAction>> createObjectActionsByType(final List<ObjectAction> objectActions) {
+        final ImmutableMap.Builder<ActionType, List<ObjectAction>> builder = ImmutableMap.builder();
         for (final ActionType type : ActionType.values()) {
-            map.put(type, Lists.<ObjectAction>newArrayList());
+            builder.put(type, ImmutableList.copyOf(
+                    Collections2.filter(objectActions, ObjectAction.Predicates.ofType(type))));
         }
-        return map;
+        return builder.build();
     }
 
-    private boolean contributeeAndMixedInAssociationsAdded;
-    private boolean contributeeAndMixedInActionsAdded;
+    private volatile boolean contributeeAndMixedInAssociationsAdded;
+    private volatile boolean contributeeAndMixedInActionsAdded;
+
+    /**
+     * Immutable views onto {@link #associations}; (re)built on demand, discarded whenever
+     * {@link #sortAndUpdateAssociations(List) the associations are updated}.
+     */
+    private volatile ObjectAssociationIndex associationIndex;
 
 
     private final List<ObjectSpecification> interfaces = Lists.newArrayList();
@@ -171,7 +193,11 @@ private static Map<ActionType, List<ObjectAction>> createObjectActionsByType() {
     private IconFacet iconFacet;
     private CssClassFacet cssClassFacet;
 
-    private IntrospectionState introspected = IntrospectionState.NOT_INTROSPECTED;
+    /**
+     * Volatile because, if {@link org.apache.isis.core.metamodel.specloader.ReflectorConstants#INTROSPECTOR_PARALLEL introspecting in parallel},
+     * is read by threads other than the one introspecting this spec.
+     */
+    private volatile IntrospectionState introspected = IntrospectionState.NOT_INTROSPECTED;
     //endregion
 
     //region > Constructor
@@ -332,6 +358,7 @@ protected void sortAndUpdateAssociations(final List<ObjectAssociation> associati
         synchronized (this.associations) {
             this.associations.clear();
             this.associations.addAll(orderedAssociations);
+            this.associationIndex = null;
         }
     }
 
@@ -340,12 +367,7 @@ protected void sortCacheAndUpdateActions(final List<ObjectAction> objectActions)
         synchronized (this.objectActions){
             this.objectActions.clear();
             this.objectActions.addAll(orderedActions);
-
-            for (final ActionType type : ActionType.values()) {
-                final List<ObjectAction> objectActionForType = objectActionsByType.get(type);
-                objectActionForType.clear();
-                objectActionForType.addAll(Collections2.filter(objectActions, ObjectAction.Predicates.ofType(type)));
-            }
+            this.objectActionsByType = createObjectActionsByType(objectActions);
         }
     }
 
@@ -511,8 +533,110 @@ public Persistability persistability() {
 
     //region > Facet Handling
 
+    /**
+     * Whether {@link #freeze()} has been called; thereafter {@link #getFacet(Class)} is served from
+     * {@link #resolvedFacets}.
+     */
+    private volatile boolean frozen;
+
+    /**
+     * Flattened table of the facets resolved across this spec's type hierarchy, keyed by facet type.
+     *
+     * <p>
+     *     Built on first use once {@link #freeze() frozen}; discarded if a facet is subsequently added or removed to
+     *     this spec (or to any of its supertypes), or if the {@link SpecificationLoader#invalidateCache(Class) cache
+     *     is invalidated}.
+     * </p>
+     *
+     * <p>
+     *     The table is only published if the {@link ResolvedFacets#generation generation} it was built for is still
+     *     current, so that a table built concurrently with an invalidation (and so possibly from stale facets) is
+     *     never installed over it.
+     * </p>
+     */
+    private final AtomicReference<ResolvedFacets> resolvedFacets =
+            new AtomicReference<>(new ResolvedFacets(0, null));
+
+    private static final class ResolvedFacets {
+        /**
+         * Incremented by each {@link #invalidateResolvedFacets() invalidation}.
+         */
+        private final int generation;
+        /**
+         * <tt>null</tt> if not yet built for this generation.
+         */
+        private final Map<Class<? extends Facet>, Facet> table;
+
+        private ResolvedFacets(final int generation, final Map<Class<? extends Facet>, Facet> table) {
+            this.generation = generation;
+            this.table = table;
+        }
+    }
+
     @Override
+    @SuppressWarnings("unchecked")
     public <Q extends Facet> Q getFacet(final Class<Q> facetType) {
+        final Map<Class<? extends Facet>, Facet> resolvedFacets = resolvedFacets();
+        if(resolvedFacets != null) {
+            return (Q) resolvedFacets.get(facetType);
+        }
+        return resolveFacet(facetType);
+    }
+
+    private Map<Class<? extends Facet>, Facet> resolvedFacets() {
+        if(!frozen) {
+            return null;
+        }
+        while(true) {
+            final ResolvedFacets current = this.resolvedFacets.get();
+            if(current.table != null) {
+                return current.table;
+            }
+            final Map<Class<? extends Facet>, Facet> table = buildResolvedFacets();
+            if(this.resolvedFacets.compareAndSet(current, new ResolvedFacets(current.generation, table))) {
+                return table;
+            }
+            // either another thread published first (and we'll use its table), or we were invalidated while
+            // building (and must rebuild)
+        }
+    }
+
+    private Map<Class<? extends Facet>, Facet> buildResolvedFacets() {
+        final Set<Class<? extends Facet>> facetTypes = Sets.newHashSet();
+        appendFacetTypes(this, facetTypes);
+        final Map<Class<? extends Facet>, Facet> resolvedFacets = Maps.newHashMapWithExpectedSize(facetTypes.size());
+        for (final Class<? extends Facet> facetType : facetTypes) {
+            final Facet facet = resolveFacet(facetType);
+            if(facet != null) {
+                resolvedFacets.put(facetType, facet);
+            }
+        }
+        return resolvedFacets;
+    }
+
+    private static void appendFacetTypes(
+            final ObjectSpecification spec,
+            final Set<Class<? extends Facet>> facetTypesToAppendTo) {
+        Collections.addAll(facetTypesToAppendTo, spec.getFacetTypes());
+        final List<ObjectSpecification> interfaces = spec.interfaces();
+        if (interfaces != null) {
+            for (final ObjectSpecification interfaceSpec : interfaces) {
+                if (interfaceSpec != null) {
+                    appendFacetTypes(interfaceSpec, facetTypesToAppendTo);
+                }
+            }
+        }
+        final ObjectSpecification superSpec = spec.superclass();
+        if (superSpec != null) {
+            appendFacetTypes(superSpec, facetTypesToAppendTo);
+        }
+    }
+
+    /**
+     * Searches this spec's own facets, then its interfaces and then its superclass for a facet of the specified
+     * type that is not a no-op (else returns the first no-op facet found).
+     */
+    private <Q extends Facet> Q resolveFacet(final Class<Q> facetType) {
         final Q facet = super.getFacet(facetType);
         Q noopFacet = null;
         if (isNotANoopFacet(facet)) {
@@ -551,6 +675,52 @@ public <Q extends Facet> Q getFacet(final Class<Q> facetType) {
         return noopFacet;
     }
 
+    @Override
+    public void addFacet(final Facet facet) {
+        super.addFacet(facet);
+        invalidateResolvedFacets();
+    }
+
+    @Override
+    public void addFacet(final MultiTypedFacet facet) {
+        super.addFacet(facet);
+        invalidateResolvedFacets();
+    }
+
+    @Override
+    public void removeFacet(final Facet facet) {
+        super.removeFacet(facet);
+        invalidateResolvedFacets();
+    }
+
+    @Override
+    public void removeFacet(final Class<? extends Facet> facetType) {
+        super.removeFacet(facetType);
+        invalidateResolvedFacets();
+    }
+
+    /**
+     * Discards the {@link #resolvedFacets flattened table of facets} of this spec and of all of its subtypes
+     * (which will have inherited from it); they are rebuilt on next use.
+     */
+    public void invalidateResolvedFacets() {
+        if(!frozen) {
+            // tables are only built once frozen (and subtypes are frozen along with their supertypes)
+            return;
+        }
+        while(true) {
+            final ResolvedFacets current = this.resolvedFacets.get();
+            if(this.resolvedFacets.compareAndSet(current, new ResolvedFacets(current.generation + 1, null))) {
+                break;
+            }
+        }
+        for (final ObjectSpecification subclass : subclasses()) {
+            if(subclass instanceof ObjectSpecificationAbstract) {
+                ((ObjectSpecificationAbstract) subclass).invalidateResolvedFacets();
+            }
+        }
+    }
+
     private boolean isNotANoopFacet(final Facet facet) {
         return facet != null && !facet.isNoop();
     }
@@ -619,18 +789,32 @@ public final boolean isAbstract() {
     public List<ObjectAssociation> getAssociations(final Contributed contributed) {
         // the "contributed.isIncluded()" guard is required because we cannot do this too early;
         // there must be a session available
+        return getAssociationIndex(contributed).getAssociations(contributed);
+    }
+
+    private ObjectAssociationIndex getAssociationIndex(final Contributed contributed) {
         if(contributed.isIncluded() && !contributeeAndMixedInAssociationsAdded) {
             synchronized (this.associations) {
-                List<ObjectAssociation> associations = Lists.newArrayList(this.associations);
-                associations.addAll(createContributeeAssociations());
-                associations.addAll(createMixedInAssociations());
-                sortAndUpdateAssociations(associations);
-                contributeeAndMixedInAssociationsAdded = true;
+                if(!contributeeAndMixedInAssociationsAdded) {
+                    List<ObjectAssociation> associations = Lists.newArrayList(this.associations);
+                    associations.addAll(createContributeeAssociations());
+                    associations.addAll(createMixedInAssociations());
+                    sortAndUpdateAssociations(associations);
+                    contributeeAndMixedInAssociationsAdded = true;
+                }
             }
         }
-        final List<ObjectAssociation> associations = Lists.newArrayList(this.associations);
-        return Lists.newArrayList(Iterables.filter(
-                associations, ContributeeMember.Predicates.regularElse(contributed)));
+        ObjectAssociationIndex associationIndex = this.associationIndex;
+        if(associationIndex == null) {
+            synchronized (this.associations) {
+                associationIndex = this.associationIndex;
+                if(associationIndex == null) {
+                    associationIndex = new ObjectAssociationIndex(this.associations);
+                    this.associationIndex = associationIndex;
+                }
+            }
+        }
+        return associationIndex;
     }
 
 
@@ -648,9 +832,6 @@ protected Boolean initialValue() {
      * simply returns <tt>null</tt>.
      * 
      * <p>
-     * TODO put fields into hash.
-     * 
-     * <p>
      * TODO: could this be made final? (ie does the framework ever call this
      * method for an {@link org.apache.isis.core.metamodel.specloader.specimpl.standalonelist.ObjectSpecificationOnStandaloneList})
      */
@@ -685,12 +866,7 @@ public ObjectAssociation getAssociation(final String id) {
     }
 
     private ObjectAssociation getAssociationWithId(final String id) {
-        for (final ObjectAssociation objectAssociation : getAssociations(Contributed.INCLUDED)) {
-            if (objectAssociation.getId().equals(id)) {
-                return objectAssociation;
-            }
-        }
-        return null;
+        return getAssociationIndex(Contributed.INCLUDED).getAssociation(id);
     }
 
     @Deprecated
@@ -701,7 +877,12 @@ public List<ObjectAssociation> getAssociations(Filter<ObjectAssociation> filter)
 
     @Override
     public List<ObjectAssociation> getAssociations(Contributed contributed, final Filter<ObjectAssociation> filter) {
-        final List<ObjectAssociation> allAssociations = getAssociations(contributed);
+        final ObjectAssociationIndex associationIndex = getAssociationIndex(contributed);
+        final List<ObjectAssociation> precomputed = associationIndex.getAssociations(contributed, filter);
+        if(precomputed != null) {
+            return precomputed;
+        }
+        final List<ObjectAssociation> allAssociations = associationIndex.getAssociations(contributed);
         return Lists.newArrayList(
                 FluentIterable.from(allAssociations)
                         .filter(Filters.asPredicate(filter))
@@ -725,6 +906,81 @@ public List<OneToManyAssociation> getCollections(Contributed contributed) {
 
     //endregion
 
+    //region > freeze
+
+    /**
+     * Called by the {@link SpecificationLoader} once the metamodel has been validated, to build the immutable views
+     * onto (and the index by id of) this spec's associations up-front, rather than on first use.  Thereafter facets
+     * are also looked up from a {@link #resolvedFacets flattened table} rather than by walking the type hierarchy.
+     *
+     * <p>
+     *     Thereafter {@link #getAssociations(Contributed)}, {@link #getAssociation(String)} and the
+     *     {@link #getProperties(Contributed) properties} and {@link #getCollections(Contributed) collections} views
+     *     neither copy nor scan.  (Once contributed and mixed-in associations are first requested the views are
+     *     rebuilt, just the once, to include them).
+     * </p>
+     */
+    public void freeze() {
+        getAssociationIndex(Contributed.EXCLUDED);
+        frozen = true;
+        prepareMethodInvokers();
+    }
+
+    /**
+     * Called by the {@link SpecificationLoader} (if
+     * {@link org.apache.isis.core.metamodel.specloader.ReflectorConstants#CONTRIBUTIONS_EAGER configured}) once this
+     * spec has been {@link #freeze() frozen}, to create its contributee and mixed-in associations and actions
+     * up-front rather than on the first request for them.
+     *
+     * <p>
+     *     May be called concurrently for different specs.  Thereafter requests for {@link Contributed#INCLUDED
+     *     contributed} members never need to take this spec's lock.
+     * </p>
+     */
+    public void resolveContributedMembers() {
+        getAssociationIndex(Contributed.INCLUDED);
+        if(!contributeeAndMixedInActionsAdded) {
+            addContributeeAndMixedInActionsIfRequired();
+        }
+    }
+
+    /**
+     * Whether the contributee and mixed-in associations and actions have been created, whether
+     * {@link #resolveContributedMembers() up-front} or on the first request for them.
+     */
+    public boolean isContributedMembersResolved() {
+        return contributeeAndMixedInAssociationsAdded && contributeeAndMixedInActionsAdded;
+    }
+
+    /**
+     * Binds a {@link MethodInvoker} up-front for each of the methods of the {@link ImperativeFacet}s of this spec
+     * and of its (regular) members and their parameters, so that supporting methods (<tt>hideXxx()</tt>,
+     * <tt>choicesXxx()</tt>, <tt>title()</tt> and so on) and actions are invoked through method handles.
+     */
+    private void prepareMethodInvokers() {
+        prepareMethodInvokers(this);
+        for (final ObjectAssociation association : getAssociations(Contributed.EXCLUDED)) {
+            prepareMethodInvokers(association);
+        }
+        for (final ObjectAction action : getObjectActions(ActionType.ALL, Contributed.EXCLUDED, Filters.<ObjectAction>any())) {
+            prepareMethodInvokers(action);
+            for (final ObjectActionParameter parameter : action.getParameters()) {
+                prepareMethodInvokers(parameter);
+            }
+        }
+    }
+
+    private static void prepareMethodInvokers(final FacetHolder facetHolder) {
+        for (final Facet facet : facetHolder.getFacets(ImperativeFacet.FILTER)) {
+            final ImperativeFacet imperativeFacet = ImperativeFacet.Util.getImperativeFacet(facet);
+            for (final Method method : imperativeFacet.getMethods()) {
+                MethodInvoker.of(method);
+            }
+        }
+    }
+
+    //endregion
+
     //region > getObjectActions
     @Override
     public List<ObjectAction> getObjectActions(
@@ -737,25 +993,10 @@ public List<ObjectAction> getObjectActions(
         // the "contributed.isIncluded()" guard is required because we cannot do this too early;
         // there must be a session available
         if(contributed.isIncluded() && !contributeeAndMixedInActionsAdded) {
-            synchronized (this.objectActions) {
-                final List<ObjectAction> actions = Lists.newArrayList(this.objectActions);
-                final boolean containsMixin = containsDoOpFacet(MixinFacet.class);
-                final boolean containsDomainService = containsDoOpFacet(DomainServiceFacet.class);
-                final boolean isService = isService();
-                if (containsMixin || containsDomainService || isService) {
-                    // don't contribute to mixins themselves!
-                    // don't contribute to services either
-                    // - isService() is sufficient check for internal services registered directly with ServicesInjector
-                    // - checking for DomainServiceFacet is for application services (isService() may not have been called, for these)
-                } else {
-                    actions.addAll(createContributeeActions());
-                    actions.addAll(createMixedInActions());
-                }
-                sortCacheAndUpdateActions(actions);
-                contributeeAndMixedInActionsAdded = true;
-            }
+            addContributeeAndMixedInActionsIfRequired();
         }
 
+        final Map<ActionType, List<ObjectAction>> objectActionsByType = this.objectActionsByType;
         final List<ObjectAction> actions = Lists.newArrayList();
         for (final ActionType type : types) {
             final Collection<ObjectAction> filterActions =
@@ -768,6 +1009,29 @@ public List<ObjectAction> getObjectActions(
                         ContributeeMember.Predicates.regularElse(contributed)));
     }
 
+    private void addContributeeAndMixedInActionsIfRequired() {
+        synchronized (this.objectActions) {
+            if(contributeeAndMixedInActionsAdded) {
+                return;
+            }
+            final List<ObjectAction> actions = Lists.newArrayList(this.objectActions);
+            final boolean containsMixin = containsDoOpFacet(MixinFacet.class);
+            final boolean containsDomainService = containsDoOpFacet(DomainServiceFacet.class);
+            final boolean isService = isService();
+            if (containsMixin || containsDomainService || isService) {
+                // don't contribute to mixins themselves!
+                // don't contribute to services either
+                // - isService() is sufficient check for internal services registered directly with ServicesInjector
+                // - checking for DomainServiceFacet is for application services (isService() may not have been called, for these)
+            } else {
+                actions.addAll(createContributeeActions());
+                actions.addAll(createMixedInActions());
+            }
+            sortCacheAndUpdateActions(actions);
+            contributeeAndMixedInActionsAdded = true;
+        }
+    }
+
     @Override
     public List<ObjectAction> getObjectActions(
             final Contributed contributed) {
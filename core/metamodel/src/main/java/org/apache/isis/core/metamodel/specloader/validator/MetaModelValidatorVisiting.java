@@ -20,11 +20,25 @@
 package org.apache.isis.core.metamodel.specloader.validator;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
 
 public final class MetaModelValidatorVisiting extends MetaModelValidatorAbstract {
 
+    /**
+     * If the metamodel is {@link org.apache.isis.core.metamodel.specloader.ReflectorConstants#VALIDATOR_PARALLEL validated in parallel},
+     * then may be called concurrently for different specs, so should not hold any state between visits; use a
+     * {@link SummarizingVisitor} (which is always called for one spec at a time) if state is required.
+     */
     public interface Visitor {
         /**
          * @return <tt>true</tt> continue visiting specs.
@@ -39,9 +53,18 @@ public interface SummarizingVisitor extends Visitor {
     public MetaModelValidatorVisiting(final Visitor visitor) {
         this.visitor = visitor;
     }
-        
+
+    /**
+     * If called from within a {@link java.util.concurrent.ForkJoinPool} (as the
+     * {@link org.apache.isis.core.metamodel.specloader.SpecificationLoader} does if validating in parallel) then
+     * each spec is visited as a separate task, unless the visitor is a {@link SummarizingVisitor}.
+     */
     @Override
     public final void validate(ValidationFailures validationFailures) {
+        if(ForkJoinTask.inForkJoinPool() && !(visitor instanceof SummarizingVisitor)) {
+            validateInParallel(validationFailures);
+            return;
+        }
         final Collection<ObjectSpecification> objectSpecs = specificationLoader.allSpecifications();
         for (final ObjectSpecification objSpec : objectSpecs) {
             if(!visitor.visit(objSpec, validationFailures)) {
@@ -53,5 +76,68 @@ public final void validate(ValidationFailures validationFailures) {
             summarizingVisitor.summarize(validationFailures);
         }
     }
-    
+
+    /**
+     * Each spec's failures are collected separately, then merged in order of the specs' identifiers (so that the
+     * outcome does not depend on which tasks complete first).  As with visiting sequentially, any specs loaded as a
+     * side-effect of visiting are also visited.
+     */
+    private void validateInParallel(final ValidationFailures validationFailures) {
+        final Set<ObjectSpecification> visited = Sets.newHashSet();
+        for (List<ObjectSpecification> toVisit = notYetVisited(visited);
+             !toVisit.isEmpty();
+             toVisit = notYetVisited(visited)) {
+
+            final List<VisitTask> tasks = Lists.newArrayList();
+            for (final ObjectSpecification objSpec : toVisit) {
+                tasks.add(new VisitTask(visitor, objSpec));
+            }
+            ForkJoinTask.invokeAll(tasks);
+
+            for (final VisitTask task : tasks) {
+                final boolean carryOn = task.join();
+                validationFailures.add(task.validationFailures);
+                if(!carryOn) {
+                    return;
+                }
+            }
+            visited.addAll(toVisit);
+        }
+    }
+
+    private List<ObjectSpecification> notYetVisited(final Set<ObjectSpecification> visited) {
+        final List<ObjectSpecification> objectSpecs = Lists.newArrayList();
+        for (final ObjectSpecification objSpec : specificationLoader.allSpecifications()) {
+            if(!visited.contains(objSpec)) {
+                objectSpecs.add(objSpec);
+            }
+        }
+        Collections.sort(objectSpecs, BY_FULL_IDENTIFIER);
+        return objectSpecs;
+    }
+
+    private static final Comparator<ObjectSpecification> BY_FULL_IDENTIFIER = new Comparator<ObjectSpecification>() {
+        @Override
+        public int compare(final ObjectSpecification o1, final ObjectSpecification o2) {
+            return o1.getFullIdentifier().compareTo(o2.getFullIdentifier());
+        }
+    };
+
+    private static final class VisitTask extends RecursiveTask<Boolean> {
+
+        private final Visitor visitor;
+        private final ObjectSpecification objectSpec;
+        private final ValidationFailures validationFailures = new ValidationFailures();
+
+        VisitTask(final Visitor visitor, final ObjectSpecification objectSpec) {
+            this.visitor = visitor;
+            this.objectSpec = objectSpec;
+        }
+
+        @Override
+        protected Boolean compute() {
+            return visitor.visit(objectSpec, validationFailures);
+        }
+    }
+
 }
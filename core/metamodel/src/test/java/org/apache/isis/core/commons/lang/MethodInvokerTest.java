@@ -0,0 +1,184 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.apache.isis.core.commons.lang;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class MethodInvokerTest {
+
+    public static class Customer {
+
+        int invocations;
+
+        public String getName() {
+            return "Fred";
+        }
+
+        public String greet(final String greeting) {
+            return greeting + " Fred";
+        }
+
+        public int add(final int x, final int y) {
+            return x + y;
+        }
+
+        public long widen(final long x) {
+            return x;
+        }
+
+        public String join(final String a, final String b, final String c, final String d, final String e) {
+            return a + b + c + d + e;
+        }
+
+        public void doNothing() {
+        }
+
+        public String fail() {
+            throw new IllegalStateException("failed");
+        }
+
+        public long widenThenFail(final long x) {
+            invocations++;
+            throw new NullPointerException();
+        }
+
+        public String greetThenFail(final String greeting) {
+            invocations++;
+            throw new ClassCastException();
+        }
+
+        public static String shout(final String str) {
+            return str.toUpperCase();
+        }
+    }
+
+    private final Customer customer = new Customer();
+
+    private static Method methodOf(final String name, final Class<?>... parameterTypes) throws Exception {
+        return Customer.class.getMethod(name, parameterTypes);
+    }
+
+    @Test
+    public void cached() throws Exception {
+        assertThat(MethodInvoker.of(methodOf("getName")), is(sameInstance(MethodInvoker.of(methodOf("getName")))));
+    }
+
+    @Test
+    public void no_args() throws Exception {
+        assertThat(MethodInvoker.of(methodOf("getName")).call(customer, new Object[0]), is((Object) "Fred"));
+    }
+
+    @Test
+    public void one_arg() throws Exception {
+        assertThat(MethodInvoker.of(methodOf("greet", String.class)).call(customer, new Object[] {"Hi"}), is((Object) "Hi Fred"));
+    }
+
+    @Test
+    public void primitive_args_and_result() throws Exception {
+        assertThat(MethodInvoker.of(methodOf("add", int.class, int.class)).call(customer, new Object[] {1, 2}), is((Object) 3));
+    }
+
+    @Test
+    public void more_args_than_exact_arity() throws Exception {
+        final Object result = MethodInvoker.of(methodOf("join", String.class, String.class, String.class, String.class, String.class))
+                .call(customer, new Object[] {"a", "b", "c", "d", "e"});
+        assertThat(result, is((Object) "abcde"));
+    }
+
+    @Test
+    public void void_method() throws Exception {
+        assertThat(MethodInvoker.of(methodOf("doNothing")).call(customer, null), is(nullValue()));
+    }
+
+    @Test
+    public void static_method_ignores_target() throws Exception {
+        assertThat(MethodInvoker.of(methodOf("shout", String.class)).call(null, new Object[] {"hi"}), is((Object) "HI"));
+        assertThat(MethodInvoker.of(methodOf("shout", String.class)).call(customer, new Object[] {"hi"}), is((Object) "HI"));
+    }
+
+    @Test
+    public void widens_arguments_as_per_reflection() throws Exception {
+        assertThat(MethodInvoker.of(methodOf("widen", long.class)).call(customer, new Object[] {1}), is((Object) 1L));
+    }
+
+    @Test
+    public void exception_thrown_by_method_is_wrapped() throws Exception {
+        try {
+            MethodInvoker.of(methodOf("fail")).call(customer, new Object[0]);
+            fail();
+        } catch (final InvocationTargetException ex) {
+            assertThat(ex.getTargetException(), is(instanceOf(IllegalStateException.class)));
+        }
+    }
+
+    @Test
+    public void method_failing_with_widened_arguments_is_called_only_once() throws Exception {
+        try {
+            MethodInvoker.of(methodOf("widenThenFail", long.class)).call(customer, new Object[] {1});
+            fail();
+        } catch (final InvocationTargetException ex) {
+            assertThat(ex.getTargetException(), is(instanceOf(NullPointerException.class)));
+        }
+        assertThat(customer.invocations, is(1));
+    }
+
+    @Test
+    public void method_failing_with_exact_arguments_is_called_only_once() throws Exception {
+        try {
+            MethodInvoker.of(methodOf("greetThenFail", String.class)).call(customer, new Object[] {"Hi"});
+            fail();
+        } catch (final InvocationTargetException ex) {
+            assertThat(ex.getTargetException(), is(instanceOf(ClassCastException.class)));
+        }
+        assertThat(customer.invocations, is(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void argument_mismatch() throws Exception {
+        MethodInvoker.of(methodOf("greet", String.class)).call(customer, new Object[] {1});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void target_mismatch() throws Exception {
+        MethodInvoker.of(methodOf("getName")).call("not a customer", new Object[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wrong_number_of_arguments() throws Exception {
+        MethodInvoker.of(methodOf("greet", String.class)).call(customer, new Object[0]);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void null_target() throws Exception {
+        MethodInvoker.of(methodOf("getName")).call(null, new Object[0]);
+    }
+
+}
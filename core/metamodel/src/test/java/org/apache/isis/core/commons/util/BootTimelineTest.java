@@ -0,0 +1,128 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.commons.util;
+
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class BootTimelineTest {
+
+    private final BootTimeline bootTimeline = BootTimeline.instance();
+
+    @Test
+    public void nestedPhasesAreRecordedInOrderStarted() throws Exception {
+
+        try (BootTimeline.Phase outer = bootTimeline.start("BootTimelineTest.outer")) {
+            try (BootTimeline.Phase first = bootTimeline.start("first")) {
+                Thread.sleep(5);
+            }
+            try (BootTimeline.Phase second = bootTimeline.start("second")) {
+                Thread.sleep(5);
+            }
+        }
+
+        final List<BootTimeline.Entry> entries = entriesFor("BootTimelineTest.outer");
+        assertThat(entries.size(), is(3));
+
+        assertThat(entries.get(0).getPhase(), is("BootTimelineTest.outer"));
+        assertThat(entries.get(0).getDepth(), is(0));
+        assertThat(entries.get(1).getPhase(), is("BootTimelineTest.outer/first"));
+        assertThat(entries.get(1).getDepth(), is(1));
+        assertThat(entries.get(2).getPhase(), is("BootTimelineTest.outer/second"));
+        assertThat(entries.get(2).getDepth(), is(1));
+
+        assertTrue(entries.get(0).getWallMillis() >= entries.get(1).getWallMillis() + entries.get(2).getWallMillis());
+        assertTrue(entries.get(1).getStartMillis() <= entries.get(2).getStartMillis());
+    }
+
+    @Test
+    public void closingTwiceRecordsOnce() throws Exception {
+
+        final BootTimeline.Phase phase = bootTimeline.start("BootTimelineTest.closingTwice");
+        phase.close();
+        phase.close();
+
+        assertThat(entriesFor("BootTimelineTest.closingTwice").size(), is(1));
+    }
+
+    @Test
+    public void asJsonAndSummary() throws Exception {
+
+        try (BootTimeline.Phase phase = bootTimeline.start("BootTimelineTest.rendered")) {
+            // nothing
+        }
+
+        assertThat(bootTimeline.asJson(), containsString("\"phase\": \"BootTimelineTest.rendered\""));
+        assertThat(bootTimeline.asSummary(), containsString("BootTimelineTest.rendered"));
+    }
+
+    @Test
+    public void startNewBootstrapDiscardsPreviousPhases() throws Exception {
+
+        try (BootTimeline.Phase phase = bootTimeline.start("BootTimelineTest.previousBootstrap")) {
+            // nothing
+        }
+
+        bootTimeline.startNewBootstrap();
+        try (BootTimeline.Phase phase = bootTimeline.start("BootTimelineTest.newBootstrap")) {
+            // nothing
+        }
+
+        assertThat(entriesFor("BootTimelineTest.previousBootstrap").size(), is(0));
+        assertThat(entriesFor("BootTimelineTest.newBootstrap").size(), is(1));
+        assertThat(entriesFor("BootTimelineTest.newBootstrap").get(0).getStartMillis() >= 0, is(true));
+    }
+
+    @Test
+    public void startNewBootstrapWithinPhaseKeepsPhases() throws Exception {
+
+        bootTimeline.startNewBootstrap();
+        try (BootTimeline.Phase outer = bootTimeline.start("BootTimelineTest.viewerInit")) {
+            try (BootTimeline.Phase before = bootTimeline.start("before")) {
+                // nothing
+            }
+            bootTimeline.startNewBootstrap();
+            try (BootTimeline.Phase after = bootTimeline.start("after")) {
+                // nothing
+            }
+        }
+
+        assertThat(entriesFor("BootTimelineTest.viewerInit").size(), is(3));
+    }
+
+    private List<BootTimeline.Entry> entriesFor(final String topLevelPhase) {
+        final List<BootTimeline.Entry> entries = Lists.newArrayList();
+        for (final BootTimeline.Entry entry : bootTimeline.getEntries()) {
+            if(entry.getPhase().equals(topLevelPhase) || entry.getPhase().startsWith(topLevelPhase + "/")) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+}
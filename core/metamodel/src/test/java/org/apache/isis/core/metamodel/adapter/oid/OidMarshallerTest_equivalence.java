@@ -0,0 +1,179 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.adapter.oid;
+
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.version.Version;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Checks that {@link OidMarshaller#unmarshal(String, Class)} accepts and rejects exactly the same oid strs as the
+ * regex-based implementation that it replaced (copied below), and parses them identically.
+ */
+public class OidMarshallerTest_equivalence {
+
+    private static final String WORD = "[^:~$\\^#]+";
+    private static final Pattern OIDSTR_PATTERN = Pattern.compile(
+            "^(((" + "[!*])?(" + WORD + "):(" + WORD + "))((~" + WORD + ":" + WORD + ")*))" +
+            "([$]" + WORD + ")?" +
+            "([\\^](\\d+):(" + WORD + ")?:(\\d+)?)?$");
+
+    private static final String[] FRAGMENTS = {
+            "!", "*", ":", "~", "$", "^", "#", "@", ".", "-", " ",
+            "0", "1", "9", "42", "99999999999999999999",
+            "CUS", "com.mycompany.Customer", "items", "fred", "L_123", "\u00e9", "\u0661"
+    };
+
+    private final OidMarshaller oidMarshaller = OidMarshaller.INSTANCE;
+
+    @Test
+    public void randomOidStrs() throws Exception {
+        final Random random = new Random(20161016L);
+        for (int i = 0; i < 50000; i++) {
+            final StringBuilder buf = new StringBuilder();
+            final int numFragments = random.nextInt(12);
+            for (int j = 0; j < numFragments; j++) {
+                buf.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+            assertEquivalent(buf.toString());
+        }
+    }
+
+    @Test
+    public void wellFormedOidStrs() throws Exception {
+        final Random random = new Random(20161017L);
+        for (int i = 0; i < 10000; i++) {
+            final StringBuilder buf = new StringBuilder();
+            buf.append(pick(random, "", "!", "*", "!*"));
+            buf.append(pick(random, "CUS", "com.mycompany.Customer", "!", "*"));
+            buf.append(':');
+            buf.append(pick(random, "123", "L_123", "fred@bloggs", "*1"));
+            buf.append(pick(random, "", "", "~NME:2", "~NME:2~CTY:LON"));
+            buf.append(pick(random, "", "$items", "$"));
+            buf.append(pick(random, "", "^1::", "^90809:fred:", "^90809::1231231232", "^1:fred:2", "^x::",
+                    "^99999999999999999999::", "^9223372036854775807::", "^1:a:b"));
+            assertEquivalent(buf.toString());
+        }
+    }
+
+    private static String pick(final Random random, final String... candidates) {
+        return candidates[random.nextInt(candidates.length)];
+    }
+
+    private void assertEquivalent(final String oidStr) {
+        for (final Class<? extends Oid> requestedType :
+                new Class[] { Oid.class, RootOid.class, ParentedCollectionOid.class }) {
+            assertThat(oidStr, describe(parse(oidStr, requestedType)),
+                    is(describe(parseUsingRegex(oidStr, requestedType))));
+        }
+    }
+
+    private Object parse(final String oidStr, final Class<? extends Oid> requestedType) {
+        try {
+            return oidMarshaller.unmarshal(oidStr, requestedType);
+        } catch (final RuntimeException ex) {
+            return ex;
+        }
+    }
+
+    private static Object parseUsingRegex(final String oidStr, final Class<? extends Oid> requestedType) {
+        try {
+            return unmarshalUsingRegex(oidStr, requestedType);
+        } catch (final RuntimeException ex) {
+            return ex;
+        }
+    }
+
+    private static String describe(final Object result) {
+        if(result instanceof RuntimeException) {
+            return result.getClass().getName();
+        }
+        if(result instanceof ParentedCollectionOid) {
+            final ParentedCollectionOid collectionOid = (ParentedCollectionOid) result;
+            return describe(collectionOid.getRootOid()) + " $" + collectionOid.getName();
+        }
+        final RootOid rootOid = (RootOid) result;
+        final Version version = rootOid.getVersion();
+        return rootOid.isTransient() + " " + rootOid.isViewModel() + " " +
+                rootOid.getObjectSpecId().asString() + " " + rootOid.getIdentifier() + " " +
+                (version == null ? "-" : version.getSequence() + " " + version.getUser() + " " + version.getUtcTimestamp());
+    }
+
+    /**
+     * The previous implementation, less the (unused) splitting of the aggregate oid parts.
+     */
+    private static Oid unmarshalUsingRegex(final String oidStr, final Class<? extends Oid> requestedType) {
+        final Matcher matcher = OIDSTR_PATTERN.matcher(oidStr);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Could not parse OID '" + oidStr + "'");
+        }
+
+        final String isTransientOrViewModelStr = getGroup(matcher, 3);
+        final Oid.State state;
+        if("!".equals(isTransientOrViewModelStr)) {
+            state = Oid.State.TRANSIENT;
+        } else if("*".equals(isTransientOrViewModelStr)) {
+            state = Oid.State.VIEWMODEL;
+        } else {
+            state = Oid.State.PERSISTENT;
+        }
+
+        final String rootObjectType = getGroup(matcher, 4);
+        final String rootIdentifier = getGroup(matcher, 5);
+        final String aggregateOidPart = getGroup(matcher, 6);
+        final String collectionPart = getGroup(matcher, 8);
+        final String collectionName = collectionPart != null ? collectionPart.substring(1) : null;
+
+        final Version version = Version.create(getGroup(matcher, 10), getGroup(matcher, 11), getGroup(matcher, 12));
+
+        if(aggregateOidPart != null) {
+            throw new RuntimeException("Aggregated Oids are no longer supported");
+        }
+        final RootOid rootOid = new RootOid(ObjectSpecId.of(rootObjectType), rootIdentifier, state, version);
+        if(collectionName == null) {
+            ensureCorrectType(oidStr, requestedType, RootOid.class);
+            return rootOid;
+        } else {
+            ensureCorrectType(oidStr, requestedType, ParentedCollectionOid.class);
+            return new ParentedCollectionOid(rootOid, collectionName);
+        }
+    }
+
+    private static void ensureCorrectType(
+            final String oidStr, final Class<?> requestedType, final Class<? extends Oid> actualType) {
+        if(!requestedType.isAssignableFrom(actualType)) {
+            throw new IllegalArgumentException("OID '" + oidStr + "' does not represent a " + actualType.getSimpleName());
+        }
+    }
+
+    private static String getGroup(final Matcher matcher, final int group) {
+        final String val = matcher.group(group);
+        return val == null || val.isEmpty() ? null : val;
+    }
+
+}
@@ -0,0 +1,205 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.apache.isis.core.metamodel.facetapi;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.applib.filter.Filters;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class FacetHolderImplTest {
+
+    public static interface FooFacet extends Facet {
+    }
+
+    public static interface BarFacet extends Facet {
+    }
+
+    public static interface BazFacet extends Facet {
+    }
+
+    // only used by concurrent_reads_during_add_and_remove, so that their ids are assigned in a known order
+    public static interface ChurnFacet1 extends Facet {
+    }
+
+    public static interface ChurnFacet2 extends Facet {
+    }
+
+    public static interface StableFacet extends Facet {
+    }
+
+    public static class ConcreteFacet extends FacetAbstract {
+        public ConcreteFacet(final Class<? extends Facet> facetType, final FacetHolder holder) {
+            super(facetType, holder, Derivation.NOT_DERIVED);
+        }
+    }
+
+    private FacetHolderImpl facetHolder;
+
+    @Before
+    public void setUp() throws Exception {
+        facetHolder = new FacetHolderImpl();
+    }
+
+    @Test
+    public void empty() throws Exception {
+        assertThat(facetHolder.getFacet(FooFacet.class), is(nullValue()));
+        assertThat(facetHolder.getFacetTypes().length, is(0));
+        assertThat(facetHolder.getFacets(Filters.<Facet>any()).isEmpty(), is(true));
+    }
+
+    @Test
+    public void add_and_get() throws Exception {
+        final ConcreteFacet bazFacet = new ConcreteFacet(BazFacet.class, facetHolder);
+        final ConcreteFacet fooFacet = new ConcreteFacet(FooFacet.class, facetHolder);
+        final ConcreteFacet barFacet = new ConcreteFacet(BarFacet.class, facetHolder);
+
+        facetHolder.addFacet(bazFacet);
+        facetHolder.addFacet(fooFacet);
+        facetHolder.addFacet(barFacet);
+
+        assertThat(facetHolder.getFacet(FooFacet.class), is((FooFacet) fooFacet));
+        assertThat(facetHolder.getFacet(BarFacet.class), is((BarFacet) barFacet));
+        assertThat(facetHolder.getFacet(BazFacet.class), is((BazFacet) bazFacet));
+        assertThat(facetHolder.containsFacet(BarFacet.class), is(true));
+
+        final List<Class<? extends Facet>> facetTypes = Arrays.asList(facetHolder.getFacetTypes());
+        assertThat(facetTypes.size(), is(3));
+        assertThat(facetTypes.contains(FooFacet.class), is(true));
+        assertThat(facetTypes.contains(BarFacet.class), is(true));
+        assertThat(facetTypes.contains(BazFacet.class), is(true));
+        assertThat(facetHolder.getFacets(Filters.<Facet>any()).size(), is(3));
+    }
+
+    @Test
+    public void add_does_not_replace_existing_unless_always_replace() throws Exception {
+        final ConcreteFacet fooFacet = new ConcreteFacet(FooFacet.class, facetHolder);
+        final ConcreteFacet anotherFooFacet = new ConcreteFacet(FooFacet.class, facetHolder) {
+            @Override
+            public boolean alwaysReplace() {
+                return false;
+            }
+        };
+
+        facetHolder.addFacet(fooFacet);
+        facetHolder.addFacet(anotherFooFacet);
+
+        assertThat(facetHolder.getFacet(FooFacet.class), is((FooFacet) fooFacet));
+    }
+
+    @Test
+    public void add_replaces_existing_and_retains_as_underlying() throws Exception {
+        final ConcreteFacet fooFacet = new ConcreteFacet(FooFacet.class, facetHolder);
+        final ConcreteFacet anotherFooFacet = new ConcreteFacet(FooFacet.class, facetHolder);
+
+        facetHolder.addFacet(fooFacet);
+        facetHolder.addFacet(anotherFooFacet);
+
+        assertThat(facetHolder.getFacet(FooFacet.class), is((FooFacet) anotherFooFacet));
+        assertThat(anotherFooFacet.getUnderlyingFacet(), is((Facet) fooFacet));
+        assertThat(facetHolder.getFacetTypes().length, is(1));
+    }
+
+    @Test
+    public void remove() throws Exception {
+        final ConcreteFacet fooFacet = new ConcreteFacet(FooFacet.class, facetHolder);
+        final ConcreteFacet barFacet = new ConcreteFacet(BarFacet.class, facetHolder);
+        facetHolder.addFacet(fooFacet);
+        facetHolder.addFacet(barFacet);
+
+        facetHolder.removeFacet(fooFacet);
+
+        assertThat(facetHolder.getFacet(FooFacet.class), is(nullValue()));
+        assertThat(fooFacet.getFacetHolder(), is(nullValue()));
+        assertThat(facetHolder.getFacet(BarFacet.class), is((BarFacet) barFacet));
+        assertThat(facetHolder.getFacetTypes().length, is(1));
+
+        facetHolder.removeFacet(BarFacet.class);
+
+        assertThat(facetHolder.getFacet(BarFacet.class), is(nullValue()));
+        assertThat(facetHolder.getFacetTypes().length, is(0));
+    }
+
+    @Test(timeout = 30000)
+    public void concurrent_reads_during_add_and_remove() throws Exception {
+
+        // given the churning facet types sort before the stable one, so adding and removing them shifts its index
+        FacetTypeIds.idOf(ChurnFacet1.class);
+        FacetTypeIds.idOf(ChurnFacet2.class);
+        FacetTypeIds.idOf(StableFacet.class);
+
+        final ConcreteFacet stableFacet = new ConcreteFacet(StableFacet.class, facetHolder);
+        facetHolder.addFacet(stableFacet);
+
+        final AtomicBoolean done = new AtomicBoolean();
+        final AtomicReference<String> failure = new AtomicReference<>();
+        final int numReaders = 4;
+        final CountDownLatch readersStarted = new CountDownLatch(numReaders);
+        final Thread[] readers = new Thread[numReaders];
+        for (int i = 0; i < numReaders; i++) {
+            readers[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    readersStarted.countDown();
+                    try {
+                        while (!done.get()) {
+                            final StableFacet facet = facetHolder.getFacet(StableFacet.class);
+                            if (facet != stableFacet) {
+                                failure.compareAndSet(null, "read " + facet);
+                            }
+                        }
+                    } catch (final Throwable ex) {
+                        failure.compareAndSet(null, ex.toString());
+                    }
+                }
+            });
+            readers[i].start();
+        }
+        readersStarted.await();
+
+        // when
+        for (int i = 0; i < 100000 && failure.get() == null; i++) {
+            facetHolder.addFacet(new ConcreteFacet(ChurnFacet1.class, facetHolder));
+            facetHolder.addFacet(new ConcreteFacet(ChurnFacet2.class, facetHolder));
+            facetHolder.removeFacet(ChurnFacet1.class);
+            facetHolder.removeFacet(ChurnFacet2.class);
+        }
+        done.set(true);
+        for (final Thread reader : readers) {
+            reader.join();
+        }
+
+        // then
+        assertThat(failure.get(), is(nullValue()));
+        assertThat(facetHolder.getFacetTypes().length, is(1));
+    }
+
+}
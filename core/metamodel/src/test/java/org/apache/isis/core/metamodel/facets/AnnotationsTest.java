@@ -22,9 +22,13 @@
 
 import org.junit.Test;
 
+import org.apache.isis.applib.annotation.MemberOrder;
+
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
 public class AnnotationsTest  {
@@ -68,4 +72,43 @@ public void when_starts_with_something_else_getter() throws Exception {
         assertThat(fieldNameCandidates.size(), is(0));
     }
 
-}
\ No newline at end of file
+    public static class Customer {
+        @MemberOrder(sequence = "1")
+        private String name;
+        public String getName() { return name; }
+        public String getNickname() { return null; }
+    }
+
+    @Test
+    public void use_cache_returns_the_cache_previously_in_use() throws Exception {
+        final Annotations.LookupCache lookupCache = new Annotations.LookupCache();
+        assertThat(Annotations.useCache(lookupCache), is(nullValue()));
+        try {
+            final Annotations.LookupCache otherLookupCache = new Annotations.LookupCache();
+            assertThat(Annotations.useCache(otherLookupCache), is(sameInstance(lookupCache)));
+            assertThat(Annotations.useCache(lookupCache), is(sameInstance(otherLookupCache)));
+        } finally {
+            Annotations.useCache(null);
+        }
+    }
+
+    @Test
+    public void when_cached_then_annotations_of_backing_fields_are_still_found() throws Exception {
+        final Annotations.LookupCache previous = Annotations.useCache(new Annotations.LookupCache());
+        try {
+            for (int i = 0; i < 2; i++) {
+                final MemberOrder fromField =
+                        Annotations.getAnnotation(Customer.class.getMethod("getName"), MemberOrder.class);
+                assertThat(fromField, is(notNullValue()));
+                assertThat(fromField.sequence(), is("1"));
+
+                final MemberOrder noField =
+                        Annotations.getAnnotation(Customer.class.getMethod("getNickname"), MemberOrder.class);
+                assertThat(noField, is(nullValue()));
+            }
+        } finally {
+            Annotations.useCache(previous);
+        }
+    }
+
+}
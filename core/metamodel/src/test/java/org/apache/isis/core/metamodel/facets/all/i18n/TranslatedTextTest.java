@@ -0,0 +1,119 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.facets.all.i18n;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.i18n.TranslationService;
+import org.apache.isis.core.metamodel.services.i18n.TranslationServiceInternal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class TranslatedTextTest {
+
+    static class TranslationServiceStub implements TranslationService, TranslationServiceInternal {
+
+        int slot;
+        int version = 1;
+        String prefix = "fr:";
+        int lookups;
+
+        @Override
+        public String translate(final String context, final String text) {
+            lookups++;
+            return "?:" + text;
+        }
+
+        @Override
+        public String translate(final String context, final String singularText, final String pluralText, final int num) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Mode getMode() {
+            return Mode.READ;
+        }
+
+        @Override
+        public int currentLocaleSlot() {
+            return slot;
+        }
+
+        @Override
+        public int getTranslationsVersion() {
+            return version;
+        }
+
+        @Override
+        public String translate(final int localeSlot, final String context, final String text) {
+            lookups++;
+            return prefix + localeSlot + ":" + text;
+        }
+    }
+
+    TranslationServiceStub translationService;
+    TranslatedText translatedText;
+
+    @Before
+    public void setUp() throws Exception {
+        translationService = new TranslationServiceStub();
+        translatedText = new TranslatedText("Customer#name()", "Name", translationService);
+    }
+
+    @Test
+    public void looks_up_once_per_slot() throws Exception {
+        assertThat(translatedText.translate(), is("fr:0:Name"));
+        assertThat(translatedText.translate(), is("fr:0:Name"));
+        assertThat(translationService.lookups, is(1));
+
+        translationService.slot = 2;
+        assertThat(translatedText.translate(), is("fr:2:Name"));
+        assertThat(translatedText.translate(), is("fr:2:Name"));
+        assertThat(translationService.lookups, is(2));
+
+        translationService.slot = 0;
+        assertThat(translatedText.translate(), is("fr:0:Name"));
+        assertThat(translationService.lookups, is(2));
+    }
+
+    @Test
+    public void looks_up_again_once_version_changes() throws Exception {
+        assertThat(translatedText.translate(), is("fr:0:Name"));
+
+        translationService.version++;
+        translationService.prefix = "fr-CA:";
+
+        assertThat(translatedText.translate(), is("fr-CA:0:Name"));
+        assertThat(translatedText.translate(), is("fr-CA:0:Name"));
+        assertThat(translationService.lookups, is(2));
+    }
+
+    @Test
+    public void delegates_when_no_slot() throws Exception {
+        translationService.slot = -1;
+
+        assertThat(translatedText.translate(), is("?:Name"));
+        assertThat(translatedText.translate(), is("?:Name"));
+        assertThat(translationService.lookups, is(2));
+    }
+
+}
@@ -104,4 +104,18 @@ public void shouldInjectContainer() {
         assertThat(service2.getSomeDomainService3(), is(service3));
     }
 
+    @Test
+    public void shouldInjectReplacementService() {
+
+        injector.injectServicesInto(service2);
+        assertThat(service2.getSomeDomainService3(), is(service3));
+
+        final SomeDomainService3 replacementService3 = new SomeDomainService3();
+        injector.replaceService(service3, replacementService3);
+
+        final SomeDomainService2 anotherService2 = new SomeDomainService2();
+        injector.injectServicesInto(anotherService2);
+        assertThat(anotherService2.getSomeDomainService3(), is(replacementService3));
+    }
+
 }
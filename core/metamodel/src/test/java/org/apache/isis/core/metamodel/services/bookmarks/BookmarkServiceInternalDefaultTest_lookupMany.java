@@ -0,0 +1,146 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.services.bookmarks;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.bookmark.BookmarkService2;
+import org.apache.isis.applib.services.registry.ServiceRegistry2;
+import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternal;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class BookmarkServiceInternalDefaultTest_lookupMany {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private PersistenceSessionServiceInternal mockPersistenceSessionServiceInternal;
+    @Mock
+    private ServiceRegistry2 mockServiceRegistry2;
+
+    public static class SomeService {
+    }
+
+    private final SomeService someService = new SomeService();
+
+    private final Bookmark customer1 = new Bookmark("CUS", "1");
+    private final Bookmark customer2 = new Bookmark("CUS", "2");
+    private final Bookmark order1 = new Bookmark("ORD", "1");
+    private final Bookmark service = new Bookmark(SomeService.class.getName(), "1");
+
+    private BookmarkServiceInternalDefault bookmarkService;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockServiceRegistry2).getRegisteredServices();
+            will(returnValue(Collections.<Object>singletonList(someService)));
+        }});
+
+        bookmarkService = new BookmarkServiceInternalDefault();
+        bookmarkService.persistenceSessionServiceInternal = mockPersistenceSessionServiceInternal;
+        bookmarkService.serviceRegistry2 = mockServiceRegistry2;
+    }
+
+    @Test
+    public void preserves_order_and_resolves_services_directly() throws Exception {
+
+        // expect
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceSessionServiceInternal).lookup(
+                    Arrays.asList(customer2, order1, customer1), BookmarkService2.FieldResetPolicy.DONT_RESET);
+            will(returnValue(Arrays.<Object>asList("customer2", "order1", "customer1")));
+        }});
+
+        // when
+        final List<Object> objects = bookmarkService.lookup(
+                Arrays.asList(customer2, service, order1, null, customer1),
+                BookmarkService2.FieldResetPolicy.DONT_RESET);
+
+        // then
+        assertThat(objects, is(Arrays.<Object>asList("customer2", someService, "order1", null, "customer1")));
+    }
+
+    @Test
+    public void duplicates_and_missing_objects() throws Exception {
+
+        // expect
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceSessionServiceInternal).lookup(
+                    Arrays.asList(customer1, customer2, customer1), BookmarkService2.FieldResetPolicy.DONT_RESET);
+            will(returnValue(Arrays.<Object>asList("customer1", null, "customer1")));
+        }});
+
+        // when
+        final List<Object> objects = bookmarkService.lookup(
+                Arrays.asList(customer1, customer2, customer1), BookmarkService2.FieldResetPolicy.DONT_RESET);
+
+        // then
+        assertThat(objects, is(Arrays.<Object>asList("customer1", null, "customer1")));
+    }
+
+    @Test
+    public void passes_through_field_reset_policy() throws Exception {
+
+        // expect
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceSessionServiceInternal).lookup(
+                    Collections.singletonList(customer1), BookmarkService2.FieldResetPolicy.RESET);
+            will(returnValue(Collections.<Object>singletonList("customer1")));
+        }});
+
+        // when
+        final List<Object> objects = bookmarkService.lookup(
+                Collections.singletonList(customer1), BookmarkService2.FieldResetPolicy.RESET);
+
+        // then
+        assertThat(objects, is(Collections.<Object>singletonList("customer1")));
+    }
+
+    @Test
+    public void when_only_services() throws Exception {
+
+        // expect
+        context.checking(new Expectations() {{
+            never(mockPersistenceSessionServiceInternal);
+        }});
+
+        // when
+        final List<Object> objects = bookmarkService.lookup(
+                Collections.singletonList(service), BookmarkService2.FieldResetPolicy.DONT_RESET);
+
+        // then
+        assertThat(objects, is(Collections.<Object>singletonList(someService)));
+    }
+
+}
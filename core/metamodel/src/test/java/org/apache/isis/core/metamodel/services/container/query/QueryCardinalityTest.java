@@ -0,0 +1,56 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.services.container.query;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class QueryCardinalityTest {
+
+    private static final long UNBOUNDED = Integer.MAX_VALUE;
+
+    @Test
+    public void multipleFetchesTheRequestedRange() throws Exception {
+        assertThat(QueryCardinality.MULTIPLE.isLimited(), is(false));
+        assertThat(QueryCardinality.MULTIPLE.rangeEnd(0, UNBOUNDED), is(UNBOUNDED));
+        assertThat(QueryCardinality.MULTIPLE.rangeEnd(5, 15), is(15L));
+    }
+
+    @Test
+    public void singleFetchesOneRow() throws Exception {
+        assertThat(QueryCardinality.SINGLE.isLimited(), is(true));
+        assertThat(QueryCardinality.SINGLE.rangeEnd(0, UNBOUNDED), is(1L));
+        assertThat(QueryCardinality.SINGLE.rangeEnd(5, 15), is(6L));
+    }
+
+    @Test
+    public void uniqueFetchesTwoRows() throws Exception {
+        assertThat(QueryCardinality.UNIQUE.isLimited(), is(true));
+        assertThat(QueryCardinality.UNIQUE.rangeEnd(0, UNBOUNDED), is(2L));
+        assertThat(QueryCardinality.UNIQUE.rangeEnd(5, 15), is(7L));
+    }
+
+    @Test
+    public void neverFetchesBeyondTheRequestedRange() throws Exception {
+        assertThat(QueryCardinality.UNIQUE.rangeEnd(5, 6), is(6L));
+    }
+
+}
@@ -0,0 +1,219 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.services.repository;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.Lists;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.RepositoryException;
+import org.apache.isis.applib.query.Query;
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.bookmark.BookmarkService2;
+import org.apache.isis.applib.services.repository.QueryResultsStream;
+import org.apache.isis.applib.services.xactn.TransactionService;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternalNoop;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class RepositoryServiceDefaultTest_allMatchesPredicate {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private TransactionService mockTransactionService;
+
+    private RepositoryServiceInternalDefault repositoryService;
+
+    /**
+     * The number of instances iterated over so far.
+     */
+    private int iterated;
+
+    private QueryResultsStream.EvictionPolicy evictionPolicy;
+
+    /**
+     * The bookmarks looked up (again) once the stream was closed.
+     */
+    private List<Bookmark> lookedUp;
+
+    private static final Predicate<Integer> EVEN = new Predicate<Integer>() {
+        @Override
+        public boolean apply(final Integer input) {
+            return input % 2 == 0;
+        }
+    };
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockTransactionService).flushTransaction();
+        }});
+
+        repositoryService = new RepositoryServiceInternalDefault();
+        repositoryService.transactionService = mockTransactionService;
+        repositoryService.persistenceSessionServiceInternal = new PersistenceSessionServiceInternalNoop() {
+            @Override
+            public <T> QueryResultsStream<ObjectAdapter> streamMatchingQuery(
+                    final Query<T> query,
+                    final int fetchSize,
+                    final QueryResultsStream.EvictionPolicy evictionPolicy) {
+                RepositoryServiceDefaultTest_allMatchesPredicate.this.evictionPolicy = evictionPolicy;
+                return streamOf(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+            }
+
+            @Override
+            public Bookmark bookmarkFor(final Object domainObject) {
+                return new Bookmark("INT", domainObject.toString());
+            }
+
+            @Override
+            public List<Object> lookup(
+                    final List<Bookmark> bookmarks,
+                    final BookmarkService2.FieldResetPolicy fieldResetPolicy) {
+                lookedUp = bookmarks;
+                final List<Object> objects = Lists.newArrayList();
+                for (final Bookmark bookmark : bookmarks) {
+                    objects.add(Integer.valueOf(bookmark.getIdentifier()));
+                }
+                return objects;
+            }
+        };
+        repositoryService.init(new HashMap<String, String>());
+    }
+
+    private QueryResultsStream<ObjectAdapter> streamOf(final Integer... values) {
+        final List<ObjectAdapter> adapters = Lists.newArrayList();
+        for (final Integer value : values) {
+            final ObjectAdapter mockAdapter = context.mock(ObjectAdapter.class, "adapter" + value);
+            context.checking(new Expectations() {{
+                allowing(mockAdapter).getObject();
+                will(returnValue(value));
+            }});
+            adapters.add(mockAdapter);
+        }
+        return new QueryResultsStream<ObjectAdapter>() {
+            @Override
+            public Iterator<ObjectAdapter> iterator() {
+                final Iterator<ObjectAdapter> iterator = adapters.iterator();
+                return new Iterator<ObjectAdapter>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public ObjectAdapter next() {
+                        iterated++;
+                        return iterator.next();
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    @Test
+    public void noRange() throws Exception {
+        final List<Integer> matches = repositoryService.allMatches(Integer.class, EVEN);
+
+        assertThat(matches, is((List<Integer>) Arrays.asList(2, 4, 6, 8, 10)));
+        assertThat(iterated, is(10));
+    }
+
+    @Test
+    public void instancesAreEvictedAndOnlyMatchesLookedUp() throws Exception {
+        repositoryService.allMatches(Integer.class, EVEN);
+
+        assertThat(evictionPolicy, is(QueryResultsStream.EvictionPolicy.EVICT));
+        assertThat(lookedUp.size(), is(5));
+        assertThat(lookedUp.get(0).getIdentifier(), is("2"));
+    }
+
+    @Test
+    public void rangeIsAppliedToMatches() throws Exception {
+        final List<Integer> matches = repositoryService.allMatches(Integer.class, EVEN, 1, 2);
+
+        assertThat(matches, is((List<Integer>) Arrays.asList(4, 6)));
+        // stops once enough have been found
+        assertThat(iterated, is(6));
+    }
+
+    @Test
+    public void firstMatchStopsEarly() throws Exception {
+        final Integer match = repositoryService.firstMatch(Integer.class, EVEN);
+
+        assertThat(match, is(2));
+        assertThat(iterated, is(2));
+    }
+
+    @Test
+    public void firstMatchWhenNone() throws Exception {
+        final Integer match = repositoryService.firstMatch(Integer.class, new Predicate<Integer>() {
+            @Override
+            public boolean apply(final Integer input) {
+                return input > 100;
+            }
+        });
+
+        assertThat(match, is(nullValue()));
+    }
+
+    @Test
+    public void uniqueMatchFindsMatchBeyondFirstTwoInstances() throws Exception {
+        final Integer match = repositoryService.uniqueMatch(Integer.class, new Predicate<Integer>() {
+            @Override
+            public boolean apply(final Integer input) {
+                return input == 7;
+            }
+        });
+
+        assertThat(match, is(7));
+    }
+
+    @Test(expected = RepositoryException.class)
+    public void uniqueMatchWhenMoreThanOne() throws Exception {
+        repositoryService.uniqueMatch(Integer.class, EVEN);
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.services.repository;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.query.Query;
+import org.apache.isis.applib.services.repository.QueryResultsStream;
+import org.apache.isis.applib.services.repository.RepositoryService;
+import org.apache.isis.applib.services.xactn.TransactionService;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternal;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class RepositoryServiceDefaultTest_stream {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    private RepositoryServiceInternalDefault repositoryService;
+
+    @Mock
+    private TransactionService mockTransactionService;
+    @Mock
+    private PersistenceSessionServiceInternal mockPersistenceSessionServiceInternal;
+    @Mock
+    private Query<String> mockQuery;
+    @Mock
+    private ObjectAdapter mockAdapter1;
+    @Mock
+    private ObjectAdapter mockAdapter2;
+
+    private boolean closed;
+
+    @Before
+    public void setUp() throws Exception {
+        repositoryService = new RepositoryServiceInternalDefault();
+        repositoryService.transactionService = mockTransactionService;
+        repositoryService.persistenceSessionServiceInternal = mockPersistenceSessionServiceInternal;
+        repositoryService.init(new HashMap<String, String>());
+
+        final List<ObjectAdapter> adapters = Arrays.asList(mockAdapter1, mockAdapter2);
+        final QueryResultsStream<ObjectAdapter> adapterStream = new QueryResultsStream<ObjectAdapter>() {
+            @Override
+            public Iterator<ObjectAdapter> iterator() {
+                return adapters.iterator();
+            }
+
+            @Override
+            public void close() {
+                closed = true;
+            }
+        };
+
+        context.checking(new Expectations() {{
+            allowing(mockAdapter1).getObject();
+            will(returnValue("one"));
+
+            allowing(mockAdapter2).getObject();
+            will(returnValue("two"));
+
+            oneOf(mockTransactionService).flushTransaction();
+
+            oneOf(mockPersistenceSessionServiceInternal).streamMatchingQuery(
+                    mockQuery, RepositoryService.STREAM_FETCH_SIZE_DEFAULT, QueryResultsStream.EvictionPolicy.EVICT);
+            will(returnValue(adapterStream));
+        }});
+    }
+
+    @Test
+    public void unwrapsAdaptersInOrder() throws Exception {
+        try (final QueryResultsStream<String> stream = repositoryService.stream(mockQuery)) {
+            assertThat(Lists.newArrayList(stream), is((List<String>) Arrays.asList("one", "two")));
+        }
+    }
+
+    @Test
+    public void closeIsDelegated() throws Exception {
+        final QueryResultsStream<String> stream = repositoryService.stream(mockQuery);
+        assertThat(closed, is(false));
+
+        stream.close();
+
+        assertThat(closed, is(true));
+    }
+
+}
@@ -0,0 +1,46 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.spec;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ObjectSpecIdTest_of {
+
+    @Test
+    public void equal_ids_are_interned() throws Exception {
+        final ObjectSpecId objectSpecId = ObjectSpecId.of("CUS");
+        assertThat(ObjectSpecId.of("CUS"), is(sameInstance(objectSpecId)));
+        assertThat(ObjectSpecId.of("ORD"), is(not(sameInstance(objectSpecId))));
+    }
+
+    @Test
+    public void arbitrary_ids_do_not_crowd_out_later_ones() throws Exception {
+        for (int i = 0; i < 20000; i++) {
+            ObjectSpecId.of("ARB" + i);
+        }
+        final ObjectSpecId objectSpecId = ObjectSpecId.of("SUP");
+        assertThat(ObjectSpecId.of("SUP"), is(sameInstance(objectSpecId)));
+    }
+
+}
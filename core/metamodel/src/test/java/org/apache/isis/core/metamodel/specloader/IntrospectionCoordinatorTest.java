@@ -0,0 +1,186 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.specloader;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.specloader.specimpl.ObjectSpecificationAbstract;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class IntrospectionCoordinatorTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private ObjectSpecificationAbstract mockSpec1;
+    @Mock
+    private ObjectSpecificationAbstract mockSpec2;
+
+    private IntrospectionCoordinator coordinator;
+    private ExecutorService otherThread;
+    private volatile Thread thread;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockSpec1).getIntrospectionState();
+            will(returnValue(ObjectSpecificationAbstract.IntrospectionState.NOT_INTROSPECTED));
+            allowing(mockSpec2).getIntrospectionState();
+            will(returnValue(ObjectSpecificationAbstract.IntrospectionState.NOT_INTROSPECTED));
+        }});
+        coordinator = new IntrospectionCoordinator();
+        otherThread = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                thread = new Thread(runnable);
+                return thread;
+            }
+        });
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        otherThread.shutdownNow();
+    }
+
+    @Test
+    public void first_claim_owns_the_spec() throws Exception {
+        assertThat(coordinator.claim(mockSpec1), is(true));
+    }
+
+    @Test
+    public void reentrant_claim_returns_partially_introspected_spec() throws Exception {
+        // given
+        assertThat(coordinator.claim(mockSpec1), is(true));
+
+        // when, then (a recursive load of the same spec, further down the call stack)
+        assertThat(coordinator.claim(mockSpec1), is(false));
+    }
+
+    @Test
+    public void claimable_again_once_released() throws Exception {
+        // given
+        assertThat(coordinator.claim(mockSpec1), is(true));
+        coordinator.release(mockSpec1);
+
+        // when, then (eg introspection failed, so not yet introspected)
+        assertThat(coordinator.claim(mockSpec1), is(true));
+    }
+
+    @Test
+    public void not_claimed_if_already_introspected() throws Exception {
+        // given
+        final ObjectSpecificationAbstract introspectedSpec =
+                context.mock(ObjectSpecificationAbstract.class, "introspectedSpec");
+        context.checking(new Expectations() {{
+            allowing(introspectedSpec).getIntrospectionState();
+            will(returnValue(ObjectSpecificationAbstract.IntrospectionState.INTROSPECTED));
+        }});
+
+        // when, then
+        assertThat(coordinator.claim(introspectedSpec), is(false));
+    }
+
+    @Test(timeout = 10000)
+    public void other_thread_waits_until_owner_releases() throws Exception {
+        // given
+        assertThat(coordinator.claim(mockSpec1), is(true));
+
+        // when
+        final Future<Boolean> otherClaim = otherThread.submit(claim(mockSpec1));
+        awaitWaiting(otherClaim);
+
+        // then
+        assertThat(otherClaim.isDone(), is(false));
+
+        // and when
+        coordinator.release(mockSpec1);
+
+        // then
+        assertThat(otherClaim.get(), is(false));
+    }
+
+    @Test(timeout = 10000)
+    public void does_not_wait_if_would_deadlock() throws Exception {
+        // given, other thread owns spec1 and (once we own spec2) waits for it
+        final CountDownLatch ownsSpec2 = new CountDownLatch(1);
+        final Future<Boolean> otherClaimOfSpec2 = otherThread.submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                assertThat(coordinator.claim(mockSpec1), is(true));
+                // a timed wait, so not mistaken for waiting within claim(...)
+                ownsSpec2.await(10, TimeUnit.SECONDS);
+                try {
+                    return coordinator.claim(mockSpec2);
+                } finally {
+                    coordinator.release(mockSpec1);
+                }
+            }
+        });
+        assertThat(coordinator.claim(mockSpec2), is(true));
+        ownsSpec2.countDown();
+        awaitWaiting(otherClaimOfSpec2);
+
+        // when, then (is not blocked)
+        assertThat(coordinator.claim(mockSpec1), is(false));
+
+        // and when
+        coordinator.release(mockSpec2);
+
+        // then
+        assertThat(otherClaimOfSpec2.get(), is(false));
+    }
+
+    private Callable<Boolean> claim(final ObjectSpecificationAbstract spec) {
+        return new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                return coordinator.claim(spec);
+            }
+        };
+    }
+
+    /**
+     * Waits until the other thread is blocked (within {@link IntrospectionCoordinator#claim(org.apache.isis.core.metamodel.spec.ObjectSpecification)}).
+     */
+    private void awaitWaiting(final Future<Boolean> future) throws Exception {
+        while(!future.isDone() && (thread == null || thread.getState() != Thread.State.WAITING)) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+}
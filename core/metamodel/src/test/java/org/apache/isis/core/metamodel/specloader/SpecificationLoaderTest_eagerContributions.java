@@ -0,0 +1,182 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.specloader;
+
+import com.google.common.collect.Lists;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.annotation.Action;
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.SemanticsOf;
+import org.apache.isis.applib.services.grid.GridService;
+import org.apache.isis.core.commons.authentication.AuthenticationSessionProvider;
+import org.apache.isis.core.commons.config.IsisConfigurationDefault;
+import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
+import org.apache.isis.core.metamodel.deployment.DeploymentCategoryProvider;
+import org.apache.isis.core.metamodel.layoutmetadata.LayoutMetadataReader;
+import org.apache.isis.core.metamodel.metamodelvalidator.dflt.MetaModelValidatorDefault;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.services.msgbroker.MessageBrokerServiceInternal;
+import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternal;
+import org.apache.isis.core.metamodel.services.transtate.TransactionStateProviderInternal;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.metamodel.specloader.specimpl.ObjectSpecificationAbstract;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+import org.apache.isis.progmodels.dflt.ProgrammingModelFacetsJava5;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class SpecificationLoaderTest_eagerContributions {
+
+    public static class Customer {
+        public String getName() { return null; }
+    }
+
+    public static class Order {
+        public String getReference() { return null; }
+    }
+
+    @DomainService(nature = NatureOfService.VIEW_CONTRIBUTIONS_ONLY)
+    public static class CustomerContributions {
+        @Action(semantics = SemanticsOf.SAFE)
+        public Order latestOrder(final Customer customer) { return null; }
+    }
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private DeploymentCategoryProvider mockDeploymentCategoryProvider;
+    @Mock
+    private AuthenticationSessionProvider mockAuthenticationSessionProvider;
+    @Mock
+    private GridService mockGridService;
+    @Mock
+    private PersistenceSessionServiceInternal mockPersistenceSessionServiceInternal;
+    @Mock
+    private TransactionStateProviderInternal mockTransactionStateProviderInternal;
+    @Mock
+    private MessageBrokerServiceInternal mockMessageBrokerServiceInternal;
+
+    private IsisConfigurationDefault stubConfiguration;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockDeploymentCategoryProvider).getDeploymentCategory();
+            will(returnValue(DeploymentCategory.PRODUCTION));
+
+            ignoring(mockGridService).existsFor(with(any(Class.class)));
+
+            ignoring(mockPersistenceSessionServiceInternal);
+            ignoring(mockTransactionStateProviderInternal);
+            ignoring(mockMessageBrokerServiceInternal);
+        }});
+
+        stubConfiguration = new IsisConfigurationDefault(null);
+    }
+
+    private SpecificationLoader newSpecificationLoader() {
+        final ServicesInjector stubServicesInjector =
+                new ServicesInjector(
+                    Lists.newArrayList(
+                        mockAuthenticationSessionProvider,
+                        stubConfiguration,
+                        mockDeploymentCategoryProvider,
+                        mockPersistenceSessionServiceInternal,
+                        mockMessageBrokerServiceInternal,
+                        mockTransactionStateProviderInternal,
+                        mockGridService,
+                        new CustomerContributions()),
+                    stubConfiguration);
+        final SpecificationLoader specificationLoader =
+                new SpecificationLoader(
+                        new ProgrammingModelFacetsJava5(stubConfiguration),
+                        new MetaModelValidatorDefault(), Lists.<LayoutMetadataReader>newArrayList(),
+                        stubServicesInjector);
+        stubServicesInjector.addFallbackIfRequired(SpecificationLoader.class, specificationLoader);
+        specificationLoader.init();
+        return specificationLoader;
+    }
+
+    @Test
+    public void when_eager_then_contributed_members_resolved_by_validateAndAssert() throws Exception {
+
+        // given
+        stubConfiguration.add(ReflectorConstants.CONTRIBUTIONS_EAGER, "true");
+        stubConfiguration.add(ReflectorConstants.INTROSPECTOR_PARALLELISM, "2");
+        final SpecificationLoader specificationLoader = newSpecificationLoader();
+
+        // when
+        specificationLoader.validateAndAssert();
+
+        // then
+        final ObjectSpecificationAbstract customerSpec = specFor(specificationLoader, Customer.class);
+        assertThat(customerSpec.isContributedMembersResolved(), is(true));
+        assertThat(specFor(specificationLoader, Order.class).isContributedMembersResolved(), is(true));
+        assertThat(hasAssociation(customerSpec, "latestOrder"), is(true));
+    }
+
+    @Test
+    public void when_not_eager_then_contributed_members_resolved_on_first_request() throws Exception {
+
+        // given
+        stubConfiguration.add(ReflectorConstants.CONTRIBUTIONS_EAGER, "false");
+        final SpecificationLoader specificationLoader = newSpecificationLoader();
+
+        // when
+        specificationLoader.validateAndAssert();
+
+        // then
+        final ObjectSpecificationAbstract customerSpec = specFor(specificationLoader, Customer.class);
+        assertThat(customerSpec.isContributedMembersResolved(), is(false));
+
+        // and when
+        final boolean hasLatestOrder = hasAssociation(customerSpec, "latestOrder");
+
+        // then
+        assertThat(hasLatestOrder, is(true));
+    }
+
+    private static ObjectSpecificationAbstract specFor(
+            final SpecificationLoader specificationLoader,
+            final Class<?> type) {
+        return (ObjectSpecificationAbstract) specificationLoader.loadSpecification(type);
+    }
+
+    private static boolean hasAssociation(final ObjectSpecification spec, final String associationId) {
+        for (final ObjectAssociation each : spec.getAssociations(Contributed.INCLUDED)) {
+            if(each.getId().equals(associationId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
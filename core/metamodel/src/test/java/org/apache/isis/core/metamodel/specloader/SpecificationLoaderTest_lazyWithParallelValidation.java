@@ -0,0 +1,168 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.specloader;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.google.common.collect.Lists;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.grid.GridService;
+import org.apache.isis.core.commons.authentication.AuthenticationSessionProvider;
+import org.apache.isis.core.commons.config.IsisConfigurationDefault;
+import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
+import org.apache.isis.core.metamodel.deployment.DeploymentCategoryProvider;
+import org.apache.isis.core.metamodel.layoutmetadata.LayoutMetadataReader;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.services.msgbroker.MessageBrokerServiceInternal;
+import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternal;
+import org.apache.isis.core.metamodel.services.transtate.TransactionStateProviderInternal;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.specloader.validator.MetaModelInvalidException;
+import org.apache.isis.core.metamodel.specloader.validator.MetaModelValidatorAbstract;
+import org.apache.isis.core.metamodel.specloader.validator.ValidationFailures;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+import org.apache.isis.progmodels.dflt.ProgrammingModelFacetsJava5;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class SpecificationLoaderTest_lazyWithParallelValidation {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private DeploymentCategoryProvider mockDeploymentCategoryProvider;
+    @Mock
+    private AuthenticationSessionProvider mockAuthenticationSessionProvider;
+    @Mock
+    private GridService mockGridService;
+    @Mock
+    private PersistenceSessionServiceInternal mockPersistenceSessionServiceInternal;
+    @Mock
+    private TransactionStateProviderInternal mockTransactionStateProviderInternal;
+    @Mock
+    private MessageBrokerServiceInternal mockMessageBrokerServiceInternal;
+
+    private IsisConfigurationDefault stubConfiguration;
+    private ServicesInjector stubServicesInjector;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockDeploymentCategoryProvider).getDeploymentCategory();
+            will(returnValue(DeploymentCategory.PRODUCTION));
+
+            ignoring(mockGridService).existsFor(with(any(Class.class)));
+
+            ignoring(mockPersistenceSessionServiceInternal);
+            ignoring(mockTransactionStateProviderInternal);
+            ignoring(mockMessageBrokerServiceInternal);
+        }});
+
+        stubConfiguration = new IsisConfigurationDefault(null);
+        stubConfiguration.add(ReflectorConstants.INTROSPECTOR_LAZY, "true");
+        stubConfiguration.add(ReflectorConstants.VALIDATOR_PARALLEL, "true");
+        stubConfiguration.add(ReflectorConstants.VALIDATOR_PARALLELISM, "2");
+
+        stubServicesInjector =
+                new ServicesInjector(
+                    Lists.newArrayList(
+                        mockAuthenticationSessionProvider,
+                        stubConfiguration,
+                        mockDeploymentCategoryProvider,
+                        mockPersistenceSessionServiceInternal,
+                        mockMessageBrokerServiceInternal,
+                        mockTransactionStateProviderInternal,
+                        mockGridService),
+                    stubConfiguration);
+    }
+
+    private SpecificationLoader newSpecificationLoader(final MetaModelValidatorAbstract metaModelValidator) {
+        final SpecificationLoader specificationLoader =
+                new SpecificationLoader(
+                        new ProgrammingModelFacetsJava5(stubConfiguration),
+                        metaModelValidator, Lists.<LayoutMetadataReader>newArrayList(), stubServicesInjector);
+        stubServicesInjector.addFallbackIfRequired(SpecificationLoader.class, specificationLoader);
+        specificationLoader.init();
+        return specificationLoader;
+    }
+
+    @Test(timeout = 30000)
+    public void validator_can_lookup_spec_not_yet_loaded() throws Exception {
+
+        // given
+        final AtomicReference<Thread> validatingThread = new AtomicReference<>();
+        final AtomicReference<ObjectSpecification> lookedUp = new AtomicReference<>();
+        final SpecificationLoader loader = newSpecificationLoader(new MetaModelValidatorAbstract() {
+            @Override
+            public void validate(final ValidationFailures validationFailures) {
+                validatingThread.set(Thread.currentThread());
+                // a cache miss, so (previously) would wait for the warm-up ... which is waiting for this
+                lookedUp.set(specificationLoader.lookupBySpecId(ObjectSpecId.of(ReflectorTestPojo.class.getName())));
+            }
+        });
+
+        // when
+        loader.validateAndAssert();
+        loader.awaitWarmUp();
+
+        // then
+        assertThat(validatingThread.get(), is(notNullValue()));
+        assertThat(validatingThread.get(), is(not(sameInstance(Thread.currentThread()))));
+        assertThat(lookedUp.get(), is(notNullValue()));
+        assertThat(lookedUp.get().getCorrespondingClass(), is(sameInstance((Object) ReflectorTestPojo.class)));
+        assertThat(loader.getMetaModelInvalidExceptionIfAny(), is(nullValue()));
+    }
+
+    @Test(timeout = 30000)
+    public void validation_failures_are_exposed_once_warmed_up() throws Exception {
+
+        // given
+        final SpecificationLoader specificationLoader = newSpecificationLoader(new MetaModelValidatorAbstract() {
+            @Override
+            public void validate(final ValidationFailures validationFailures) {
+                validationFailures.add("%s is invalid", "something");
+            }
+        });
+
+        // when
+        specificationLoader.validateAndAssert();
+        specificationLoader.awaitWarmUp();
+
+        // then
+        final MetaModelInvalidException ex = specificationLoader.getMetaModelInvalidExceptionIfAny();
+        assertThat(ex, is(notNullValue()));
+        assertThat(ex.getValidationErrors().contains("something is invalid"), is(true));
+    }
+
+}
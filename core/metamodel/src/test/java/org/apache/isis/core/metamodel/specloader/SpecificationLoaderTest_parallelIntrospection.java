@@ -0,0 +1,229 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.specloader;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.google.common.collect.Lists;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.services.grid.GridService;
+import org.apache.isis.core.commons.authentication.AuthenticationSessionProvider;
+import org.apache.isis.core.commons.config.IsisConfigurationDefault;
+import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
+import org.apache.isis.core.metamodel.deployment.DeploymentCategoryProvider;
+import org.apache.isis.core.metamodel.layoutmetadata.LayoutMetadataReader;
+import org.apache.isis.core.metamodel.metamodelvalidator.dflt.MetaModelValidatorDefault;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.services.msgbroker.MessageBrokerServiceInternal;
+import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternal;
+import org.apache.isis.core.metamodel.services.transtate.TransactionStateProviderInternal;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.metamodel.specloader.specimpl.ObjectSpecificationAbstract;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+import org.apache.isis.progmodels.dflt.ProgrammingModelFacetsJava5;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class SpecificationLoaderTest_parallelIntrospection {
+
+    public static class Customer {
+        public String getName() { return null; }
+        public Order getLatestOrder() { return null; }
+        public List<Order> getOrders() { return null; }
+    }
+
+    public static class Order {
+        public Customer getCustomer() { return null; }
+        public Product getProduct() { return null; }
+    }
+
+    public static class Product {
+        public String getName() { return null; }
+        public Order getMostRecentOrder() { return null; }
+    }
+
+    // not referenced by any service, so not loaded by init()
+    public static class Supplier {
+        public Warehouse getWarehouse() { return null; }
+    }
+
+    public static class Warehouse {
+        public Supplier getSupplier() { return null; }
+        public List<Supplier> getSuppliers() { return null; }
+    }
+
+    @DomainService(nature = NatureOfService.DOMAIN)
+    public static class Customers {
+        public Customer findCustomer(final Order order) { return null; }
+    }
+
+    @DomainService(nature = NatureOfService.DOMAIN)
+    public static class Products {
+        public Product findProduct(final Order order) { return null; }
+    }
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private DeploymentCategoryProvider mockDeploymentCategoryProvider;
+    @Mock
+    private AuthenticationSessionProvider mockAuthenticationSessionProvider;
+    @Mock
+    private GridService mockGridService;
+    @Mock
+    private PersistenceSessionServiceInternal mockPersistenceSessionServiceInternal;
+    @Mock
+    private TransactionStateProviderInternal mockTransactionStateProviderInternal;
+    @Mock
+    private MessageBrokerServiceInternal mockMessageBrokerServiceInternal;
+
+    private SpecificationLoader specificationLoader;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockDeploymentCategoryProvider).getDeploymentCategory();
+            will(returnValue(DeploymentCategory.PRODUCTION));
+
+            ignoring(mockGridService).existsFor(with(any(Class.class)));
+
+            ignoring(mockPersistenceSessionServiceInternal);
+            ignoring(mockTransactionStateProviderInternal);
+            ignoring(mockMessageBrokerServiceInternal);
+        }});
+
+        final IsisConfigurationDefault stubConfiguration = new IsisConfigurationDefault(null);
+        stubConfiguration.add(ReflectorConstants.INTROSPECTOR_PARALLEL, "true");
+        stubConfiguration.add(ReflectorConstants.INTROSPECTOR_PARALLELISM, "4");
+
+        final ServicesInjector stubServicesInjector =
+                new ServicesInjector(
+                    Lists.newArrayList(
+                        mockAuthenticationSessionProvider,
+                        stubConfiguration,
+                        mockDeploymentCategoryProvider,
+                        mockPersistenceSessionServiceInternal,
+                        mockMessageBrokerServiceInternal,
+                        mockTransactionStateProviderInternal,
+                        mockGridService,
+                        new Customers(),
+                        new Products()),
+                    stubConfiguration);
+
+        specificationLoader =
+                new SpecificationLoader(
+                        new ProgrammingModelFacetsJava5(stubConfiguration),
+                        new MetaModelValidatorDefault(), Lists.<LayoutMetadataReader>newArrayList(),
+                        stubServicesInjector);
+        stubServicesInjector.addFallbackIfRequired(SpecificationLoader.class, specificationLoader);
+    }
+
+    @Test(timeout = 30000)
+    public void services_and_mutually_referencing_types_are_introspected_in_parallel() throws Exception {
+
+        // when
+        specificationLoader.init();
+
+        // then
+        assertIntrospected(Customers.class);
+        assertIntrospected(Products.class);
+        assertReferences(Customer.class, "latestOrder", Order.class);
+        assertReferences(Order.class, "customer", Customer.class);
+        assertReferences(Order.class, "product", Product.class);
+        assertReferences(Product.class, "mostRecentOrder", Order.class);
+    }
+
+    @Test(timeout = 30000)
+    public void concurrent_loads_of_mutually_referencing_types_do_not_deadlock() throws Exception {
+
+        // given
+        specificationLoader.init();
+        final ExecutorService executorService = Executors.newFixedThreadPool(6);
+        final List<Future<ObjectSpecification>> futures = Lists.newArrayList();
+
+        // when
+        try {
+            for (int i = 0; i < 6; i++) {
+                futures.add(executorService.submit(load(i % 2 == 0 ? Supplier.class : Warehouse.class)));
+            }
+            for (final Future<ObjectSpecification> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+
+        // then
+        for (int i = 0; i < futures.size(); i++) {
+            final Class<?> type = i % 2 == 0 ? Supplier.class : Warehouse.class;
+            assertThat(futures.get(i).get(), is(sameInstance(specificationLoader.loadSpecification(type))));
+        }
+        assertReferences(Supplier.class, "warehouse", Warehouse.class);
+        assertReferences(Warehouse.class, "supplier", Supplier.class);
+    }
+
+    private Callable<ObjectSpecification> load(final Class<?> type) {
+        return new Callable<ObjectSpecification>() {
+            @Override
+            public ObjectSpecification call() throws Exception {
+                return specificationLoader.loadSpecification(type);
+            }
+        };
+    }
+
+    private ObjectSpecification assertIntrospected(final Class<?> type) {
+        final ObjectSpecification spec = specificationLoader.loadSpecification(type);
+        assertThat(spec, is(notNullValue()));
+        assertThat(((ObjectSpecificationAbstract) spec).getIntrospectionState(),
+                is(ObjectSpecificationAbstract.IntrospectionState.INTROSPECTED));
+        return spec;
+    }
+
+    private void assertReferences(final Class<?> type, final String associationId, final Class<?> referencedType) {
+        final ObjectSpecification spec = assertIntrospected(type);
+        ObjectAssociation association = null;
+        for (final ObjectAssociation each : spec.getAssociations(Contributed.EXCLUDED)) {
+            if(each.getId().equals(associationId)) {
+                association = each;
+            }
+        }
+        assertThat(association, is(notNullValue()));
+        assertThat(association.getSpecification(), is(sameInstance(assertIntrospected(referencedType))));
+    }
+
+}
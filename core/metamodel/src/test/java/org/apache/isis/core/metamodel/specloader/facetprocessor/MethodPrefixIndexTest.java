@@ -0,0 +1,72 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.apache.isis.core.metamodel.specloader.facetprocessor;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class MethodPrefixIndexTest {
+
+    private final MethodPrefixIndex index =
+            new MethodPrefixIndex(Arrays.asList("hide", "disable", "default", "defaults", "choices", "get", "is"));
+
+    @Test
+    public void matches_prefix() throws Exception {
+        assertThat(index.matchesAnyPrefixOf("hideName"), is(true));
+        assertThat(index.matchesAnyPrefixOf("disableName"), is(true));
+        assertThat(index.matchesAnyPrefixOf("default0PlaceOrder"), is(true));
+        assertThat(index.matchesAnyPrefixOf("choices1PlaceOrder"), is(true));
+        assertThat(index.matchesAnyPrefixOf("isActive"), is(true));
+    }
+
+    @Test
+    public void matches_prefix_exactly() throws Exception {
+        assertThat(index.matchesAnyPrefixOf("hide"), is(true));
+        assertThat(index.matchesAnyPrefixOf("get"), is(true));
+    }
+
+    @Test
+    public void does_not_match() throws Exception {
+        assertThat(index.matchesAnyPrefixOf("placeOrder"), is(false));
+        assertThat(index.matchesAnyPrefixOf("hid"), is(false));
+        assertThat(index.matchesAnyPrefixOf("dis"), is(false));
+        assertThat(index.matchesAnyPrefixOf("Hide"), is(false));
+        assertThat(index.matchesAnyPrefixOf(""), is(false));
+    }
+
+    @Test
+    public void no_prefixes() throws Exception {
+        final MethodPrefixIndex emptyIndex = new MethodPrefixIndex(Collections.<String>emptyList());
+        assertThat(emptyIndex.matchesAnyPrefixOf("hideName"), is(false));
+    }
+
+    @Test
+    public void empty_prefix_matches_everything() throws Exception {
+        final MethodPrefixIndex emptyPrefixIndex = new MethodPrefixIndex(Collections.singletonList(""));
+        assertThat(emptyPrefixIndex.matchesAnyPrefixOf("placeOrder"), is(true));
+    }
+
+}
@@ -0,0 +1,175 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.specloader.validator;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class MetaModelValidatorVisitingTest_validateInParallel {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private SpecificationLoader mockSpecificationLoader;
+    @Mock
+    private ObjectSpecification mockSpecA;
+    @Mock
+    private ObjectSpecification mockSpecB;
+    @Mock
+    private ObjectSpecification mockSpecC;
+
+    private final List<ObjectSpecification> allSpecs = new CopyOnWriteArrayList<>();
+
+    private ForkJoinPool pool;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockSpecificationLoader).allSpecifications();
+            will(returnValue(allSpecs));
+
+            allowing(mockSpecA).getFullIdentifier();
+            will(returnValue("a"));
+            allowing(mockSpecB).getFullIdentifier();
+            will(returnValue("b"));
+            allowing(mockSpecC).getFullIdentifier();
+            will(returnValue("c"));
+        }});
+        pool = new ForkJoinPool(4);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        pool.shutdown();
+    }
+
+    @Test
+    public void failures_are_merged_in_order_of_spec_identifier() throws Exception {
+
+        // given, in the "wrong" order, and with the first spec being the slowest to visit
+        allSpecs.addAll(Arrays.asList(mockSpecC, mockSpecA, mockSpecB));
+        final MetaModelValidatorVisiting validator = new MetaModelValidatorVisiting(
+                new MetaModelValidatorVisiting.Visitor() {
+                    @Override
+                    public boolean visit(final ObjectSpecification objectSpec, final ValidationFailures failures) {
+                        sleepIf(objectSpec == mockSpecA, 200);
+                        failures.add("failure for %s", objectSpec.getFullIdentifier());
+                        return true;
+                    }
+                });
+
+        // when
+        final ValidationFailures validationFailures = validateInPool(validator);
+
+        // then
+        assertThat(Arrays.asList(validationFailures.getMessages().toArray()),
+                is(Arrays.<Object>asList("failure for a", "failure for b", "failure for c")));
+    }
+
+    @Test
+    public void merging_stops_at_first_spec_whose_visit_returns_false() throws Exception {
+
+        // given
+        allSpecs.addAll(Arrays.asList(mockSpecA, mockSpecB, mockSpecC));
+        final MetaModelValidatorVisiting validator = new MetaModelValidatorVisiting(
+                new MetaModelValidatorVisiting.Visitor() {
+                    @Override
+                    public boolean visit(final ObjectSpecification objectSpec, final ValidationFailures failures) {
+                        failures.add("failure for %s", objectSpec.getFullIdentifier());
+                        return objectSpec != mockSpecB;
+                    }
+                });
+
+        // when
+        final ValidationFailures validationFailures = validateInPool(validator);
+
+        // then
+        assertThat(Arrays.asList(validationFailures.getMessages().toArray()),
+                is(Arrays.<Object>asList("failure for a", "failure for b")));
+    }
+
+    @Test
+    public void specs_loaded_while_visiting_are_also_visited() throws Exception {
+
+        // given
+        allSpecs.addAll(Arrays.asList(mockSpecA, mockSpecB));
+        final MetaModelValidatorVisiting validator = new MetaModelValidatorVisiting(
+                new MetaModelValidatorVisiting.Visitor() {
+                    @Override
+                    public boolean visit(final ObjectSpecification objectSpec, final ValidationFailures failures) {
+                        if(objectSpec == mockSpecA) {
+                            // as if visiting A caused C's spec to be loaded
+                            allSpecs.add(mockSpecC);
+                        }
+                        failures.add("failure for %s", objectSpec.getFullIdentifier());
+                        return true;
+                    }
+                });
+
+        // when
+        final ValidationFailures validationFailures = validateInPool(validator);
+
+        // then
+        assertThat(Arrays.asList(validationFailures.getMessages().toArray()),
+                is(Arrays.<Object>asList("failure for a", "failure for b", "failure for c")));
+    }
+
+    private ValidationFailures validateInPool(final MetaModelValidatorVisiting validator) throws Exception {
+        validator.init(mockSpecificationLoader);
+        final ValidationFailures validationFailures = new ValidationFailures();
+        pool.submit(new Runnable() {
+            @Override
+            public void run() {
+                validator.validate(validationFailures);
+            }
+        }).get();
+        return validationFailures;
+    }
+
+    private static void sleepIf(final boolean condition, final long millis) {
+        if(!condition) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -22,6 +22,7 @@
 import org.apache.isis.applib.query.QueryFindAllInstances;
 import org.apache.isis.core.commons.util.ToString;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.services.container.query.QueryCardinality;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
 import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
 
@@ -30,16 +31,40 @@
  */
 public class PersistenceQueryFindAllInstances extends PersistenceQueryBuiltInAbstract {
 
+    private final QueryCardinality cardinality;
+
+    public PersistenceQueryFindAllInstances(
+            final ObjectSpecification specification,
+            final SpecificationLoader specificationLoader,
+            final long... range) {
+        this(specification, QueryCardinality.MULTIPLE, specificationLoader, range);
+    }
+
     public PersistenceQueryFindAllInstances(
             final ObjectSpecification specification,
+            final QueryCardinality cardinality,
             final SpecificationLoader specificationLoader,
             final long... range) {
         super(specification, specificationLoader, range);
+        this.cardinality = cardinality;
         index=0;
         countedSoFar=0;
     }
+
+    public QueryCardinality getCardinality() {
+        return cardinality;
+    }
     
 
+    public boolean hasRange() {
+        return getStart() != 0 || getCount() != 0;
+    }
+
+    public long getEnd() {
+        // as per PersistenceQueryFindUsingApplibQueryDefault, Integer.MAX_VALUE rather than Long.MAX_VALUE for HSQLDB
+        return getCount() != 0? getStart() + getCount(): Integer.MAX_VALUE;
+    }
+
     /**
      * Returns true so it matches all instances.
      */
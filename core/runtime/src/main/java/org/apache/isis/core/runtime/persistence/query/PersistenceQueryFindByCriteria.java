@@ -0,0 +1,168 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.persistence.query;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+import org.apache.isis.applib.query.QueryFindByCriteria;
+import org.apache.isis.core.commons.util.ToString;
+import org.apache.isis.core.metamodel.services.container.query.QueryCardinality;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.metamodel.spec.feature.OneToOneAssociation;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.metamodel.specloader.specimpl.ContributeeMember;
+
+/**
+ * Corresponds to {@link QueryFindByCriteria}, with each of its criteria and orderings resolved to the
+ * {@link OneToOneAssociation property} of the {@link #getSpecification() specification} that it refers to.
+ */
+public class PersistenceQueryFindByCriteria extends PersistenceQueryAbstract {
+
+    public static class Criterion {
+        private final OneToOneAssociation property;
+        private final QueryFindByCriteria.Operator operator;
+        private final Object value;
+
+        Criterion(
+                final OneToOneAssociation property,
+                final QueryFindByCriteria.Operator operator,
+                final Object value) {
+            this.property = property;
+            this.operator = operator;
+            this.value = value;
+        }
+
+        public OneToOneAssociation getProperty() {
+            return property;
+        }
+
+        public QueryFindByCriteria.Operator getOperator() {
+            return operator;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+    }
+
+    public static class Ordering {
+        private final OneToOneAssociation property;
+        private final boolean ascending;
+
+        Ordering(final OneToOneAssociation property, final boolean ascending) {
+            this.property = property;
+            this.ascending = ascending;
+        }
+
+        public OneToOneAssociation getProperty() {
+            return property;
+        }
+
+        public boolean isAscending() {
+            return ascending;
+        }
+    }
+
+    private final List<Criterion> criteria;
+    private final List<Ordering> orderings;
+    private final QueryCardinality cardinality;
+
+    /**
+     * @throws IllegalArgumentException if any of the criteria or orderings does not refer to a persisted property
+     * of the specification, or if a comparison is made against a property that is not a value.
+     */
+    public PersistenceQueryFindByCriteria(
+            final ObjectSpecification specification,
+            final QueryFindByCriteria<?> query,
+            final QueryCardinality cardinality,
+            final SpecificationLoader specificationLoader) {
+        super(specification, specificationLoader, query.getStart(), query.getCount());
+        this.cardinality = cardinality;
+
+        final List<Criterion> criteria = Lists.newArrayList();
+        for (final QueryFindByCriteria.Criterion criterion : query.getCriteria()) {
+            final OneToOneAssociation property = propertyFor(specification, criterion.getPropertyId());
+            if(!criterion.getOperator().isEquality() && !property.getSpecification().isValue()) {
+                throw new IllegalArgumentException(String.format(
+                        "Cannot use %s with property '%s' of '%s', because it is not a value type",
+                        criterion.getOperator(), property.getId(), specification.getFullIdentifier()));
+            }
+            criteria.add(new Criterion(property, criterion.getOperator(), criterion.getValue()));
+        }
+        this.criteria = Collections.unmodifiableList(criteria);
+
+        final List<Ordering> orderings = Lists.newArrayList();
+        for (final QueryFindByCriteria.Ordering ordering : query.getOrderings()) {
+            orderings.add(new Ordering(propertyFor(specification, ordering.getPropertyId()), ordering.isAscending()));
+        }
+        this.orderings = Collections.unmodifiableList(orderings);
+    }
+
+    private static OneToOneAssociation propertyFor(final ObjectSpecification specification, final String propertyId) {
+        final ObjectAssociation association;
+        try {
+            association = specification.getAssociation(propertyId);
+        } catch(final RuntimeException ex) {
+            throw new IllegalArgumentException(String.format(
+                    "No property '%s' in '%s'", propertyId, specification.getFullIdentifier()), ex);
+        }
+        if(!(association instanceof OneToOneAssociation) ||
+                association instanceof ContributeeMember ||
+                association.isNotPersisted()) {
+            throw new IllegalArgumentException(String.format(
+                    "'%s' of '%s' is not a persisted property", propertyId, specification.getFullIdentifier()));
+        }
+        return (OneToOneAssociation) association;
+    }
+
+    public List<Criterion> getCriteria() {
+        return criteria;
+    }
+
+    public List<Ordering> getOrderings() {
+        return orderings;
+    }
+
+    public QueryCardinality getCardinality() {
+        return cardinality;
+    }
+
+    public boolean hasRange() {
+        return getStart() != 0 || getCount() != 0;
+    }
+
+    public long getEnd() {
+        // as per PersistenceQueryFindUsingApplibQueryDefault, Integer.MAX_VALUE rather than Long.MAX_VALUE for HSQLDB
+        return getCount() != 0? getStart() + getCount(): Integer.MAX_VALUE;
+    }
+
+    @Override
+    public String toString() {
+        final ToString str = ToString.createAnonymous(this);
+        str.append("spec", getSpecification().getShortIdentifier());
+        str.append("criteria", criteria.size());
+        str.append("orderings", orderings.size());
+        return str.toString();
+    }
+}
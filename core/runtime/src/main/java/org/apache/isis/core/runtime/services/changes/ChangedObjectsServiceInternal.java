@@ -66,6 +66,9 @@ public class ChangedObjectsServiceInternal implements WithTransactionScope {
     // used for publishing
     private final Map<ObjectAdapter,PublishedObject.ChangeKind> changeKindByEnlistedAdapter = Maps.newLinkedHashMap();
 
+    // used for invalidating the SharedQueryResultsCache
+    private final Set<Class<?>> changedObjectTypes = Sets.newLinkedHashSet();
+
     @Programmatic
     public boolean isEnlisted(ObjectAdapter adapter) {
         return changeKindByEnlistedAdapter.containsKey(adapter);
@@ -90,6 +93,7 @@ public void enlistCreated(final ObjectAdapter adapter) {
         }
 
         enlistForPublishing(adapter, PublishedObject.ChangeKind.CREATE);
+        enlistType(adapter);
 
         for (ObjectAssociation property : adapter.getSpecification().getAssociations(Contributed.EXCLUDED, ObjectAssociation.Filters.PROPERTIES)) {
             final AdapterAndProperty aap = AdapterAndProperty.of(adapter, property);
@@ -114,7 +118,9 @@ public void enlistCreated(final ObjectAdapter adapter) {
      * The post-modification values are captured when the transaction commits.
      *
      * <p>
-     * Supported by the JDO object store; check documentation for support in other objectstores.
+     * Object stores that can track which fields of an object are changed should instead call
+     * {@link #enlistUpdatingObject(ObjectAdapter)} and {@link #enlistUpdatingProperty(ObjectAdapter, String, Object)},
+     * so that only the properties that change are read.
      */
     @Programmatic
     public void enlistUpdating(final ObjectAdapter adapter) {
@@ -124,7 +130,84 @@ public void enlistUpdating(final ObjectAdapter adapter) {
         }
 
         enlistForPublishing(adapter, PublishedObject.ChangeKind.UPDATE);
+        enlistType(adapter);
+
+        enlistPreValuesOfAllProperties(adapter);
+    }
+
+    /**
+     * Auditing and publishing support: as {@link #enlistUpdating(ObjectAdapter)}, but without capturing the
+     * pre-modification values of any of the properties; these are instead enlisted one at a time, as they change,
+     * using {@link #enlistUpdatingProperty(ObjectAdapter, String, Object)}.
+     *
+     * <p>
+     * Supported by the JDO object store, which tracks the fields that are changed.
+     */
+    @Programmatic
+    public void enlistUpdatingObject(final ObjectAdapter adapter) {
+
+        if(shouldIgnore(adapter)) {
+            return;
+        }
+
+        enlistForPublishing(adapter, PublishedObject.ChangeKind.UPDATE);
+        enlistType(adapter);
+    }
+
+    /**
+     * Auditing support: for object stores to enlist the pre-modification value of a property (identified by the
+     * name of the field that it is persisted in) that is about to be changed.
+     *
+     * <p>
+     * If the property was already enlisted earlier in the transaction, then the value enlisted then is retained.
+     * If there is no property with this id (eg the field is persisted but not exposed, or exposed using a
+     * different name) then the pre-values of all properties are captured instead, as per
+     * {@link #enlistUpdating(ObjectAdapter)}.
+     *
+     * <p>
+     * Does <i>not</i> enlist the object for publishing; {@link #enlistUpdatingObject(ObjectAdapter)} should also be
+     * called.
+     */
+    @Programmatic
+    public void enlistUpdatingProperty(final ObjectAdapter adapter, final String propertyId, final Object preValue) {
 
+        if(shouldIgnore(adapter)) {
+            return;
+        }
+
+        final ObjectAssociation property = propertyIfAny(adapter, propertyId);
+        if(property == null) {
+            enlistPreValuesOfAllProperties(adapter);
+            return;
+        }
+        if(property.isNotPersisted()) {
+            return;
+        }
+
+        final AdapterAndProperty aap = AdapterAndProperty.of(adapter, property);
+        if(enlistedObjectProperties.containsKey(aap)) {
+            // already enlisted, so ignore
+            return;
+        }
+        enlistedObjectProperties.put(aap, PreAndPostValues.pre(preValue));
+    }
+
+    /**
+     * Unlike {@link org.apache.isis.core.metamodel.spec.ObjectSpecification#getAssociation(String)}, does not throw
+     * (nor, outside of production, invalidate the spec) if there is no such property.
+     *
+     * @return <tt>null</tt> if there is no (non-contributed) property with this id.
+     */
+    private static ObjectAssociation propertyIfAny(final ObjectAdapter adapter, final String propertyId) {
+        for (final ObjectAssociation property : adapter.getSpecification().getAssociations(Contributed.EXCLUDED, ObjectAssociation.Filters.PROPERTIES)) {
+            if(property.getId().equals(propertyId)) {
+                return property;
+            }
+        }
+        return null;
+    }
+
+    private void enlistPreValuesOfAllProperties(final ObjectAdapter adapter) {
         for (ObjectAssociation property : adapter.getSpecification().getAssociations(Contributed.EXCLUDED, ObjectAssociation.Filters.PROPERTIES)) {
             final AdapterAndProperty aap = AdapterAndProperty.of(adapter, property);
             if(property.isNotPersisted()) {
@@ -157,6 +240,7 @@ public void enlistDeleting(final ObjectAdapter adapter) {
             return;
         }
 
+        enlistType(adapter);
         final boolean enlisted = enlistForPublishing(adapter, PublishedObject.ChangeKind.DELETE);
         if(!enlisted) {
             return;
@@ -168,8 +252,8 @@ public void enlistDeleting(final ObjectAdapter adapter) {
                 continue;
             }
             if(enlistedObjectProperties.containsKey(aap)) {
-                // already enlisted, so ignore
-                return;
+                // already enlisted (eg its pre-value captured when it was changed), so ignore
+                continue;
             }
             PreAndPostValues papv = PreAndPostValues.pre(aap.getPropertyValue());
             enlistedObjectProperties.put(aap, papv);
@@ -177,6 +261,10 @@ public void enlistDeleting(final ObjectAdapter adapter) {
     }
 
 
+    private void enlistType(final ObjectAdapter adapter) {
+        changedObjectTypes.add(adapter.getSpecification().getCorrespondingClass());
+    }
+
     /**
      * @return <code>true</code> if successfully enlisted, <code>false</code> if was already enlisted
      */
@@ -262,6 +350,14 @@ public Map<ObjectAdapter, PublishedObject.ChangeKind> getChangeKindByEnlistedAda
         return changeKindByEnlistedAdapter;
     }
 
+    /**
+     * The types of the objects created, updated or deleted so far in this transaction.
+     */
+    @Programmatic
+    public Set<Class<?>> getChangedObjectTypes() {
+        return Collections.unmodifiableSet(changedObjectTypes);
+    }
+
     @Programmatic
     public int numberObjectsDirtied() {
         return changeKindByEnlistedAdapter.size();
@@ -285,6 +381,7 @@ public int numberObjectPropertiesModified() {
     public void resetForNextTransaction() {
         enlistedObjectProperties.clear();
         changedObjectProperties = null;
+        changedObjectTypes.clear();
     }
 
 
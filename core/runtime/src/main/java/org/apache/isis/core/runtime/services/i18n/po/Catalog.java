@@ -0,0 +1,84 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.services.i18n.po;
+
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
+/**
+ * The (immutable) translations read from the <i>.po</i> file for a single locale.
+ *
+ * <p>
+ *     Never modified once built, so can be read concurrently without locking; {@link PoReader} replaces a catalog
+ *     wholesale if its <i>.po</i> file changes.
+ * </p>
+ */
+class Catalog {
+
+    private final ImmutableMap<ContextAndMsgId, String> translationByKey;
+    private final boolean usesFallback;
+    private final ImmutableList<String> sourceLines;
+
+    /**
+     * @param lines - the contents of the .po file
+     * @param usesFallback - whether the lines are those of the fallback .po file (no translations for the locale)
+     */
+    Catalog(final List<String> lines, final boolean usesFallback) {
+        final Map<ContextAndMsgId, String> translationsByKey = Maps.newHashMap();
+        Block block = new Block();
+        for (final String line : lines) {
+            block = block.parseLine(line, translationsByKey);
+        }
+
+        final ImmutableMap.Builder<ContextAndMsgId, String> builder = ImmutableMap.builder();
+        for (final Map.Entry<ContextAndMsgId, String> entry : translationsByKey.entrySet()) {
+            final String translation = entry.getValue();
+            if(translation != null) {
+                builder.put(entry.getKey(), translation.trim());
+            }
+        }
+        this.translationByKey = builder.build();
+        this.usesFallback = usesFallback;
+        this.sourceLines = ImmutableList.copyOf(lines);
+    }
+
+    /**
+     * @return <tt>null</tt> if there is no translation.
+     */
+    String lookup(final ContextAndMsgId key) {
+        return translationByKey.get(key);
+    }
+
+    boolean usesFallback() {
+        return usesFallback;
+    }
+
+    /**
+     * Whether this catalog was built from (a .po file with) exactly these lines.
+     */
+    boolean isSourcedFrom(final List<String> lines) {
+        return sourceLines.equals(lines);
+    }
+
+}
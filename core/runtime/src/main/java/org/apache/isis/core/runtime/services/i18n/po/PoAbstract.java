@@ -38,6 +38,27 @@ abstract class PoAbstract {
 
     abstract String translate(final String context, final String msgId, final String msgIdPlural, int num);
 
+    /**
+     * @see org.apache.isis.core.metamodel.services.i18n.TranslationServiceInternal#currentLocaleSlot()
+     */
+    int currentLocaleSlot() {
+        return -1;
+    }
+
+    /**
+     * @see org.apache.isis.core.metamodel.services.i18n.TranslationServiceInternal#getTranslationsVersion()
+     */
+    int getTranslationsVersion() {
+        return 0;
+    }
+
+    /**
+     * Only called for a slot returned by {@link #currentLocaleSlot()}.
+     */
+    String translate(final int localeSlot, final String context, final String msgId) {
+        return translate(context, msgId);
+    }
+
     TranslationService.Mode getMode() {
         return mode;
     }
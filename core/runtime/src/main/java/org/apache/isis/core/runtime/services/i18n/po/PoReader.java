@@ -23,11 +23,19 @@
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,8 +50,21 @@ class PoReader extends PoAbstract {
     public static final String UNDERSCORE = "_";
     public static Logger LOG = LoggerFactory.getLogger(PoReader.class);
 
-    private final Map<Locale, Map<ContextAndMsgId, String>> translationByKeyByLocale = Maps.newHashMap();
-    private final Map<Locale, Boolean> usesFallbackByLocale = Maps.newHashMap();
+    /**
+     * Replaced wholesale (copy-on-write) whenever the catalog of a locale is first read or is reloaded, so that it can
+     * be read without locking.  Writes are guarded by {@link #catalogLock}.
+     */
+    private volatile ImmutableMap<Locale, Catalog> catalogByLocale = ImmutableMap.of();
+    private final Object catalogLock = new Object();
+
+    /**
+     * Shared across all instances, so that a version is never reused (even by a new reader).
+     */
+    private static final AtomicInteger translationsVersions = new AtomicInteger();
+    private volatile int translationsVersion;
+
+    private final ConcurrentMap<Locale, Integer> slotByLocale = Maps.newConcurrentMap();
+    private final List<Locale> localeBySlot = new CopyOnWriteArrayList<>();
 
     /**
      * The basename of the translations file, hard-coded to <tt>translations</tt>.
@@ -63,7 +84,9 @@ class PoReader extends PoAbstract {
     private final TranslationsResolver translationsResolver;
     private final LocaleProvider localeProvider;
 
-    private List<String> fallback;
+    private volatile List<String> fallback = Collections.emptyList();
+
+    private ScheduledExecutorService reloader;
 
     public PoReader(final TranslationServicePo translationServicePo) {
         super(translationServicePo, TranslationService.Mode.READ);
@@ -80,15 +103,72 @@ public PoReader(final TranslationServicePo translationServicePo) {
      * Not API
      */
     void init() {
-        fallback = readUrl(basename + ".po");
-        if(fallback == null) {
+        init(Collections.<Locale>emptyList());
+    }
+
+    /**
+     * Not API
+     *
+     * @param preloadLocales - the locales whose translations to read up-front (rather than when first requested)
+     */
+    void init(final List<Locale> preloadLocales) {
+        synchronized (catalogLock) {
+            fallback = readFallback();
+            final Map<Locale, Catalog> catalogs = Maps.newLinkedHashMap();
+            for (final Locale locale : preloadLocales) {
+                if(!catalogs.containsKey(locale)) {
+                    catalogs.put(locale, newCatalog(readPo(locale)));
+                }
+            }
+            catalogByLocale = ImmutableMap.copyOf(catalogs);
+            // any translations tabulated by the metamodel's facets are now stale
+            translationsVersion = translationsVersions.incrementAndGet();
+        }
+    }
+
+    private List<String> readFallback() {
+        final List<String> lines = readUrl(basename + ".po");
+        if(lines == null) {
             LOG.info("No fallback translations found; i18n is in effect disabled for this application");
-            fallback = Collections.emptyList();
+            return Collections.emptyList();
+        }
+        return lines;
+    }
+
+    /**
+     * Not API
+     *
+     * <p>
+     *     Periodically (in a background thread) re-reads the .po files of the locales read so far, and replaces the
+     *     catalog of any that have changed.  Intended for prototyping only.
+     * </p>
+     */
+    void startReloading(final long intervalSeconds) {
+        if(reloader != null || translationsResolver == null) {
+            return;
         }
+        reloader = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("isis-translations-reloader").setDaemon(true).build());
+        reloader.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    if(reload(false)) {
+                        LOG.info("Reloaded translations");
+                    }
+                } catch (final RuntimeException ex) {
+                    LOG.warn("Failed to reload translations", ex);
+                }
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
     }
 
     @Override
     void shutdown() {
+        if(reloader != null) {
+            reloader.shutdownNow();
+            reloader = null;
+        }
     }
     //endregion
 
@@ -116,40 +196,114 @@ String translate(final String context, final String msgId, final String msgIdPlu
         return translate(context, msgIdToUse, type);
     }
 
+    //region > currentLocaleSlot, getTranslationsVersion, translate (by slot)
+
+    @Override
+    int currentLocaleSlot() {
+        if(translationsResolver == null) {
+            return -1;
+        }
+        final Locale locale = currentLocaleElseNull();
+        return locale != null ? slotFor(locale) : -1;
+    }
+
+    private int slotFor(final Locale locale) {
+        final Integer slot = slotByLocale.get(locale);
+        if(slot != null) {
+            return slot;
+        }
+        synchronized (localeBySlot) {
+            final Integer existingSlot = slotByLocale.get(locale);
+            if(existingSlot != null) {
+                return existingSlot;
+            }
+            final int newSlot = localeBySlot.size();
+            localeBySlot.add(locale);
+            slotByLocale.put(locale, newSlot);
+            return newSlot;
+        }
+    }
+
+    @Override
+    int getTranslationsVersion() {
+        return translationsVersion;
+    }
+
+    @Override
+    String translate(final int localeSlot, final String context, final String msgId) {
+        return translate(localeBySlot.get(localeSlot), context, msgId, ContextAndMsgId.Type.REGULAR);
+    }
+
+    //endregion
+
     void clearCache() {
-        translationByKeyByLocale.clear();
-        usesFallbackByLocale.clear();
-        init();
+        reload(true);
+    }
+
+    /**
+     * Re-reads the .po files of every locale read so far, atomically replacing the catalogs of those that have
+     * changed (or of all of them, if forced).
+     *
+     * @return whether any catalog was replaced.
+     */
+    boolean reload(final boolean force) {
+        synchronized (catalogLock) {
+            fallback = readFallback();
+            boolean changed = force;
+            final ImmutableMap.Builder<Locale, Catalog> catalogs = ImmutableMap.builder();
+            for (final Map.Entry<Locale, Catalog> entry : catalogByLocale.entrySet()) {
+                final List<String> lines = readPo(entry.getKey());
+                Catalog catalog = entry.getValue();
+                if(force || !catalog.isSourcedFrom(lines)) {
+                    catalog = newCatalog(lines);
+                    changed = true;
+                }
+                catalogs.put(entry.getKey(), catalog);
+            }
+            if(changed) {
+                catalogByLocale = catalogs.build();
+                translationsVersion = translationsVersions.incrementAndGet();
+            }
+            return changed;
+        }
     }
 
     private String translate(
             final String context, final String msgId, final ContextAndMsgId.Type type) {
 
-        final Locale targetLocale;
+        final Locale targetLocale = currentLocaleElseNull();
+        if(targetLocale == null) {
+            return msgId;
+        }
+        return translate(targetLocale, context, msgId, type);
+    }
+
+    private Locale currentLocaleElseNull() {
         try {
-            targetLocale = localeProvider.getLocale();
-            if(targetLocale == null) {
-                // eg if request from RO viewer and the (default) LocaleProviderWicket is being used.
-                return msgId;
-            }
+            // null eg if request from RO viewer and the (default) LocaleProviderWicket is being used.
+            return localeProvider.getLocale();
         } catch(final RuntimeException ex){
             logInfoIfNotPreviously("Failed to obtain locale, returning the original msgId");
-            return msgId;
+            return null;
         }
+    }
 
+    private String translate(
+            final Locale targetLocale,
+            final String context, final String msgId, final ContextAndMsgId.Type type) {
 
-        final Map<ContextAndMsgId, String> translationsByKey = readAndCacheTranslationsIfRequired(targetLocale);
+        final Catalog catalog = catalogFor(targetLocale);
 
         // search for translation with a context
         final ContextAndMsgId key = new ContextAndMsgId(context, msgId, type);
-        final String translation = lookupTranslation(translationsByKey, key);
+        final String translation = catalog.lookup(key);
         if (!Strings.isNullOrEmpty(translation)) {
             return translation;
         }
 
         // else search for translation without a context
         final ContextAndMsgId keyNoContext = new ContextAndMsgId("", msgId, type);
-        final String translationNoContext = lookupTranslation(translationsByKey, keyNoContext);
+        final String translationNoContext = catalog.lookup(keyNoContext);
         if (!Strings.isNullOrEmpty(translationNoContext)) {
             return translationNoContext;
         }
@@ -160,8 +314,7 @@ private String translate(
         // 2. language
         // 3. fallback
         // so this message is only ever displayed if the locale isn't using fallback (ie a translation is genuinely missing)
-        final Boolean usesFallback = usesFallbackByLocale.get(targetLocale);
-        if(usesFallback == null || !usesFallback) {
+        if(!catalog.usesFallback()) {
             logInfoIfNotPreviously("No translation found for: " + key);
         }
 
@@ -169,49 +322,39 @@ private String translate(
     }
 
 
-    private String lookupTranslation(final Map<ContextAndMsgId, String> translationsByKey, final ContextAndMsgId key) {
-        final String s = translationsByKey.get(key);
-        return s != null? s.trim(): null;
-    }
-
-    private Map<ContextAndMsgId, String> readAndCacheTranslationsIfRequired(final Locale locale) {
-        Map<ContextAndMsgId, String> translationsByKey = translationByKeyByLocale.get(locale);
-        if(translationsByKey != null) {
-            return translationsByKey;
+    private Catalog catalogFor(final Locale locale) {
+        final Catalog catalog = catalogByLocale.get(locale);
+        if(catalog != null) {
+            return catalog;
+        }
+        synchronized (catalogLock) {
+            final Catalog existingCatalog = catalogByLocale.get(locale);
+            if(existingCatalog != null) {
+                return existingCatalog;
+            }
+            final Catalog newCatalog = newCatalog(readPo(locale));
+            catalogByLocale = ImmutableMap.<Locale, Catalog>builder()
+                    .putAll(catalogByLocale)
+                    .put(locale, newCatalog)
+                    .build();
+            return newCatalog;
         }
-
-        translationsByKey = Maps.newHashMap();
-        read(locale, translationsByKey);
-        translationByKeyByLocale.put(locale, translationsByKey);
-
-        return translationsByKey;
     }
 
-
-    /**
-     * @param locale - the .po file to load
-     * @param translationsByKey - the translations to be populated
-     */
-    private void read(final Locale locale, final Map<ContextAndMsgId, String> translationsByKey) {
-        final List<String> contents = readPo(locale);
-
-        Block block = new Block();
-        for (final String line : contents) {
-            block = block.parseLine(line, translationsByKey);
-        }
+    private Catalog newCatalog(final List<String> lines) {
+        // readPo returns the fallback (as is) if there is no .po file for the locale
+        return new Catalog(lines, lines == fallback);
     }
 
     protected List<String> readPo(final Locale locale) {
         final List<String> lines = readPoElseNull(locale);
         if(lines != null) {
-            usesFallbackByLocale.put(locale, false);
             return lines;
         }
 
         // this is only ever logged the first time that a user using this particular locale is encountered
         logInfoIfNotPreviously("Could not locate translations for locale: " + locale + ", using fallback");
 
-        usesFallbackByLocale.put(locale, true);
         return fallback;
     }
 
@@ -18,12 +18,18 @@
  */
 package org.apache.isis.core.runtime.services.i18n.po;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 
+import com.google.common.base.Splitter;
+import com.google.common.collect.Lists;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,17 +41,34 @@
 import org.apache.isis.applib.services.i18n.TranslationsResolver;
 import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
 import org.apache.isis.core.metamodel.deployment.DeploymentCategoryProvider;
+import org.apache.isis.core.metamodel.services.i18n.TranslationServiceInternal;
 
 @DomainService(
         nature = NatureOfService.DOMAIN
 )
-public class TranslationServicePo implements TranslationService {
+public class TranslationServicePo implements TranslationService, TranslationServiceInternal {
 
     public static Logger LOG = LoggerFactory.getLogger(TranslationServicePo.class);
 
     public static final String KEY_PO_MODE = "isis.services.translation.po.mode";
 
-    private PoAbstract po;
+    /**
+     * Comma-separated list of locales (eg <tt>en,fr_FR</tt>) whose translations are read at startup, rather than
+     * when first requested.
+     */
+    public static final String KEY_PO_LOCALES = "isis.services.translation.po.locales";
+
+    /**
+     * How often (in prototype mode only) to check whether the .po files have changed, and reload them if so;
+     * <tt>0</tt> to disable.
+     */
+    public static final String KEY_PO_RELOAD_INTERVAL = "isis.services.translation.po.reloadIntervalSeconds";
+    public static final int KEY_PO_RELOAD_INTERVAL_DEFAULT = 5;
+
+    private volatile PoAbstract po;
+
+    private List<Locale> preloadLocales = Collections.emptyList();
+    private int reloadIntervalSeconds;
 
     /**
      * Defaults to writer mode because the service won't have been init'd while the metamodel is bring instantiated,
@@ -74,15 +97,50 @@ public void init(final Map<String,String> config) {
                         ("read".equalsIgnoreCase(translationMode) ||
                          "reader".equalsIgnoreCase(translationMode));
 
+        preloadLocales = parseLocales(config.get(KEY_PO_LOCALES));
+        reloadIntervalSeconds = prototypeOrTest
+                ? parseInt(config.get(KEY_PO_RELOAD_INTERVAL), KEY_PO_RELOAD_INTERVAL_DEFAULT)
+                : 0;
+
         if(prototypeOrTest && !forceRead) {
             // remain in write mode
             return;
         }
 
         // switch to read mode
+        po = newPoReader();
+    }
+
+    private PoReader newPoReader() {
         final PoReader poReader = new PoReader(this);
-        poReader.init();
-        po = poReader;
+        poReader.init(preloadLocales);
+        if(reloadIntervalSeconds > 0) {
+            poReader.startReloading(reloadIntervalSeconds);
+        }
+        return poReader;
+    }
+
+    private static List<Locale> parseLocales(final String localesStr) {
+        if(localesStr == null) {
+            return Collections.emptyList();
+        }
+        final List<Locale> locales = Lists.newArrayList();
+        for (final String localeStr : Splitter.on(',').trimResults().omitEmptyStrings().split(localesStr)) {
+            locales.add(Locale.forLanguageTag(localeStr.replace('_', '-')));
+        }
+        return locales;
+    }
+
+    private static int parseInt(final String str, final int defaultValue) {
+        if(str == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(str.trim());
+        } catch (final NumberFormatException ex) {
+            LOG.warn("Could not parse '{}' as an integer, using {}", str, defaultValue);
+            return defaultValue;
+        }
     }
 
     protected boolean isPrototypeOrTest() {
@@ -93,6 +151,9 @@ protected boolean isPrototypeOrTest() {
     @PreDestroy
     public void shutdown() {
         po.shutdown();
+        if(previousPoReader != null) {
+            previousPoReader.shutdown();
+        }
     }
     //endregion
 
@@ -108,6 +169,28 @@ public String translate(final String context, final String singularText, final S
         return po.translate(context, singularText, pluralText, num);
     }
 
+    //region > TranslationServiceInternal
+
+    @Override
+    @Programmatic
+    public int currentLocaleSlot() {
+        return po.currentLocaleSlot();
+    }
+
+    @Override
+    @Programmatic
+    public int getTranslationsVersion() {
+        return po.getTranslationsVersion();
+    }
+
+    @Override
+    @Programmatic
+    public String translate(final int localeSlot, final String context, final String text) {
+        return po.translate(localeSlot, context, text);
+    }
+
+    //endregion
+
     @Override
     public Mode getMode() {
         return po.getMode();
@@ -148,6 +231,8 @@ void clearCache() {
     public void toggleMode() {
         if(getMode().isRead()) {
             previousPoReader = (PoReader) po;
+            // no need to keep re-reading the .po files while writing them
+            previousPoReader.shutdown();
             if (previousPoWriter != null) {
                 po = previousPoWriter;
             } else {
@@ -157,11 +242,12 @@ public void toggleMode() {
             previousPoWriter = (PoWriter)po;
             if(previousPoReader != null) {
                 previousPoReader.clearCache();
+                if(reloadIntervalSeconds > 0) {
+                    previousPoReader.startReloading(reloadIntervalSeconds);
+                }
                 po = previousPoReader;
             } else {
-                final PoReader poReader = new PoReader(this);
-                poReader.init();
-                po = poReader;
+                po = newPoReader();
             }
         }
     }
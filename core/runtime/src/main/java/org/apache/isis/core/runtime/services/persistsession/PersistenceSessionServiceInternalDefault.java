@@ -26,6 +26,7 @@
 import org.apache.isis.applib.query.Query;
 import org.apache.isis.applib.services.bookmark.Bookmark;
 import org.apache.isis.applib.services.bookmark.BookmarkService2;
+import org.apache.isis.applib.services.repository.QueryResultsStream;
 import org.apache.isis.applib.services.xactn.Transaction;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.adapter.oid.Oid;
@@ -105,6 +106,13 @@ public Object lookup(
         return getPersistenceSession().lookup(bookmark, fieldResetPolicy);
     }
 
+    @Override
+    public List<Object> lookup(
+            final List<Bookmark> bookmarks,
+            final BookmarkService2.FieldResetPolicy fieldResetPolicy) {
+        return getPersistenceSession().lookup(bookmarks, fieldResetPolicy);
+    }
+
     @Override
     public Bookmark bookmarkFor(Object domainObject) {
         final ObjectAdapter adapter = getPersistenceSession().adapterFor(domainObject);
@@ -174,6 +182,19 @@ public <T> ObjectAdapter firstMatchingQuery(final Query<T> query) {
         return getPersistenceSession().firstMatchingQuery(query);
     }
 
+    @Override
+    public <T> List<ObjectAdapter> uniqueMatchingQuery(final Query<T> query) {
+        return getPersistenceSession().uniqueMatchingQuery(query);
+    }
+
+    @Override
+    public <T> QueryResultsStream<ObjectAdapter> streamMatchingQuery(
+            final Query<T> query,
+            final int fetchSize,
+            final QueryResultsStream.EvictionPolicy evictionPolicy) {
+        return getPersistenceSession().streamMatchingQuery(query, fetchSize, evictionPolicy);
+    }
+
     @Override
     public void executeWithinTransaction(TransactionalClosure transactionalClosure) {
         getTransactionManager().executeWithinTransaction(transactionalClosure);
@@ -0,0 +1,408 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.queryresultscache;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.jdo.JDOHelper;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import org.datanucleus.enhancement.Persistable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.bookmark.BookmarkService2;
+import org.apache.isis.applib.services.bookmark.BookmarkService3;
+import org.apache.isis.applib.services.queryresultscache.QueryResultsCache;
+import org.apache.isis.applib.services.queryresultscache.SharedQueryResultsCache;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.runtime.services.changes.ChangedObjectsServiceInternal;
+
+/**
+ * Default implementation of {@link SharedQueryResultsCache}, backed by a Guava {@link Cache} bounded both by size
+ * (least-recently-used results being evicted first) and by time-to-live.
+ *
+ * <p>
+ *     Invalidated by <tt>IsisTransaction</tt> once each transaction has committed, for each of the types of the
+ *     objects that were changed (as enlisted with the {@link ChangedObjectsServiceInternal}).
+ * </p>
+ */
+@DomainService(nature = NatureOfService.DOMAIN)
+public class SharedQueryResultsCacheDefault implements SharedQueryResultsCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SharedQueryResultsCacheDefault.class);
+
+    public static final String KEY_MAX_SIZE = "isis.services.sharedQueryResultsCache.maxSize";
+    public static final long MAX_SIZE_DEFAULT = 1000;
+
+    public static final String KEY_TIME_TO_LIVE_SECONDS = "isis.services.sharedQueryResultsCache.timeToLiveSeconds";
+    public static final long TIME_TO_LIVE_SECONDS_DEFAULT = 600;
+
+    private Cache<QueryResultsCache.Key, CachedResult> cache;
+
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    /**
+     * Incremented by every invalidation; a result computed while an invalidation was in progress is not cached,
+     * because it may reflect the state of the database prior to the commit.
+     *
+     * <p>
+     *     Only read or written while holding the {@link #invalidationLock}.
+     * </p>
+     */
+    private long generation;
+
+    /**
+     * Held while invalidating, and while checking the {@link #generation} before adding a result to the cache; this
+     * ensures that a stale result cannot be added after an invalidation has already removed the entries it affects.
+     */
+    private final Object invalidationLock = new Object();
+
+    //region > init
+
+    @Programmatic
+    @PostConstruct
+    public void init(final Map<String, String> properties) {
+        final long maxSize = parseLong(properties, KEY_MAX_SIZE, MAX_SIZE_DEFAULT);
+        final long timeToLiveSeconds = parseLong(properties, KEY_TIME_TO_LIVE_SECONDS, TIME_TO_LIVE_SECONDS_DEFAULT);
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(timeToLiveSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+
+    private static long parseLong(final Map<String, String> properties, final String key, final long defaultValue) {
+        final String value = properties.get(key);
+        if(value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (final NumberFormatException ex) {
+            LOG.warn("Ignoring invalid value '{}' for '{}'; using default of {}", value, key, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    //endregion
+
+    //region > execute
+
+    @Programmatic
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T execute(
+            final Callable<T> callable,
+            final QueryResultsCache.Key cacheKey,
+            final Class<?>... dependsOnTypes) {
+
+        if(control.isFixturesInstalling() || isChangedInThisTransaction(ImmutableSet.copyOf(dependsOnTypes))) {
+            // the cached results (which reflect only committed changes) would not be correct
+            return call(callable);
+        }
+
+        final CachedResult cachedResult = cache.getIfPresent(cacheKey);
+        if(cachedResult != null) {
+            if(isChangedInThisTransaction(cachedResult.dependsOnTypes)) {
+                // the result includes entities of a type changed (but not yet committed) in this transaction
+                return call(callable);
+            }
+            final Object result = cachedResult.resolve(bookmarkService);
+            if(result != CachedResult.NOT_RESOLVED) {
+                if(LOG.isDebugEnabled()) {
+                    LOG.debug("HIT: " + cacheKey);
+                }
+                return (T) result;
+            }
+            // one of the entities has been deleted (by some means other than through the framework)
+            cache.invalidate(cacheKey);
+        }
+        if(LOG.isDebugEnabled()) {
+            LOG.debug("MISS: " + cacheKey);
+        }
+
+        final long generationBefore = currentGeneration();
+        final T result = call(callable);
+
+        final CachedResult newCachedResult = cachedResultFor(result, dependsOnTypes);
+        if(newCachedResult != null && !isChangedInThisTransaction(newCachedResult.dependsOnTypes)) {
+            putIfNotInvalidatedSince(cacheKey, newCachedResult, generationBefore);
+        }
+        return result;
+    }
+
+    private long currentGeneration() {
+        synchronized (invalidationLock) {
+            return generation;
+        }
+    }
+
+    private void putIfNotInvalidatedSince(
+            final QueryResultsCache.Key cacheKey,
+            final CachedResult cachedResult,
+            final long generationBefore) {
+        synchronized (invalidationLock) {
+            if(generation != generationBefore) {
+                return;
+            }
+            if(LOG.isDebugEnabled()) {
+                LOG.debug("PUT: " + cacheKey);
+            }
+            cache.put(cacheKey, cachedResult);
+        }
+    }
+
+    private static <T> T call(final Callable<T> callable) {
+        try {
+            return callable.call();
+        } catch (final RuntimeException ex) {
+            throw ex;
+        } catch (final Exception ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    private boolean isChangedInThisTransaction(final Set<Class<?>> dependsOnTypes) {
+        for (final Class<?> changedObjectType : changedObjectsServiceInternal.getChangedObjectTypes()) {
+            if(dependsOn(dependsOnTypes, changedObjectType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean dependsOn(final Set<Class<?>> dependsOnTypes, final Class<?> changedObjectType) {
+        for (final Class<?> dependsOnType : dependsOnTypes) {
+            if(dependsOnType.isAssignableFrom(changedObjectType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //endregion
+
+    //region > CachedResult
+
+    /**
+     * @return <tt>null</tt> if the result cannot be cached.
+     */
+    private CachedResult cachedResultFor(final Object result, final Class<?>[] dependsOnTypes) {
+        final Set<Class<?>> entityTypes = Sets.newHashSet(dependsOnTypes);
+        if(result instanceof List) {
+            final List<Object> elements = Lists.newArrayList();
+            for (final Object element : (List<?>) result) {
+                final Object cachedElement = cachedElementFor(element, entityTypes);
+                if(cachedElement == CachedResult.NOT_CACHEABLE) {
+                    return null;
+                }
+                elements.add(cachedElement);
+            }
+            return new CachedResult(elements, true, entityTypes);
+        }
+        final Object cachedElement = cachedElementFor(result, entityTypes);
+        if(cachedElement == CachedResult.NOT_CACHEABLE) {
+            return null;
+        }
+        return new CachedResult(Collections.singletonList(cachedElement), false, entityTypes);
+    }
+
+    /**
+     * @param entityTypes - updated with the type of the element, if it is an entity.
+     */
+    private Object cachedElementFor(final Object element, final Set<Class<?>> entityTypes) {
+        if(element == null) {
+            return null;
+        }
+        if(element instanceof Persistable) {
+            if(!JDOHelper.isPersistent(element) || JDOHelper.isNew(element) || JDOHelper.isDeleted(element)) {
+                return CachedResult.NOT_CACHEABLE;
+            }
+            entityTypes.add(element.getClass());
+            return new EntityBookmark(bookmarkService.bookmarkFor(element));
+        }
+        final ObjectSpecification specification = specificationLoader.loadSpecification(element.getClass());
+        return specification != null && specification.isValue()
+                ? element
+                : CachedResult.NOT_CACHEABLE;
+    }
+
+    /**
+     * Distinguishes the bookmark of a cached entity from a result that is itself a {@link Bookmark}.
+     */
+    private static final class EntityBookmark {
+        private final Bookmark bookmark;
+
+        private EntityBookmark(final Bookmark bookmark) {
+            this.bookmark = bookmark;
+        }
+    }
+
+    private static final class CachedResult {
+
+        static final Object NOT_CACHEABLE = new Object();
+        static final Object NOT_RESOLVED = new Object();
+
+        /**
+         * Either the value itself, or else an {@link EntityBookmark}.
+         */
+        private final List<Object> elements;
+        private final boolean list;
+        private final Set<Class<?>> dependsOnTypes;
+
+        private CachedResult(final List<Object> elements, final boolean list, final Set<Class<?>> dependsOnTypes) {
+            this.elements = Collections.unmodifiableList(elements);
+            this.list = list;
+            this.dependsOnTypes = ImmutableSet.copyOf(dependsOnTypes);
+        }
+
+        /**
+         * Looks up any entities (in a single round trip per entity type) in the current session.
+         *
+         * @return {@link #NOT_RESOLVED} if any of the entities could not be found.
+         */
+        Object resolve(final BookmarkService3 bookmarkService) {
+            final List<Bookmark> bookmarks = Lists.newArrayList();
+            for (final Object element : elements) {
+                if(element instanceof EntityBookmark) {
+                    bookmarks.add(((EntityBookmark) element).bookmark);
+                }
+            }
+            final Iterator<Object> entities = bookmarks.isEmpty()
+                    ? Collections.emptyIterator()
+                    : bookmarkService.lookup(bookmarks, BookmarkService2.FieldResetPolicy.DONT_RESET).iterator();
+
+            final List<Object> resolved = Lists.newArrayList();
+            for (final Object element : elements) {
+                if(element instanceof EntityBookmark) {
+                    final Object entity = entities.next();
+                    if(entity == null) {
+                        return NOT_RESOLVED;
+                    }
+                    resolved.add(entity);
+                } else {
+                    resolved.add(element);
+                }
+            }
+            return list ? resolved : resolved.get(0);
+        }
+    }
+
+    //endregion
+
+    //region > invalidate, invalidateAll
+
+    @Programmatic
+    @Override
+    public void invalidate(final Class<?> entityType) {
+        synchronized (invalidationLock) {
+            // bump the generation, so that any result being computed concurrently is not then cached
+            generation++;
+            final Iterator<CachedResult> iterator = cache.asMap().values().iterator();
+            while (iterator.hasNext()) {
+                if(dependsOn(iterator.next().dependsOnTypes, entityType)) {
+                    iterator.remove();
+                    invalidationCount.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    @Programmatic
+    @Override
+    public void invalidateAll() {
+        synchronized (invalidationLock) {
+            generation++;
+            invalidationCount.addAndGet(cache.size());
+            cache.invalidateAll();
+        }
+    }
+
+    //endregion
+
+    //region > metrics
+
+    @Programmatic
+    @Override
+    public long size() {
+        return cache.size();
+    }
+
+    @Programmatic
+    @Override
+    public long hitCount() {
+        return cache.stats().hitCount();
+    }
+
+    @Programmatic
+    @Override
+    public long missCount() {
+        return cache.stats().missCount();
+    }
+
+    @Programmatic
+    @Override
+    public long evictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    @Programmatic
+    @Override
+    public long invalidationCount() {
+        return invalidationCount.get();
+    }
+
+    //endregion
+
+    //region > injected services
+
+    @javax.inject.Inject
+    BookmarkService3 bookmarkService;
+
+    @javax.inject.Inject
+    SpecificationLoader specificationLoader;
+
+    @javax.inject.Inject
+    ChangedObjectsServiceInternal changedObjectsServiceInternal;
+
+    @javax.inject.Inject
+    QueryResultsCache.Control control;
+
+    //endregion
+
+}
@@ -47,6 +47,22 @@ public final class SystemConstants {
      */
     public static final String APP_MANIFEST_KEY = ConfigurationConstants.ROOT + "appManifest";
 
+    /**
+     * Key used to determine whether a build-time class index (as written by the <tt>index</tt> goal of the
+     * <tt>isis-maven-plugin</tt>) is used, if present, instead of scanning the classpath for the {@link AppManifest}'s
+     * domain services, entities, mixins and fixture scripts.
+     *
+     * <p>
+     *     Opt-in, because an index only detects classes that have since been removed, not those that have since been
+     *     added (for example, by an incremental build in an IDE that does not re-run the <tt>index</tt> goal).
+     * </p>
+     */
+    public static final String CLASS_INDEX_KEY = ConfigurationConstants.ROOT + "classIndex";
+    /**
+     * Default for {@link #CLASS_INDEX_KEY}.
+     */
+    public static final boolean CLASS_INDEX_DEFAULT = false;
+
     /**
      * Key used to lookup {@link AuthenticationManager authentication manager}
      * in {@link IsisConfiguration}, and root for any
@@ -23,6 +23,7 @@
 import org.slf4j.LoggerFactory;
 
 import org.apache.isis.core.commons.exceptions.IsisException;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
 import org.apache.isis.core.metamodel.specloader.validator.MetaModelInvalidException;
 import org.apache.isis.core.runtime.system.session.IsisSessionFactoryBuilder;
 import org.apache.isis.core.runtime.system.session.IsisSession;
@@ -46,8 +47,20 @@ private IsisContext(){
      */
     private static MetaModelInvalidException metamodelInvalidException;
 
+    /**
+     * If the metamodel is introspected lazily then it is validated in the background, so any validation failures
+     * are obtained from the {@link SpecificationLoader} (once that validation has completed).
+     */
     public static MetaModelInvalidException getMetaModelInvalidExceptionIfAny() {
-        return IsisContext.metamodelInvalidException;
+        if(IsisContext.metamodelInvalidException != null) {
+            return IsisContext.metamodelInvalidException;
+        }
+        final IsisSessionFactory sessionFactory = IsisContext.sessionFactory;
+        if(sessionFactory == null) {
+            return null;
+        }
+        final SpecificationLoader specificationLoader = sessionFactory.getSpecificationLoader();
+        return specificationLoader != null ? specificationLoader.getMetaModelInvalidExceptionIfAny() : null;
     }
     public static void setMetaModelInvalidException(final MetaModelInvalidException metaModelInvalid) {
         IsisContext.metamodelInvalidException = metaModelInvalid;
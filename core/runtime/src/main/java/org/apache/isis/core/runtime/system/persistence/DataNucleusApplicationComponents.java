@@ -39,6 +39,7 @@
 import org.apache.isis.core.commons.components.ApplicationScopedComponent;
 import org.apache.isis.core.commons.config.IsisConfiguration;
 import org.apache.isis.core.commons.factory.InstanceUtil;
+import org.apache.isis.core.commons.util.BootTimeline;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
 import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
 import org.apache.isis.objectstore.jdo.datanucleus.CreateSchemaObjectFromClassMetadata;
@@ -149,11 +150,17 @@ private PersistenceManagerFactory createPmfAndSchemaIfRequired(final Set<String>
                 datanucleusProps.put(PropertyNames.PROPERTY_SCHEMA_AUTOCREATE_COLUMNS, "true");
                 datanucleusProps.put(PropertyNames.PROPERTY_SCHEMA_AUTOCREATE_CONSTRAINTS, "true");
 
-                persistenceManagerFactory = JDOHelper.getPersistenceManagerFactory(datanucleusProps);
-                createSchema(persistenceManagerFactory, persistableClassNameSet, datanucleusProps);
+                try (BootTimeline.Phase phase = BootTimeline.instance().start("createPersistenceManagerFactory")) {
+                    persistenceManagerFactory = JDOHelper.getPersistenceManagerFactory(datanucleusProps);
+                }
+                try (BootTimeline.Phase phase = BootTimeline.instance().start("createSchema")) {
+                    createSchema(persistenceManagerFactory, persistableClassNameSet, datanucleusProps);
+                }
 
             } else {
-                persistenceManagerFactory = JDOHelper.getPersistenceManagerFactory(datanucleusProps);
+                try (BootTimeline.Phase phase = BootTimeline.instance().start("createPersistenceManagerFactory")) {
+                    persistenceManagerFactory = JDOHelper.getPersistenceManagerFactory(datanucleusProps);
+                }
             }
 
         } else {
@@ -162,7 +169,9 @@ private PersistenceManagerFactory createPmfAndSchemaIfRequired(final Set<String>
             // otherwise NPEs occur later.
 
             configureAutoStart(persistableClassNameSet, datanucleusProps);
-            persistenceManagerFactory = JDOHelper.getPersistenceManagerFactory(this.datanucleusProps);
+            try (BootTimeline.Phase phase = BootTimeline.instance().start("createPersistenceManagerFactory")) {
+                persistenceManagerFactory = JDOHelper.getPersistenceManagerFactory(this.datanucleusProps);
+            }
         }
 
         return persistenceManagerFactory;
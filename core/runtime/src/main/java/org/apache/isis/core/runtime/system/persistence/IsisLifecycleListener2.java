@@ -102,6 +102,11 @@ public void postStore(InstanceLifecycleEvent event) {
         persistenceSession.enlistCreatedAndRemapIfRequiredThenInvokeIsisInvokePersistingOrUpdatedCallback(pojo);
     }
 
+    /**
+     * Fired only when the first field of the object is changed.  The pre-modification values of each of the fields
+     * changed are instead enlisted by {@link org.apache.isis.objectstore.jdo.datanucleus.JDOStateManagerForIsis} as
+     * they are written, so this callback does not capture the values of the object's properties.
+     */
     @Override
     public void preDirty(InstanceLifecycleEvent event) {
         final Persistable pojo = Utils.persistenceCapableFor(event);
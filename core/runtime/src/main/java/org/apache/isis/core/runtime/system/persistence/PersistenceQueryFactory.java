@@ -25,6 +25,7 @@
 import org.apache.isis.applib.query.Query;
 import org.apache.isis.applib.query.QueryDefault;
 import org.apache.isis.applib.query.QueryFindAllInstances;
+import org.apache.isis.applib.query.QueryFindByCriteria;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.adapter.mgr.AdapterManager;
 import org.apache.isis.core.metamodel.services.container.query.QueryCardinality;
@@ -59,7 +60,7 @@ final PersistenceQuery createPersistenceQueryFor(final Query<?> query, final Que
         final ObjectSpecification noSpec = specFor(query);
         if (query instanceof QueryFindAllInstances) {
             final QueryFindAllInstances<?> queryFindAllInstances = (QueryFindAllInstances<?>) query;
-            return new PersistenceQueryFindAllInstances(noSpec, specificationLoader, queryFindAllInstances.getStart(), queryFindAllInstances.getCount());
+            return new PersistenceQueryFindAllInstances(noSpec, cardinality, specificationLoader, queryFindAllInstances.getStart(), queryFindAllInstances.getCount());
         }
         if (query instanceof QueryFindByTitle) {
             final QueryFindByTitle<?> queryByTitle = (QueryFindByTitle<?>) query;
@@ -72,6 +73,10 @@ final PersistenceQuery createPersistenceQueryFor(final Query<?> query, final Que
             final ObjectAdapter patternAdapter = adapterManager.adapterFor(pattern);
             return new PersistenceQueryFindByPattern(noSpec, patternAdapter, specificationLoader, queryByPattern.getStart(), queryByPattern.getCount());
         }
+        if (query instanceof QueryFindByCriteria) {
+            final QueryFindByCriteria<?> queryByCriteria = (QueryFindByCriteria<?>) query;
+            return new PersistenceQueryFindByCriteria(noSpec, queryByCriteria, cardinality, specificationLoader);
+        }
         if (query instanceof QueryDefault) {
             final QueryDefault<?> queryDefault = (QueryDefault<?>) query;
             final String queryName = queryDefault.getQueryName();
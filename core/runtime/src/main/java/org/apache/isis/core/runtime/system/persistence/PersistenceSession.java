@@ -22,18 +22,24 @@
 import java.lang.reflect.Modifier;
 import java.sql.Timestamp;
 import java.text.MessageFormat;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import javax.jdo.FetchGroup;
 import javax.jdo.FetchPlan;
+import javax.jdo.JDOHelper;
+import javax.jdo.JDOObjectNotFoundException;
 import javax.jdo.PersistenceManager;
 import javax.jdo.PersistenceManagerFactory;
 import javax.jdo.listener.InstanceLifecycleListener;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 import org.datanucleus.enhancement.Persistable;
 import org.slf4j.Logger;
@@ -58,6 +64,7 @@
 import org.apache.isis.applib.services.iactn.Interaction;
 import org.apache.isis.applib.services.iactn.InteractionContext;
 import org.apache.isis.applib.services.metrics.MetricsService;
+import org.apache.isis.applib.services.repository.QueryResultsStream;
 import org.apache.isis.applib.services.user.UserService;
 import org.apache.isis.core.commons.authentication.AuthenticationSession;
 import org.apache.isis.core.commons.components.SessionScopedComponent;
@@ -120,6 +127,7 @@
 import org.apache.isis.core.runtime.persistence.objectstore.transaction.PersistenceCommand;
 import org.apache.isis.core.runtime.persistence.objectstore.transaction.TransactionalResource;
 import org.apache.isis.core.runtime.persistence.query.PersistenceQueryFindAllInstances;
+import org.apache.isis.core.runtime.persistence.query.PersistenceQueryFindByCriteria;
 import org.apache.isis.core.runtime.persistence.query.PersistenceQueryFindUsingApplibQueryDefault;
 import org.apache.isis.core.runtime.runner.opts.OptionHandlerFixtureAbstract;
 import org.apache.isis.core.runtime.services.RequestScopedService;
@@ -131,9 +139,11 @@
 import org.apache.isis.core.runtime.system.transaction.IsisTransactionManager;
 import org.apache.isis.core.runtime.system.transaction.TransactionalClosure;
 import org.apache.isis.core.runtime.system.transaction.TransactionalClosureWithReturn;
+import org.apache.isis.objectstore.jdo.datanucleus.JDOStateManagerForIsis;
 import org.apache.isis.objectstore.jdo.datanucleus.persistence.commands.DataNucleusCreateObjectCommand;
 import org.apache.isis.objectstore.jdo.datanucleus.persistence.commands.DataNucleusDeleteObjectCommand;
 import org.apache.isis.objectstore.jdo.datanucleus.persistence.queries.PersistenceQueryFindAllInstancesProcessor;
+import org.apache.isis.objectstore.jdo.datanucleus.persistence.queries.PersistenceQueryFindByCriteriaProcessor;
 import org.apache.isis.objectstore.jdo.datanucleus.persistence.queries.PersistenceQueryFindUsingApplibQueryProcessor;
 import org.apache.isis.objectstore.jdo.datanucleus.persistence.queries.PersistenceQueryProcessor;
 import org.apache.isis.objectstore.jdo.datanucleus.persistence.spi.JdoObjectIdSerializer;
@@ -171,6 +181,11 @@ public class PersistenceSession implements
      * Append regular <a href="http://www.datanucleus.org/products/accessplatform/persistence_properties.html">datanucleus properties</a> to this key
      */
     public static final String DATANUCLEUS_PROPERTIES_ROOT = ROOT_KEY + "impl.";
+
+    /**
+     * DataNucleus' (per {@link PersistenceManager}) property to defer datastore operations until flushed.
+     */
+    private static final String PROPERTY_FLUSH_MODE = "datanucleus.flush.mode";
     //endregion
 
     //region > constructor, fields, finalize()
@@ -311,6 +326,9 @@ public void open() {
         persistenceQueryProcessorByClass.put(
                 PersistenceQueryFindUsingApplibQueryDefault.class,
                 new PersistenceQueryFindUsingApplibQueryProcessor(this));
+        persistenceQueryProcessorByClass.put(
+                PersistenceQueryFindByCriteria.class,
+                new PersistenceQueryFindByCriteriaProcessor(this));
 
         initServices();
 
@@ -530,52 +548,105 @@ private void completeCommandFromInteractionAndClearDomainEvents() {
 
     //endregion
 
-    //region > QuerySubmitter impl, findInstancesInTransaction
+    //region > QuerySubmitter impl, findInstancesInTransaction, streamMatchingQuery
 
     public <T> List<ObjectAdapter> allMatchingQuery(final Query<T> query) {
         final ObjectAdapter instances = findInstancesInTransaction(query, QueryCardinality.MULTIPLE);
         return CollectionFacetUtils.convertToAdapterList(instances);
     }
 
+    /**
+     * Only the first matching row is fetched from the database.
+     */
     public <T> ObjectAdapter firstMatchingQuery(final Query<T> query) {
-        final ObjectAdapter instances = findInstancesInTransaction(query, QueryCardinality.SINGLE);
-        final List<ObjectAdapter> list = CollectionFacetUtils.convertToAdapterList(instances);
+        final List<ObjectAdapter> list = findAdaptersInTransaction(query, QueryCardinality.SINGLE);
         return list.size() > 0 ? list.get(0) : null;
     }
 
+    /**
+     * Returns no more than the first two matching instances (and only fetches that many rows from the database),
+     * which is sufficient for the caller to determine whether the query's match is unique.
+     */
+    public <T> List<ObjectAdapter> uniqueMatchingQuery(final Query<T> query) {
+        final List<ObjectAdapter> list = findAdaptersInTransaction(query, QueryCardinality.UNIQUE);
+        return list.size() > 2 ? list.subList(0, 2) : list;
+    }
+
+    /**
+     * Finds and returns instances that match the specified query, wrapped in a (standalone collection) adapter.
+     *
+     * @see #findAdaptersInTransaction(Query, QueryCardinality)
+     */
+    private <T> ObjectAdapter findInstancesInTransaction(final Query<T> query, final QueryCardinality cardinality) {
+        final PersistenceQuery persistenceQuery = createPersistenceQueryFor(query, cardinality);
+        final List<ObjectAdapter> instances = findAdaptersInTransaction(persistenceQuery);
+        final ObjectSpecification specification = persistenceQuery.getSpecification();
+        final FreeStandingList results = new FreeStandingList(specification, instances);
+        return adapterFor(results);
+    }
+
     /**
      * Finds and returns instances that match the specified query.
      *
      * <p>
      * The {@link QueryCardinality} determines whether all instances or just the
-     * first matching instance is returned.
+     * first (or first two) matching instances are fetched.
      *
      * @throws org.apache.isis.core.runtime.persistence.UnsupportedFindException
      *             if the criteria is not support by this persistor
      */
-    private <T> ObjectAdapter findInstancesInTransaction(final Query<T> query, final QueryCardinality cardinality) {
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("findInstances using (applib) Query: " + query);
-        }
+    private <T> List<ObjectAdapter> findAdaptersInTransaction(final Query<T> query, final QueryCardinality cardinality) {
+        return findAdaptersInTransaction(createPersistenceQueryFor(query, cardinality));
+    }
 
+    private List<ObjectAdapter> findAdaptersInTransaction(final PersistenceQuery persistenceQuery) {
         // TODO: unify PersistenceQuery and PersistenceQueryProcessor
-        final PersistenceQuery persistenceQuery = createPersistenceQueryFor(query, cardinality);
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("maps to (core runtime) PersistenceQuery: " + persistenceQuery);
-        }
-
         final PersistenceQueryProcessor<? extends PersistenceQuery> processor = lookupProcessorFor(persistenceQuery);
 
-        final List<ObjectAdapter> instances = transactionManager.executeWithinTransaction(
+        return transactionManager.executeWithinTransaction(
                 new TransactionalClosureWithReturn<List<ObjectAdapter>>() {
                     @Override
                     public List<ObjectAdapter> execute() {
                         return processPersistenceQuery(processor, persistenceQuery);
                     }
                 });
-        final ObjectSpecification specification = persistenceQuery.getSpecification();
-        final FreeStandingList results = new FreeStandingList(specification, instances);
-        return adapterFor(results);
+    }
+
+    /**
+     * As per {@link #allMatchingQuery(Query)}, but with the pojos loaded (and their adapters mapped) lazily, a chunk
+     * of <tt>fetchSize</tt> at a time, as the results are iterated over.
+     *
+     * <p>
+     * Unlike the other query methods, this does not start a transaction if none is in progress: the results can
+     * only be iterated over within the transaction in which they were queried.
+     * </p>
+     */
+    public <T> QueryResultsStream<ObjectAdapter> streamMatchingQuery(
+            final Query<T> query,
+            final int fetchSize,
+            final QueryResultsStream.EvictionPolicy evictionPolicy) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("streamMatchingQuery using (applib) Query: " + query);
+        }
+        if(!transactionManager.inTransaction()) {
+            throw new IllegalStateException("Query results can only be streamed within a transaction");
+        }
+        if(fetchSize <= 0) {
+            throw new IllegalArgumentException("fetchSize must be positive; was " + fetchSize);
+        }
+
+        final PersistenceQuery persistenceQuery = createPersistenceQueryFor(query, QueryCardinality.MULTIPLE);
+        final PersistenceQueryProcessor<? extends PersistenceQuery> processor = lookupProcessorFor(persistenceQuery);
+        return streamPersistenceQuery(processor, persistenceQuery, fetchSize, evictionPolicy);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <Q extends PersistenceQuery> QueryResultsStream<ObjectAdapter> streamPersistenceQuery(
+            final PersistenceQueryProcessor<Q> persistenceQueryProcessor,
+            final PersistenceQuery persistenceQuery,
+            final int fetchSize,
+            final QueryResultsStream.EvictionPolicy evictionPolicy) {
+        return persistenceQueryProcessor.stream((Q) persistenceQuery, fetchSize, evictionPolicy);
     }
 
     /**
@@ -591,6 +662,9 @@ private final PersistenceQuery createPersistenceQueryFor(
         if (persistenceQuery == null) {
             throw new IllegalArgumentException("Unknown Query type: " + query.getDescription());
         }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("(applib) Query: " + query + " maps to (core runtime) PersistenceQuery: " + persistenceQuery);
+        }
 
         return persistenceQuery;
     }
@@ -986,6 +1060,117 @@ public Object loadPojo(final RootOid rootOid) {
         return result;
     }
 
+    /**
+     * As per {@link #loadPojo(RootOid)}, but for many (persistent) oids, fetched using a single
+     * {@link PersistenceManager#getObjectsById(boolean, Object...) round trip} for each entity type.
+     *
+     * <p>
+     * Any objects that do not exist are omitted from the bulk fetch, which is then retried for the rest.  Only if
+     * the bulk fetch fails for some other reason are the remaining objects loaded one at a time.
+     * </p>
+     *
+     * @return the pojos, in the same order as the provided oids, with <tt>null</tt> for any not found.
+     */
+    public List<Object> loadPojos(final List<RootOid> rootOids) {
+        if(rootOids.size() == 1) {
+            return Lists.newArrayList(loadPojoElseNull(rootOids.get(0)));
+        }
+
+        final Object[] jdoObjectIds = new Object[rootOids.size()];
+        for (int i = 0; i < jdoObjectIds.length; i++) {
+            final RootOid rootOid = rootOids.get(i);
+            final Class<?> cls = clsOf(rootOid);
+            jdoObjectIds[i] = persistenceManager.newObjectIdInstance(cls, JdoObjectIdSerializer.toJdoObjectId(rootOid));
+        }
+        FetchPlan fetchPlan = persistenceManager.getFetchPlan();
+        fetchPlan.addGroup(FetchGroup.DEFAULT);
+
+        final Object[] pojos = new Object[jdoObjectIds.length];
+        final List<Integer> positionsNotFetched = getObjectsById(persistenceManager, jdoObjectIds, pojos);
+        for (final Integer position : positionsNotFetched) {
+            pojos[position] = loadPojoElseNull(rootOids.get(position));
+        }
+        return Lists.newArrayList(pojos);
+    }
+
+    /**
+     * Fetches the objects with the provided (JDO) ids in bulk, populating <tt>pojos</tt> (by position).  If any
+     * objects are not found, then they are left as <tt>null</tt> and the rest are fetched again.
+     *
+     * @return the positions of any objects that could not be fetched in bulk for any other reason (or whose
+     * absence could not be attributed to a specific id); the caller should load these individually.
+     */
+    static List<Integer> getObjectsById(
+            final PersistenceManager persistenceManager,
+            final Object[] jdoObjectIds,
+            final Object[] pojos) {
+
+        List<Integer> remaining = Lists.newArrayList();
+        for (int i = 0; i < jdoObjectIds.length; i++) {
+            remaining.add(i);
+        }
+
+        while(!remaining.isEmpty()) {
+            final Object[] remainingIds = new Object[remaining.size()];
+            for (int j = 0; j < remainingIds.length; j++) {
+                remainingIds[j] = jdoObjectIds[remaining.get(j)];
+            }
+            try {
+                final Object[] fetched = persistenceManager.getObjectsById(true, remainingIds);
+                for (int j = 0; j < fetched.length; j++) {
+                    pojos[remaining.get(j)] = fetched[j];
+                }
+                return Collections.emptyList();
+            } catch (final JDOObjectNotFoundException ex) {
+                final Set<Object> missingIds = failedObjectIdsOf(ex);
+                final List<Integer> stillRemaining = Lists.newArrayList();
+                for (final Integer position : remaining) {
+                    if(!missingIds.contains(jdoObjectIds[position])) {
+                        stillRemaining.add(position);
+                    }
+                }
+                if(stillRemaining.size() == remaining.size()) {
+                    // can't tell which object(s) are missing
+                    return remaining;
+                }
+                if(LOG.isDebugEnabled()) {
+                    LOG.debug("objects not found: " + missingIds + "; fetching the remainder");
+                }
+                remaining = stillRemaining;
+            } catch (final RuntimeException ex) {
+                if(LOG.isDebugEnabled()) {
+                    LOG.debug("bulk load of " + remaining.size() + " objects failed; loading individually", ex);
+                }
+                return remaining;
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    private static Set<Object> failedObjectIdsOf(final JDOObjectNotFoundException ex) {
+        final Set<Object> failedObjectIds = Sets.newHashSet();
+        if(ex.getFailedObject() != null) {
+            failedObjectIds.add(ex.getFailedObject());
+        }
+        final Throwable[] nestedExceptions = ex.getNestedExceptions();
+        if(nestedExceptions != null) {
+            for (final Throwable nestedException : nestedExceptions) {
+                if(nestedException instanceof JDOObjectNotFoundException) {
+                    failedObjectIds.addAll(failedObjectIdsOf((JDOObjectNotFoundException) nestedException));
+                }
+            }
+        }
+        return failedObjectIds;
+    }
+
+    private Object loadPojoElseNull(final RootOid rootOid) {
+        try {
+            return loadPojo(rootOid);
+        } catch(final ObjectNotFoundException | JDOObjectNotFoundException ex) {
+            return null;
+        }
+    }
+
     private Class<?> clsOf(final RootOid oid) {
         final ObjectSpecification objectSpec = getSpecificationLoader().lookupBySpecId(oid.getObjectSpecId());
         return objectSpec.getCorrespondingClass();
@@ -1247,12 +1432,85 @@ public void execute(final List<PersistenceCommand> commands) {
         executeCommands(commands);
     }
 
+    /**
+     * Executes the commands in bulk.
+     *
+     * <p>
+     * Each run of consecutive creates (or of consecutive destroys) is grouped by type (in the order that each type
+     * is first encountered within the run) and passed to {@link PersistenceManager#makePersistentAll(Collection)}
+     * (or {@link PersistenceManager#deletePersistentAll(Collection)}).  The resultant datastore operations are
+     * deferred until the final flush, so that DataNucleus can send them to the database in JDBC batches (of up to
+     * <tt>datanucleus.rdbms.statementBatchLimit</tt> statements each).
+     * </p>
+     */
     private void executeCommands(final List<PersistenceCommand> commands) {
 
+        final Object previousFlushMode = persistenceManager.getProperties().get(PROPERTY_FLUSH_MODE);
+        persistenceManager.setProperty(PROPERTY_FLUSH_MODE, "MANUAL");
+        try {
+            int runStart = 0;
+            while (runStart < commands.size()) {
+                final Class<?> commandKind = commandKindOf(commands.get(runStart));
+                int runEnd = runStart + 1;
+                while (runEnd < commands.size() && commandKindOf(commands.get(runEnd)) == commandKind) {
+                    runEnd++;
+                }
+                executeCommandsOfKind(commandKind, commands.subList(runStart, runEnd));
+                runStart = runEnd;
+            }
+            persistenceManager.flush();
+        } finally {
+            persistenceManager.setProperty(
+                    PROPERTY_FLUSH_MODE,
+                    previousFlushMode != null
+                            ? previousFlushMode
+                            : persistenceManager.currentTransaction().getOptimistic() ? "MANUAL" : "AUTO");
+        }
+    }
+
+    private static Class<?> commandKindOf(final PersistenceCommand command) {
+        return command instanceof CreateObjectCommand
+                ? CreateObjectCommand.class
+                : command instanceof DestroyObjectCommand
+                    ? DestroyObjectCommand.class
+                    : PersistenceCommand.class;
+    }
+
+    private void executeCommandsOfKind(final Class<?> commandKind, final List<PersistenceCommand> commands) {
+        if(commandKind == PersistenceCommand.class) {
+            for (final PersistenceCommand command : commands) {
+                command.execute(null);
+            }
+            return;
+        }
+
+        final Map<Class<?>, List<Object>> pojosByType = Maps.newLinkedHashMap();
         for (final PersistenceCommand command : commands) {
-            command.execute(null);
+            final ObjectAdapter adapter = command.onAdapter();
+            if(commandKind == CreateObjectCommand.class && !adapter.isTransient()) {
+                // as per DataNucleusCreateObjectCommand; already persisted by reachability
+                continue;
+            }
+            final Object pojo = adapter.getObject();
+            List<Object> pojos = pojosByType.get(pojo.getClass());
+            if(pojos == null) {
+                pojos = Lists.newArrayList();
+                pojosByType.put(pojo.getClass(), pojos);
+            }
+            pojos.add(pojo);
+        }
+
+        for (final Map.Entry<Class<?>, List<Object>> entry : pojosByType.entrySet()) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug((commandKind == CreateObjectCommand.class ? "create " : "destroy ")
+                        + entry.getValue().size() + " object(s) of " + entry.getKey().getName());
+            }
+            if(commandKind == CreateObjectCommand.class) {
+                persistenceManager.makePersistentAll(entry.getValue());
+            } else {
+                persistenceManager.deletePersistentAll(entry.getValue());
+            }
         }
-        persistenceManager.flush();
     }
     //endregion
 
@@ -1608,21 +1866,103 @@ public ObjectAdapter adapterFor(
                     }
                 }
             } finally {
-                final Version originalVersion = originalOid.getVersion();
-                final Version recreatedVersion = recreatedOid.getVersion();
-                if(recreatedVersion != null && (
-                        originalVersion == null ||
-                                recreatedVersion.different(originalVersion))
-                        ) {
+                updateVersionIfChanged(originalOid, recreatedOid);
+            }
+        }
+
+        return adapter;
+    }
+
+    private static void updateVersionIfChanged(final RootOid originalOid, final RootOid recreatedOid) {
+        final Version originalVersion = originalOid.getVersion();
+        final Version recreatedVersion = recreatedOid.getVersion();
+        if(recreatedVersion != null && (
+                originalVersion == null ||
+                        recreatedVersion.different(originalVersion))
+                ) {
+            if(LOG.isDebugEnabled()) {
+                LOG.debug("updating version in oid, on " + originalOid + " (" + originalVersion + ") to (" + recreatedVersion +")");
+            }
+            originalOid.setVersion(recreatedVersion);
+        }
+    }
+
+    /**
+     * As per {@link #adapterFor(RootOid)} (so {@link ConcurrencyChecking#NO_CHECK no checking}), but for many
+     * {@link RootOid oid}s at once.
+     *
+     * <p>
+     * Any oids not already mapped are loaded in bulk, with a single round trip for each entity type (rather than
+     * one per oid).
+     * </p>
+     *
+     * @return the adapters, in the same order as the provided oids; any that could not be found (or which
+     * could not be recreated) are returned as <tt>null</tt>.
+     */
+    public List<ObjectAdapter> adaptersFor(final List<RootOid> rootOids) {
+
+        final ObjectAdapter[] adapters = new ObjectAdapter[rootOids.size()];
+
+        // the positions of the persistent oids still to be loaded, grouped by their spec
+        final Map<ObjectSpecId, List<Integer>> positionsBySpecId = Maps.newLinkedHashMap();
+
+        for (int i = 0; i < adapters.length; i++) {
+            final RootOid rootOid = rootOids.get(i);
+            if(rootOid == null) {
+                continue;
+            }
+            final ObjectAdapter adapter = getAdapterFor(rootOid);
+            if(adapter != null) {
+                adapters[i] = adapter;
+                continue;
+            }
+            if(rootOid.isTransient() || rootOid.isViewModel()) {
+                try {
+                    adapters[i] = adapterFor(rootOid);
+                } catch(ObjectNotFoundException | PojoRecreationException ex) {
                     if(LOG.isDebugEnabled()) {
-                        LOG.debug("updating version in oid, on " + originalOid + " (" + originalVersion + ") to (" + recreatedVersion +")");
+                        LOG.debug("could not recreate " + rootOid, ex);
                     }
-                    originalOid.setVersion(recreatedVersion);
                 }
+                continue;
+            }
+            List<Integer> positions = positionsBySpecId.get(rootOid.getObjectSpecId());
+            if(positions == null) {
+                positions = Lists.newArrayList();
+                positionsBySpecId.put(rootOid.getObjectSpecId(), positions);
             }
+            positions.add(i);
         }
 
-        return adapter;
+        for (final List<Integer> positions : positionsBySpecId.values()) {
+            final List<RootOid> oidsToLoad = Lists.newArrayList();
+            for (final Integer position : positions) {
+                oidsToLoad.add(rootOids.get(position));
+            }
+            final List<Object> pojos = loadPojos(oidsToLoad);
+            for (int j = 0; j < positions.size(); j++) {
+                final int position = positions.get(j);
+                final RootOid rootOid = oidsToLoad.get(j);
+                final Object pojo = pojos.get(j);
+                if(pojo == null) {
+                    if(LOG.isDebugEnabled()) {
+                        LOG.debug("object not found: " + rootOid);
+                    }
+                    continue;
+                }
+                // the same oid may have been requested more than once
+                ObjectAdapter adapter = getAdapterFor(rootOid);
+                if(adapter == null) {
+                    adapter = mapRecreatedPojo(rootOid, pojo);
+                }
+                if(adapter.getOid() instanceof RootOid) {
+                    updateVersionIfChanged(rootOid, (RootOid) adapter.getOid());
+                }
+                adapters[position] = adapter;
+            }
+        }
+
+        return Lists.newArrayList(adapters);
     }
 
 
@@ -1909,6 +2249,44 @@ public void removeAdapter(final ObjectAdapter adapter) {
         unmap(adapter);
     }
 
+    /**
+     * Removes the adapter of a persistent object - along with any of its collection adapters - from the adapter maps,
+     * and evicts its pojo from the {@link PersistenceManager}, so that both can be garbage collected if no longer
+     * referenced.  Used when {@link #streamMatchingQuery(Query, int, QueryResultsStream.EvictionPolicy) streaming}
+     * query results.
+     *
+     * <p>
+     * Does nothing if the object is new, deleted or has been modified (so that its changes are not lost), or if it
+     * is not an entity.
+     * </p>
+     */
+    public void evict(final ObjectAdapter adapter) {
+        final Object pojo = adapter.getObject();
+        if(!(pojo instanceof Persistable) ||
+                !JDOHelper.isPersistent(pojo) ||
+                JDOHelper.isDirty(pojo) ||
+                JDOHelper.isNew(pojo) ||
+                JDOHelper.isDeleted(pojo)) {
+            return;
+        }
+        if(getAdapterFor(pojo) != adapter) {
+            // no longer (or never was) mapped
+            return;
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("evicting: " + adapter);
+        }
+
+        final RootAndCollectionAdapters rootAndCollectionAdapters = new RootAndCollectionAdapters(adapter, this);
+        for (final ObjectAdapter collectionAdapter : rootAndCollectionAdapters) {
+            oidAdapterMap.remove(collectionAdapter.getOid());
+            pojoAdapterMap.remove(collectionAdapter);
+        }
+        unmap(adapter);
+
+        persistenceManager.evict(pojo);
+    }
+
     private void unmap(final ObjectAdapter adapter) {
         ensureMapsConsistent(adapter);
 
@@ -2282,7 +2660,12 @@ public void enlistUpdatingAndInvokeIsisUpdatingCallback(final Persistable pojo)
 
         // we call this come what may;
         // additional properties may now have been changed, and the changeKind for publishing might also be modified
-        changedObjectsServiceInternal.enlistUpdating(adapter);
+        if(JDOStateManagerForIsis.isTrackingChangedFields(pojo)) {
+            // the pre-values of the properties are enlisted individually as they change, see enlistUpdatingField(...)
+            changedObjectsServiceInternal.enlistUpdatingObject(adapter);
+        } else {
+            changedObjectsServiceInternal.enlistUpdating(adapter);
+        }
 
         if(!wasAlreadyEnlisted) {
             // prevent an infinite loop... don't call the 'updating()' callback on this object if we have already done so
@@ -2293,6 +2676,23 @@ public void enlistUpdatingAndInvokeIsisUpdatingCallback(final Persistable pojo)
         ensureRootObject(pojo);
     }
 
+    /**
+     * Called by {@link JDOStateManagerForIsis} just before a field of a persistent entity is changed, to enlist
+     * the field's pre-modification value.
+     */
+    public void enlistUpdatingField(final Persistable pojo, final String fieldName, final Object preValue) {
+        ObjectAdapter adapter = getAdapterFor(pojo);
+        if (adapter == null) {
+            // as per enlistUpdatingAndInvokeIsisUpdatingCallback(...); map into Isis "just-in-time"
+            adapter = mapPersistent(pojo);
+        }
+        if (adapter == null || adapter.isTransient()) {
+            // as per enlistUpdatingAndInvokeIsisUpdatingCallback(...), the object will not be enlisted either
+            return;
+        }
+        changedObjectsServiceInternal.enlistUpdatingProperty(adapter, fieldName, preValue);
+    }
+
     /**
      * makes sure the entity is known to Isis and is a root
      * @param pojo
@@ -2330,6 +2730,46 @@ public Object lookup(
         return adapter.getObject();
     }
 
+    /**
+     * As per {@link #lookup(Bookmark, BookmarkService2.FieldResetPolicy)}, but for many bookmarks at once; any
+     * objects not already loaded are {@link #adaptersFor(List) loaded in bulk}.
+     *
+     * @return the domain objects, in the same order as the provided bookmarks, with <tt>null</tt> for any that
+     * could not be found.
+     */
+    public List<Object> lookup(
+            final List<Bookmark> bookmarks,
+            final BookmarkService2.FieldResetPolicy fieldResetPolicy) {
+
+        final List<RootOid> oids = Lists.newArrayList();
+        final boolean[] alreadyMapped = new boolean[bookmarks.size()];
+        for (int i = 0; i < alreadyMapped.length; i++) {
+            final Bookmark bookmark = bookmarks.get(i);
+            final RootOid oid = bookmark != null ? RootOid.create(bookmark) : null;
+            oids.add(oid);
+            alreadyMapped[i] = oid != null && getAdapterFor(oid) != null;
+        }
+
+        final List<ObjectAdapter> adapters = adaptersFor(oids);
+
+        final List<Object> pojos = Lists.newArrayList();
+        for (int i = 0; i < alreadyMapped.length; i++) {
+            final ObjectAdapter adapter = adapters.get(i);
+            if(adapter == null) {
+                pojos.add(null);
+                continue;
+            }
+            // objects just loaded are already fresh
+            if(alreadyMapped[i] &&
+                    fieldResetPolicy == BookmarkService2.FieldResetPolicy.RESET &&
+                    !adapter.getSpecification().isViewModel()) {
+                refreshRootInTransaction(adapter);
+            }
+            pojos.add(adapter.getObject());
+        }
+        return pojos;
+    }
+
     public boolean flush() {
         return getTransactionManager().flushTransaction();
     }
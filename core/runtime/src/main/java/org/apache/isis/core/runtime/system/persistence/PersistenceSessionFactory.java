@@ -117,6 +117,9 @@ private static void addDataNucleusPropertiesIfRequired(
         putIfNotPresent(props, PropertyNames.PROPERTY_SCHEMA_VALIDATE_ALL, Boolean.TRUE.toString());
         putIfNotPresent(props, PropertyNames.PROPERTY_CACHE_L2_TYPE, "none");
 
+        // the inserts and deletes of objects persisted or removed in bulk are sent to the database in JDBC batches
+        putIfNotPresent(props, "datanucleus.rdbms.statementBatchLimit", "50");
+
         putIfNotPresent(props, PropertyNames.PROPERTY_PERSISTENCE_UNIT_LOAD_CLASSES, Boolean.TRUE.toString());
 
         String connectionFactoryName = props.get(PropertyNames.PROPERTY_CONNECTION_FACTORY_NAME);
@@ -20,9 +20,6 @@
 package org.apache.isis.core.runtime.system.persistence.adaptermanager;
 
 import java.util.Iterator;
-import java.util.Map;
-
-import com.google.common.collect.Maps;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,7 +36,24 @@ public class OidAdapterHashMap implements Iterable<Oid>, SessionScopedComponent
     private static final Logger LOG = LoggerFactory.getLogger(OidAdapterHashMap.class);
     public static final int DEFAULT_OID_ADAPTER_MAP_SIZE = 100;
 
-    private final Map<Oid, ObjectAdapter> adapterByOidMap = Maps.newHashMapWithExpectedSize(DEFAULT_OID_ADAPTER_MAP_SIZE);
+    private static class AdapterByOidMap extends OpenAddressingAdapterMap<Oid> {
+
+        AdapterByOidMap(final int capacity) {
+            super(capacity);
+        }
+
+        @Override
+        int hashOf(final Oid oid) {
+            return oid.hashCode();
+        }
+
+        @Override
+        boolean isEqual(final Oid storedOid, final Oid oid) {
+            return storedOid.equals(oid);
+        }
+    }
+
+    private final AdapterByOidMap adapterByOidMap = new AdapterByOidMap(DEFAULT_OID_ADAPTER_MAP_SIZE);
 
     //region > open, close
 
@@ -97,7 +111,7 @@ public ObjectAdapter getAdapter(final Oid oid) {
 
     @Override
     public Iterator<Oid> iterator() {
-        return adapterByOidMap.keySet().iterator();
+        return adapterByOidMap.keyIterator();
     }
 
     //endregion
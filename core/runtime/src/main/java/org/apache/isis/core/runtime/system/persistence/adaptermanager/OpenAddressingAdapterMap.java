@@ -0,0 +1,309 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.system.persistence.adaptermanager;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+
+/**
+ * An open-addressing (linear probing) hash table of {@link ObjectAdapter}s, with the notion of key equality
+ * defined by the subclass.
+ *
+ * <p>
+ *     Keys and adapters are held in two parallel arrays, so that neither a lookup nor (unless the table needs to
+ *     grow) an insertion allocates anything; entries are removed by shifting back any subsequent entries of the
+ *     same probe sequence, so there are no tombstones.  Not thread-safe (as for the session that owns it).
+ * </p>
+ */
+abstract class OpenAddressingAdapterMap<K> {
+
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * Stands in for a <tt>null</tt> key, since <tt>null</tt> marks an empty slot.
+     */
+    private static final Object NULL_KEY = new Object();
+
+    private final int initialCapacity;
+
+    private Object[] keys;
+    private ObjectAdapter[] adapters;
+    private int size;
+    private int shift;
+    private int modCount;
+
+    OpenAddressingAdapterMap(final int expectedSize) {
+        this.initialCapacity = capacityFor(expectedSize);
+        allocate(initialCapacity);
+    }
+
+    private static int capacityFor(final int expectedSize) {
+        // a power of two, no more than half full
+        int capacity = MIN_CAPACITY;
+        while(capacity < expectedSize * 2 && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private void allocate(final int capacity) {
+        keys = new Object[capacity];
+        adapters = new ObjectAdapter[capacity];
+        shift = 32 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    //region > hook methods
+
+    abstract int hashOf(K key);
+
+    abstract boolean isEqual(K storedKey, K key);
+
+    //endregion
+
+    //region > get, put, remove, clear, size
+
+    final ObjectAdapter get(final K key) {
+        final int index = indexOf(maskNull(key));
+        return index != -1 ? adapters[index] : null;
+    }
+
+    final boolean containsKey(final K key) {
+        return indexOf(maskNull(key)) != -1;
+    }
+
+    /**
+     * @return the adapter previously held for this key, if any.
+     */
+    final ObjectAdapter put(final K key, final ObjectAdapter adapter) {
+        final Object maskedKey = maskNull(key);
+        final Object[] keys = this.keys;
+        final int mask = keys.length - 1;
+        int index = slotFor(maskedKey);
+        Object storedKey;
+        while((storedKey = keys[index]) != null) {
+            if(matches(storedKey, maskedKey)) {
+                final ObjectAdapter previous = adapters[index];
+                adapters[index] = adapter;
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = maskedKey;
+        adapters[index] = adapter;
+        modCount++;
+        if(++size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * @return the adapter that was held for this key, if any.
+     */
+    final ObjectAdapter remove(final K key) {
+        final int index = indexOf(maskNull(key));
+        if(index == -1) {
+            return null;
+        }
+        final ObjectAdapter previous = adapters[index];
+        delete(index);
+        return previous;
+    }
+
+    final void clear() {
+        if(keys.length > initialCapacity) {
+            // don't hang on to the memory of an unusually large session
+            allocate(initialCapacity);
+        } else {
+            Arrays.fill(keys, null);
+            Arrays.fill(adapters, null);
+        }
+        size = 0;
+        modCount++;
+    }
+
+    final int size() {
+        return size;
+    }
+
+    //endregion
+
+    //region > iterators
+
+    final Iterator<K> keyIterator() {
+        return new TableIterator<K>() {
+            @SuppressWarnings("unchecked")
+            @Override
+            K elementAt(final int index) {
+                return (K) unmaskNull(keys[index]);
+            }
+        };
+    }
+
+    final Iterator<ObjectAdapter> adapterIterator() {
+        return new TableIterator<ObjectAdapter>() {
+            @Override
+            ObjectAdapter elementAt(final int index) {
+                return adapters[index];
+            }
+        };
+    }
+
+    private abstract class TableIterator<T> implements Iterator<T> {
+
+        private final int expectedModCount = modCount;
+        private int next = advance(0);
+
+        private int advance(int index) {
+            while(index < keys.length && keys[index] == null) {
+                index++;
+            }
+            return index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < keys.length;
+        }
+
+        @Override
+        public T next() {
+            if(modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if(!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final T element = elementAt(next);
+            next = advance(next + 1);
+            return element;
+        }
+
+        abstract T elementAt(int index);
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    //endregion
+
+    //region > helpers
+
+    private int indexOf(final Object maskedKey) {
+        final Object[] keys = this.keys;
+        final int mask = keys.length - 1;
+        int index = slotFor(maskedKey);
+        Object storedKey;
+        while((storedKey = keys[index]) != null) {
+            if(matches(storedKey, maskedKey)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Removes the entry at the specified index, then moves back any entries that follow (in the same cluster)
+     * whose probe sequence would otherwise now be broken.
+     */
+    private void delete(int index) {
+        final Object[] keys = this.keys;
+        final ObjectAdapter[] adapters = this.adapters;
+        final int mask = keys.length - 1;
+
+        keys[index] = null;
+        adapters[index] = null;
+        size--;
+        modCount++;
+
+        int next = (index + 1) & mask;
+        Object storedKey;
+        while((storedKey = keys[next]) != null) {
+            final int slot = slotFor(storedKey);
+            // can move the entry at 'next' back into the gap at 'index' unless its slot lies (cyclically) in (index, next]
+            final boolean slotBetween = index <= next
+                    ? index < slot && slot <= next
+                    : index < slot || slot <= next;
+            if(!slotBetween) {
+                keys[index] = storedKey;
+                adapters[index] = adapters[next];
+                keys[next] = null;
+                adapters[next] = null;
+                index = next;
+            }
+            next = (next + 1) & mask;
+        }
+    }
+
+    private void resize(final int newCapacity) {
+        final Object[] oldKeys = keys;
+        final ObjectAdapter[] oldAdapters = adapters;
+        allocate(newCapacity);
+        final int mask = newCapacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            final Object storedKey = oldKeys[i];
+            if(storedKey == null) {
+                continue;
+            }
+            int index = slotFor(storedKey);
+            while(keys[index] != null) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = storedKey;
+            adapters[index] = oldAdapters[i];
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private int slotFor(final Object maskedKey) {
+        final int hash = maskedKey == NULL_KEY ? 0 : hashOf((K) maskedKey);
+        // Fibonacci hashing, to spread out clustered hashes (such as identity hash codes)
+        return (hash * 0x9E3779B9) >>> shift;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean matches(final Object storedKey, final Object maskedKey) {
+        if(storedKey == maskedKey) {
+            return true;
+        }
+        if(storedKey == NULL_KEY || maskedKey == NULL_KEY) {
+            return false;
+        }
+        return isEqual((K) storedKey, (K) maskedKey);
+    }
+
+    private static Object maskNull(final Object key) {
+        return key != null ? key : NULL_KEY;
+    }
+
+    private static Object unmaskNull(final Object key) {
+        return key != NULL_KEY ? key : null;
+    }
+
+    //endregion
+
+}
@@ -20,9 +20,6 @@
 package org.apache.isis.core.runtime.system.persistence.adaptermanager;
 
 import java.util.Iterator;
-import java.util.Map;
-
-import com.google.common.collect.Maps;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,46 +27,44 @@
 import org.apache.isis.core.commons.components.SessionScopedComponent;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 
+/**
+ * A map of the pojos (by identity, not equality) and their adapters.
+ */
 public class PojoAdapterHashMap implements Iterable<ObjectAdapter>, SessionScopedComponent {
 
-    private static class IdentityHashKey {
-        private final Object pojo;
+    private static final Logger LOG = LoggerFactory.getLogger(PojoAdapterHashMap.class);
+    public static final int DEFAULT_POJO_ADAPTER_MAP_SIZE = OidAdapterHashMap.DEFAULT_OID_ADAPTER_MAP_SIZE;
+
+    /**
+     * Keyed by identity, so there's no need to wrap each pojo in an identity-based key.
+     */
+    private static class AdapterByPojoMap extends OpenAddressingAdapterMap<Object> {
 
-        public IdentityHashKey(final Object pojo) {
-            this.pojo = pojo;
+        AdapterByPojoMap(final int capacity) {
+            super(capacity);
         }
 
         @Override
-        public int hashCode() {
+        int hashOf(final Object pojo) {
             return System.identityHashCode(pojo);
         }
 
         @Override
-        public boolean equals(final Object obj) {
-            return obj == this || (obj instanceof IdentityHashKey && ((IdentityHashKey) obj).pojo == pojo);
+        boolean isEqual(final Object storedPojo, final Object pojo) {
+            // only ever called if not the same object
+            return false;
         }
     }
 
-    private static final Logger LOG = LoggerFactory.getLogger(PojoAdapterHashMap.class);
-    public static final int DEFAULT_POJO_ADAPTER_MAP_SIZE = OidAdapterHashMap.DEFAULT_OID_ADAPTER_MAP_SIZE;
-
-    protected final Map<Object, ObjectAdapter> adapterByPojoMap;
+    private final AdapterByPojoMap adapterByPojoMap;
 
-    //region > Constructors, finalize
+    //region > Constructors
     public PojoAdapterHashMap() {
         this(DEFAULT_POJO_ADAPTER_MAP_SIZE);
     }
 
     public PojoAdapterHashMap(final int capacity) {
-        adapterByPojoMap = Maps.newHashMapWithExpectedSize(capacity);
-    }
-
-    @Override
-    protected void finalize() throws Throwable {
-        super.finalize();
-        if(LOG.isDebugEnabled()) {
-            LOG.debug("finalizing hash of pojos");
-        }
+        adapterByPojoMap = new AdapterByPojoMap(capacity);
     }
     //endregion
 
@@ -91,10 +86,10 @@ public void close() {
     //region > add, remove
 
     public void add(final Object pojo, final ObjectAdapter adapter) {
-        adapterByPojoMap.put(key(pojo), adapter);
+        adapterByPojoMap.put(pojo, adapter);
 
         if(LOG.isDebugEnabled()) {
-            LOG.debug("add adapter: #" + key(pojo) + " -> #" + Long.toHexString(adapter.hashCode()));
+            LOG.debug("add adapter: #" + Long.toHexString(System.identityHashCode(pojo)) + " -> #" + Long.toHexString(adapter.hashCode()));
 
         }
     }
@@ -103,7 +98,7 @@ public void remove(final ObjectAdapter object) {
         if(LOG.isDebugEnabled()) {
             LOG.debug("remove adapter: " + object);
         }
-        adapterByPojoMap.remove(key(object.getObject()));
+        adapterByPojoMap.remove(object.getObject());
     }
 
     //endregion
@@ -111,23 +106,19 @@ public void remove(final ObjectAdapter object) {
     //region > getAdapter, containsPojo
 
     public boolean containsPojo(final Object pojo) {
-        return adapterByPojoMap.containsKey(key(pojo));
+        return adapterByPojoMap.containsKey(pojo);
     }
 
     public ObjectAdapter getAdapter(final Object pojo) {
-        return adapterByPojoMap.get(key(pojo));
+        return adapterByPojoMap.get(pojo);
     }
 
     //endregion
 
-    //region > iterator, key
+    //region > iterator
     @Override
     public Iterator<ObjectAdapter> iterator() {
-        return adapterByPojoMap.values().iterator();
-    }
-
-    private Object key(final Object pojo) {
-        return new IdentityHashKey(pojo);
+        return adapterByPojoMap.adapterIterator();
     }
 
     //endregion
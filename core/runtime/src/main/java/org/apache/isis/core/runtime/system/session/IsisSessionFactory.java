@@ -35,6 +35,7 @@
 import org.apache.isis.core.commons.authentication.AuthenticationSession;
 import org.apache.isis.core.commons.components.ApplicationScopedComponent;
 import org.apache.isis.core.commons.config.IsisConfiguration;
+import org.apache.isis.core.commons.util.BootTimeline;
 import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
@@ -118,7 +119,7 @@ public void constructServices() {
 
             IsisTransactionManager transactionManager = getCurrentSessionTransactionManager();
             transactionManager.startTransaction();
-            try {
+            try (BootTimeline.Phase phase = BootTimeline.instance().start("postConstruct")) {
                 serviceInitializer.postConstruct();
             } catch(RuntimeException ex) {
                 transactionManager.getCurrentTransaction().setAbortCause(new IsisTransactionManagerException(ex));
@@ -133,7 +134,9 @@ public void constructServices() {
             //
             final FixturesInstallerFromConfiguration fixtureInstaller =
                     new FixturesInstallerFromConfiguration(this);
-            fixtureInstaller.installFixtures();
+            try (BootTimeline.Phase phase = BootTimeline.instance().start("installFixtures")) {
+                fixtureInstaller.installFixtures();
+            }
 
             // only allow logon fixtures if not in production mode.
             if (!deploymentCategory.isProduction()) {
@@ -33,6 +33,7 @@
 import org.apache.isis.applib.services.fixturespec.FixtureScriptsDefault;
 import org.apache.isis.core.commons.config.IsisConfigurationDefault;
 import org.apache.isis.core.commons.lang.ListExtensions;
+import org.apache.isis.core.commons.util.BootTimeline;
 import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
 import org.apache.isis.core.metamodel.deployment.DeploymentCategoryProvider;
 import org.apache.isis.core.metamodel.facetapi.MetaModelRefiner;
@@ -112,6 +113,9 @@ public IsisSessionFactory buildSessionFactory() {
             FixtureClock.initialize();
         }
 
+        final BootTimeline bootTimeline = BootTimeline.instance();
+        final BootTimeline.Phase buildSessionFactoryPhase = bootTimeline.start("buildSessionFactory");
+
         IsisSessionFactory isisSessionFactory;
         try {
 
@@ -173,8 +177,12 @@ public IsisSessionFactory buildSessionFactory() {
             // time to initialize...
             try {
                 // first, initial metamodel (may throw exception if invalid)
-                specificationLoader.init();
-                specificationLoader.validateAndAssert();
+                try (BootTimeline.Phase phase = bootTimeline.start("specificationLoader.init")) {
+                    specificationLoader.init();
+                }
+                try (BootTimeline.Phase phase = bootTimeline.start("specificationLoader.validateAndAssert")) {
+                    specificationLoader.validateAndAssert();
+                }
 
 
             } catch (final MetaModelInvalidException ex) {
@@ -199,14 +207,24 @@ public IsisSessionFactory buildSessionFactory() {
             authenticationManager.init(deploymentCategory);
             authorizationManager.init(deploymentCategory);
 
-            persistenceSessionFactory.init(specificationLoader);
+            try (BootTimeline.Phase phase = bootTimeline.start("persistenceSessionFactory.init")) {
+                persistenceSessionFactory.init(specificationLoader);
+            }
 
-            isisSessionFactory.constructServices();
+            try (BootTimeline.Phase phase = bootTimeline.start("constructServices")) {
+                isisSessionFactory.constructServices();
+            }
 
 
         } catch (final IsisSystemException ex) {
             LOG.error("failed to initialise", ex);
             throw new RuntimeException(ex);
+        } finally {
+            buildSessionFactoryPhase.close();
+        }
+
+        if(LOG.isInfoEnabled()) {
+            LOG.info("boot timeline:\n" + bootTimeline.asSummary());
         }
 
         return isisSessionFactory;
@@ -20,9 +20,14 @@
 package org.apache.isis.core.runtime.system.transaction;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,6 +35,7 @@
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.services.HasTransactionId;
 import org.apache.isis.applib.services.WithTransactionScope;
+import org.apache.isis.applib.services.queryresultscache.SharedQueryResultsCache;
 import org.apache.isis.applib.services.xactn.Transaction;
 import org.apache.isis.core.commons.authentication.AuthenticationSession;
 import org.apache.isis.core.commons.authentication.MessageBroker;
@@ -44,6 +50,7 @@
 import org.apache.isis.core.runtime.persistence.objectstore.transaction.DestroyObjectCommand;
 import org.apache.isis.core.runtime.persistence.objectstore.transaction.PersistenceCommand;
 import org.apache.isis.core.runtime.services.auditing.AuditingServiceInternal;
+import org.apache.isis.core.runtime.services.changes.ChangedObjectsServiceInternal;
 import org.apache.isis.core.runtime.services.persistsession.PersistenceSessionServiceInternalDefault;
 
 /**
@@ -166,14 +173,32 @@ public TransactionState getRuntimeContextState() {
     private final int sequence;
     private final AuthenticationSession authenticationSession;
 
-    private final List<PersistenceCommand> persistenceCommands = Lists.newArrayList();
+    /**
+     * In the order added.
+     */
+    private final Set<PersistenceCommand> persistenceCommands = Sets.newLinkedHashSet();
+    /**
+     * Indexes the {@link #persistenceCommands}, so that adding a command does not require a scan of all those
+     * already added (which, for large batches, was quadratic).
+     */
+    private final Map<ObjectAdapter, CreateObjectCommand> createCommandByAdapter = Maps.newIdentityHashMap();
+    private final Map<ObjectAdapter, DestroyObjectCommand> destroyCommandByAdapter = Maps.newIdentityHashMap();
     private final IsisTransactionManager transactionManager;
     private final MessageBroker messageBroker;
     private final PublishingServiceInternal publishingServiceInternal;
     private final AuditingServiceInternal auditingServiceInternal;
+    private final ChangedObjectsServiceInternal changedObjectsServiceInternal;
+    private final SharedQueryResultsCache sharedQueryResultsCache;
 
     private final List<WithTransactionScope> withTransactionScopes;
 
+    /**
+     * The types of the objects changed by this transaction, captured on {@link #preCommit() pre-commit} (before the
+     * {@link ChangedObjectsServiceInternal} is reset) so that the {@link SharedQueryResultsCache} can be invalidated
+     * once the transaction has {@link #commit() committed}.
+     */
+    private Set<Class<?>> changedObjectTypes = ImmutableSet.of();
+
     private IsisException abortCause;
 
     public IsisTransaction(
@@ -193,6 +218,8 @@ public IsisTransaction(
         this.messageBroker = authenticationSession.getMessageBroker();
         this.publishingServiceInternal = servicesInjector.lookupServiceElseFail(PublishingServiceInternal.class);
         this.auditingServiceInternal = servicesInjector.lookupServiceElseFail(AuditingServiceInternal.class);
+        this.changedObjectsServiceInternal = servicesInjector.lookupServiceElseFail(ChangedObjectsServiceInternal.class);
+        this.sharedQueryResultsCache = servicesInjector.lookupService(SharedQueryResultsCache.class);
 
         withTransactionScopes = servicesInjector.lookupServices(WithTransactionScope.class);
 
@@ -257,58 +284,50 @@ public void addCommand(final PersistenceCommand command) {
 
         // Destroys are ignored when preceded by a create, or another destroy
         if (command instanceof DestroyObjectCommand) {
-            if (alreadyHasCreate(onObject)) {
-                removeCreate(onObject);
+            final CreateObjectCommand createCommand = createCommandByAdapter.remove(onObject);
+            if (createCommand != null) {
+                persistenceCommands.remove(createCommand);
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("ignored both create and destroy command " + command);
                 }
                 return;
             }
 
-            if (alreadyHasDestroy(onObject)) {
+            if (destroyCommandByAdapter.containsKey(onObject)) {
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("ignored command " + command + " as command already recorded");
                 }
                 return;
             }
+            destroyCommandByAdapter.put(onObject, (DestroyObjectCommand) command);
         }
 
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("add command " + command);
-        }
-        persistenceCommands.add(command);
-    }
-
-    private boolean alreadyHasCommand(final Class<?> commandClass, final ObjectAdapter onObject) {
-        return getCommand(commandClass, onObject) != null;
-    }
-
-    private boolean alreadyHasCreate(final ObjectAdapter onObject) {
-        return alreadyHasCommand(CreateObjectCommand.class, onObject);
-    }
-
-    private boolean alreadyHasDestroy(final ObjectAdapter onObject) {
-        return alreadyHasCommand(DestroyObjectCommand.class, onObject);
-    }
-
-    private PersistenceCommand getCommand(final Class<?> commandClass, final ObjectAdapter onObject) {
-        for (final PersistenceCommand command : persistenceCommands) {
-            if (command.onAdapter().equals(onObject)) {
-                if (commandClass.isAssignableFrom(command.getClass())) {
-                    return command;
+        // Creates are ignored when preceded by another create (the object would be persisted by the first)
+        if (command instanceof CreateObjectCommand) {
+            if (createCommandByAdapter.containsKey(onObject)) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("ignored command " + command + " as command already recorded");
                 }
+                return;
             }
+            createCommandByAdapter.put(onObject, (CreateObjectCommand) command);
         }
-        return null;
-    }
 
-    private void removeCommand(final Class<?> commandClass, final ObjectAdapter onObject) {
-        final PersistenceCommand toDelete = getCommand(commandClass, onObject);
-        persistenceCommands.remove(toDelete);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("add command " + command);
+        }
+        persistenceCommands.add(command);
     }
 
-    private void removeCreate(final ObjectAdapter onObject) {
-        removeCommand(CreateObjectCommand.class, onObject);
+    /**
+     * Removes (and returns) all of the commands added so far, in the order that they were added.
+     */
+    private List<PersistenceCommand> drainCommands() {
+        final List<PersistenceCommand> commands = Lists.newArrayList(persistenceCommands);
+        persistenceCommands.clear();
+        createCommandByAdapter.clear();
+        destroyCommandByAdapter.clear();
+        return commands;
     }
 
     //endregion
@@ -369,11 +388,10 @@ private void doFlush() {
         do {
             // this algorithm ensures that we never execute the same command twice,
             // and also allow new commands to be added to end
-            final List<PersistenceCommand> persistenceCommandList = Lists.newArrayList(persistenceCommands);
+            // (and so won't be processed again if a flush is encountered subsequently)
+            final List<PersistenceCommand> persistenceCommandList = drainCommands();
 
             if(!persistenceCommandList.isEmpty()) {
-                // so won't be processed again if a flush is encountered subsequently
-                persistenceCommands.removeAll(persistenceCommandList);
                 try {
                     this.transactionManager.getPersistenceSession().execute(persistenceCommandList);
                     for (PersistenceCommand persistenceCommand : persistenceCommandList) {
@@ -385,7 +403,7 @@ private void doFlush() {
                 } catch (final RuntimeException ex) {
                     // if there's an exception, we want to make sure that
                     // all commands are cleared and propagate
-                    persistenceCommands.clear();
+                    drainCommands();
                     throw ex;
                 }
             }
@@ -418,6 +436,8 @@ void preCommit() {
             publishingServiceInternal.publishObjects();
             doFlush();
 
+            changedObjectTypes = ImmutableSet.copyOf(changedObjectsServiceInternal.getChangedObjectTypes());
+
         } catch (final RuntimeException ex) {
             setAbortCause(new IsisTransactionManagerException(ex));
             throw ex;
@@ -445,6 +465,18 @@ void commit() {
         }
 
         setState(State.COMMITTED);
+
+        invalidateSharedQueryResultsCache();
+    }
+
+    private void invalidateSharedQueryResultsCache() {
+        if(sharedQueryResultsCache == null) {
+            return;
+        }
+        for (final Class<?> changedObjectType : changedObjectTypes) {
+            sharedQueryResultsCache.invalidate(changedObjectType);
+        }
+        changedObjectTypes = ImmutableSet.of();
     }
 
 
@@ -0,0 +1,296 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.systemusinginstallers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+
+import javax.annotation.Nullable;
+import javax.jdo.annotations.PersistenceCapable;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Predicate;
+import com.google.common.base.Splitter;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import org.reflections.Reflections;
+import org.reflections.vfs.Vfs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.applib.AppManifest;
+import org.apache.isis.applib.annotation.DomainObject;
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.Mixin;
+import org.apache.isis.applib.annotation.Nature;
+import org.apache.isis.applib.fixturescripts.FixtureScript;
+import org.apache.isis.applib.services.classdiscovery.ClassDiscoveryServiceUsingReflections;
+import org.apache.isis.core.commons.lang.ClassUtil;
+
+/**
+ * The types discovered from the packages of an {@link AppManifest}'s modules (along with the framework-provided
+ * packages), as registered in the {@link AppManifest.Registry}.
+ *
+ * <p>
+ *     These are either found by {@link #scan(List) scanning} the classpath at runtime, or - if the
+ *     <tt>index</tt> goal of the <tt>isis-maven-plugin</tt> was run as part of the build - {@link #read(List, ClassLoader) read}
+ *     from the {@link #RESOURCE_NAME index} that it writes into the jar.
+ * </p>
+ */
+public class ClassIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ClassIndex.class);
+
+    /**
+     * The classpath resource written by the <tt>isis-maven-plugin</tt>'s <tt>index</tt> goal.
+     */
+    public static final String RESOURCE_NAME = "META-INF/isis/class-index.txt";
+
+    private static final String KEY_PACKAGES = "packages";
+    private static final String KEY_DOMAIN_SERVICE = "domainService";
+    private static final String KEY_PERSISTENCE_CAPABLE = "persistenceCapable";
+    private static final String KEY_FIXTURE_SCRIPT = "fixtureScript";
+    private static final String KEY_MIXIN = "mixin";
+
+    //region > packagesFor
+
+    /**
+     * The packages to search for the specified {@link AppManifest}: those of the framework-provided services and of
+     * each of the manifest's modules.
+     */
+    public static List<String> packagesFor(final AppManifest appManifest) {
+        final List<Class<?>> modules = appManifest.getModules();
+        if (modules == null || modules.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "If an appManifest is provided then it must return a non-empty set of modules");
+        }
+        final List<String> packages = Lists.newArrayList();
+        packages.addAll(AppManifest.Registry.FRAMEWORK_PROVIDED_SERVICES);
+        Iterables.addAll(packages, Iterables.transform(modules, ClassUtil.Functions.packageNameOf()));
+        return packages;
+    }
+
+    //endregion
+
+    //region > constructor, fields
+
+    private final SortedSet<String> packages;
+    private final Set<Class<?>> domainServiceTypes;
+    private final Set<Class<?>> persistenceCapableTypes;
+    private final Set<Class<? extends FixtureScript>> fixtureScriptTypes;
+    private final Set<Class<?>> mixinTypes;
+
+    ClassIndex(
+            final Iterable<String> packages,
+            final Set<Class<?>> domainServiceTypes,
+            final Set<Class<?>> persistenceCapableTypes,
+            final Set<Class<? extends FixtureScript>> fixtureScriptTypes,
+            final Set<Class<?>> mixinTypes) {
+        this.packages = Sets.newTreeSet(packages);
+        this.domainServiceTypes = domainServiceTypes;
+        this.persistenceCapableTypes = persistenceCapableTypes;
+        this.fixtureScriptTypes = fixtureScriptTypes;
+        this.mixinTypes = mixinTypes;
+    }
+
+    public Set<Class<?>> getDomainServiceTypes() {
+        return domainServiceTypes;
+    }
+
+    public Set<Class<?>> getPersistenceCapableTypes() {
+        return persistenceCapableTypes;
+    }
+
+    public Set<Class<? extends FixtureScript>> getFixtureScriptTypes() {
+        return fixtureScriptTypes;
+    }
+
+    public Set<Class<?>> getMixinTypes() {
+        return mixinTypes;
+    }
+
+    //endregion
+
+    //region > registerWith
+
+    public void registerWith(final AppManifest.Registry registry) {
+        registry.setDomainServiceTypes(domainServiceTypes);
+        registry.setPersistenceCapableTypes(persistenceCapableTypes);
+        registry.setFixtureScriptTypes(fixtureScriptTypes);
+        registry.setMixinTypes(mixinTypes);
+    }
+
+    //endregion
+
+    //region > scan
+
+    /**
+     * Searches the classpath (using {@link Reflections}) for the types in the specified packages.
+     */
+    public static ClassIndex scan(final List<String> packages) {
+
+        Vfs.setDefaultURLTypes(ClassDiscoveryServiceUsingReflections.getUrlTypes());
+
+        final Reflections reflections = new Reflections(packages);
+        final Set<Class<?>> domainServiceTypes = reflections.getTypesAnnotatedWith(DomainService.class);
+        final Set<Class<?>> persistenceCapableTypes = reflections.getTypesAnnotatedWith(PersistenceCapable.class);
+        final Set<Class<? extends FixtureScript>> fixtureScriptTypes = reflections.getSubTypesOf(FixtureScript.class);
+
+        final Set<Class<?>> mixinTypes = Sets.newHashSet();
+        mixinTypes.addAll(reflections.getTypesAnnotatedWith(Mixin.class));
+        final Set<Class<?>> domainObjectTypes = reflections.getTypesAnnotatedWith(DomainObject.class);
+        mixinTypes.addAll(
+                Lists.newArrayList(Iterables.filter(domainObjectTypes, new Predicate<Class<?>>() {
+                    @Override
+                    public boolean apply(@Nullable final Class<?> input) {
+                        if(input == null) { return false; }
+                        final DomainObject annotation = input.getAnnotation(DomainObject.class);
+                        return annotation.nature() == Nature.MIXIN;
+                    }
+                }))
+        );
+
+        return new ClassIndex(packages, domainServiceTypes, persistenceCapableTypes, fixtureScriptTypes, mixinTypes);
+    }
+
+    //endregion
+
+    //region > read
+
+    /**
+     * Reads the {@link #RESOURCE_NAME index} from the classpath, provided that it was written for exactly the
+     * specified packages and that every class that it lists can still be loaded.
+     *
+     * @return <tt>null</tt> if there is no such index (in which case the caller should {@link #scan(List) scan}).
+     */
+    public static ClassIndex read(final List<String> packages, final ClassLoader classLoader) {
+        final SortedSet<String> requiredPackages = Sets.newTreeSet(packages);
+        final Enumeration<URL> resources;
+        try {
+            resources = classLoader.getResources(RESOURCE_NAME);
+        } catch (final IOException e) {
+            LOG.warn("Unable to search for class index; will scan classpath instead", e);
+            return null;
+        }
+        while (resources.hasMoreElements()) {
+            final URL resource = resources.nextElement();
+            try {
+                final ClassIndex classIndex = read(resource, classLoader);
+                if(classIndex.packages.equals(requiredPackages)) {
+                    LOG.info("Using class index from {}", resource);
+                    return classIndex;
+                }
+            } catch (final IOException | ClassNotFoundException | LinkageError e) {
+                LOG.warn("Ignoring (stale?) class index {}: {}", resource, e.toString());
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ClassIndex read(final URL resource, final ClassLoader classLoader)
+            throws IOException, ClassNotFoundException {
+
+        final List<String> packages = Lists.newArrayList();
+        final Set<Class<?>> domainServiceTypes = Sets.newLinkedHashSet();
+        final Set<Class<?>> persistenceCapableTypes = Sets.newLinkedHashSet();
+        final Set<Class<? extends FixtureScript>> fixtureScriptTypes = Sets.newLinkedHashSet();
+        final Set<Class<?>> mixinTypes = Sets.newLinkedHashSet();
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if(line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                final int idx = line.indexOf('=');
+                if(idx == -1) {
+                    throw new IOException("Invalid line: " + line);
+                }
+                final String key = line.substring(0, idx);
+                final String value = line.substring(idx + 1);
+                switch (key) {
+                case KEY_PACKAGES:
+                    Iterables.addAll(packages, Splitter.on(',').omitEmptyStrings().trimResults().split(value));
+                    break;
+                case KEY_DOMAIN_SERVICE:
+                    domainServiceTypes.add(Class.forName(value, false, classLoader));
+                    break;
+                case KEY_PERSISTENCE_CAPABLE:
+                    persistenceCapableTypes.add(Class.forName(value, false, classLoader));
+                    break;
+                case KEY_FIXTURE_SCRIPT:
+                    fixtureScriptTypes.add((Class<? extends FixtureScript>) Class.forName(value, false, classLoader));
+                    break;
+                case KEY_MIXIN:
+                    mixinTypes.add(Class.forName(value, false, classLoader));
+                    break;
+                default:
+                    // ignore any keys from a later version
+                }
+            }
+        }
+        return new ClassIndex(packages, domainServiceTypes, persistenceCapableTypes, fixtureScriptTypes, mixinTypes);
+    }
+
+    //endregion
+
+    //region > write
+
+    /**
+     * Writes this index in the format expected by {@link #read(List, ClassLoader)}.
+     */
+    public void write(final Writer writer) throws IOException {
+        writer.write("# Generated by isis-maven-plugin (index goal); do not edit\n");
+        writer.write(KEY_PACKAGES + "=" + Joiner.on(',').join(packages) + "\n");
+        write(writer, KEY_DOMAIN_SERVICE, domainServiceTypes);
+        write(writer, KEY_PERSISTENCE_CAPABLE, persistenceCapableTypes);
+        write(writer, KEY_FIXTURE_SCRIPT, fixtureScriptTypes);
+        write(writer, KEY_MIXIN, mixinTypes);
+    }
+
+    private static void write(final Writer writer, final String key, final Set<? extends Class<?>> types)
+            throws IOException {
+        final SortedSet<String> classNames = Sets.newTreeSet();
+        for (final Class<?> type : types) {
+            if(type != null) {
+                classNames.add(type.getName());
+            }
+        }
+        for (final String className : classNames) {
+            writer.write(key + "=" + className + "\n");
+        }
+    }
+
+    //endregion
+
+}
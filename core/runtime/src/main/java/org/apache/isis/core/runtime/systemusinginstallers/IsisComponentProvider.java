@@ -22,32 +22,19 @@
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import javax.annotation.Nullable;
-import javax.jdo.annotations.PersistenceCapable;
 
 import com.google.common.base.Function;
 import com.google.common.base.Joiner;
-import com.google.common.base.Predicate;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Sets;
-
-import org.reflections.Reflections;
-import org.reflections.vfs.Vfs;
 
 import org.apache.isis.applib.AppManifest;
-import org.apache.isis.applib.annotation.DomainObject;
-import org.apache.isis.applib.annotation.DomainService;
-import org.apache.isis.applib.annotation.Mixin;
-import org.apache.isis.applib.annotation.Nature;
-import org.apache.isis.applib.fixturescripts.FixtureScript;
-import org.apache.isis.applib.services.classdiscovery.ClassDiscoveryServiceUsingReflections;
 import org.apache.isis.core.commons.config.IsisConfiguration;
 import org.apache.isis.core.commons.config.IsisConfigurationDefault;
 import org.apache.isis.core.commons.factory.InstanceUtil;
-import org.apache.isis.core.commons.lang.ClassUtil;
+import org.apache.isis.core.commons.util.BootTimeline;
 import org.apache.isis.core.metamodel.facetapi.MetaModelRefiner;
 import org.apache.isis.core.metamodel.layoutmetadata.LayoutMetadataReader;
 import org.apache.isis.core.metamodel.progmodel.ProgrammingModel;
@@ -93,6 +80,9 @@ public IsisComponentProvider(
         this.appManifest = appManifest;
         this.configuration = (IsisConfigurationDefault) configuration; // REVIEW: HACKY
 
+        // the first step of any bootstrap
+        BootTimeline.instance().startNewBootstrap();
+
         putAppManifestKey(appManifest);
         findAndRegisterTypes(appManifest);
         specifyServicesAndRegisteredEntitiesUsing(appManifest);
@@ -130,38 +120,19 @@ private void putAppManifestKey(final AppManifest appManifest) {
     }
 
     private void findAndRegisterTypes(final AppManifest appManifest) {
-        final Iterable<String> packageNameList = modulePackageNamesFrom(appManifest);
-        final AppManifest.Registry registry = AppManifest.Registry.instance();
-
-        final List<String> packages = Lists.newArrayList();
-        packages.addAll(AppManifest.Registry.FRAMEWORK_PROVIDED_SERVICES);
-        Iterables.addAll(packages, packageNameList);
-
-        Vfs.setDefaultURLTypes(ClassDiscoveryServiceUsingReflections.getUrlTypes());
-
-        final Reflections reflections = new Reflections(packages);
-        final Set<Class<?>> domainServiceTypes = reflections.getTypesAnnotatedWith(DomainService.class);
-        final Set<Class<?>> persistenceCapableTypes = reflections.getTypesAnnotatedWith(PersistenceCapable.class);
-        final Set<Class<? extends FixtureScript>> fixtureScriptTypes = reflections.getSubTypesOf(FixtureScript.class);
-
-        final Set<Class<?>> mixinTypes = Sets.newHashSet();
-        mixinTypes.addAll(reflections.getTypesAnnotatedWith(Mixin.class));
-        final Set<Class<?>> domainObjectTypes = reflections.getTypesAnnotatedWith(DomainObject.class);
-        mixinTypes.addAll(
-                Lists.newArrayList(Iterables.filter(domainObjectTypes, new Predicate<Class<?>>() {
-                    @Override
-                    public boolean apply(@Nullable final Class<?> input) {
-                        if(input == null) { return false; }
-                        final DomainObject annotation = input.getAnnotation(DomainObject.class);
-                        return annotation.nature() == Nature.MIXIN;
-                    }
-                }))
-        );
+        final List<String> packages = ClassIndex.packagesFor(appManifest);
 
-        registry.setDomainServiceTypes(domainServiceTypes);
-        registry.setPersistenceCapableTypes(persistenceCapableTypes);
-        registry.setFixtureScriptTypes(fixtureScriptTypes);
-        registry.setMixinTypes(mixinTypes);
+        try (BootTimeline.Phase phase = BootTimeline.instance().start("findAndRegisterTypes")) {
+            ClassIndex classIndex = null;
+            if(configuration.getBoolean(SystemConstants.CLASS_INDEX_KEY, SystemConstants.CLASS_INDEX_DEFAULT)) {
+                classIndex = ClassIndex.read(packages, Thread.currentThread().getContextClassLoader());
+            }
+            if(classIndex == null) {
+                classIndex = ClassIndex.scan(packages);
+            }
+
+            classIndex.registerWith(AppManifest.Registry.instance());
+        }
     }
 
 
@@ -180,13 +151,8 @@ private void specifyServicesAndRegisteredEntitiesUsing(final AppManifest appMani
     }
 
     private Iterable<String> modulePackageNamesFrom(final AppManifest appManifest) {
-        List<Class<?>> modules = appManifest.getModules();
-        if (modules == null || modules.isEmpty()) {
-            throw new IllegalArgumentException(
-                    "If an appManifest is provided then it must return a non-empty set of modules");
-        }
-
-        return Iterables.transform(modules, ClassUtil.Functions.packageNameOf());
+        final List<String> packages = ClassIndex.packagesFor(appManifest);
+        return packages.subList(AppManifest.Registry.FRAMEWORK_PROVIDED_SERVICES.size(), packages.size());
     }
 
     protected String classNamesFrom(final List<?> objectsOrClasses) {
@@ -19,16 +19,21 @@
 
 package org.apache.isis.objectstore.jdo.datanucleus;
 
+import com.google.common.base.Objects;
+
 import org.datanucleus.ExecutionContext;
 import org.datanucleus.cache.CachedPC;
 import org.datanucleus.enhancement.Persistable;
 import org.datanucleus.metadata.AbstractClassMetaData;
+import org.datanucleus.state.LifeCycleState;
 import org.datanucleus.state.ReferentialStateManagerImpl;
 import org.datanucleus.store.FieldValues;
 import org.datanucleus.store.fieldmanager.FieldManager;
 
 import org.apache.isis.core.metamodel.services.ServicesInjector;
 import org.apache.isis.core.runtime.system.context.IsisContext;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+import org.apache.isis.core.runtime.system.session.IsisSession;
 import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
 
 public class JDOStateManagerForIsis extends ReferentialStateManagerImpl {
@@ -201,6 +206,108 @@ public void replaceNonLoadedFields(int fieldNumbers[], FieldManager fm) {
         }
     }
 
+    /**
+     * Whether the specified pojo is managed by this state manager, and so the pre-modification values of its fields
+     * are {@link PersistenceSession#enlistUpdatingField(Persistable, String, Object) enlisted} as they are changed.
+     */
+    public static boolean isTrackingChangedFields(final Persistable pojo) {
+        return pojo.dnGetStateManager() instanceof JDOStateManagerForIsis;
+    }
+
+    @Override
+    public void setBooleanField(Persistable pc, int fieldNumber, boolean currentValue, boolean newValue) {
+        enlistUpdatingFieldIfChanged(fieldNumber, currentValue, newValue);
+        super.setBooleanField(pc, fieldNumber, currentValue, newValue);
+    }
+
+    @Override
+    public void setByteField(Persistable pc, int fieldNumber, byte currentValue, byte newValue) {
+        enlistUpdatingFieldIfChanged(fieldNumber, currentValue, newValue);
+        super.setByteField(pc, fieldNumber, currentValue, newValue);
+    }
+
+    @Override
+    public void setCharField(Persistable pc, int fieldNumber, char currentValue, char newValue) {
+        enlistUpdatingFieldIfChanged(fieldNumber, currentValue, newValue);
+        super.setCharField(pc, fieldNumber, currentValue, newValue);
+    }
+
+    @Override
+    public void setDoubleField(Persistable pc, int fieldNumber, double currentValue, double newValue) {
+        enlistUpdatingFieldIfChanged(fieldNumber, currentValue, newValue);
+        super.setDoubleField(pc, fieldNumber, currentValue, newValue);
+    }
+
+    @Override
+    public void setFloatField(Persistable pc, int fieldNumber, float currentValue, float newValue) {
+        enlistUpdatingFieldIfChanged(fieldNumber, currentValue, newValue);
+        super.setFloatField(pc, fieldNumber, currentValue, newValue);
+    }
+
+    @Override
+    public void setIntField(Persistable pc, int fieldNumber, int currentValue, int newValue) {
+        enlistUpdatingFieldIfChanged(fieldNumber, currentValue, newValue);
+        super.setIntField(pc, fieldNumber, currentValue, newValue);
+    }
+
+    @Override
+    public void setLongField(Persistable pc, int fieldNumber, long currentValue, long newValue) {
+        enlistUpdatingFieldIfChanged(fieldNumber, currentValue, newValue);
+        super.setLongField(pc, fieldNumber, currentValue, newValue);
+    }
+
+    @Override
+    public void setShortField(Persistable pc, int fieldNumber, short currentValue, short newValue) {
+        enlistUpdatingFieldIfChanged(fieldNumber, currentValue, newValue);
+        super.setShortField(pc, fieldNumber, currentValue, newValue);
+    }
+
+    @Override
+    public void setStringField(Persistable pc, int fieldNumber, String currentValue, String newValue) {
+        enlistUpdatingFieldIfChanged(fieldNumber, currentValue, newValue);
+        super.setStringField(pc, fieldNumber, currentValue, newValue);
+    }
+
+    @Override
+    public void setObjectField(Persistable pc, int fieldNumber, Object currentValue, Object newValue) {
+        enlistUpdatingFieldIfChanged(fieldNumber, currentValue, newValue);
+        super.setObjectField(pc, fieldNumber, currentValue, newValue);
+    }
+
+    /**
+     * Called before the field is written (and so before DataNucleus fires the <tt>preDirty</tt> callback), while the
+     * pre-modification value is still available.
+     *
+     * <p>
+     *     Only applies to objects that were already persistent at the start of the transaction; the changes to
+     *     new objects are captured when they are stored, and those of deleted objects when they are deleted.
+     *     If the field has not been loaded (so that <tt>currentValue</tt> is just the field's default) then it is
+     *     loaded first; this is the only field loaded, rather than every property of the object.
+     * </p>
+     */
+    private void enlistUpdatingFieldIfChanged(final int fieldNumber, final Object currentValue, final Object newValue) {
+        final LifeCycleState lifecycleState = getLifecycleState();
+        if(lifecycleState == null || !lifecycleState.isPersistent() || lifecycleState.isNew() || lifecycleState.isDeleted()) {
+            return;
+        }
+        final Object preValue;
+        if(isLoaded(fieldNumber)) {
+            preValue = currentValue;
+        } else {
+            loadField(fieldNumber);
+            preValue = provideField(fieldNumber);
+        }
+        if(Objects.equal(preValue, newValue)) {
+            return;
+        }
+        final PersistenceSession persistenceSession = getPersistenceSessionIfAny();
+        if(persistenceSession == null) {
+            return;
+        }
+        final String fieldName = getClassMetaData().getMetaDataForManagedMemberAtAbsolutePosition(fieldNumber).getName();
+        persistenceSession.enlistUpdatingField(myPC, fieldName, preValue);
+    }
+
     public void postCommit(org.datanucleus.Transaction tx) {
         final Hint previous = hint.get();
         try {
@@ -222,4 +329,10 @@ protected ServicesInjector getServicesInjector() {
     IsisSessionFactory getSessionFactory() {
         return IsisContext.getSessionFactory();
     }
+
+    PersistenceSession getPersistenceSessionIfAny() {
+        final IsisSessionFactory sessionFactory = getSessionFactory();
+        final IsisSession session = sessionFactory != null ? sessionFactory.getCurrentSession() : null;
+        return session != null ? session.getPersistenceSession() : null;
+    }
 }
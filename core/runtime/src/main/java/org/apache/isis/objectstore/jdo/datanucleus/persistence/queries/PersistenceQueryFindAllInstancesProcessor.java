@@ -18,6 +18,7 @@
  */
 package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
 
+import java.util.Collection;
 import java.util.List;
 
 import javax.jdo.Query;
@@ -25,7 +26,9 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.apache.isis.applib.services.repository.QueryResultsStream;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.services.container.query.QueryCardinality;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
 import org.apache.isis.core.runtime.persistence.query.PersistenceQueryFindAllInstances;
 import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
@@ -40,23 +43,57 @@ public PersistenceQueryFindAllInstancesProcessor(final PersistenceSession persis
 
     public List<ObjectAdapter> process(final PersistenceQueryFindAllInstances persistenceQuery) {
 
-        final ObjectSpecification specification = persistenceQuery.getSpecification();
-        
-        Class<?> cls = specification.getCorrespondingClass();
-        final Query jdoQuery = persistenceSession.newJdoQuery(cls);
-        
-        // http://www.datanucleus.org/servlet/jira/browse/NUCCORE-1103
-        jdoQuery.addExtension("datanucleus.multivaluedFetch", "none");
-        
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("allInstances(): class=" + specification.getFullIdentifier());
+        final Query jdoQuery = newJdoQuery(persistenceQuery);
+        final QueryCardinality cardinality = persistenceQuery.getCardinality();
+        if(cardinality.isLimited() || persistenceQuery.hasRange()) {
+            jdoQuery.setRange(
+                    persistenceQuery.getStart(),
+                    cardinality.rangeEnd(persistenceQuery.getStart(), persistenceQuery.getEnd()));
         }
 
         try {
             final List<?> pojos = (List<?>) jdoQuery.execute();
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("fetched " + pojos.size() + " row(s) (cardinality: " + cardinality + ")");
+            }
             return loadAdapters(pojos);
         } finally {
             jdoQuery.closeAll();
         }
     }
+
+    public QueryResultsStream<ObjectAdapter> stream(
+            final PersistenceQueryFindAllInstances persistenceQuery,
+            final int fetchSize,
+            final QueryResultsStream.EvictionPolicy evictionPolicy) {
+
+        final Query jdoQuery = newJdoQuery(persistenceQuery);
+        if(persistenceQuery.hasRange()) {
+            jdoQuery.setRange(persistenceQuery.getStart(), persistenceQuery.getEnd());
+        }
+        configureForStreaming(jdoQuery, fetchSize);
+
+        try {
+            final Collection<?> pojos = (Collection<?>) jdoQuery.execute();
+            return streamOf(jdoQuery, pojos, evictionPolicy);
+        } catch(final RuntimeException ex) {
+            jdoQuery.closeAll();
+            throw ex;
+        }
+    }
+
+    private Query newJdoQuery(final PersistenceQueryFindAllInstances persistenceQuery) {
+        final ObjectSpecification specification = persistenceQuery.getSpecification();
+
+        Class<?> cls = specification.getCorrespondingClass();
+        final Query jdoQuery = persistenceSession.newJdoQuery(cls);
+
+        // http://www.datanucleus.org/servlet/jira/browse/NUCCORE-1103
+        jdoQuery.addExtension("datanucleus.multivaluedFetch", "none");
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("allInstances(): class=" + specification.getFullIdentifier());
+        }
+        return jdoQuery;
+    }
 }
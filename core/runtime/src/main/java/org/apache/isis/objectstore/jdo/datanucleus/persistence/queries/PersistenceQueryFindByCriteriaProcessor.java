@@ -0,0 +1,203 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import javax.jdo.Query;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.datanucleus.ExecutionContext;
+import org.datanucleus.api.jdo.JDOPersistenceManager;
+import org.datanucleus.metadata.AbstractClassMetaData;
+import org.datanucleus.metadata.AbstractMemberMetaData;
+import org.datanucleus.metadata.FieldPersistenceModifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.applib.query.QueryFindByCriteria;
+import org.apache.isis.applib.services.repository.QueryResultsStream;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.services.container.query.QueryCardinality;
+import org.apache.isis.core.runtime.persistence.query.PersistenceQueryFindByCriteria;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+
+/**
+ * Translates a {@link PersistenceQueryFindByCriteria} into JDOQL, so that the filtering, ordering and range are
+ * all performed by the database.
+ */
+public class PersistenceQueryFindByCriteriaProcessor extends PersistenceQueryProcessorAbstract<PersistenceQueryFindByCriteria> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PersistenceQueryFindByCriteriaProcessor.class);
+
+    public PersistenceQueryFindByCriteriaProcessor(final PersistenceSession persistenceSession) {
+        super(persistenceSession);
+    }
+
+    public List<ObjectAdapter> process(final PersistenceQueryFindByCriteria persistenceQuery) {
+
+        final Map<String, Object> argumentsByParameterName = Maps.newHashMap();
+        final Query jdoQuery = newJdoQuery(persistenceQuery, argumentsByParameterName);
+        final QueryCardinality cardinality = persistenceQuery.getCardinality();
+        if(cardinality.isLimited()) {
+            jdoQuery.setRange(
+                    persistenceQuery.getStart(),
+                    cardinality.rangeEnd(persistenceQuery.getStart(), persistenceQuery.getEnd()));
+        }
+
+        try {
+            final List<?> pojos = Lists.newArrayList((List<?>) jdoQuery.executeWithMap(argumentsByParameterName));
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("fetched " + pojos.size() + " row(s) (cardinality: " + cardinality + ")");
+            }
+            return loadAdapters(pojos);
+        } finally {
+            jdoQuery.closeAll();
+        }
+    }
+
+    public QueryResultsStream<ObjectAdapter> stream(
+            final PersistenceQueryFindByCriteria persistenceQuery,
+            final int fetchSize,
+            final QueryResultsStream.EvictionPolicy evictionPolicy) {
+
+        final Map<String, Object> argumentsByParameterName = Maps.newHashMap();
+        final Query jdoQuery = newJdoQuery(persistenceQuery, argumentsByParameterName);
+        configureForStreaming(jdoQuery, fetchSize);
+
+        try {
+            final Collection<?> pojos = (Collection<?>) jdoQuery.executeWithMap(argumentsByParameterName);
+            return streamOf(jdoQuery, pojos, evictionPolicy);
+        } catch(final RuntimeException ex) {
+            jdoQuery.closeAll();
+            throw ex;
+        }
+    }
+
+    /**
+     * @param argumentsByParameterName - populated with the arguments of the (implicit) parameters of the filter.
+     * @throws IllegalArgumentException if any of the criteria or orderings does not refer to a persistent field of
+     * the class, as per its JDO metadata.
+     */
+    private Query newJdoQuery(
+            final PersistenceQueryFindByCriteria persistenceQuery,
+            final Map<String, Object> argumentsByParameterName) {
+
+        final Class<?> cls = persistenceQuery.getSpecification().getCorrespondingClass();
+        final AbstractClassMetaData classMetaData = metaDataFor(cls);
+
+        final StringBuilder filter = new StringBuilder();
+        for (final PersistenceQueryFindByCriteria.Criterion criterion : persistenceQuery.getCriteria()) {
+            if(filter.length() > 0) {
+                filter.append(" && ");
+            }
+            final String fieldName = persistentFieldNameFor(classMetaData, cls, criterion.getProperty().getId());
+            final Object value = criterion.getValue();
+            filter.append(fieldName).append(' ').append(jdoqlOperatorFor(criterion.getOperator())).append(' ');
+            if(value == null) {
+                filter.append("null");
+            } else {
+                final String parameterName = "p" + argumentsByParameterName.size();
+                filter.append(':').append(parameterName);
+                argumentsByParameterName.put(parameterName, value);
+            }
+        }
+
+        final Query jdoQuery = filter.length() > 0
+                ? persistenceSession.newJdoQuery(cls, filter.toString())
+                : persistenceSession.newJdoQuery(cls);
+
+        // http://www.datanucleus.org/servlet/jira/browse/NUCCORE-1103
+        jdoQuery.addExtension("datanucleus.multivaluedFetch", "none");
+
+        final StringBuilder ordering = new StringBuilder();
+        for (final PersistenceQueryFindByCriteria.Ordering each : persistenceQuery.getOrderings()) {
+            if(ordering.length() > 0) {
+                ordering.append(", ");
+            }
+            final String fieldName = persistentFieldNameFor(classMetaData, cls, each.getProperty().getId());
+            ordering.append(fieldName).append(each.isAscending() ? " ascending" : " descending");
+        }
+        if(ordering.length() > 0) {
+            jdoQuery.setOrdering(ordering.toString());
+        }
+
+        if(persistenceQuery.hasRange()) {
+            jdoQuery.setRange(persistenceQuery.getStart(), persistenceQuery.getEnd());
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(cls.getName() + " where " + filter + " order by " + ordering + " ( " + argumentsByParameterName + " )");
+        }
+        return jdoQuery;
+    }
+
+    AbstractClassMetaData metaDataFor(final Class<?> cls) {
+        final ExecutionContext executionContext =
+                ((JDOPersistenceManager) persistenceSession.getPersistenceManager()).getExecutionContext();
+        return executionContext.getMetaDataManager().getMetaDataForClass(
+                cls, executionContext.getClassLoaderResolver());
+    }
+
+    /**
+     * The Isis property id is derived from the getter, whereas JDOQL refers to the field; the two coincide for
+     * properties backed by a like-named persistent field, which is what we check here (rather than let a derived
+     * or non-persistent property surface as an obscure JDOQL error when the query is executed).
+     */
+    private static String persistentFieldNameFor(
+            final AbstractClassMetaData classMetaData,
+            final Class<?> cls,
+            final String propertyId) {
+        if(classMetaData == null) {
+            throw new IllegalArgumentException(String.format(
+                    "'%s' is not persistence-capable", cls.getName()));
+        }
+        final AbstractMemberMetaData memberMetaData = classMetaData.getMetaDataForMember(propertyId);
+        if(memberMetaData == null ||
+                memberMetaData.getPersistenceModifier() != FieldPersistenceModifier.PERSISTENT) {
+            throw new IllegalArgumentException(String.format(
+                    "'%s' of '%s' is not a persistent field", propertyId, cls.getName()));
+        }
+        return memberMetaData.getName();
+    }
+
+    private static String jdoqlOperatorFor(final QueryFindByCriteria.Operator operator) {
+        switch (operator) {
+        case EQUAL:
+            return "==";
+        case NOT_EQUAL:
+            return "!=";
+        case LESS_THAN:
+            return "<";
+        case LESS_THAN_OR_EQUAL:
+            return "<=";
+        case GREATER_THAN:
+            return ">";
+        case GREATER_THAN_OR_EQUAL:
+            return ">=";
+        default:
+            throw new IllegalArgumentException("Unsupported operator: " + operator);
+        }
+    }
+
+}
@@ -18,7 +18,7 @@
  */
 package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
 
-import java.util.Collections;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -30,6 +30,7 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.apache.isis.applib.services.repository.QueryResultsStream;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.services.container.query.QueryCardinality;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
@@ -60,6 +61,32 @@ public List<ObjectAdapter> process(final PersistenceQueryFindUsingApplibQueryDef
         return loadAdapters(results);
     }
 
+    public QueryResultsStream<ObjectAdapter> stream(
+            final PersistenceQueryFindUsingApplibQueryDefault persistenceQuery,
+            final int fetchSize,
+            final QueryResultsStream.EvictionPolicy evictionPolicy) {
+        final String queryName = persistenceQuery.getQueryName();
+        final ObjectSpecification objectSpec = persistenceQuery.getSpecification();
+
+        if((objectSpec.getFullIdentifier() + "#pk").equals(queryName)) {
+            // at most one result anyway
+            return streamOf(null, getResultsPk(persistenceQuery), evictionPolicy);
+        }
+
+        final Map<String, Object> argumentsByParameterName = unwrap(
+                persistenceQuery.getArgumentsAdaptersByParameterName());
+        final Query jdoQuery = newJdoNamedQuery(persistenceQuery, argumentsByParameterName);
+        configureForStreaming(jdoQuery, fetchSize);
+
+        try {
+            final Collection<?> results = (Collection<?>) jdoQuery.executeWithMap(argumentsByParameterName);
+            return streamOf(jdoQuery, results, evictionPolicy);
+        } catch(final RuntimeException ex) {
+            jdoQuery.closeAll();
+            throw ex;
+        }
+    }
+
     // special case handling
     private List<?> getResultsPk(final PersistenceQueryFindUsingApplibQueryDefault persistenceQuery) {
 
@@ -93,38 +120,50 @@ private List<?> getResultsPk(final PersistenceQueryFindUsingApplibQueryDefault p
 
     private List<?> getResults(final PersistenceQueryFindUsingApplibQueryDefault persistenceQuery) {
         
-        final String queryName = persistenceQuery.getQueryName();
         final Map<String, Object> argumentsByParameterName = unwrap(
                 persistenceQuery.getArgumentsAdaptersByParameterName());
         final QueryCardinality cardinality = persistenceQuery.getCardinality();
+        final Query jdoQuery = newJdoNamedQuery(persistenceQuery, argumentsByParameterName);
+        if(cardinality.isLimited()) {
+            // only fetch as many rows as are needed; any ordering is still applied by the database
+            jdoQuery.setRange(
+                    persistenceQuery.getStart(),
+                    cardinality.rangeEnd(persistenceQuery.getStart(), persistenceQuery.getEnd()));
+        }
+
+        try {
+            final List<?> results = (List<?>) jdoQuery.executeWithMap(argumentsByParameterName);
+            final List<?> resultsToReturn = Lists.newArrayList(results);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("fetched " + resultsToReturn.size() + " row(s) (cardinality: " + cardinality + ")");
+            }
+            return resultsToReturn;
+        } finally {
+            jdoQuery.closeAll();
+        }
+    }
+
+    private Query newJdoNamedQuery(
+            final PersistenceQueryFindUsingApplibQueryDefault persistenceQuery,
+            final Map<String, Object> argumentsByParameterName) {
+
+        final String queryName = persistenceQuery.getQueryName();
         final ObjectSpecification objectSpec = persistenceQuery.getSpecification();
 
         final Class<?> cls = objectSpec.getCorrespondingClass();
         final Query jdoQuery = persistenceSession.newJdoNamedQuery(cls, queryName);
-        
+
         // http://www.datanucleus.org/servlet/jira/browse/NUCCORE-1103
         jdoQuery.addExtension("datanucleus.multivaluedFetch", "none");
-        
+
         if(persistenceQuery.hasRange()) {
             jdoQuery.setRange(persistenceQuery.getStart(), persistenceQuery.getEnd());
         }
-        
+
         if (LOG.isDebugEnabled()) {
             LOG.debug(cls.getName() + " # " + queryName + " ( " + argumentsByParameterName + " )");
         }
-        
-        try {
-            final List<?> results = (List<?>) jdoQuery.executeWithMap(argumentsByParameterName);
-            final List<?> resultsToReturn =
-                    cardinality == QueryCardinality.MULTIPLE
-                            ? results
-                            : results.isEmpty()
-                                ? Collections.emptyList()
-                                : results.subList(0, 1);
-            return Lists.newArrayList(resultsToReturn);
-        } finally {
-            jdoQuery.closeAll();
-        }
+        return jdoQuery;
     }
 
     private static Map<String, Object> unwrap(final Map<String, ObjectAdapter> argumentAdaptersByParameterName) {
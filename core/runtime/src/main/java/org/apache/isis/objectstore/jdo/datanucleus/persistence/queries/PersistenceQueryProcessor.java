@@ -20,11 +20,18 @@
 
 import java.util.List;
 
+import org.apache.isis.applib.services.repository.QueryResultsStream;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.runtime.system.persistence.PersistenceQuery;
 
 public interface PersistenceQueryProcessor<T extends PersistenceQuery> {
 	List<ObjectAdapter> process(T query);
+
+	/**
+	 * As per {@link #process(PersistenceQuery)}, but with the results loaded lazily (<tt>fetchSize</tt> at a time)
+	 * as they are iterated over.  The caller is responsible for closing the returned stream.
+	 */
+	QueryResultsStream<ObjectAdapter> stream(T query, int fetchSize, QueryResultsStream.EvictionPolicy evictionPolicy);
 }
 
 // Copyright (c) Naked Objects Group Ltd.
@@ -18,14 +18,17 @@
  */
 package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
 
+import java.util.Collection;
 import java.util.List;
 
+import javax.jdo.Query;
 import javax.jdo.listener.InstanceLifecycleEvent;
 
 import com.google.common.collect.Lists;
 
 import org.datanucleus.enhancement.Persistable;
 
+import org.apache.isis.applib.services.repository.QueryResultsStream;
 import org.apache.isis.core.commons.ensure.Assert;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.runtime.system.persistence.PersistenceQuery;
@@ -51,22 +54,47 @@ protected PersistenceQueryProcessorAbstract(final PersistenceSession persistence
     protected List<ObjectAdapter> loadAdapters(final List<?> pojos) {
         final List<ObjectAdapter> adapters = Lists.newArrayList();
         for (final Object pojo : pojos) {
-        	// ought not to be necessary, however for some queries it seems that the 
-        	// lifecycle listener is not called
-            ObjectAdapter adapter;
-            if(pojo instanceof Persistable) {
-                // an entity
-                persistenceSession.initializeMapAndCheckConcurrency((Persistable) pojo);
-                adapter = persistenceSession.getAdapterFor(pojo);
-            } else {
-                // a value type
-                adapter = persistenceSession.adapterFor(pojo);
-            }
-            Assert.assertNotNull(adapter);
-            adapters.add(adapter);
+            adapters.add(loadAdapter(pojo));
         }
         return adapters;
     }
 
+    ObjectAdapter loadAdapter(final Object pojo) {
+        // ought not to be necessary, however for some queries it seems that the
+        // lifecycle listener is not called
+        ObjectAdapter adapter;
+        if(pojo instanceof Persistable) {
+            // an entity
+            persistenceSession.initializeMapAndCheckConcurrency((Persistable) pojo);
+            adapter = persistenceSession.getAdapterFor(pojo);
+        } else {
+            // a value type
+            adapter = persistenceSession.adapterFor(pojo);
+        }
+        Assert.assertNotNull(adapter);
+        return adapter;
+    }
+
+    /**
+     * Configures the query so that its results are fetched from the database <tt>fetchSize</tt> at a time as they are
+     * iterated over, and are not retained by the query once iterated over.
+     */
+    protected static void configureForStreaming(final Query jdoQuery, final int fetchSize) {
+        jdoQuery.getFetchPlan().setFetchSize(fetchSize);
+        jdoQuery.addExtension("datanucleus.query.resultCacheType", "none");
+        jdoQuery.addExtension("datanucleus.query.loadResultsAtCommit", "false");
+        jdoQuery.addExtension("datanucleus.rdbms.query.resultSetType", "forward-only");
+    }
+
+    /**
+     * The (lazily loaded) results of an executed (and {@link #configureForStreaming(Query, int) configured}) query.
+     */
+    protected QueryResultsStream<ObjectAdapter> streamOf(
+            final Query jdoQuery,
+            final Collection<?> pojos,
+            final QueryResultsStream.EvictionPolicy evictionPolicy) {
+        return new PersistenceQueryResultsStream(this, jdoQuery, pojos, evictionPolicy);
+    }
+
 
 }
@@ -0,0 +1,122 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import javax.jdo.Query;
+
+import org.apache.isis.applib.services.repository.QueryResultsStream;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+
+/**
+ * Maps the adapter of each pojo only as it is iterated over and, if {@link QueryResultsStream.EvictionPolicy#EVICT
+ * requested}, {@link org.apache.isis.core.runtime.system.persistence.PersistenceSession#evict(ObjectAdapter) evicts}
+ * it again once the next is iterated over (or the stream is closed).
+ *
+ * <p>
+ *     Only those pojos that were mapped by the stream itself are evicted; any pojo that was already mapped (because
+ *     it is referenced elsewhere in the session) is left as it was.
+ * </p>
+ */
+class PersistenceQueryResultsStream implements QueryResultsStream<ObjectAdapter> {
+
+    private final PersistenceQueryProcessorAbstract<?> processor;
+    private final Query jdoQuery;
+    private final Collection<?> pojos;
+    private final EvictionPolicy evictionPolicy;
+
+    private boolean iterated;
+    private boolean closed;
+    private ObjectAdapter previous;
+    /**
+     * Whether the {@link #previous} adapter was mapped by this stream (rather than already being mapped beforehand).
+     */
+    private boolean previousMappedByStream;
+
+    PersistenceQueryResultsStream(
+            final PersistenceQueryProcessorAbstract<?> processor,
+            final Query jdoQuery,
+            final Collection<?> pojos,
+            final EvictionPolicy evictionPolicy) {
+        this.processor = processor;
+        this.jdoQuery = jdoQuery;
+        this.pojos = pojos;
+        this.evictionPolicy = evictionPolicy;
+    }
+
+    @Override
+    public Iterator<ObjectAdapter> iterator() {
+        if(iterated) {
+            throw new IllegalStateException("Query results may only be iterated over once");
+        }
+        if(closed) {
+            throw new IllegalStateException("Query results have been closed");
+        }
+        iterated = true;
+
+        final Iterator<?> pojoIterator = pojos.iterator();
+        return new Iterator<ObjectAdapter>() {
+            @Override
+            public boolean hasNext() {
+                return !closed && pojoIterator.hasNext();
+            }
+
+            @Override
+            public ObjectAdapter next() {
+                if(closed) {
+                    throw new NoSuchElementException();
+                }
+                final Object pojo = pojoIterator.next();
+                evictPreviousIfRequired();
+                previousMappedByStream = processor.persistenceSession.getAdapterFor(pojo) == null;
+                previous = processor.loadAdapter(pojo);
+                return previous;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    private void evictPreviousIfRequired() {
+        if(previous != null && previousMappedByStream && evictionPolicy == EvictionPolicy.EVICT) {
+            processor.persistenceSession.evict(previous);
+        }
+        previous = null;
+    }
+
+    @Override
+    public void close() {
+        if(closed) {
+            return;
+        }
+        closed = true;
+        evictPreviousIfRequired();
+        if(jdoQuery != null) {
+            jdoQuery.closeAll();
+        }
+    }
+
+}
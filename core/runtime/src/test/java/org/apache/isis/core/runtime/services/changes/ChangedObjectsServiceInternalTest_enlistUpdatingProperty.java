@@ -0,0 +1,179 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.changes;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.Iterables;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ChangedObjectsServiceInternalTest_enlistUpdatingProperty {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private ObjectAdapter mockAdapter;
+    @Mock
+    private ObjectSpecification mockSpecification;
+    @Mock
+    private ObjectAssociation mockNameProperty;
+    @Mock
+    private ObjectAssociation mockAddressProperty;
+    @Mock
+    private ObjectAdapter mockNameAdapter;
+    @Mock
+    private ObjectAdapter mockAddressAdapter;
+
+    static class Customer {}
+
+    private ChangedObjectsServiceInternal service;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockAdapter).getSpecification();
+            will(returnValue(mockSpecification));
+
+            allowing(mockAdapter).getOid();
+            will(returnValue(RootOid.create(ObjectSpecId.of("CUS"), "1")));
+
+            allowing(mockAdapter).isDestroyed();
+            will(returnValue(false));
+
+            allowing(mockSpecification).getCorrespondingClass();
+            will(returnValue(Customer.class));
+
+            allowing(mockSpecification).getAssociations(Contributed.EXCLUDED, ObjectAssociation.Filters.PROPERTIES);
+            will(returnValue(Arrays.asList(mockNameProperty, mockAddressProperty)));
+
+            // throws if there is no such association (and, if not in production, invalidates the spec)
+            never(mockSpecification).getAssociation(with(any(String.class)));
+
+            allowing(mockNameProperty).getId();
+            will(returnValue("name"));
+            allowing(mockNameProperty).isOneToOneAssociation();
+            will(returnValue(true));
+            allowing(mockNameProperty).isNotPersisted();
+            will(returnValue(false));
+            allowing(mockNameProperty).get(mockAdapter, InteractionInitiatedBy.FRAMEWORK);
+            will(returnValue(mockNameAdapter));
+
+            allowing(mockNameAdapter).getObject();
+            will(returnValue("Joe"));
+
+            allowing(mockAddressProperty).getId();
+            will(returnValue("address"));
+            allowing(mockAddressProperty).isNotPersisted();
+            will(returnValue(false));
+
+            allowing(mockAddressAdapter).getObject();
+            will(returnValue("1 High Street"));
+        }});
+
+        service = new ChangedObjectsServiceInternal();
+    }
+
+    @Test
+    public void only_reads_the_property_that_changed() throws Exception {
+
+        // expect
+        context.checking(new Expectations() {{
+            never(mockAddressProperty).get(mockAdapter, InteractionInitiatedBy.FRAMEWORK);
+        }});
+
+        // when
+        service.enlistUpdatingObject(mockAdapter);
+        service.enlistUpdatingProperty(mockAdapter, "name", "Fred");
+
+        // then
+        final Set<Map.Entry<AdapterAndProperty, PreAndPostValues>> changed = service.getChangedObjectProperties();
+        assertThat(changed.size(), is(1));
+
+        final Map.Entry<AdapterAndProperty, PreAndPostValues> entry = Iterables.getOnlyElement(changed);
+        assertThat(entry.getKey().getPropertyId(), is("name"));
+        assertThat(entry.getValue().getPre(), is((Object) "Fred"));
+        assertThat(entry.getValue().getPost(), is((Object) "Joe"));
+
+        assertThat(service.isEnlisted(mockAdapter), is(true));
+    }
+
+    @Test
+    public void retains_the_first_pre_value() throws Exception {
+
+        // when
+        service.enlistUpdatingObject(mockAdapter);
+        service.enlistUpdatingProperty(mockAdapter, "name", "Fred");
+        service.enlistUpdatingProperty(mockAdapter, "name", "Bill");
+
+        // then
+        final PreAndPostValues papv = Iterables.getOnlyElement(service.getChangedObjectProperties()).getValue();
+        assertThat(papv.getPre(), is((Object) "Fred"));
+    }
+
+    @Test
+    public void does_not_enlist_for_publishing() throws Exception {
+
+        // when
+        service.enlistUpdatingProperty(mockAdapter, "name", "Fred");
+
+        // then
+        assertThat(service.isEnlisted(mockAdapter), is(false));
+    }
+
+    @Test
+    public void falls_back_to_all_properties_if_the_field_is_not_a_property() throws Exception {
+
+        // expect
+        context.checking(new Expectations() {{
+            allowing(mockAddressProperty).get(mockAdapter, InteractionInitiatedBy.FRAMEWORK);
+            will(returnValue(mockAddressAdapter));
+        }});
+
+        // when
+        service.enlistUpdatingObject(mockAdapter);
+        service.enlistUpdatingProperty(mockAdapter, "name", "Fred");
+        service.enlistUpdatingProperty(mockAdapter, "notAProperty", "whatever");
+
+        // then (the address is unchanged, and the name's pre-value was already enlisted)
+        final PreAndPostValues papv = Iterables.getOnlyElement(service.getChangedObjectProperties()).getValue();
+        assertThat(papv.getPre(), is((Object) "Fred"));
+    }
+
+}
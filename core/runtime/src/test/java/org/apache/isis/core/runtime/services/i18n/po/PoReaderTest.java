@@ -18,6 +18,7 @@
  */
 package org.apache.isis.core.runtime.services.i18n.po;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import com.google.common.collect.Lists;
@@ -32,6 +33,7 @@
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.junit.Assert.assertThat;
 
 public class PoReaderTest {
@@ -232,4 +234,78 @@ protected List<String> readPo(final Locale locale) {
        }
     }
 
+    public static class Reload extends PoReaderTest {
+
+        String msgStr;
+
+        @Before
+        public void setUpPoReader() throws Exception {
+            context.checking(new Expectations() {{
+                allowing(mockTranslationsResolver).readLines("translations.po");
+                will(returnValue(null));
+            }});
+
+            msgStr = "Objet d'art";
+            poReader = new PoReader(mockTranslationServicePo) {
+                @Override
+                protected List<String> readPo(final Locale locale) {
+                    final List<String> lines = Lists.newArrayList();
+                    lines.add("#: someContext");
+                    lines.add("msgid \"Work of art\"");
+                    lines.add(String.format("msgstr \"%s\"", msgStr));
+                    return lines;
+                }
+            };
+            poReader.init(Collections.singletonList(Locale.UK));
+        }
+
+        @Test
+        public void whenChanged() throws Exception {
+
+            // given
+            assertThat(poReader.translate("someContext", "Work of art"), is(equalTo("Objet d'art")));
+            final int version = poReader.getTranslationsVersion();
+
+            // when
+            msgStr = "Oeuvre d'art";
+            final boolean reloaded = poReader.reload(false);
+
+            // then
+            assertThat(reloaded, is(true));
+            assertThat(poReader.translate("someContext", "Work of art"), is(equalTo("Oeuvre d'art")));
+            assertThat(poReader.getTranslationsVersion(), is(not(equalTo(version))));
+        }
+
+        @Test
+        public void whenChangedButLinesHaveSameHashCode() throws Exception {
+
+            // given
+            msgStr = "Aa";
+            poReader.reload(true);
+            assertThat(poReader.translate("someContext", "Work of art"), is(equalTo("Aa")));
+
+            // when ("BB".hashCode() == "Aa".hashCode())
+            msgStr = "BB";
+            final boolean reloaded = poReader.reload(false);
+
+            // then
+            assertThat(reloaded, is(true));
+            assertThat(poReader.translate("someContext", "Work of art"), is(equalTo("BB")));
+        }
+
+        @Test
+        public void whenUnchanged() throws Exception {
+
+            // given
+            final int version = poReader.getTranslationsVersion();
+
+            // when
+            final boolean reloaded = poReader.reload(false);
+
+            // then
+            assertThat(reloaded, is(false));
+            assertThat(poReader.getTranslationsVersion(), is(equalTo(version)));
+        }
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,241 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.queryresultscache;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import com.google.common.collect.Sets;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.queryresultscache.QueryResultsCache;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.runtime.services.changes.ChangedObjectsServiceInternal;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class SharedQueryResultsCacheDefaultTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private SpecificationLoader mockSpecificationLoader;
+
+    @Mock
+    private ObjectSpecification mockValueSpecification;
+
+    static class Customer {}
+    static class PreferredCustomer extends Customer {}
+    static class TaxCode {}
+
+    private SharedQueryResultsCacheDefault cache;
+
+    /**
+     * The types of the objects changed in the "current" transaction.
+     */
+    private final Set<Class<?>> changedObjectTypes = Sets.newHashSet();
+
+    /**
+     * The number of times that the query has actually been run.
+     */
+    private int called;
+
+    private final Callable<String> query = new Callable<String>() {
+        @Override
+        public String call() throws Exception {
+            called++;
+            return "result";
+        }
+    };
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockSpecificationLoader).loadSpecification(String.class);
+            will(returnValue(mockValueSpecification));
+
+            allowing(mockValueSpecification).isValue();
+            will(returnValue(true));
+        }});
+
+        cache = newCache(new HashMap<String, String>());
+    }
+
+    private SharedQueryResultsCacheDefault newCache(final Map<String, String> properties) {
+        final SharedQueryResultsCacheDefault cache = new SharedQueryResultsCacheDefault();
+        cache.specificationLoader = mockSpecificationLoader;
+        cache.changedObjectsServiceInternal = new ChangedObjectsServiceInternal() {
+            @Override
+            public Set<Class<?>> getChangedObjectTypes() {
+                return changedObjectTypes;
+            }
+        };
+        cache.control = new QueryResultsCache.Control();
+        cache.init(properties);
+        return cache;
+    }
+
+    private static QueryResultsCache.Key keyFor(final String methodName) {
+        return new QueryResultsCache.Key(SharedQueryResultsCacheDefaultTest.class, methodName);
+    }
+
+    @Test
+    public void hit() throws Exception {
+        assertThat(cache.execute(query, keyFor("findCustomers"), Customer.class), is("result"));
+        assertThat(cache.execute(query, keyFor("findCustomers"), Customer.class), is("result"));
+
+        assertThat(called, is(1));
+        assertThat(cache.missCount(), is(1L));
+        assertThat(cache.hitCount(), is(1L));
+    }
+
+    @Test
+    public void invalidatedByChangeToDependentType() throws Exception {
+        cache.execute(query, keyFor("findCustomers"), Customer.class);
+
+        cache.invalidate(PreferredCustomer.class);
+        cache.execute(query, keyFor("findCustomers"), Customer.class);
+
+        assertThat(called, is(2));
+        assertThat(cache.invalidationCount(), is(1L));
+    }
+
+    @Test
+    public void notInvalidatedByChangeToOtherType() throws Exception {
+        cache.execute(query, keyFor("findCustomers"), Customer.class);
+
+        cache.invalidate(TaxCode.class);
+        cache.execute(query, keyFor("findCustomers"), Customer.class);
+
+        assertThat(called, is(1));
+        assertThat(cache.invalidationCount(), is(0L));
+    }
+
+    @Test
+    public void notCachedIfInvalidatedWhileQueryRunning() throws Exception {
+        final Callable<String> queryDuringCommit = new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                called++;
+                // as if another transaction committed a change while this query was running
+                cache.invalidate(PreferredCustomer.class);
+                return "result";
+            }
+        };
+
+        cache.execute(queryDuringCommit, keyFor("findCustomers"), Customer.class);
+
+        assertThat(cache.size(), is(0L));
+        cache.execute(query, keyFor("findCustomers"), Customer.class);
+        assertThat(called, is(2));
+    }
+
+    @Test
+    public void bypassedIfDependentTypeChangedInThisTransaction() throws Exception {
+        cache.execute(query, keyFor("findCustomers"), Customer.class);
+
+        changedObjectTypes.add(PreferredCustomer.class);
+        cache.execute(query, keyFor("findCustomers"), Customer.class);
+
+        assertThat(called, is(2));
+        assertThat(cache.hitCount(), is(0L));
+
+        // once the transaction completes (without committing changes to Customer), the cached result is used again
+        changedObjectTypes.clear();
+        cache.execute(query, keyFor("findCustomers"), Customer.class);
+
+        assertThat(called, is(2));
+        assertThat(cache.hitCount(), is(1L));
+    }
+
+    @Test
+    public void notCachedIfDependentTypeChangedInThisTransaction() throws Exception {
+        changedObjectTypes.add(Customer.class);
+        cache.execute(query, keyFor("findCustomers"), Customer.class);
+
+        assertThat(cache.size(), is(0L));
+    }
+
+    @Test
+    public void resultsThatAreNeitherValuesNorEntitiesAreNotCached() throws Exception {
+        final Callable<Customer> nonValueQuery = new Callable<Customer>() {
+            @Override
+            public Customer call() throws Exception {
+                called++;
+                return new Customer();
+            }
+        };
+        context.checking(new Expectations() {{
+            allowing(mockSpecificationLoader).loadSpecification(Customer.class);
+            will(returnValue(null));
+        }});
+
+        cache.execute(nonValueQuery, keyFor("newCustomer"));
+        cache.execute(nonValueQuery, keyFor("newCustomer"));
+
+        assertThat(called, is(2));
+        assertThat(cache.size(), is(0L));
+    }
+
+    @Test
+    public void emptyListIsCached() throws Exception {
+        final Callable<List<Customer>> emptyQuery = new Callable<List<Customer>>() {
+            @Override
+            public List<Customer> call() throws Exception {
+                called++;
+                return Collections.emptyList();
+            }
+        };
+
+        cache.execute(emptyQuery, keyFor("findNoCustomers"), Customer.class);
+        cache.execute(emptyQuery, keyFor("findNoCustomers"), Customer.class);
+
+        assertThat(called, is(1));
+    }
+
+    @Test
+    public void boundedBySize() throws Exception {
+        final Map<String, String> properties = new HashMap<>();
+        properties.put(SharedQueryResultsCacheDefault.KEY_MAX_SIZE, "2");
+        cache = newCache(properties);
+
+        for (int i = 0; i < 10; i++) {
+            cache.execute(query, keyFor("find" + i), Customer.class);
+        }
+
+        assertTrue(cache.size() <= 2);
+        assertTrue(cache.evictionCount() >= 8);
+    }
+
+}
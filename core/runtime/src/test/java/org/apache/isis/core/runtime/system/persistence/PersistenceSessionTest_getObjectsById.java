@@ -0,0 +1,167 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.system.persistence;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.jdo.JDODataStoreException;
+import javax.jdo.JDOObjectNotFoundException;
+import javax.jdo.PersistenceManager;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class PersistenceSessionTest_getObjectsById {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private PersistenceManager mockPersistenceManager;
+
+    private final Object[] pojos = new Object[3];
+
+    @Test
+    public void when_all_found() throws Exception {
+
+        // expect
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceManager).getObjectsById(true, new Object[] { "id1", "id2", "id3" });
+            will(returnValue(new Object[] { "pojo1", "pojo2", "pojo3" }));
+        }});
+
+        // when
+        final List<Integer> notFetched = getObjectsById("id1", "id2", "id3");
+
+        // then
+        assertThat(notFetched, is(Collections.<Integer>emptyList()));
+        assertThat(pojos, is(new Object[] { "pojo1", "pojo2", "pojo3" }));
+    }
+
+    @Test
+    public void when_duplicates() throws Exception {
+
+        // expect
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceManager).getObjectsById(true, new Object[] { "id1", "id2", "id1" });
+            will(returnValue(new Object[] { "pojo1", "pojo2", "pojo1" }));
+        }});
+
+        // when
+        final List<Integer> notFetched = getObjectsById("id1", "id2", "id1");
+
+        // then
+        assertThat(notFetched, is(Collections.<Integer>emptyList()));
+        assertThat(pojos, is(new Object[] { "pojo1", "pojo2", "pojo1" }));
+    }
+
+    @Test
+    public void when_one_is_missing_then_fetches_the_rest_in_bulk() throws Exception {
+
+        // expect
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceManager).getObjectsById(true, new Object[] { "id1", "id2", "id3" });
+            will(throwException(new JDOObjectNotFoundException("not found", "id2")));
+
+            oneOf(mockPersistenceManager).getObjectsById(true, new Object[] { "id1", "id3" });
+            will(returnValue(new Object[] { "pojo1", "pojo3" }));
+        }});
+
+        // when
+        final List<Integer> notFetched = getObjectsById("id1", "id2", "id3");
+
+        // then
+        assertThat(notFetched, is(Collections.<Integer>emptyList()));
+        assertThat(pojos, is(new Object[] { "pojo1", null, "pojo3" }));
+    }
+
+    @Test
+    public void when_several_are_missing() throws Exception {
+
+        // expect
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceManager).getObjectsById(true, new Object[] { "id1", "id2", "id3" });
+            will(throwException(new JDOObjectNotFoundException("not found", new Throwable[] {
+                    new JDOObjectNotFoundException("not found", "id1"),
+                    new JDOObjectNotFoundException("not found", "id3")
+            })));
+
+            oneOf(mockPersistenceManager).getObjectsById(true, new Object[] { "id2" });
+            will(returnValue(new Object[] { "pojo2" }));
+        }});
+
+        // when
+        final List<Integer> notFetched = getObjectsById("id1", "id2", "id3");
+
+        // then
+        assertThat(notFetched, is(Collections.<Integer>emptyList()));
+        assertThat(pojos, is(new Object[] { null, "pojo2", null }));
+    }
+
+    @Test
+    public void when_missing_cannot_be_identified() throws Exception {
+
+        // expect
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceManager).getObjectsById(true, new Object[] { "id1", "id2", "id3" });
+            will(throwException(new JDOObjectNotFoundException("not found")));
+        }});
+
+        // when
+        final List<Integer> notFetched = getObjectsById("id1", "id2", "id3");
+
+        // then
+        assertThat(notFetched, is(Arrays.asList(0, 1, 2)));
+    }
+
+    @Test
+    public void when_fails_for_other_reason_after_some_missing() throws Exception {
+
+        // expect
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceManager).getObjectsById(true, new Object[] { "id1", "id2", "id3" });
+            will(throwException(new JDOObjectNotFoundException("not found", "id1")));
+
+            oneOf(mockPersistenceManager).getObjectsById(true, new Object[] { "id2", "id3" });
+            will(throwException(new JDODataStoreException("connection lost")));
+        }});
+
+        // when
+        final List<Integer> notFetched = getObjectsById("id1", "id2", "id3");
+
+        // then
+        assertThat(notFetched, is(Arrays.asList(1, 2)));
+        assertThat(pojos[0] == null, is(true));
+    }
+
+    private List<Integer> getObjectsById(final Object... jdoObjectIds) {
+        return PersistenceSession.getObjectsById(mockPersistenceManager, jdoObjectIds, pojos);
+    }
+
+}
@@ -0,0 +1,147 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.system.persistence.adaptermanager;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class OpenAddressingAdapterMapTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    ObjectAdapter mockAdapter1;
+    @Mock
+    ObjectAdapter mockAdapter2;
+    @Mock
+    ObjectAdapter mockAdapter3;
+
+    ObjectAdapter[] adapters;
+
+    /**
+     * Deliberately poor hash, so that there are plenty of collisions (and clusters) to probe past and shift back.
+     */
+    static class CollidingMap extends OpenAddressingAdapterMap<Integer> {
+        CollidingMap() {
+            super(4);
+        }
+
+        @Override
+        int hashOf(final Integer key) {
+            return key % 5;
+        }
+
+        @Override
+        boolean isEqual(final Integer storedKey, final Integer key) {
+            return storedKey.equals(key);
+        }
+    }
+
+    CollidingMap map;
+
+    @Before
+    public void setUp() throws Exception {
+        adapters = new ObjectAdapter[] { mockAdapter1, mockAdapter2, mockAdapter3 };
+        map = new CollidingMap();
+    }
+
+    @Test
+    public void behaves_like_a_hash_map() throws Exception {
+        final Map<Integer, ObjectAdapter> expected = Maps.newHashMap();
+        final Random random = new Random(18L);
+
+        for (int i = 0; i < 20000; i++) {
+            final Integer key = random.nextInt(200);
+            final ObjectAdapter adapter = adapters[random.nextInt(adapters.length)];
+            switch (random.nextInt(4)) {
+            case 0:
+            case 1:
+                assertThat(map.put(key, adapter), is(expected.put(key, adapter)));
+                break;
+            case 2:
+                assertThat(map.remove(key), is(expected.remove(key)));
+                break;
+            default:
+                if(random.nextInt(500) == 0) {
+                    map.clear();
+                    expected.clear();
+                }
+            }
+            assertThat(map.size(), is(expected.size()));
+            assertThat(map.get(key), is(expected.get(key)));
+            assertThat(map.containsKey(key), is(expected.containsKey(key)));
+        }
+
+        for (int key = 0; key < 200; key++) {
+            assertThat(map.get(key), is(expected.get(key)));
+        }
+        assertThat(Sets.newHashSet(map.keyIterator()), is(expected.keySet()));
+    }
+
+    @Test
+    public void null_key() throws Exception {
+        assertThat(map.get(null), is(nullValue()));
+
+        map.put(null, mockAdapter1);
+        map.put(5, mockAdapter2);
+
+        assertThat(map.get(null), is(mockAdapter1));
+        assertThat(map.get(0), is(nullValue()));
+        assertThat(map.get(5), is(mockAdapter2));
+
+        final Iterator<Integer> iterator = map.keyIterator();
+        assertThat(Sets.newHashSet(iterator).contains(null), is(true));
+
+        assertThat(map.remove(null), is(mockAdapter1));
+        assertThat(map.get(null), is(nullValue()));
+        assertThat(map.get(5), is(mockAdapter2));
+    }
+
+    @Test
+    public void identity_keys() throws Exception {
+        final PojoAdapterHashMap pojoAdapterMap = new PojoAdapterHashMap();
+        final String pojo1 = new String("pojo");
+        final String pojo2 = new String("pojo");
+
+        pojoAdapterMap.add(pojo1, mockAdapter1);
+
+        assertThat(pojoAdapterMap.getAdapter(pojo1), is(mockAdapter1));
+        assertThat(pojoAdapterMap.getAdapter(pojo2), is(nullValue()));
+        assertThat(pojoAdapterMap.containsPojo(pojo2), is(false));
+    }
+
+}
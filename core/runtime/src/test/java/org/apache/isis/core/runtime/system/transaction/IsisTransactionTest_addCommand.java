@@ -0,0 +1,182 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.system.transaction;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.WithTransactionScope;
+import org.apache.isis.applib.services.queryresultscache.SharedQueryResultsCache;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.services.publishing.PublishingServiceInternal;
+import org.apache.isis.core.runtime.persistence.objectstore.transaction.CreateObjectCommand;
+import org.apache.isis.core.runtime.persistence.objectstore.transaction.DestroyObjectCommand;
+import org.apache.isis.core.runtime.persistence.objectstore.transaction.PersistenceCommand;
+import org.apache.isis.core.runtime.services.auditing.AuditingServiceInternal;
+import org.apache.isis.core.runtime.services.changes.ChangedObjectsServiceInternal;
+import org.apache.isis.core.runtime.services.persistsession.PersistenceSessionServiceInternalDefault;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+public class IsisTransactionTest_addCommand {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private ServicesInjector mockServicesInjector;
+    @Mock
+    private PersistenceSessionServiceInternalDefault mockPersistenceSessionServiceInternal;
+    @Mock
+    private IsisTransactionManager mockTransactionManager;
+    @Mock
+    private PersistenceSession mockPersistenceSession;
+    @Mock
+    private AuthenticationSession mockAuthenticationSession;
+
+    @Mock
+    private ObjectAdapter mockAdapter1;
+    @Mock
+    private ObjectAdapter mockAdapter2;
+
+    private IsisTransaction transaction;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockServicesInjector).lookupServiceElseFail(PersistenceSessionServiceInternalDefault.class);
+            will(returnValue(mockPersistenceSessionServiceInternal));
+
+            allowing(mockPersistenceSessionServiceInternal).getTransactionManager();
+            will(returnValue(mockTransactionManager));
+
+            allowing(mockTransactionManager).getPersistenceSession();
+            will(returnValue(mockPersistenceSession));
+
+            allowing(mockAuthenticationSession).getMessageBroker();
+
+            allowing(mockServicesInjector).lookupServiceElseFail(PublishingServiceInternal.class);
+            will(returnValue(context.mock(PublishingServiceInternal.class)));
+
+            allowing(mockServicesInjector).lookupServiceElseFail(AuditingServiceInternal.class);
+            will(returnValue(context.mock(AuditingServiceInternal.class)));
+
+            allowing(mockServicesInjector).lookupServiceElseFail(ChangedObjectsServiceInternal.class);
+            will(returnValue(new ChangedObjectsServiceInternal()));
+
+            allowing(mockServicesInjector).lookupService(SharedQueryResultsCache.class);
+            will(returnValue(null));
+
+            allowing(mockServicesInjector).lookupServices(WithTransactionScope.class);
+            will(returnValue(Collections.emptyList()));
+
+            ignoring(mockAdapter1);
+            ignoring(mockAdapter2);
+        }});
+
+        transaction = new IsisTransaction(UUID.randomUUID(), 0, mockAuthenticationSession, mockServicesInjector);
+    }
+
+    private CreateObjectCommand createCommandOn(final ObjectAdapter adapter) {
+        final CreateObjectCommand command = context.mock(CreateObjectCommand.class, "create" + adapter);
+        context.checking(new Expectations() {{
+            allowing(command).onAdapter();
+            will(returnValue(adapter));
+        }});
+        return command;
+    }
+
+    private DestroyObjectCommand destroyCommandOn(final ObjectAdapter adapter) {
+        final DestroyObjectCommand command = context.mock(DestroyObjectCommand.class, "destroy" + adapter);
+        context.checking(new Expectations() {{
+            allowing(command).onAdapter();
+            will(returnValue(adapter));
+        }});
+        return command;
+    }
+
+    private void expectExecuted(final PersistenceCommand... commands) {
+        final List<PersistenceCommand> expected = Arrays.asList(commands);
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceSession).execute(expected);
+        }});
+    }
+
+    @Test
+    public void commandsAreExecutedInTheOrderAdded() throws Exception {
+        final CreateObjectCommand create1 = createCommandOn(mockAdapter1);
+        final DestroyObjectCommand destroy2 = destroyCommandOn(mockAdapter2);
+
+        transaction.addCommand(create1);
+        transaction.addCommand(destroy2);
+
+        expectExecuted(create1, destroy2);
+        transaction.flush();
+    }
+
+    @Test
+    public void destroyCancelsCreate() throws Exception {
+        final CreateObjectCommand create1 = createCommandOn(mockAdapter1);
+        final CreateObjectCommand create2 = createCommandOn(mockAdapter2);
+
+        transaction.addCommand(create1);
+        transaction.addCommand(create2);
+        transaction.addCommand(destroyCommandOn(mockAdapter1));
+
+        expectExecuted(create2);
+        transaction.flush();
+    }
+
+    @Test
+    public void duplicateDestroyIsIgnored() throws Exception {
+        final DestroyObjectCommand destroy1 = destroyCommandOn(mockAdapter1);
+
+        transaction.addCommand(destroy1);
+        transaction.addCommand(destroyCommandOn(mockAdapter1));
+
+        expectExecuted(destroy1);
+        transaction.flush();
+    }
+
+    @Test
+    public void commandsAreNotExecutedTwice() throws Exception {
+        final CreateObjectCommand create1 = createCommandOn(mockAdapter1);
+        transaction.addCommand(create1);
+        expectExecuted(create1);
+        transaction.flush();
+
+        // a destroy after the create has been flushed is not cancelled out
+        final DestroyObjectCommand destroy1 = destroyCommandOn(mockAdapter1);
+        transaction.addCommand(destroy1);
+        expectExecuted(destroy1);
+        transaction.flush();
+    }
+
+}
@@ -0,0 +1,153 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.systemusinginstallers;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Sets;
+import com.google.common.io.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.isis.applib.fixturescripts.FixtureScript;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class ClassIndexTest {
+
+    public static class SomeDomainService {}
+    public static class SomeEntity {}
+    public static class SomeMixin {}
+    public static class SomeFixtureScript extends FixtureScript {
+        @Override
+        protected void execute(final ExecutionContext executionContext) {
+        }
+    }
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final List<String> packages = Arrays.asList("com.mycompany.dom", "org.apache.isis.applib");
+
+    private File classesDir;
+    private URLClassLoader classLoader;
+
+    @Before
+    public void setUp() throws Exception {
+        classesDir = temporaryFolder.newFolder("classes");
+        classLoader = new URLClassLoader(new URL[] { classesDir.toURI().toURL() }, getClass().getClassLoader());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        classLoader.close();
+    }
+
+    @Test
+    public void round_trip() throws Exception {
+
+        // given
+        writeIndex(asString(newClassIndex(packages)));
+
+        // when
+        final ClassIndex classIndex = ClassIndex.read(packages, classLoader);
+
+        // then
+        assertThat(classIndex, is(notNullValue()));
+        assertThat(classIndex.getDomainServiceTypes(), is(equalTo(setOf(SomeDomainService.class))));
+        assertThat(classIndex.getPersistenceCapableTypes(), is(equalTo(setOf(SomeEntity.class))));
+        assertThat(classIndex.getMixinTypes(), is(equalTo(setOf(SomeMixin.class))));
+        assertThat(classIndex.getFixtureScriptTypes().size(), is(1));
+        assertThat(classIndex.getFixtureScriptTypes().contains(SomeFixtureScript.class), is(true));
+    }
+
+    @Test
+    public void when_written_for_different_packages() throws Exception {
+
+        // given
+        writeIndex(asString(newClassIndex(Collections.singletonList("com.mycompany.dom"))));
+
+        // when
+        final ClassIndex classIndex = ClassIndex.read(packages, classLoader);
+
+        // then
+        assertThat(classIndex, is(nullValue()));
+    }
+
+    @Test
+    public void when_a_class_no_longer_loads() throws Exception {
+
+        // given
+        writeIndex(asString(newClassIndex(packages)) + "domainService=com.mycompany.dom.NoLongerExists\n");
+
+        // when
+        final ClassIndex classIndex = ClassIndex.read(packages, classLoader);
+
+        // then
+        assertThat(classIndex, is(nullValue()));
+    }
+
+    @Test
+    public void when_no_index() throws Exception {
+        assertThat(ClassIndex.read(packages, classLoader), is(nullValue()));
+    }
+
+    private static ClassIndex newClassIndex(final List<String> packages) {
+        return new ClassIndex(
+                packages,
+                setOf(SomeDomainService.class),
+                setOf(SomeEntity.class),
+                Sets.<Class<? extends FixtureScript>>newHashSet(SomeFixtureScript.class),
+                setOf(SomeMixin.class));
+    }
+
+    private static Set<Class<?>> setOf(final Class<?> cls) {
+        return Sets.<Class<?>>newHashSet(cls);
+    }
+
+    private static String asString(final ClassIndex classIndex) throws IOException {
+        final StringWriter writer = new StringWriter();
+        classIndex.write(writer);
+        return writer.toString();
+    }
+
+    private void writeIndex(final String contents) throws IOException {
+        final File indexFile = new File(classesDir, ClassIndex.RESOURCE_NAME);
+        Files.createParentDirs(indexFile);
+        Files.write(contents, indexFile, Charsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,172 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
+
+import java.util.Collections;
+
+import javax.jdo.FetchPlan;
+import javax.jdo.Query;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.repository.QueryResultsStream;
+import org.apache.isis.core.metamodel.services.container.query.QueryCardinality;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.runtime.persistence.query.PersistenceQueryFindAllInstances;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+public abstract class PersistenceQueryFindAllInstancesProcessorTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    PersistenceSession mockPersistenceSession;
+    @Mock
+    ObjectSpecification mockSpecification;
+    @Mock
+    Query mockJdoQuery;
+    @Mock
+    FetchPlan mockFetchPlan;
+
+    static class Customer {}
+
+    PersistenceQueryFindAllInstancesProcessor processor;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockSpecification).getCorrespondingClass();
+            will(returnValue(Customer.class));
+            allowing(mockSpecification).getFullIdentifier();
+            will(returnValue(Customer.class.getName()));
+
+            allowing(mockPersistenceSession).newJdoQuery(Customer.class);
+            will(returnValue(mockJdoQuery));
+
+            allowing(mockJdoQuery).addExtension(with(any(String.class)), with(any(Object.class)));
+            allowing(mockJdoQuery).getFetchPlan();
+            will(returnValue(mockFetchPlan));
+            ignoring(mockFetchPlan);
+
+            allowing(mockJdoQuery).execute();
+            will(returnValue(Collections.emptyList()));
+            allowing(mockJdoQuery).closeAll();
+        }});
+
+        processor = new PersistenceQueryFindAllInstancesProcessor(mockPersistenceSession);
+    }
+
+    public static class Process extends PersistenceQueryFindAllInstancesProcessorTest {
+
+        @Test
+        public void when_first_match_then_fetches_only_one_row() throws Exception {
+            context.checking(new Expectations() {{
+                oneOf(mockJdoQuery).setRange(0L, 1L);
+            }});
+
+            process(QueryCardinality.SINGLE, 0, 0);
+        }
+
+        @Test
+        public void when_unique_match_then_fetches_only_two_rows() throws Exception {
+            context.checking(new Expectations() {{
+                oneOf(mockJdoQuery).setRange(0L, 2L);
+            }});
+
+            process(QueryCardinality.UNIQUE, 0, 0);
+        }
+
+        @Test
+        public void when_first_match_from_start() throws Exception {
+            context.checking(new Expectations() {{
+                oneOf(mockJdoQuery).setRange(5L, 6L);
+            }});
+
+            process(QueryCardinality.SINGLE, 5, 10);
+        }
+
+        @Test
+        public void when_multiple_with_range() throws Exception {
+            context.checking(new Expectations() {{
+                oneOf(mockJdoQuery).setRange(5L, 15L);
+            }});
+
+            process(QueryCardinality.MULTIPLE, 5, 10);
+        }
+
+        @Test
+        public void when_multiple_without_range() throws Exception {
+            context.checking(new Expectations() {{
+                never(mockJdoQuery).setRange(with(any(Long.class)), with(any(Long.class)));
+            }});
+
+            process(QueryCardinality.MULTIPLE, 0, 0);
+        }
+
+        private void process(final QueryCardinality cardinality, final long start, final long count) {
+            processor.process(new PersistenceQueryFindAllInstances(mockSpecification, cardinality, null, start, count));
+        }
+    }
+
+    public static class Stream extends PersistenceQueryFindAllInstancesProcessorTest {
+
+        @Test
+        public void when_start_and_count() throws Exception {
+            context.checking(new Expectations() {{
+                oneOf(mockJdoQuery).setRange(5L, 15L);
+            }});
+
+            stream(5, 10);
+        }
+
+        @Test
+        public void when_start_only() throws Exception {
+            context.checking(new Expectations() {{
+                // Integer.MAX_VALUE rather than Long.MAX_VALUE, as for the other queries (HSQLDB cannot cope otherwise)
+                oneOf(mockJdoQuery).setRange(5L, (long) Integer.MAX_VALUE);
+            }});
+
+            stream(5, 0);
+        }
+
+        @Test
+        public void when_no_range() throws Exception {
+            context.checking(new Expectations() {{
+                never(mockJdoQuery).setRange(with(any(Long.class)), with(any(Long.class)));
+            }});
+
+            stream(0, 0);
+        }
+
+        private void stream(final long start, final long count) {
+            processor.stream(
+                    new PersistenceQueryFindAllInstances(mockSpecification, null, start, count),
+                    100, QueryResultsStream.EvictionPolicy.EVICT);
+        }
+    }
+
+}
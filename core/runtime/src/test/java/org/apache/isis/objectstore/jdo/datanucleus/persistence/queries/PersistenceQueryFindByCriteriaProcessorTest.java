@@ -0,0 +1,183 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
+
+import java.util.Collections;
+import java.util.Map;
+
+import javax.jdo.Query;
+
+import org.datanucleus.metadata.AbstractClassMetaData;
+import org.datanucleus.metadata.AbstractMemberMetaData;
+import org.datanucleus.metadata.FieldPersistenceModifier;
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.query.QueryFindByCriteria;
+import org.apache.isis.core.metamodel.services.container.query.QueryCardinality;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.OneToOneAssociation;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.runtime.persistence.query.PersistenceQueryFindByCriteria;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+public class PersistenceQueryFindByCriteriaProcessorTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    PersistenceSession mockPersistenceSession;
+    @Mock
+    SpecificationLoader mockSpecificationLoader;
+    @Mock
+    ObjectSpecification mockSpecification;
+    @Mock
+    OneToOneAssociation mockNameProperty;
+    @Mock
+    OneToOneAssociation mockTotalProperty;
+    @Mock
+    OneToOneAssociation mockNicknameProperty;
+    @Mock
+    AbstractClassMetaData mockClassMetaData;
+    @Mock
+    AbstractMemberMetaData mockNameMetaData;
+    @Mock
+    AbstractMemberMetaData mockTotalMetaData;
+    @Mock
+    Query mockJdoQuery;
+
+    static class Customer {}
+
+    AbstractClassMetaData classMetaData;
+    PersistenceQueryFindByCriteriaProcessor processor;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockSpecification).getCorrespondingClass();
+            will(returnValue(Customer.class));
+            allowing(mockSpecification).getFullIdentifier();
+            will(returnValue(Customer.class.getName()));
+
+            allowing(mockSpecification).getAssociation("name");
+            will(returnValue(mockNameProperty));
+            allowing(mockNameProperty).getId();
+            will(returnValue("name"));
+            allowing(mockNameProperty).isNotPersisted();
+            will(returnValue(false));
+
+            // persisted as far as Isis is concerned, but derived as far as JDO is concerned
+            allowing(mockSpecification).getAssociation("total");
+            will(returnValue(mockTotalProperty));
+            allowing(mockTotalProperty).getId();
+            will(returnValue("total"));
+            allowing(mockTotalProperty).isNotPersisted();
+            will(returnValue(false));
+
+            // not a field at all, eg derived from other fields
+            allowing(mockSpecification).getAssociation("nickname");
+            will(returnValue(mockNicknameProperty));
+            allowing(mockNicknameProperty).getId();
+            will(returnValue("nickname"));
+            allowing(mockNicknameProperty).isNotPersisted();
+            will(returnValue(false));
+
+            allowing(mockClassMetaData).getMetaDataForMember("name");
+            will(returnValue(mockNameMetaData));
+            allowing(mockNameMetaData).getName();
+            will(returnValue("name"));
+            allowing(mockNameMetaData).getPersistenceModifier();
+            will(returnValue(FieldPersistenceModifier.PERSISTENT));
+
+            allowing(mockClassMetaData).getMetaDataForMember("total");
+            will(returnValue(mockTotalMetaData));
+            allowing(mockTotalMetaData).getName();
+            will(returnValue("total"));
+            allowing(mockTotalMetaData).getPersistenceModifier();
+            will(returnValue(FieldPersistenceModifier.NONE));
+
+            allowing(mockClassMetaData).getMetaDataForMember("nickname");
+            will(returnValue(null));
+
+            allowing(mockJdoQuery).addExtension(with(any(String.class)), with(any(Object.class)));
+            allowing(mockJdoQuery).executeWithMap(with(any(Map.class)));
+            will(returnValue(Collections.emptyList()));
+            allowing(mockJdoQuery).closeAll();
+        }});
+
+        classMetaData = mockClassMetaData;
+        processor = new PersistenceQueryFindByCriteriaProcessor(mockPersistenceSession) {
+            @Override
+            AbstractClassMetaData metaDataFor(final Class<?> cls) {
+                return classMetaData;
+            }
+        };
+    }
+
+    @Test
+    public void when_criterion_and_ordering_on_persistent_field() throws Exception {
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceSession).newJdoQuery(Customer.class, "name == :p0");
+            will(returnValue(mockJdoQuery));
+            oneOf(mockJdoQuery).setOrdering("name ascending");
+        }});
+
+        process(QueryFindByCriteria.create(Customer.class).whereEqual("name", "Joe").orderBy("name"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void when_criterion_on_field_not_persisted_by_jdo() throws Exception {
+        context.checking(new Expectations() {{
+            never(mockPersistenceSession).newJdoQuery(with(any(Class.class)), with(any(String.class)));
+        }});
+
+        process(QueryFindByCriteria.create(Customer.class).whereEqual("total", 10));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void when_ordering_on_field_not_in_jdo_metadata() throws Exception {
+        context.checking(new Expectations() {{
+            never(mockPersistenceSession).newJdoQuery(with(any(Class.class)));
+        }});
+
+        process(QueryFindByCriteria.create(Customer.class).orderBy("nickname"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void when_not_persistence_capable() throws Exception {
+        classMetaData = null;
+        context.checking(new Expectations() {{
+            never(mockPersistenceSession).newJdoQuery(with(any(Class.class)), with(any(String.class)));
+        }});
+
+        process(QueryFindByCriteria.create(Customer.class).whereEqual("name", "Joe"));
+    }
+
+    private void process(final QueryFindByCriteria<Customer> query) {
+        processor.process(new PersistenceQueryFindByCriteria(
+                mockSpecification, query, QueryCardinality.MULTIPLE, mockSpecificationLoader));
+    }
+
+}
@@ -0,0 +1,175 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.repository.QueryResultsStream;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.runtime.persistence.query.PersistenceQueryFindAllInstances;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class PersistenceQueryResultsStreamTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private PersistenceSession mockPersistenceSession;
+    @Mock
+    private javax.jdo.Query mockJdoQuery;
+    @Mock
+    private ObjectAdapter mockAdapter1;
+    @Mock
+    private ObjectAdapter mockAdapter2;
+
+    private final Object pojo1 = new Object();
+    private final Object pojo2 = new Object();
+    private final List<Object> pojos = Arrays.asList(pojo1, pojo2);
+
+    private PersistenceQueryProcessorAbstract<PersistenceQueryFindAllInstances> processor;
+
+    @Before
+    public void setUp() throws Exception {
+        final Map<Object, ObjectAdapter> adapterByPojo = ImmutableMap.of(pojo1, mockAdapter1, pojo2, mockAdapter2);
+        processor = new PersistenceQueryProcessorAbstract<PersistenceQueryFindAllInstances>(mockPersistenceSession) {
+            @Override
+            public List<ObjectAdapter> process(final PersistenceQueryFindAllInstances query) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public QueryResultsStream<ObjectAdapter> stream(
+                    final PersistenceQueryFindAllInstances query,
+                    final int fetchSize,
+                    final QueryResultsStream.EvictionPolicy evictionPolicy) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            ObjectAdapter loadAdapter(final Object pojo) {
+                return adapterByPojo.get(pojo);
+            }
+        };
+
+        context.checking(new Expectations() {{
+            oneOf(mockJdoQuery).closeAll();
+        }});
+    }
+
+    @Test
+    public void evicts_each_object_mapped_by_the_stream_once_the_next_is_iterated_over() throws Exception {
+
+        // given
+        context.checking(new Expectations() {{
+            allowing(mockPersistenceSession).getAdapterFor(pojo1);
+            will(returnValue(null));
+            allowing(mockPersistenceSession).getAdapterFor(pojo2);
+            will(returnValue(null));
+        }});
+        final QueryResultsStream<ObjectAdapter> stream = streamOf(QueryResultsStream.EvictionPolicy.EVICT);
+        final Iterator<ObjectAdapter> iterator = stream.iterator();
+
+        // expect
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceSession).evict(mockAdapter1);
+        }});
+
+        // when
+        assertThat(iterator.next(), is(sameInstance(mockAdapter1)));
+        assertThat(iterator.next(), is(sameInstance(mockAdapter2)));
+
+        // expect
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceSession).evict(mockAdapter2);
+        }});
+
+        // when
+        stream.close();
+    }
+
+    @Test
+    public void does_not_evict_objects_already_mapped_before_being_iterated_over() throws Exception {
+
+        // given
+        context.checking(new Expectations() {{
+            // eg referenced elsewhere in the session
+            allowing(mockPersistenceSession).getAdapterFor(pojo1);
+            will(returnValue(mockAdapter1));
+            allowing(mockPersistenceSession).getAdapterFor(pojo2);
+            will(returnValue(null));
+        }});
+        final QueryResultsStream<ObjectAdapter> stream = streamOf(QueryResultsStream.EvictionPolicy.EVICT);
+
+        // expect
+        context.checking(new Expectations() {{
+            never(mockPersistenceSession).evict(mockAdapter1);
+            oneOf(mockPersistenceSession).evict(mockAdapter2);
+        }});
+
+        // when
+        for (final ObjectAdapter ignored : stream) {
+        }
+        stream.close();
+    }
+
+    @Test
+    public void does_not_evict_if_retaining() throws Exception {
+
+        // given
+        context.checking(new Expectations() {{
+            allowing(mockPersistenceSession).getAdapterFor(with(any(Object.class)));
+            will(returnValue(null));
+        }});
+        final QueryResultsStream<ObjectAdapter> stream = streamOf(QueryResultsStream.EvictionPolicy.RETAIN);
+
+        // expect
+        context.checking(new Expectations() {{
+            never(mockPersistenceSession).evict(with(any(ObjectAdapter.class)));
+        }});
+
+        // when
+        for (final ObjectAdapter ignored : stream) {
+        }
+        stream.close();
+    }
+
+    private QueryResultsStream<ObjectAdapter> streamOf(final QueryResultsStream.EvictionPolicy evictionPolicy) {
+        return new PersistenceQueryResultsStream(processor, mockJdoQuery, pojos, evictionPolicy);
+    }
+
+}
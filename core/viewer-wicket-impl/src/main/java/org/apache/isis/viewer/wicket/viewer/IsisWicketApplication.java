@@ -65,6 +65,7 @@
 import org.apache.isis.core.commons.config.IsisConfiguration;
 import org.apache.isis.core.commons.config.IsisConfigurationDefault;
 import org.apache.isis.core.commons.configbuilder.IsisConfigurationBuilder;
+import org.apache.isis.core.commons.util.BootTimeline;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
 import org.apache.isis.core.metamodel.specloader.validator.MetaModelInvalidException;
@@ -246,6 +247,9 @@ protected void internalInit() {
      */
     @Override
     protected void init() {
+        final BootTimeline bootTimeline = BootTimeline.instance();
+        bootTimeline.startNewBootstrap();
+        final BootTimeline.Phase initPhase = bootTimeline.start("IsisWicketApplication.init");
         List<Future<Object>> futures = null;
         try {
             super.init();
@@ -277,11 +281,13 @@ protected void init() {
             // create IsisSessionFactory
             //
             final DeploymentCategory deploymentCategory = deploymentType.getDeploymentCategory();
-            final IsisInjectModule isisModule = newIsisModule(deploymentCategory, configuration);
-            final Injector injector = Guice.createInjector(isisModule, newIsisWicketModule());
-            initWicketComponentInjection(injector);
+            try (BootTimeline.Phase phase = bootTimeline.start("createIsisSessionFactory")) {
+                final IsisInjectModule isisModule = newIsisModule(deploymentCategory, configuration);
+                final Injector injector = Guice.createInjector(isisModule, newIsisWicketModule());
+                initWicketComponentInjection(injector);
 
-            injector.injectMembers(this); // populates this.isisSessionFactory
+                injector.injectMembers(this); // populates this.isisSessionFactory
+            }
 
             getServletContext().setAttribute(WebAppConstants.ISIS_SESSION_FACTORY, this.isisSessionFactory);
 
@@ -298,7 +304,9 @@ protected void init() {
             getDebugSettings().setAjaxDebugModeEnabled(determineAjaxDebugModeEnabled(configuration));
 
             // must be done after injected componentFactoryRegistry into the app itself
-            buildCssBundle();
+            try (BootTimeline.Phase phase = bootTimeline.start("buildCssBundle")) {
+                buildCssBundle();
+            }
 
             filterJavascriptContributions();
 
@@ -308,7 +316,9 @@ protected void init() {
             int maxEntries = 1000;
             setMetaData(AccountConfirmationMap.KEY, new AccountConfirmationMap(maxEntries, Duration.days(1)));
 
-            mountPages();
+            try (BootTimeline.Phase phase = bootTimeline.start("mountPages")) {
+                mountPages();
+            }
 
             @SuppressWarnings("unused")
             SharedResources sharedResources = getSharedResources();
@@ -324,6 +334,7 @@ protected void init() {
             throw ex;
         } finally {
             ThreadPoolSupport.join(futures);
+            initPhase.close();
         }
     }
 